@@ -61,19 +61,13 @@ public class AlertScheduler {
             LocalDateTime now = LocalDateTime.now();
             log.info("Starting daily log analysis at: {}", now);
             // 1) Significant errors by type (>10)
-            // create a method to get all the errorType from the log table
-            List<String> errorTypes = errorLogRepository.findAll().stream()
-                    .map(Log::getErrorType)
-                    .filter(Objects::nonNull)
-                    .distinct()
-                    .toList();
-
-            //get the each errorType count and save it to a map only if having count > 10
-            Map<String, Long> errorTypeCountMap = errorTypes.stream()
-                    .collect(Collectors.toMap(
-                            errorType -> errorType,
-                            this::getErrorCountByType
-                    ));
+            // one grouped count on idx_log_error_type, no row of the table is loaded
+            Map<String, Long> errorTypeCountMap = new HashMap<>();
+            for (Object[] row : errorLogRepository.countByErrorType()) {
+                if (row[0] != null) {
+                    errorTypeCountMap.put((String) row[0], ((Number) row[1]).longValue());
+                }
+            }
 
 
             // 2)Derive significant error types (count > 10)
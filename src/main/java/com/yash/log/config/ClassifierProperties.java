@@ -0,0 +1,27 @@
+package com.yash.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// ingestion.classifier.* settings for ErrorTypeClassifier
+@Data
+@Component
+@ConfigurationProperties(prefix = "ingestion.classifier")
+public class ClassifierProperties {
+
+    // message signatures kept in the cache of built-in results, 0 disables caching
+    private int cacheSize = 10_000;
+
+    // checked in order before the built-in rules; the first match wins
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String type;
+        private String pattern;
+    }
+}
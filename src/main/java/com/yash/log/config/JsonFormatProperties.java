@@ -0,0 +1,35 @@
+package com.yash.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ingestion.formats.json.* settings: which JSON fields the json log format reads
+@Data
+@Component
+@ConfigurationProperties(prefix = "ingestion.formats.json")
+public class JsonFormatProperties {
+
+    // names read by the "json" format
+    private Fields fields = new Fields();
+
+    // one more format per entry, selected with ?format=json:<key>, for sources
+    // that name their fields differently; names left out keep the built-in ones
+    private Map<String, Fields> sources = new LinkedHashMap<>();
+
+    // Candidate names per field, the first one present in an event wins.
+    // "a.b" also matches field b of a nested object a.
+    @Data
+    public static class Fields {
+        private List<String> timestamp = new ArrayList<>(List.of("@timestamp", "timestamp", "time", "ts"));
+        private List<String> level = new ArrayList<>(List.of("level", "severity", "log.level"));
+        private List<String> logger = new ArrayList<>(List.of("logger_name", "logger", "log.logger", "loggerName"));
+        private List<String> message = new ArrayList<>(List.of("message", "msg"));
+        private List<String> stackTrace = new ArrayList<>(List.of("stack_trace", "error.stack_trace", "exception", "stackTrace"));
+    }
+}
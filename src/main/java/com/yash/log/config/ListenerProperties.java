@@ -0,0 +1,41 @@
+package com.yash.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+// ingestion.listener.* settings for the TCP/UDP push listener
+@Data
+@Component
+@ConfigurationProperties(prefix = "ingestion.listener")
+public class ListenerProperties {
+
+    private boolean enabled = false;
+
+    private String bindAddress = "0.0.0.0";
+
+    // -1 turns the protocol off, 0 picks a free port
+    private int tcpPort = 5140;
+    private int udpPort = 5140;
+
+    // open TCP connections; more are closed right after accept
+    private int maxConnections = 1024;
+
+    // longest single message, longer ones are cut
+    private int maxFrameBytes = 1024 * 1024;
+
+    // lines are handed to the workers in blocks of about this size
+    private int blockBytes = 256 * 1024;
+
+    // blocks waiting for a worker; when it is full TCP senders are slowed down
+    // and UDP blocks are dropped
+    private int queueCapacity = 256;
+
+    // queue fill (0..1) from which events other than ERROR are dropped on arrival
+    private double shedAt = 0.75;
+
+    private int workers = 2;
+
+    // a connection that sent nothing for this long has its collected lines handed on
+    private int flushIntervalMs = 200;
+}
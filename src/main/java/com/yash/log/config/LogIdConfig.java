@@ -0,0 +1,14 @@
+package com.yash.log.config;
+
+import com.yash.log.entity.TimeOrderedIds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+// Puts ingestion.ids.node into every Log id this instance hands out
+@Configuration
+public class LogIdConfig {
+
+    public LogIdConfig(@Value("${ingestion.ids.node:0}") int node) {
+        TimeOrderedIds.shared().setNode(node);
+    }
+}
@@ -0,0 +1,26 @@
+package com.yash.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+
+// storage.partitions.* settings for the time partitions of the log table
+@Data
+@Component
+@ConfigurationProperties(prefix = "storage.partitions")
+public class PartitionProperties {
+
+    // off by default: partitioning an existing table rebuilds it, see LogPartitionService.partitionTable
+    private boolean enabled = false;
+
+    // DAYS or MONTHS, the time range of one partition
+    private ChronoUnit unit = ChronoUnit.DAYS;
+
+    // partitions kept ready after the current one
+    private int ahead = 7;
+
+    // past partitions kept besides the current one, older ones are dropped; 0 keeps all
+    private int retain = 0;
+}
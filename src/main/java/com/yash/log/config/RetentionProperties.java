@@ -0,0 +1,42 @@
+package com.yash.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// storage.retention.* settings for LogRetentionServiceImpl
+@Data
+@Component
+@ConfigurationProperties(prefix = "storage.retention")
+public class RetentionProperties {
+
+    private boolean enabled = false;
+
+    // days kept of rows no rule matches, 0 keeps them
+    private int defaultDays = 0;
+
+    // checked in order, the first rule matching a row's level and type decides
+    private List<Rule> rules = new ArrayList<>();
+
+    // rows archived and deleted per statement
+    private int batchSize = 5000;
+
+    private Archive archive = new Archive();
+
+    @Data
+    public static class Rule {
+        private String level;       // null matches every level
+        private String errorType;   // null matches every type
+        private int days;           // 0 keeps the matching rows
+    }
+
+    @Data
+    public static class Archive {
+        // write expired rows to gzipped NDJSON before deleting them
+        private boolean enabled = true;
+        private String dir = System.getProperty("java.io.tmpdir") + "/log-archive";
+    }
+}
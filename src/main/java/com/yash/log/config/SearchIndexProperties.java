@@ -0,0 +1,28 @@
+package com.yash.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+// search.index.* settings for the full-text index behind GET /api/logs?search=
+@Data
+@Component
+@ConfigurationProperties(prefix = "search.index")
+public class SearchIndexProperties {
+
+    private boolean enabled = true;
+
+    private String dir = System.getProperty("java.io.tmpdir") + "/log-search-index";
+
+    // documents buffered before a segment is written even inside the flush interval
+    private int maxBufferedDocs = 50000;
+
+    // more segments than this are merged in the background
+    private int maxSegments = 10;
+
+    // merges stop at this size, segments are memory-mapped whole and must stay under 2 GB
+    private long maxSegmentBytes = 1024L * 1024 * 1024;
+
+    // terms a word* search is expanded to per segment
+    private int maxPrefixTerms = 1024;
+}
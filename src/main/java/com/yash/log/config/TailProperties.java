@@ -0,0 +1,30 @@
+package com.yash.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// ingestion.tail.* settings for the directory tailer
+@Data
+@Component
+@ConfigurationProperties(prefix = "ingestion.tail")
+public class TailProperties {
+
+    private boolean enabled = false;
+
+    // directories whose matching files are followed
+    private List<String> directories = new ArrayList<>();
+
+    // file names to follow in each directory
+    private String glob = "*.log";
+
+    // longest wait between two scans when the watch service reports nothing;
+    // also how long a file must be quiet before its last event is written
+    private long pollIntervalMs = 1000;
+
+    // bytes read from one file per chunk while catching up
+    private int maxReadBytes = 8 * 1024 * 1024;
+}
@@ -0,0 +1,23 @@
+package com.yash.log.constants;
+
+// File layouts of GET /api/logs/export
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", ".ndjson"),   // one Log as JSON per line
+    CSV("text/csv", ".csv");                      // RFC 4180, with a header row
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,8 @@
+package com.yash.log.constants;
+
+public enum IngestionStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.yash.log.constants;
+
+public enum UploadStatus {
+    RECEIVING,
+    COMPLETE,
+    ABORTED
+}
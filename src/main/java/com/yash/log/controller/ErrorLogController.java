@@ -1,15 +1,35 @@
 package com.yash.log.controller;
 
+import com.yash.log.constants.IngestionStatus;
+import com.yash.log.dto.ClassifierStatsDto;
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.IngestionJobDto;
 import com.yash.log.dto.LogDTO;
+import com.yash.log.dto.LogPartitionDto;
+import com.yash.log.dto.PipelineStageStatsDto;
+import com.yash.log.dto.PushListenerStatsDto;
+import com.yash.log.dto.UploadSessionDto;
+import com.yash.log.entity.IngestionReport;
 import com.yash.log.entity.Log;
 import com.yash.log.entity.User;
+import com.yash.log.ingestion.ErrorTypeClassifier;
+import com.yash.log.ingestion.format.LogFormatRegistry;
 import com.yash.log.repository.IUserRepository;
 import com.yash.log.service.impl.LogFileServiceImpl;
+import com.yash.log.service.services.ChunkedUploadService;
+import com.yash.log.service.services.IngestionJobService;
+import com.yash.log.service.services.IngestionReportService;
+import com.yash.log.service.services.LogPartitionService;
+import com.yash.log.service.services.LogRetentionService;
+import com.yash.log.service.services.LogService;
+import com.yash.log.service.services.LogTailService;
+import com.yash.log.service.services.PushListenerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +38,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.yash.log.dto.ErrorCategoryStatDto;
 import com.yash.log.dto.DailyErrorCountDto;
@@ -40,32 +65,63 @@ import org.springframework.web.multipart.MultipartFile;
 public class ErrorLogController {
 
     private static final long MAX_FILE_SIZE = 50L * 1024 * 1024; // 10 MB
-    private static final Set<String> ALLOWED_EXTENSIONS = Set.of(".log", ".txt");
+    // archives (.gz covers .tar.gz and rotated app.log.1.gz) are unpacked while parsing
+    private static final Set<String> ALLOWED_EXTENSIONS = Set.of(".log", ".txt", ".gz", ".tgz", ".tar", ".zip");
 
     private final LogFileServiceImpl logFileServiceImpl;
     private final IUserRepository userRepository;
-    public ErrorLogController(LogFileServiceImpl logFileServiceImpl, IUserRepository userRepository) {
+    private final IngestionJobService ingestionJobService;
+    private final ErrorTypeClassifier errorTypeClassifier;
+    private final ChunkedUploadService chunkedUploadService;
+    private final LogTailService logTailService;
+    private final PushListenerService pushListenerService;
+    private final LogFormatRegistry logFormatRegistry;
+    private final IngestionReportService ingestionReportService;
+    private final LogPartitionService logPartitionService;
+    private final LogRetentionService logRetentionService;
+    private final LogService logService;
+
+    public ErrorLogController(LogFileServiceImpl logFileServiceImpl, IUserRepository userRepository,
+                              IngestionJobService ingestionJobService, ErrorTypeClassifier errorTypeClassifier,
+                              ChunkedUploadService chunkedUploadService, LogTailService logTailService,
+                              PushListenerService pushListenerService, LogFormatRegistry logFormatRegistry,
+                              IngestionReportService ingestionReportService,
+                              LogPartitionService logPartitionService, LogRetentionService logRetentionService,
+                              LogService logService) {
         this.logFileServiceImpl = logFileServiceImpl;
         this.userRepository = userRepository;
+        this.ingestionJobService = ingestionJobService;
+        this.errorTypeClassifier = errorTypeClassifier;
+        this.chunkedUploadService = chunkedUploadService;
+        this.logTailService = logTailService;
+        this.pushListenerService = pushListenerService;
+        this.logFormatRegistry = logFormatRegistry;
+        this.ingestionReportService = ingestionReportService;
+        this.logPartitionService = logPartitionService;
+        this.logRetentionService = logRetentionService;
+        this.logService = logService;
     }
 
     @Operation(
             summary = "Upload Log File",
-            description = "Upload a log file to parse and store error logs"
+            description = "Upload a log file, or a .gz/.tgz/.tar/.zip archive of log files, to parse and store error logs. Optional levels (e.g. ERROR,WARN) overrides which levels are stored; optional format (see /formats) skips detecting the log layout."
     )
 
 
     @ApiResponse(responseCode = "200", description = "HTTP status OK")
     @ApiResponse(responseCode = "500", description = "Internal Server Error")
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> uploadLogFile(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<String> uploadLogFile(@RequestParam("file") MultipartFile file,
+                                                @RequestParam(value = "levels", required = false) Set<ErrorLevel> levels,
+                                                @RequestParam(value = "format", required = false) String format) {
         try {
             validateFile(file);
+            validateFormat(format);
 
             String filename = file.getOriginalFilename();
             log.info("Uploading log file: {} (size: {} bytes)", filename, file.getSize());
 
-            logFileServiceImpl.parseAndSaveLogs(file);
+            logFileServiceImpl.parseAndSaveLogs(file, levels, format);
 
             log.info("File processed and logs saved: {}", filename);
             return ResponseEntity.ok("Logs uploaded and saved successfully!");
@@ -80,24 +136,273 @@ public class ErrorLogController {
         }
     }
 
-    @GetMapping(value = "/all-logs", produces = MediaType.APPLICATION_JSON_VALUE)
-   public ResponseEntity<List<Log>> getAllLogs(){
-       List<Log> allLogs = logFileServiceImpl.getAllLogs();
+    @Operation(
+            summary = "Upload Log File Asynchronously",
+            description = "Spool a log file to disk and ingest it in the background. Returns the ingestion job right away."
+    )
+    @ApiResponse(responseCode = "202", description = "Ingestion job accepted")
+    @ApiResponse(responseCode = "503", description = "Ingestion queue is full")
+    @PostMapping(value = "/upload/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadLogFileAsync(@RequestParam("file") MultipartFile file,
+                                                @RequestParam(value = "levels", required = false) Set<ErrorLevel> levels,
+                                                @RequestParam(value = "format", required = false) String format) {
+        try {
+            validateFile(file);
+            validateFormat(format);
+            IngestionJobDto job = ingestionJobService.submit(file, levels, format);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            log.error("Validation error: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Invalid file: " + e.getMessage());
+        } catch (RejectedExecutionException e) {
+            log.warn("Ingestion queue full, rejecting upload {}", file.getOriginalFilename());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Ingestion queue is full, please retry later.");
+        } catch (Exception e) {
+            log.error("Error queuing uploaded file", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error processing file: " + e.getMessage());
+        }
+    }
+
+    // Progress of an async upload: lines read/matched, rows persisted, throughput and errors
+    @GetMapping("/upload/jobs/{jobId}")
+    public ResponseEntity<IngestionJobDto> getIngestionJob(@PathVariable String jobId) {
+        return ingestionJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/upload/jobs")
+    public List<IngestionJobDto> getIngestionJobs() {
+        return ingestionJobService.getJobs();
+    }
+
+    // Stored report of a finished upload: line counts, unparseable sample, throughput, time per stage
+    @GetMapping("/upload/jobs/{jobId}/report")
+    public ResponseEntity<IngestionReport> getIngestionJobReport(@PathVariable String jobId) {
+        return ingestionReportService.getReportForJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Reports of past ingestion runs, newest first; from/to default to the last 7 days
+    @GetMapping("/ingestion/reports")
+    public List<IngestionReport> getIngestionReports(
+            @RequestParam(required = false) String fileName,
+            @RequestParam(required = false) IngestionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ingestionReportService.findReports(fileName, status, from, to, limit);
+    }
+
+    @GetMapping("/ingestion/reports/{id}")
+    public ResponseEntity<IngestionReport> getIngestionReport(@PathVariable Long id) {
+        return ingestionReportService.getReport(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Log layouts an upload can name in ?format=, without one it is detected per file
+    @GetMapping("/formats")
+    public Set<String> getLogFormats() {
+        return logFormatRegistry.getNames();
+    }
+
+    // Files followed by the directory tailer, with lines read and rows persisted since startup
+    @GetMapping("/tail")
+    public List<IngestionJobDto> getTailedFiles() {
+        return logTailService.getTailedFiles();
+    }
+
+    // TCP/UDP push listener: queue depth, lines shed under load and parser counters
+    @GetMapping("/push/stats")
+    public PushListenerStatsDto getPushListenerStats() {
+        return pushListenerService.getStats();
+    }
+
+    @Operation(
+            summary = "Start Chunked Upload",
+            description = "Open a resumable upload for a file of totalBytes. Chunks are then PUT one by one; ingestion starts with chunk 0 and follows the upload. Optional levels and format work as for /upload."
+    )
+    @ApiResponse(responseCode = "201", description = "Upload session created")
+    @PostMapping("/upload/chunked")
+    public ResponseEntity<?> startChunkedUpload(@RequestParam("fileName") String fileName,
+                                                @RequestParam("totalBytes") long totalBytes,
+                                                @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+                                                @RequestParam(value = "levels", required = false) Set<ErrorLevel> levels,
+                                                @RequestParam(value = "format", required = false) String format) {
+        try {
+            validateFileName(fileName);
+            validateFormat(format);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(chunkedUploadService.start(fileName, totalBytes, chunkSize, levels, format));
+        } catch (IllegalArgumentException e) {
+            log.error("Validation error: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Invalid file: " + e.getMessage());
+        } catch (IOException e) {
+            log.error("Could not create upload spool file", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error starting upload: " + e.getMessage());
+        }
+    }
+
+    // Raw chunk bytes as the request body; a chunk that failed can simply be sent again
+    @PutMapping(value = "/upload/chunked/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> putUploadChunk(@PathVariable String uploadId, @PathVariable int index, InputStream body) {
+        try {
+            return ResponseEntity.ok(chunkedUploadService.putChunk(uploadId, index, body));
+        } catch (IOException e) {
+            log.error("Could not store chunk {} of upload {}", index, uploadId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error storing chunk: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return chunkedUploadError(e);
+        }
+    }
+
+    @PostMapping("/upload/chunked/{uploadId}/complete")
+    public ResponseEntity<?> completeChunkedUpload(@PathVariable String uploadId) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(chunkedUploadService.complete(uploadId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Ingestion queue full, upload {} not started", uploadId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Ingestion queue is full, please retry later.");
+        } catch (RuntimeException e) {
+            return chunkedUploadError(e);
+        }
+    }
+
+    // What has arrived so far; a client resuming after a failure sends missingChunks
+    @GetMapping("/upload/chunked/{uploadId}")
+    public ResponseEntity<UploadSessionDto> getChunkedUpload(@PathVariable String uploadId) {
+        return chunkedUploadService.getUpload(uploadId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/upload/chunked/{uploadId}")
+    public ResponseEntity<?> abortChunkedUpload(@PathVariable String uploadId) {
+        try {
+            chunkedUploadService.abort(uploadId);
+            return ResponseEntity.noContent().build();
+        } catch (IOException e) {
+            log.warn("Could not delete spool file of upload {}", uploadId, e);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return chunkedUploadError(e);
+        }
+    }
+
+    private ResponseEntity<String> chunkedUploadError(RuntimeException e) {
+        if (e instanceof NoSuchElementException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (e instanceof IllegalStateException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        throw e;
+    }
+
+    // Ingestion stages: queue depth, throughput and time blocked on the next stage
+    @GetMapping("/pipeline/stats")
+    public List<PipelineStageStatsDto> getPipelineStats() {
+        return logFileServiceImpl.getPipelineStats();
+    }
+
+    // Time partitions of the log table with their approximate row counts
+    @GetMapping("/partitions")
+    public List<LogPartitionDto> getPartitions() {
+        return logPartitionService.getPartitions();
+    }
+
+    // Partitions the log table once (storage.partitions.enabled must be set). MySQL
+    // copies the table for it and blocks writes until done: run it in a quiet window.
+    @PostMapping("/partitions/convert")
+    public ResponseEntity<?> partitionTable() {
+        try {
+            return ResponseEntity.ok(logPartitionService.partitionTable(LocalDate.now()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    // Applies storage.retention now instead of at the next scheduled run
+    @PostMapping("/retention/run")
+    public ResponseEntity<?> runRetention() {
+        try {
+            return ResponseEntity.ok(logRetentionService.purge(LocalDateTime.now()));
+        } catch (IOException e) {
+            log.error("Could not archive expired logs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error archiving expired logs: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/retention/archives")
+    public ResponseEntity<?> getRetentionArchives() {
+        try {
+            return ResponseEntity.ok(logRetentionService.listArchives());
+        } catch (IOException e) {
+            log.error("Could not list log archives", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error listing archives: " + e.getMessage());
+        }
+    }
 
-       return ResponseEntity
-               .status(HttpStatus.OK)
-               .body(allLogs);
+    // Inserts the rows of one archive file again; returns how many were written
+    @PostMapping("/retention/archives/{fileName}/restore")
+    public ResponseEntity<?> restoreRetentionArchive(@PathVariable String fileName) {
+        try {
+            return ResponseEntity.ok(logRetentionService.restore(fileName));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IOException e) {
+            log.error("Could not restore log archive {}", fileName, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error restoring archive: " + e.getMessage());
+        }
+    }
+
+    // Hit/miss counters of the error-type cache used while ingesting
+    @GetMapping("/classifier/stats")
+    public ClassifierStatsDto getClassifierStats() {
+        return errorTypeClassifier.getStats();
+    }
+
+    // One page, newest first; pass the nextCursor of the response as ?cursor= for the next
+    @GetMapping(value = "/all-logs", produces = MediaType.APPLICATION_JSON_VALUE)
+   public ResponseEntity<?> getAllLogs(@RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer size){
+       try {
+           return ResponseEntity
+                   .status(HttpStatus.OK)
+                   .body(logService.listLogs(null, cursor, size));
+       } catch (IllegalArgumentException e) {
+           return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+       }
    }
 
-    //for the table
+    //for the table, paged like /all-logs
     @GetMapping
-    public List<Log> getAll(
-            @RequestParam(required = false) Integer lastDays
+    public ResponseEntity<?> getAll(
+            @RequestParam(required = false) Integer lastDays,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
-        if (lastDays != null) {
-            return logFileServiceImpl.getLogsLastNDays(lastDays);
+        LocalDateTime since = lastDays != null ? LocalDateTime.now().minusDays(lastDays) : null;
+        try {
+            return ResponseEntity.ok(logService.listLogs(since, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
-        return logFileServiceImpl.getAllLogs();
     }
 
     // Bar chart: date vs error count
@@ -121,7 +426,20 @@ public class ErrorLogController {
             throw new IllegalArgumentException("No file provided or file is empty.");
         }
 
-        String filename = file.getOriginalFilename();
+        validateFileName(file.getOriginalFilename());
+
+        if (file.getSize() > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("File too large. Max size is 10MB");
+        }
+    }
+
+    private void validateFormat(String format) {
+        if (format != null) {
+            logFormatRegistry.get(format);
+        }
+    }
+
+    private void validateFileName(String filename) {
         if (!StringUtils.hasText(filename)) {
             throw new IllegalArgumentException("Filename is missing.");
         }
@@ -129,11 +447,7 @@ public class ErrorLogController {
         String lowered = filename.toLowerCase(Locale.ROOT);
         boolean allowed = ALLOWED_EXTENSIONS.stream().anyMatch(lowered::endsWith);
         if (!allowed) {
-            throw new IllegalArgumentException("Invalid file type. Only .log and .txt files are accepted.");
-        }
-
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new IllegalArgumentException("File too large. Max size is 10MB");
+            throw new IllegalArgumentException("Invalid file type. Only .log and .txt files, or .gz, .tgz, .tar and .zip archives of them, are accepted.");
         }
     }
     @PostMapping(value = "/saveManualError", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -1,14 +1,26 @@
 package com.yash.log.controller;
 
-import com.yash.log.entity.Log;
+import com.yash.log.constants.ExportFormat;
+import com.yash.log.dto.SearchIndexStatsDto;
+import com.yash.log.service.services.LogExportService;
+import com.yash.log.service.services.LogSearchIndexService;
 import com.yash.log.service.services.LogService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
 
 @Slf4j
 @RestController
@@ -16,17 +28,29 @@ import java.util.List;
 @RequestMapping("/api/logs")
 public class FilterController {
 
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
     private final LogService service;
 
-    public FilterController(LogService service) {
+    private final LogSearchIndexService logSearchIndexService;
+
+    private final LogExportService logExportService;
+
+    public FilterController(LogService service, LogSearchIndexService logSearchIndexService,
+                            LogExportService logExportService) {
         this.service = service;
+        this.logSearchIndexService = logSearchIndexService;
+        this.logExportService = logExportService;
     }
 
+    // One page, newest first; pass the nextCursor of the response as ?cursor= for the next
     @GetMapping
-    public List<Log> getLogs(
+    public ResponseEntity<?> getLogs(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
         LocalDateTime start = null;
         LocalDateTime end = null;
@@ -40,8 +64,60 @@ public class FilterController {
 
         log.info("FilterController.getLogs called with search=" + search + ", start=" + start + ", end=" + end);
 
-        return service.filterLogs(search, start, end);
+        try {
+            return ResponseEntity.ok(service.filterLogs(search, start, end, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
+
+    // Every matching row as one download, written while it is read from the table.
+    // format is ndjson or csv; gzip=true sends it as a .gz file. search is matched
+    // as a substring here, the index only answers pages.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        ExportFormat exportFormat;
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+            start = parseDateParam(startDate, false);
+            end = parseDateParam(endDate, true);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // a wrong filter would export rows that were not asked for
+            String message = "Invalid export request: " + e.getMessage();
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        String fileName = "logs-" + FILE_TIME.format(LocalDateTime.now()) + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        log.info("FilterController.export of {} with search={}, start={}, end={}", fileName, search, start, end);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> logExportService.export(search, start, end, exportFormat, gzip, out));
+    }
+
+    @GetMapping("/index")
+    public SearchIndexStatsDto getIndexStats() {
+        return logSearchIndexService.getStats();
+    }
+
+    // reads every row again in the background, searches use the table until it is done
+    @PostMapping("/index/rebuild")
+    public ResponseEntity<SearchIndexStatsDto> rebuildIndex() {
+        if (!logSearchIndexService.rebuild()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(logSearchIndexService.getStats());
+        }
+        return ResponseEntity.accepted().body(logSearchIndexService.getStats());
+    }
+
     private static LocalDateTime parseDateParam(String dateStr, boolean endOfDay) {
         if (!StringUtils.hasText(dateStr)) {
             return null;
@@ -0,0 +1,18 @@
+package com.yash.log.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassifierStatsDto {
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int size;
+    private int capacity;
+    private double hitRate;
+}
@@ -0,0 +1,39 @@
+package com.yash.log.dto;
+
+import com.yash.log.constants.IngestionStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+public class IngestionJobDto {
+
+    private String jobId;
+    private String fileName;
+    private long fileSizeBytes;
+    private IngestionStatus status;
+    private Set<ErrorLevel> levels;  // null when the configured default levels apply
+    private String format;           // log format requested or detected, e.g. spring-boot, json
+    private long sourcesRead;     // files read, more than 1 for archives
+    private long linesRead;
+    private long linesSkippedByLevel;   // dropped by the level prefilter before parsing
+    private long linesMatched;
+    private long linesUnparseable;   // lines the format could not read, e.g. after a layout change
+    private List<String> unparseableSample;   // first few of them
+    private long rowsPersisted;
+    private long eventsDeduplicated;  // events already stored, skipped before the insert
+    private String contentSha256;
+    private String duplicateOf;      // set when the same file was ingested before and this one was skipped
+    private double linesPerSecond;
+    private double bytesPerSecond;
+    private long errorCount;
+    private List<String> errors;     // first few line-level errors only
+    private List<PipelineStageStatsDto> stages;   // busy and blocked time of this job per pipeline stage
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -1,6 +1,7 @@
 package com.yash.log.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -60,4 +61,16 @@ public class LogDTO {
             example = "NullPointerException"
     )
     private String errorType;
+
+    @Schema(
+            name = "StackTrace",
+            description = "Schema that hold the stack trace lines logged after the error line.",
+            example = "java.lang.NullPointerException: value\n\tat com.example.MyClass.run(MyClass.java:45)"
+    )
+    private String stackTrace;
+
+    // Simple name of the innermost exception in stackTrace, e.g. "SQLException".
+    // Set during ingestion for the classifier's rules, not stored or returned.
+    @JsonIgnore
+    private String rootCause;
 }
@@ -0,0 +1,17 @@
+package com.yash.log.dto;
+
+import com.yash.log.entity.Log;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogPageDto {
+
+    private List<Log> logs;
+    private String nextCursor;  // pass as ?cursor= for the next page, null on the last one
+}
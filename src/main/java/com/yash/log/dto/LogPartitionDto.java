@@ -0,0 +1,17 @@
+package com.yash.log.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogPartitionDto {
+
+    private String name;
+    private LocalDateTime lessThan;   // rows with an earlier timeStamp, null for the open-ended last partition
+    private long approxRows;          // InnoDB's estimate from information_schema
+}
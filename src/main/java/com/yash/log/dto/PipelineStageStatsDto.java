@@ -0,0 +1,20 @@
+package com.yash.log.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class PipelineStageStatsDto {
+
+    private String stage;                 // parse, enrich or persist
+    private int workers;                  // threads per ingestion run
+    private int activeWorkers;            // threads in the stage right now, all runs together
+    private int queueDepth;               // batches waiting for the stage, all runs together
+    private int queueCapacity;            // batches that may wait per run, 0 for the parser
+    private long events;
+    private long batches;
+    private long busyMillis;              // time spent working on batches
+    private long blockedMillis;           // time spent waiting for room in the next stage's queue
+    private double eventsPerBusySecond;   // what one worker gets through while it is not blocked
+}
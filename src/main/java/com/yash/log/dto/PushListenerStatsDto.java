@@ -0,0 +1,19 @@
+package com.yash.log.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class PushListenerStatsDto {
+
+    private int tcpPort;              // bound ports, -1 when off
+    private int udpPort;
+    private int openConnections;
+    private long linesReceived;
+    private long linesShed;           // non-ERROR lines dropped while the queue was filling up
+    private long bytesDropped;        // UDP blocks that found the queue full
+    private int queueDepth;
+    private int queueCapacity;
+    private IngestionJobDto ingestion;   // parser counters of everything pushed since startup
+}
@@ -0,0 +1,20 @@
+package com.yash.log.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class RetentionRunDto {
+
+    private LocalDateTime startedAt;
+    private long rowsDeleted;                                    // by batched deletes
+    private List<String> partitionsDropped = new ArrayList<>();  // whole partitions past every rule
+    private long rowsArchived;
+    private String archiveFile;                                  // null when nothing was archived
+    private long durationMillis;
+}
@@ -0,0 +1,17 @@
+package com.yash.log.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SearchIndexStatsDto {
+
+    private boolean enabled;
+    private boolean ready;          // false while loading or rebuilding, searches then go to the database
+    private boolean rebuilding;
+    private int segments;
+    private long documents;         // in segments, a row indexed twice counts until its segments are merged
+    private int bufferedDocuments;  // not searchable before the next flush
+    private long sizeBytes;
+}
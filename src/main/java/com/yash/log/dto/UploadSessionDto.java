@@ -0,0 +1,29 @@
+package com.yash.log.dto;
+
+import com.yash.log.constants.UploadStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+public class UploadSessionDto {
+
+    private String uploadId;
+    private String fileName;
+    private long totalBytes;
+    private int chunkSize;
+    private int chunkCount;
+    private Set<ErrorLevel> levels;  // null when the configured default levels apply
+    private String format;           // null when the format is detected
+    private UploadStatus status;
+    private int receivedChunks;
+    private long contiguousBytes;    // bytes from the start that can already be parsed
+    private List<Integer> missingChunks;   // what a resumed client still has to send
+    private String jobId;            // ingestion job, set once the first chunk is in
+    private String abortReason;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,31 @@
+package com.yash.log.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One fully ingested upload, keyed by the SHA-256 of its bytes; an upload
+// with a known hash is skipped without being parsed
+@Entity
+@Table(name = "ingested_file")
+@Data
+@NoArgsConstructor
+public class IngestedFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String sha256;
+
+    private String fileName;
+
+    private long sizeBytes;
+
+    private long rowsPersisted;
+
+    private LocalDateTime ingestedAt;
+}
@@ -0,0 +1,93 @@
+package com.yash.log.entity;
+
+import com.yash.log.constants.IngestionStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// What one ingestion run did, kept after the job itself is evicted: line
+// counts, where lines went, throughput and time per pipeline stage. A rise in
+// linesUnparseable for a source is usually a changed log layout.
+@Entity
+@Table(name = "ingestion_report", indexes = {
+        @Index(name = "idx_ingestion_report_finished_at", columnList = "finishedAt"),
+        @Index(name = "idx_ingestion_report_file_name", columnList = "fileName")
+})
+@Data
+@NoArgsConstructor
+public class IngestionReport {
+
+    // sample and error columns, longer text is cut
+    public static final int TEXT_LENGTH = 16384;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64)
+    private String jobId;
+
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private IngestionStatus status;
+
+    private String format;
+
+    @Column(length = 64)
+    private String contentSha256;
+
+    private String duplicateOf;
+
+    private long sizeBytes;
+
+    private long sourcesRead;
+
+    private long linesRead;
+
+    private long linesMatched;
+
+    private long linesSkippedByLevel;
+
+    private long linesUnparseable;
+
+    private long rowsPersisted;
+
+    private long eventsDeduplicated;
+
+    private long errorCount;
+
+    // first unparseable lines, one per line
+    @Column(length = TEXT_LENGTH)
+    private String unparseableSample;
+
+    // first line-level errors, one per line
+    @Column(length = TEXT_LENGTH)
+    private String errors;
+
+    private double linesPerSecond;
+
+    private double bytesPerSecond;
+
+    private long durationMillis;
+
+    // busy time per pipeline stage, and time it waited on the next one
+    private long parseMillis;
+
+    private long parseBlockedMillis;
+
+    private long enrichMillis;
+
+    private long enrichBlockedMillis;
+
+    private long persistMillis;
+
+    private long persistBlockedMillis;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -15,18 +15,34 @@ import java.time.LocalDateTime;
 
 )
 @Entity
+// time_stamp is in the unique key because the table is partitioned on it, see LogPartitionRepository.
+// QueryPlanTest fails when an ErrorLogRepository query reads all of the table or of one of these.
+@Table(indexes = {
+        @Index(name = "uk_log_fingerprint", columnList = "fingerprint, timeStamp", unique = true),
+        // the order of the log listings, paged by keyset on it (LogCursor); errorType covers the per-type counts
+        @Index(name = "idx_log_time_stamp_id_type", columnList = "timeStamp, errorId, errorType"),
+        @Index(name = "idx_log_error_type", columnList = "errorType, timeStamp"),
+        // counts per level and the retention rules (level, type, older than)
+        @Index(name = "idx_log_level_type", columnList = "errorLevel, errorType, timeStamp"),
+        @Index(name = "idx_log_ticket_id", columnList = "ticketId")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
 public class Log extends BaseEntity {
 
+    // longer messages are cut by the batch insert, see ErrorLogRepositoryCustomImpl
+    public static final int MESSAGE_LENGTH = 255;
+
+    // time-ordered, assigned before the insert so rows can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long errorId;
 
     private String errorLevel;
 
+    @Column(length = MESSAGE_LENGTH)
     private String errorMessage;
 
     private LocalDateTime timeStamp;
@@ -39,7 +55,18 @@ public class Log extends BaseEntity {
 
     private Long ticketId;
 
+    // continuation lines of a multi-line event: exception, frames, "Caused by:" chain
+    @Column(length = 32768)
+    private String stackTrace;
 
+    // EventFingerprint of timestamp, source and message; null for manual entries
+    private Long fingerprint;
 
-
+    // the partition column may not be NULL
+    @PrePersist
+    void defaultTimeStamp() {
+        if (timeStamp == null) {
+            timeStamp = LocalDateTime.now();
+        }
+    }
 }
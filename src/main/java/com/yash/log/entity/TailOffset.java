@@ -0,0 +1,29 @@
+package com.yash.log.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// How far a tailed log file has been ingested, so a restart resumes there
+@Entity
+@Table(name = "tail_offset")
+@Data
+@NoArgsConstructor
+public class TailOffset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 512)
+    private String path;
+
+    // identity of the file the offset belongs to (inode), a new file after rotation has another
+    private String fileKey;
+
+    private long byteOffset;
+
+    private LocalDateTime updatedAt;
+}
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "ticket")
+// status for ErrorLogRepository.findAllWithTicketStatus
+@Table(name = "ticket", indexes = @Index(name = "idx_ticket_status", columnList = "status"))
 @Data
 @NoArgsConstructor
 public class Ticket {
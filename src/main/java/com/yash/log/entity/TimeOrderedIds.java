@@ -0,0 +1,84 @@
+package com.yash.log.entity;
+
+import java.util.function.LongSupplier;
+
+// Log ids made from the clock instead of the table's AUTO_INCREMENT, so rows
+// get their id before the insert and both Hibernate and the JDBC batch insert
+// can send many rows per round trip. An id is milliseconds since 2025-01-01
+// UTC (41 bits, enough until 2094), the node (3 bits) and a sequence within
+// the millisecond (9 bits). Ids of one node only grow, so newer rows sort
+// after older ones and keyset pages are stable. They stay below 2^53 so
+// JavaScript clients read them exactly. Once the 512 ids of a millisecond are
+// used the next millisecond is borrowed instead of waiting for it; a clock
+// that steps back is treated the same way.
+public final class TimeOrderedIds {
+
+    public static final long EPOCH_MILLIS = 1_735_689_600_000L;   // 2025-01-01T00:00:00Z
+    public static final int NODE_BITS = 3;
+    public static final int SEQUENCE_BITS = 9;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final TimeOrderedIds SHARED = new TimeOrderedIds(0, System::currentTimeMillis);
+
+    private final LongSupplier clock;
+    private long node;
+    private long lastMillis = -1;
+    private long sequence;
+
+    public TimeOrderedIds(int node, LongSupplier clock) {
+        this.clock = clock;
+        setNode(node);
+    }
+
+    // the instance every Log id comes from, see TimeOrderedIdGenerator
+    public static TimeOrderedIds shared() {
+        return SHARED;
+    }
+
+    // instances writing to the same table need different nodes
+    public synchronized void setNode(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("id node must be 0.." + MAX_NODE + ", was " + node);
+        }
+        this.node = node;
+    }
+
+    public synchronized long next() {
+        advance();
+        return id();
+    }
+
+    // count ids under one lock, for a batch of rows
+    public synchronized long[] next(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            advance();
+            ids[i] = id();
+        }
+        return ids;
+    }
+
+    // when the id was handed out, in epoch milliseconds (later if a millisecond was borrowed)
+    public static long millisOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    private void advance() {
+        long now = Math.max(0, clock.getAsLong() - EPOCH_MILLIS);
+        if (now > lastMillis) {
+            lastMillis = now;
+            sequence = 0;
+        } else if (sequence < MAX_SEQUENCE) {
+            sequence++;
+        } else {
+            lastMillis++;
+            sequence = 0;
+        }
+    }
+
+    private long id() {
+        return lastMillis << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | sequence;
+    }
+}
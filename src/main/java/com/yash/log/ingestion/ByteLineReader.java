@@ -0,0 +1,102 @@
+package com.yash.log.ingestion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Splits a stream into lines without decoding it. Each call to nextLine()
+// exposes the bytes of one line as a range of bytes() (terminator stripped),
+// valid until the next call. Callers prefilter the raw bytes and only
+// decode() the lines they keep, unlike BufferedReader which builds a String
+// for every line. Lines end at '\n'; a trailing '\r' is dropped.
+public final class ByteLineReader {
+
+    private static final int INITIAL_BUFFER = 64 * 1024;
+
+    private final InputStream in;
+    private byte[] buffer = new byte[INITIAL_BUFFER];
+    private ByteBuffer view = ByteBuffer.wrap(buffer);
+    private int limit;        // bytes of buffer holding data
+    private int next;         // start of the next unread line
+    private boolean eof;
+
+    private int lineStart;
+    private int lineEnd;
+
+    public ByteLineReader(InputStream in) {
+        this.in = in;
+    }
+
+    public boolean nextLine() throws IOException {
+        int scan = next;
+        while (true) {
+            for (int i = scan; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    setLine(next, i);
+                    next = i + 1;
+                    return true;
+                }
+            }
+            if (eof) {
+                if (next < limit) {
+                    setLine(next, limit);
+                    next = limit;
+                    return true;
+                }
+                return false;
+            }
+            scan = fill();
+        }
+    }
+
+    public ByteBuffer bytes() {
+        return view;
+    }
+
+    public int lineStart() {
+        return lineStart;
+    }
+
+    public int lineEnd() {
+        return lineEnd;
+    }
+
+    // Moves the unread tail to the front, growing the buffer for lines longer
+    // than it, and reads more. Returns where scanning for '\n' should resume.
+    private int fill() throws IOException {
+        int pending = limit - next;
+        if (next > 0) {
+            System.arraycopy(buffer, next, buffer, 0, pending);
+        } else if (pending == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            view = ByteBuffer.wrap(buffer);
+        }
+        next = 0;
+        limit = pending;
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+        return pending;
+    }
+
+    private void setLine(int start, int end) {
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        lineStart = start;
+        lineEnd = end;
+    }
+
+    // UTF-8 text of bytes[from, to); heap buffers become a String, mapped ones a CharBuffer
+    public static CharSequence decode(ByteBuffer bytes, int from, int to) {
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + from, to - from, StandardCharsets.UTF_8);
+        }
+        return StandardCharsets.UTF_8.decode(bytes.slice(from, to - from));
+    }
+}
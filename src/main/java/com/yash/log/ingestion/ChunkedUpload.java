@@ -0,0 +1,292 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.constants.UploadStatus;
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.UploadSessionDto;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+// A resumable upload put together from fixed-size chunks in a spool file.
+// Chunks may arrive in any order and more than once: each one is written at
+// its own offset with positional FileChannel writes, so a retried chunk just
+// overwrites itself. openStream() reads the file while it grows, up to the end
+// of the contiguous run of chunks from the start, and waits for more, so the
+// file is parsed while the rest is still being uploaded.
+public class ChunkedUpload implements Closeable {
+
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    @Getter
+    private final String uploadId;
+    @Getter
+    private final String fileName;
+    @Getter
+    private final long totalBytes;
+    private final int chunkSize;
+    private final int chunkCount;
+    @Getter
+    private final Set<ErrorLevel> levels;     // levels to persist, null for the configured default
+    @Getter
+    private final String format;              // log format to read it as, null to detect it
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private final Path spoolFile;
+    private final FileChannel channel;
+    private final long idleTimeoutNanos;
+    private final BitSet received;
+
+    private int contiguousChunks;               // chunks 0..contiguousChunks-1 are all here
+    private UploadStatus status = UploadStatus.RECEIVING;
+    private String abortReason;
+    private long lastActivity = System.nanoTime();
+    private boolean ingestionClaimed;
+    @Getter
+    private volatile String jobId;
+    @Getter
+    private volatile boolean closed;
+
+    public ChunkedUpload(String uploadId, String fileName, long totalBytes, int chunkSize, Set<ErrorLevel> levels,
+                         String format, Path spoolFile, Duration idleTimeout) throws IOException {
+        if (totalBytes <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("File size and chunk size must be positive");
+        }
+        long chunks = (totalBytes + chunkSize - 1) / chunkSize;
+        if (chunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many chunks, use a larger chunk size");
+        }
+        this.uploadId = uploadId;
+        this.fileName = fileName;
+        this.totalBytes = totalBytes;
+        this.chunkSize = chunkSize;
+        this.chunkCount = (int) chunks;
+        this.levels = levels == null || levels.isEmpty() ? null : Set.copyOf(levels);
+        this.format = format == null || format.isBlank() ? null : format;
+        this.spoolFile = spoolFile;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.received = new BitSet(chunkCount);
+        this.channel = FileChannel.open(spoolFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    // the last chunk may be shorter than chunkSize
+    public long chunkLength(int index) {
+        if (index < 0 || index >= chunkCount) {
+            throw new IllegalArgumentException("Chunk index " + index + " is outside 0.." + (chunkCount - 1));
+        }
+        return Math.min(chunkSize, totalBytes - (long) index * chunkSize);
+    }
+
+    // Copies the body to the chunk's offset; it must be exactly the chunk's length.
+    // Returns true when this chunk extended the contiguous run readable by openStream().
+    public boolean writeChunk(int index, InputStream body) throws IOException {
+        long length = chunkLength(index);
+        synchronized (this) {
+            checkReceiving();
+            lastActivity = System.nanoTime();
+        }
+
+        long position = (long) index * chunkSize;
+        long end = position + length;
+        byte[] buffer = new byte[(int) Math.min(COPY_BUFFER, length)];
+        int read;
+        while (position < end && (read = body.read(buffer, 0, (int) Math.min(buffer.length, end - position))) > 0) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+        }
+        if (position != end || body.read() != -1) {
+            // not marked as received, the client sends it again
+            throw new IllegalArgumentException("Chunk " + index + " must be exactly " + length + " bytes");
+        }
+
+        synchronized (this) {
+            checkReceiving();
+            lastActivity = System.nanoTime();
+            received.set(index);
+            int before = contiguousChunks;
+            while (contiguousChunks < chunkCount && received.get(contiguousChunks)) {
+                contiguousChunks++;
+            }
+            if (contiguousChunks == before) {
+                return false;
+            }
+            notifyAll();
+            return true;
+        }
+    }
+
+    // No more chunks will come; fails while any chunk is still missing
+    public synchronized void complete() {
+        if (status == UploadStatus.COMPLETE) {
+            return;
+        }
+        checkReceiving();
+        if (contiguousChunks < chunkCount) {
+            throw new IllegalStateException("Upload is missing chunks " + missingChunks());
+        }
+        status = UploadStatus.COMPLETE;
+        notifyAll();
+    }
+
+    public synchronized void abort(String reason) {
+        if (status == UploadStatus.RECEIVING) {
+            status = UploadStatus.ABORTED;
+            abortReason = reason;
+            notifyAll();
+        }
+    }
+
+    // true for the one caller that should start ingesting, once chunk 0 is here
+    public synchronized boolean claimIngestion() {
+        if (ingestionClaimed || contiguousChunks == 0 || status == UploadStatus.ABORTED) {
+            return false;
+        }
+        ingestionClaimed = true;
+        return true;
+    }
+
+    // the claimed ingestion could not be queued, a later call may try again
+    public synchronized void releaseIngestion() {
+        ingestionClaimed = false;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public synchronized boolean isIdle() {
+        return status == UploadStatus.RECEIVING && System.nanoTime() - lastActivity > idleTimeoutNanos;
+    }
+
+    public synchronized List<Integer> missingChunks() {
+        List<Integer> missing = new ArrayList<>(chunkCount - received.cardinality());
+        for (int i = received.nextClearBit(0); i < chunkCount; i = received.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+        return missing;
+    }
+
+    // The spool file as it fills up. Reads block until the next contiguous chunk
+    // arrives and end after the last one once complete() was called; an abort or
+    // idleTimeout without a new chunk fails the read. Closing it closes the upload.
+    public InputStream openStream() {
+        return new GrowingFileStream();
+    }
+
+    public synchronized UploadSessionDto toDto() {
+        UploadSessionDto dto = new UploadSessionDto();
+        dto.setUploadId(uploadId);
+        dto.setFileName(fileName);
+        dto.setTotalBytes(totalBytes);
+        dto.setChunkSize(chunkSize);
+        dto.setChunkCount(chunkCount);
+        dto.setLevels(levels);
+        dto.setFormat(format);
+        dto.setStatus(status);
+        dto.setReceivedChunks(received.cardinality());
+        dto.setContiguousBytes(contiguousBytes());
+        dto.setMissingChunks(missingChunks());
+        dto.setJobId(jobId);
+        dto.setAbortReason(abortReason);
+        dto.setCreatedAt(createdAt);
+        return dto;
+    }
+
+    // Releases the channel and deletes the spool file
+    @Override
+    public void close() throws IOException {
+        abort("Upload closed");
+        closed = true;
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(spoolFile);
+        }
+    }
+
+    private void checkReceiving() {
+        if (status != UploadStatus.RECEIVING) {
+            throw new IllegalStateException("Upload is " + status
+                    + (abortReason != null ? " (" + abortReason + ")" : ""));
+        }
+    }
+
+    private long contiguousBytes() {
+        return Math.min((long) contiguousChunks * chunkSize, totalBytes);
+    }
+
+    // bytes readable from position, or -1 at the end of a completed upload
+    private synchronized long awaitData(long position) throws IOException {
+        while (true) {
+            if (status == UploadStatus.ABORTED) {
+                throw new IOException("Upload aborted: " + abortReason);
+            }
+            long ready = contiguousBytes();
+            if (position < ready) {
+                return ready - position;
+            }
+            if (status == UploadStatus.COMPLETE) {
+                return -1;
+            }
+            long waitNanos = idleTimeoutNanos - (System.nanoTime() - lastActivity);
+            if (waitNanos <= 0) {
+                abort("No chunk received for " + Duration.ofNanos(idleTimeoutNanos).toSeconds() + "s");
+                continue;
+            }
+            try {
+                wait(Math.max(1, waitNanos / 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for chunks");
+            }
+        }
+    }
+
+    private final class GrowingFileStream extends InputStream {
+
+        private long position;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            long available = awaitData(position);
+            if (available < 0) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, available)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            ChunkedUpload.this.close();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.config.ClassifierProperties;
+import com.yash.log.constants.LogConstant;
+import com.yash.log.dto.ClassifierStatsDto;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Resolves the error type stored with each log row. Rules are compiled once
+// and tried in order: the user-defined ingestion.classifier.rules on the
+// message as logged and then on the root cause of its stack trace, the Java exception name in the message, the text before
+// the first ':', and finally "Unknown Error". The built-in results are kept in
+// a bounded concurrent cache keyed by the message signature, so logs that
+// repeat the same few failures cost a map lookup per line without a lock
+// shared by the parser's threads.
+@Component
+public class ErrorTypeClassifier {
+
+    // longer messages are still classified, just not cached
+    private static final int MAX_CACHED_LENGTH = 1024;
+    private static final Pattern EXCEPTION_PATTERN = Pattern.compile(LogConstant.EXCEPTION_PATTERN);
+
+    private final List<Rule> rules;
+    private final int capacity;
+    private final Map<String, String> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ErrorTypeClassifier(ClassifierProperties properties) {
+        this.rules = properties.getRules().stream().map(Rule::compile).toList();
+        this.capacity = Math.max(0, properties.getCacheSize());
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    public String classify(String message) {
+        return classify(message, null);
+    }
+
+    // rootCause is the innermost exception of the event's stack trace, e.g.
+    // "SQLException", or null; only the user rules look at it
+    public String classify(String message, String rootCause) {
+        // user rules may look for numbers, e.g. an HTTP status or ORA- code, so
+        // they see the message and are not cached
+        String type = userRule(message);
+        if (type == null) {
+            type = userRule(rootCause);
+        }
+        if (type != null) {
+            return type;
+        }
+        if (message == null || message.isEmpty()) {
+            return LogConstant.UNKNOWN_ERROR;
+        }
+        String signature = signature(message);
+        if (capacity == 0 || signature.length() > MAX_CACHED_LENGTH) {
+            misses.incrementAndGet();
+            return builtIn(signature);
+        }
+
+        type = cache.get(signature);
+        if (type != null) {
+            hits.incrementAndGet();
+            return type;
+        }
+        misses.incrementAndGet();
+        type = builtIn(signature);
+        if (cache.putIfAbsent(signature, type) == null && cache.size() > capacity) {
+            evict();
+        }
+        return type;
+    }
+
+    public ClassifierStatsDto getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        int size = cache.size();
+        long total = hitCount + missCount;
+        return new ClassifierStatsDto(hitCount, missCount, evictions.get(), size, capacity,
+                total == 0 ? 0 : (double) hitCount / total);
+    }
+
+    private String userRule(String text) {
+        if (text == null) {
+            return null;
+        }
+        for (Rule rule : rules) {
+            if (rule.pattern().matcher(text).find()) {
+                return rule.type();
+            }
+        }
+        return null;
+    }
+
+    // Back to capacity by dropping entries from the front of the table. Its
+    // order is that of the key hashes, so which signatures go is in effect random.
+    private void evict() {
+        Iterator<String> signatures = cache.keySet().iterator();
+        while (cache.size() > capacity && signatures.hasNext()) {
+            signatures.next();
+            signatures.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String builtIn(String text) {
+        // If message contains a Java exception, extract it
+        Matcher matcher = EXCEPTION_PATTERN.matcher(text);
+        if (matcher.find()) {
+            return matcher.group(1); // e.g., NullPointerException
+        }
+
+        // If message has a colon-based prefix (e.g., Database Transaction Error: ...)
+        int colonIndex = text.indexOf(':');
+        if (colonIndex > 0) {
+            return text.substring(0, colonIndex).trim();
+        }
+        return LogConstant.UNKNOWN_ERROR;
+    }
+
+    // The message with each number after the first ':' replaced by 0, so
+    // "Order 7 failed: timeout after 3000 ms" and "... after 2500 ms" share a
+    // cache entry. Only digit runs standing between non-alphanumerics change,
+    // never part of a name like Http404Exception, and the text before the
+    // first ':' is kept, so the built-in rules classify the signature exactly
+    // like the message.
+    static String signature(String message) {
+        int colon = message.indexOf(':');
+        if (colon < 0) {
+            return message;
+        }
+        int n = message.length();
+        StringBuilder normalized = null;
+        int copied = 0;
+        int i = colon + 1;
+        while (i < n) {
+            if (!isDigit(message.charAt(i)) || isAlphanumeric(message.charAt(i - 1))) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < n && isDigit(message.charAt(end))) {
+                end++;
+            }
+            boolean standalone = end == n || !isAlphanumeric(message.charAt(end));
+            if (standalone && (end - i > 1 || message.charAt(i) != '0')) {
+                if (normalized == null) {
+                    normalized = new StringBuilder(n);
+                }
+                normalized.append(message, copied, i).append('0');
+                copied = end;
+            }
+            i = end;
+        }
+        if (normalized == null) {
+            return message;
+        }
+        return normalized.append(message, copied, n).toString();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private record Rule(String type, Pattern pattern) {
+
+        static Rule compile(ClassifierProperties.Rule rule) {
+            if (!StringUtils.hasText(rule.getType()) || !StringUtils.hasText(rule.getPattern())) {
+                throw new IllegalArgumentException("Classifier rules need both a type and a pattern");
+            }
+            return new Rule(rule.getType(), Pattern.compile(rule.getPattern()));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.entity.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+// Drops rows whose event is already stored before they reach the database.
+// A Bloom filter of persisted fingerprints answers "new" for almost every
+// fresh event with a few memory probes; only the fingerprints it may have
+// seen are confirmed, with one lookup per batch. Until the filter is loaded
+// from the table every fingerprint goes through that lookup. The unique index
+// on log.fingerprint stays the last word for rows that race past both.
+@Component
+public class EventDeduplicator {
+
+    private final BloomFilter persisted;
+    private volatile boolean warm;
+
+    public EventDeduplicator(@Value("${ingestion.dedup.expected-events:10000000}") long expectedEvents,
+                             @Value("${ingestion.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.persisted = new BloomFilter(expectedEvents, falsePositiveRate);
+    }
+
+    // Rows of the batch that are not stored yet and not repeated earlier in the
+    // batch. existing returns which of the given fingerprints are in the table.
+    public List<Log> newRows(List<Log> rows, Function<Collection<Long>, Set<Long>> existing) {
+        List<Long> maybeSeen = new ArrayList<>();
+        for (Log row : rows) {
+            Long fingerprint = row.getFingerprint();
+            if (fingerprint != null && (!warm || persisted.mightContain(fingerprint))) {
+                maybeSeen.add(fingerprint);
+            }
+        }
+        Set<Long> stored = maybeSeen.isEmpty() ? Set.of() : existing.apply(maybeSeen);
+
+        Set<Long> batch = new HashSet<>();
+        List<Log> fresh = new ArrayList<>(rows.size());
+        for (Log row : rows) {
+            Long fingerprint = row.getFingerprint();
+            if (fingerprint == null || (!stored.contains(fingerprint) && batch.add(fingerprint))) {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    public void recordPersisted(List<Log> rows) {
+        for (Log row : rows) {
+            if (row.getFingerprint() != null) {
+                persisted.put(row.getFingerprint());
+            }
+        }
+    }
+
+    // Loads the fingerprints already in the table; source feeds each one to the consumer
+    public void warmUp(Consumer<LongConsumer> source) {
+        source.accept(persisted::put);
+        warm = true;
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+}
@@ -0,0 +1,55 @@
+package com.yash.log.ingestion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// 64-bit identity of a log event: timestamp, source and message. The same event
+// read from a re-uploaded or overlapping rotated file gets the same value, which
+// is what the unique index on log.fingerprint and EventDeduplicator compare.
+public final class EventFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private EventFingerprint() {
+    }
+
+    public static long of(LocalDateTime timeStamp, String source, String message) {
+        long hash = FNV_OFFSET;
+        if (timeStamp != null) {
+            hash = add(hash, timeStamp.toEpochSecond(ZoneOffset.UTC));
+            hash = add(hash, timeStamp.getNano());
+        }
+        hash = add(hash, source);
+        hash = add(hash, message);
+        return finish(hash);
+    }
+
+    // FNV-1a over the UTF-16 units, with the length so that ("ab", "c") != ("a", "bc")
+    private static long add(long hash, String value) {
+        if (value == null) {
+            return add(hash, -1L);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return add(hash, value.length());
+    }
+
+    private static long add(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 fmix64
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,222 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.constants.IngestionStatus;
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.IngestionJobDto;
+import com.yash.log.dto.PipelineStageStatsDto;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Live progress of one ingestion run. Counters are written by the worker
+// thread and read by the status endpoints, so they are all atomics.
+@Getter
+public class IngestionJob {
+
+    private static final int MAX_RECORDED_ERRORS = 20;
+    private static final int MAX_UNPARSEABLE_SAMPLES = 20;
+    private static final int MAX_SAMPLE_CHARS = 500;
+
+    private final String jobId;
+    private final String fileName;
+    private final long fileSizeBytes;
+    private final Set<ErrorLevel> levels;     // levels to persist, null for the configured default
+    private final String requestedFormat;     // log format asked for, null to detect it per source
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile IngestionStatus status = IngestionStatus.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String contentSha256;
+    private volatile String duplicateOf;      // earlier upload with the same content, nothing was parsed
+    private volatile String format;           // format the last source was read with
+
+    private final AtomicLong sourcesRead = new AtomicLong();   // archive entries, 1 for a plain file
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong linesSkippedByLevel = new AtomicLong();
+    private final AtomicLong linesMatched = new AtomicLong();
+    private final AtomicLong linesUnparseable = new AtomicLong();   // not readable as the format, see unparseableSample
+    private final AtomicLong rowsPersisted = new AtomicLong();
+    private final AtomicLong eventsDeduplicated = new AtomicLong();   // already stored, not written again
+    private final AtomicLong errorCount = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> unparseableSample = new ArrayList<>();
+    private final Map<String, StageMetrics> stages = new LinkedHashMap<>();
+
+    public IngestionJob(String jobId, String fileName, long fileSizeBytes) {
+        this(jobId, fileName, fileSizeBytes, null);
+    }
+
+    public IngestionJob(String jobId, String fileName, long fileSizeBytes, Set<ErrorLevel> levels) {
+        this(jobId, fileName, fileSizeBytes, levels, null);
+    }
+
+    public IngestionJob(String jobId, String fileName, long fileSizeBytes, Set<ErrorLevel> levels,
+                        String requestedFormat) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.fileSizeBytes = fileSizeBytes;
+        this.levels = levels == null || levels.isEmpty() ? null : Set.copyOf(levels);
+        this.requestedFormat = requestedFormat == null || requestedFormat.isBlank() ? null : requestedFormat;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = IngestionStatus.RUNNING;
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = IngestionStatus.COMPLETED;
+    }
+
+    public void fail(Exception e) {
+        recordError(e.getMessage());
+        finishedAt = LocalDateTime.now();
+        status = IngestionStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == IngestionStatus.COMPLETED || status == IngestionStatus.FAILED;
+    }
+
+    public void sourceRead() {
+        sourcesRead.incrementAndGet();
+    }
+
+    public long lineRead() {
+        return linesRead.incrementAndGet();
+    }
+
+    public void lineSkippedByLevel() {
+        linesSkippedByLevel.incrementAndGet();
+    }
+
+    public void lineMatched() {
+        linesMatched.incrementAndGet();
+    }
+
+    // line is only read for the first few, which are kept as a sample
+    public void lineUnparseable(Supplier<? extends CharSequence> line) {
+        linesUnparseable.incrementAndGet();
+        synchronized (unparseableSample) {
+            if (unparseableSample.size() < MAX_UNPARSEABLE_SAMPLES) {
+                CharSequence text = line.get();
+                unparseableSample.add(text.length() > MAX_SAMPLE_CHARS
+                        ? text.subSequence(0, MAX_SAMPLE_CHARS) + "..." : text.toString());
+            }
+        }
+    }
+
+    // This job's counters of a pipeline stage, passing their updates on to the service-wide ones
+    public StageMetrics stage(StageMetrics serviceWide) {
+        synchronized (stages) {
+            return stages.computeIfAbsent(serviceWide.getName(), name -> new StageMetrics(name, serviceWide));
+        }
+    }
+
+    public List<String> getUnparseableSample() {
+        synchronized (unparseableSample) {
+            return List.copyOf(unparseableSample);
+        }
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public List<StageMetrics> getStages() {
+        synchronized (stages) {
+            return List.copyOf(stages.values());
+        }
+    }
+
+    public long getDurationMillis() {
+        LocalDateTime start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        return Math.max(1, Duration.between(start, end).toMillis());
+    }
+
+    public void rowsPersisted(int rows) {
+        rowsPersisted.addAndGet(rows);
+    }
+
+    public void eventsDeduplicated(int events) {
+        eventsDeduplicated.addAndGet(events);
+    }
+
+    public void setContentSha256(String contentSha256) {
+        this.contentSha256 = contentSha256;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    // the whole file was ingested before under earlierFileName
+    public void skipDuplicate(String earlierFileName) {
+        duplicateOf = earlierFileName;
+    }
+
+    public void recordError(String message) {
+        errorCount.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_RECORDED_ERRORS) {
+                errors.add(message);
+            }
+        }
+    }
+
+    public IngestionJobDto toDto() {
+        IngestionJobDto dto = new IngestionJobDto();
+        dto.setJobId(jobId);
+        dto.setFileName(fileName);
+        dto.setFileSizeBytes(fileSizeBytes);
+        dto.setStatus(status);
+        dto.setLevels(levels);
+        dto.setFormat(format != null ? format : requestedFormat);
+        dto.setSourcesRead(sourcesRead.get());
+        dto.setLinesRead(linesRead.get());
+        dto.setLinesSkippedByLevel(linesSkippedByLevel.get());
+        dto.setLinesMatched(linesMatched.get());
+        dto.setLinesUnparseable(linesUnparseable.get());
+        dto.setUnparseableSample(getUnparseableSample());
+        dto.setRowsPersisted(rowsPersisted.get());
+        dto.setEventsDeduplicated(eventsDeduplicated.get());
+        dto.setContentSha256(contentSha256);
+        dto.setDuplicateOf(duplicateOf);
+        dto.setLinesPerSecond(linesPerSecond());
+        dto.setBytesPerSecond(bytesPerSecond());
+        dto.setErrorCount(errorCount.get());
+        dto.setErrors(getErrors());
+        dto.setStages(getStages().stream().map(stage -> stage.toDto(0, 0)).toList());
+        dto.setSubmittedAt(submittedAt);
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        return dto;
+    }
+
+    public double linesPerSecond() {
+        long millis = getDurationMillis();
+        return millis == 0 ? 0 : linesRead.get() * 1000.0 / millis;
+    }
+
+    // upload bytes as received, compressed for archives
+    public double bytesPerSecond() {
+        long millis = getDurationMillis();
+        return millis == 0 ? 0 : fileSizeBytes * 1000.0 / millis;
+    }
+}
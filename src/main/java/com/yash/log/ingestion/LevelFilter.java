@@ -0,0 +1,142 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.dto.ErrorLevel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+// The set of levels an upload keeps. As a LinePrefilter it skips the timestamp
+// and compares the second token of the raw line with the level names, so
+// INFO/DEBUG lines are dropped before anything is decoded or allocated.
+// For the Spring Boot layout this is exact: LOG_PATTERN captures that same
+// token as the level, so a rejected line could never have been persisted.
+// Other layouts find the level themselves (LogFormat.levelOf) and only ask
+// classify(level) what to do with it.
+public final class LevelFilter implements LinePrefilter {
+
+    private static final ErrorLevel[] ALL_LEVELS = ErrorLevel.values();
+    private static final byte[][] ALL_NAMES = names(EnumSet.allOf(ErrorLevel.class));
+
+    public static final LevelFilter ERRORS_ONLY = new LevelFilter(EnumSet.of(ErrorLevel.ERROR));
+
+    // what a raw line is, judged by its second token alone
+    public enum LineKind {
+        KEEP,           // starts an event of a kept level
+        DROP,           // starts an event of another level
+        CONTINUATION    // no level: stack frame, "Caused by:", wrapped message, ...
+    }
+
+    private final Set<ErrorLevel> levels;
+
+    private LevelFilter(EnumSet<ErrorLevel> levels) {
+        this.levels = Collections.unmodifiableSet(levels);
+    }
+
+    private static byte[][] names(Set<ErrorLevel> levels) {
+        return levels.stream()
+                .map(level -> level.name().getBytes(StandardCharsets.US_ASCII))
+                .toArray(byte[][]::new);
+    }
+
+    public static LevelFilter of(Collection<ErrorLevel> levels) {
+        if (levels == null || levels.isEmpty()) {
+            throw new IllegalArgumentException("At least one log level must be persisted");
+        }
+        return new LevelFilter(EnumSet.copyOf(levels));
+    }
+
+    public Set<ErrorLevel> getLevels() {
+        return levels;
+    }
+
+    public boolean allows(ErrorLevel level) {
+        return levels.contains(level);
+    }
+
+    // level as captured by LOG_PATTERN
+    public boolean allows(String level) {
+        for (ErrorLevel kept : levels) {
+            if (kept.name().equals(level)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean test(ByteBuffer bytes, int from, int to) {
+        return classify(bytes, from, to) == LineKind.KEEP;
+    }
+
+    // true for lines that start an event of any level
+    public boolean isEventStart(ByteBuffer bytes, int from, int to) {
+        return classify(bytes, from, to) != LineKind.CONTINUATION;
+    }
+
+    // judged by the Spring Boot layout, see springBootLevel
+    public LineKind classify(ByteBuffer bytes, int from, int to) {
+        return classify(springBootLevel(bytes, from, to));
+    }
+
+    // what a line starting an event of this level is; null for a line that starts none
+    public LineKind classify(ErrorLevel level) {
+        if (level == null) {
+            return LineKind.CONTINUATION;
+        }
+        return levels.contains(level) ? LineKind.KEEP : LineKind.DROP;
+    }
+
+    // Level in the second token of a Spring Boot line, or null when there is none
+    public static ErrorLevel springBootLevel(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        while (i < to && !isWhitespace(bytes.get(i))) {
+            i++;
+        }
+        // indented, or nothing after the first token
+        if (i == from || i == to) {
+            return null;
+        }
+        while (i < to && isWhitespace(bytes.get(i))) {
+            i++;
+        }
+        return levelAt(bytes, i, to);
+    }
+
+    // Level whose name is at i followed by whitespace, or null
+    public static ErrorLevel levelAt(ByteBuffer bytes, int i, int to) {
+        for (int k = 0; k < ALL_NAMES.length; k++) {
+            if (tokenEquals(bytes, i, to, ALL_NAMES[k])) {
+                return ALL_LEVELS[k];
+            }
+        }
+        return null;
+    }
+
+    // name at i, followed by whitespace
+    private static boolean tokenEquals(ByteBuffer bytes, int i, int to, byte[] name) {
+        int end = i + name.length;
+        if (end >= to) {
+            return false;
+        }
+        for (int k = 0; k < name.length; k++) {
+            if (bytes.get(i + k) != name[k]) {
+                return false;
+            }
+        }
+        return isWhitespace(bytes.get(end));
+    }
+
+    // same set as the regex \s
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+    }
+
+    @Override
+    public String toString() {
+        return levels.toString();
+    }
+}
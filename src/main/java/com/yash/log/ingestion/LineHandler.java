@@ -0,0 +1,15 @@
+package com.yash.log.ingestion;
+
+import java.nio.ByteBuffer;
+
+// Receives the raw lines of a stream, or of one parallel chunk, in order and
+// always from the same thread, so implementations may keep state between lines.
+public interface LineHandler {
+
+    // bytes[from, to) is one line without its terminator, valid only during the call
+    void line(ByteBuffer bytes, int from, int to);
+
+    // called once after the last line
+    default void finish() {
+    }
+}
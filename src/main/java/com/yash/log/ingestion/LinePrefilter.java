@@ -0,0 +1,14 @@
+package com.yash.log.ingestion;
+
+import java.nio.ByteBuffer;
+
+// Cheap test on the raw UTF-8 bytes of one line, run before the line is decoded
+// into characters. Lines it rejects are never decoded, tokenized or matched.
+// from is inclusive, to exclusive, the line terminator is not included.
+@FunctionalInterface
+public interface LinePrefilter {
+
+    LinePrefilter ACCEPT_ALL = (bytes, from, to) -> true;
+
+    boolean test(ByteBuffer bytes, int from, int to);
+}
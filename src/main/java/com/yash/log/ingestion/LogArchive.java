@@ -0,0 +1,223 @@
+package com.yash.log.ingestion;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Opens an upload as one or more log sources. The format is sniffed from the
+// leading bytes rather than the file name, since spooled uploads are renamed:
+// gzip (also .tar.gz), zip and tar are decompressed as a stream, and every
+// archive entry is handed out as its own source. Entries that are themselves
+// .gz (rotated logs inside a bundle) are unpacked too. Nothing is buffered
+// beyond the decompressor windows, so archive size does not matter for memory;
+// maxUncompressedBytes bounds how much an archive may expand.
+public final class LogArchive {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int TAR_BLOCK = 512;
+
+    public enum Format {
+        PLAIN,
+        GZIP,
+        ZIP,
+        TAR,
+        TAR_GZIP
+    }
+
+    @FunctionalInterface
+    public interface SourceHandler {
+        // in is closed by the archive, not by the handler
+        void accept(String name, InputStream in) throws IOException;
+    }
+
+    private LogArchive() {
+    }
+
+    // true when the file has to go through forEachSource to be read as text
+    public static boolean isArchive(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return sniff(in.readNBytes(TAR_BLOCK)) != Format.PLAIN;
+        }
+    }
+
+    // Calls handler once per log source in the stream and returns the format found.
+    // raw is not closed; bytes after the archive's end (e.g. a zip directory) are left in it.
+    public static Format forEachSource(InputStream raw, String fileName, long maxUncompressedBytes,
+                                       SourceHandler handler) throws IOException {
+        // closing the zip and gzip readers below must leave raw open, the caller still
+        // reads the trailer from it for the file hash and closes it itself
+        BufferedInputStream in = new BufferedInputStream(new EntryStream(raw, null), BUFFER_SIZE);
+        Format format = sniff(peek(in));
+        ExpansionLimit limit = new ExpansionLimit(maxUncompressedBytes);
+
+        switch (format) {
+            case PLAIN -> handler.accept(fileName, new EntryStream(in, null));
+            case TAR -> forEachTarEntry(new TarInputStream(in), limit, handler);
+            case ZIP -> {
+                try (ZipInputStream zip = new ZipInputStream(in)) {
+                    forEachZipEntry(zip, limit, handler);
+                }
+            }
+            case GZIP -> {
+                try (GZIPInputStream gzip = new GZIPInputStream(in, BUFFER_SIZE)) {
+                    BufferedInputStream text = new BufferedInputStream(gzip, BUFFER_SIZE);
+                    if (sniff(peek(text)) == Format.TAR) {
+                        format = Format.TAR_GZIP;
+                        forEachTarEntry(new TarInputStream(text), limit, handler);
+                    } else {
+                        handler.accept(stripGz(fileName), new EntryStream(text, limit));
+                    }
+                }
+            }
+        }
+        return format;
+    }
+
+    private static void forEachTarEntry(TarInputStream tar, ExpansionLimit limit, SourceHandler handler)
+            throws IOException {
+        String name;
+        while ((name = tar.nextEntry()) != null) {
+            if (isLogEntry(name)) {
+                acceptEntry(name, tar, limit, handler);
+            }
+        }
+    }
+
+    private static void forEachZipEntry(ZipInputStream zip, ExpansionLimit limit, SourceHandler handler)
+            throws IOException {
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory() && isLogEntry(entry.getName())) {
+                acceptEntry(entry.getName(), zip, limit, handler);
+            }
+        }
+    }
+
+    private static void acceptEntry(String name, InputStream entry, ExpansionLimit limit, SourceHandler handler)
+            throws IOException {
+        if (name.endsWith(".gz")) {
+            // closing the inner gzip stream must not close the archive
+            try (GZIPInputStream gzip = new GZIPInputStream(new EntryStream(entry, null), BUFFER_SIZE)) {
+                handler.accept(stripGz(name), new EntryStream(gzip, limit));
+            }
+        } else {
+            handler.accept(name, new EntryStream(entry, limit));
+        }
+    }
+
+    // skips directories, macOS resource forks and hidden files
+    private static boolean isLogEntry(String name) {
+        if (name.isEmpty() || name.endsWith("/") || name.startsWith("__MACOSX/")) {
+            return false;
+        }
+        String baseName = name.substring(name.lastIndexOf('/') + 1);
+        return !baseName.startsWith(".");
+    }
+
+    private static String stripGz(String name) {
+        if (name == null) {
+            return null;
+        }
+        if (name.endsWith(".tgz")) {
+            return name.substring(0, name.length() - 4) + ".tar";
+        }
+        return name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+    }
+
+    private static byte[] peek(BufferedInputStream in) throws IOException {
+        in.mark(TAR_BLOCK);
+        byte[] head = in.readNBytes(TAR_BLOCK);
+        in.reset();
+        return head;
+    }
+
+    static Format sniff(byte[] head) {
+        if (head.length >= 2 && (head[0] & 0xFF) == 0x1F && (head[1] & 0xFF) == 0x8B) {
+            return Format.GZIP;
+        }
+        if (head.length >= 4 && head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4) {
+            return Format.ZIP;
+        }
+        // "ustar\0" (POSIX) or "ustar " (GNU) at offset 257
+        if (head.length == TAR_BLOCK && head[257] == 'u' && head[258] == 's' && head[259] == 't'
+                && head[260] == 'a' && head[261] == 'r') {
+            return Format.TAR;
+        }
+        return Format.PLAIN;
+    }
+
+    // decompressed bytes an archive may still produce, shared by all its entries
+    private static final class ExpansionLimit {
+
+        private final long max;
+        private long remaining;
+
+        ExpansionLimit(long max) {
+            this.max = max;
+            this.remaining = max;
+        }
+
+        void consume(long bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new IOException("Archive expands to more than " + max + " bytes");
+            }
+        }
+    }
+
+    // An entry as seen by the handler: close() leaves the archive open and
+    // every byte read is charged to the limit (null for plain uploads and for
+    // the caller's stream, which the archive must not close either)
+    private static final class EntryStream extends FilterInputStream {
+
+        private final ExpansionLimit limit;
+
+        EntryStream(InputStream in, ExpansionLimit limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0 && limit != null) {
+                limit.consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0 && limit != null) {
+                limit.consume(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            if (limit != null) {
+                limit.consume(skipped);
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // the archive owns the underlying stream
+        }
+    }
+}
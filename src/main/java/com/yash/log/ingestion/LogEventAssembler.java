@@ -0,0 +1,179 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.dto.LogDTO;
+import com.yash.log.ingestion.format.LogFormat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Groups raw lines into log events in a single pass. A line the format finds
+// a level in starts an event; the lines after it that have none (exception header,
+// "\tat ..." frames, "Caused by: ...", "\t... 12 more") are continuation lines
+// and belong to it. Only the open event is held: it is emitted when the next
+// event starts or on finish(). Its continuation text is kept up to
+// maxTraceChars; past that lines are still scanned for the root cause but not
+// stored. The innermost top-level "Caused by:" exception, or else the thrown
+// one, is kept as the event's root cause for ErrorTypeClassifier. Lines without a level before the first event
+// (a file in another layout than the format's) count as unparseable.
+// Not thread-safe, one instance per stream/chunk.
+public final class LogEventAssembler implements LineHandler {
+
+    private static final byte[] CAUSED_BY = "Caused by: ".getBytes(StandardCharsets.US_ASCII);
+    private static final String TRUNCATED = "\n\t... (truncated)";
+
+    private final LogFormat format;
+    private final LevelFilter levelFilter;
+    private final Function<CharSequence, LogDTO> eventParser;
+    private final int maxTraceChars;
+    private final IngestionJob job;
+    private final Consumer<LogDTO> out;
+
+    private final StringBuilder trace = new StringBuilder();
+    private LogDTO open;
+    private boolean eventSeen;
+    private boolean truncated;
+    private boolean firstContinuation;
+    private String thrown;
+    private String rootCause;
+
+    // eventParser turns the first line of a kept event into a DTO, or returns null to drop the event
+    public LogEventAssembler(LogFormat format, LevelFilter levelFilter, Function<CharSequence, LogDTO> eventParser,
+                             int maxTraceChars, IngestionJob job, Consumer<LogDTO> out) {
+        this.format = format;
+        this.levelFilter = levelFilter;
+        this.eventParser = eventParser;
+        this.maxTraceChars = maxTraceChars;
+        this.job = job;
+        this.out = out;
+    }
+
+    @Override
+    public void line(ByteBuffer bytes, int from, int to) {
+        job.lineRead();
+        switch (levelFilter.classify(format.levelOf(bytes, from, to))) {
+            case KEEP -> {
+                emitOpen();
+                eventSeen = true;
+                open = eventParser.apply(ByteLineReader.decode(bytes, from, to));
+                firstContinuation = true;
+            }
+            case DROP -> {
+                // its continuation lines are dropped with it
+                job.lineSkippedByLevel();
+                emitOpen();
+                eventSeen = true;
+            }
+            case CONTINUATION -> {
+                if (open != null) {
+                    attach(bytes, from, to);
+                } else if (!eventSeen && !isBlank(bytes, from, to)) {
+                    job.lineUnparseable(() -> ByteLineReader.decode(bytes, from, to));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void finish() {
+        emitOpen();
+    }
+
+    private void attach(ByteBuffer bytes, int from, int to) {
+        if (firstContinuation) {
+            // "java.lang.IllegalStateException: boom" right under the event line
+            thrown = exceptionName(bytes, from, to);
+            firstContinuation = false;
+        }
+        if (startsWith(bytes, from, to, CAUSED_BY)) {
+            String cause = exceptionName(bytes, from + CAUSED_BY.length, to);
+            if (cause != null) {
+                rootCause = cause;
+            }
+        }
+
+        if (truncated) {
+            return;
+        }
+        CharSequence text = ByteLineReader.decode(bytes, from, to);
+        int room = maxTraceChars - trace.length() - (trace.isEmpty() ? 0 : 1);
+        if (text.length() > room) {
+            truncated = true;
+            return;
+        }
+        if (!trace.isEmpty()) {
+            trace.append('\n');
+        }
+        trace.append(text);
+    }
+
+    private void emitOpen() {
+        if (open != null) {
+            if (!trace.isEmpty() || truncated) {
+                open.setStackTrace(truncated ? trace + TRUNCATED : trace.toString());
+            }
+            String cause = rootCause != null ? rootCause : thrown;
+            // a JSON event brings its own
+            if (cause != null) {
+                open.setRootCause(cause);
+            }
+            out.accept(open);
+        }
+        open = null;
+        trace.setLength(0);
+        truncated = false;
+        thrown = null;
+        rootCause = null;
+    }
+
+    // Simple name of the exception class at i when it fills the token up to ':'
+    // or the end of the line, e.g. "SQLException" for "java.sql.SQLException: x"
+    private static String exceptionName(ByteBuffer bytes, int i, int to) {
+        int simpleStart = i;
+        int end = i;
+        while (end < to && bytes.get(end) != ':') {
+            byte b = bytes.get(end);
+            if (b == '.') {
+                simpleStart = end + 1;
+            } else if (!isJavaIdentifierByte(b)) {
+                return null;
+            }
+            end++;
+        }
+        if (end == simpleStart) {
+            return null;
+        }
+        byte[] name = new byte[end - simpleStart];
+        bytes.get(simpleStart, name);
+        String simpleName = new String(name, StandardCharsets.US_ASCII);
+        return simpleName.endsWith("Exception") || simpleName.endsWith("Error") || simpleName.endsWith("Throwable")
+                ? simpleName : null;
+    }
+
+    private static boolean isBlank(ByteBuffer bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = bytes.get(i);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isJavaIdentifierByte(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '$';
+    }
+
+    private static boolean startsWith(ByteBuffer bytes, int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int k = 0; k < prefix.length; k++) {
+            if (bytes.get(from + k) != prefix[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
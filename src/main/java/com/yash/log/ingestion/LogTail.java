@@ -0,0 +1,199 @@
+package com.yash.log.ingestion;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+// Follows one log file across appends, truncation and rotation. poll() hands
+// out the bytes appended since the last commit(), cut so that a chunk only
+// holds whole events: a trailing partial line is never returned, and the last
+// event is held back until the file has been quiet for quietMillis, in case
+// its stack trace is still being written. A file renamed away (rotated) is
+// read to its end through the open channel before the new file at the path
+// is opened; a file that shrank was truncated in place and is read again from
+// the start. The offset and file key are what the caller persists to resume.
+// Not thread-safe.
+public final class LogTail implements Closeable {
+
+    // only the event-start test is used, which does not depend on the levels
+    private static final LevelFilter EVENTS = LevelFilter.ERRORS_ONLY;
+
+    private final Path path;
+    private final int maxReadBytes;
+    private final long quietNanos;
+
+    private String fileKey;
+    private long offset;
+    private FileChannel channel;
+    private byte[] buffer = new byte[0];
+    private long lastSize = -1;
+    private long lastGrowth;
+    private boolean gone;
+
+    // fileKey and offset are the values saved by a previous run, or null and 0
+    public LogTail(Path path, String fileKey, long offset, int maxReadBytes, long quietMillis) {
+        this.path = path;
+        this.fileKey = fileKey;
+        this.offset = offset;
+        this.maxReadBytes = maxReadBytes;
+        this.quietNanos = quietMillis * 1_000_000;
+    }
+
+    // Whole events appended since the last commit, or null when there are none yet.
+    // The chunk's bytes are only valid until the next call.
+    public Chunk poll() throws IOException {
+        String pathKey = fileKey(path);
+        if (channel == null) {
+            if (pathKey == null) {
+                gone = true;
+                return null;
+            }
+            open(pathKey);
+        }
+        // rotated away or deleted, the open channel still reads the old file
+        boolean replaced = !fileKey.equals(pathKey);
+
+        long size = channel.size();
+        if (size < offset) {
+            // truncated in place (copytruncate), what is there now is new
+            offset = 0;
+        }
+        long now = System.nanoTime();
+        if (size != lastSize) {
+            lastSize = size;
+            lastGrowth = now;
+        }
+        if (size == offset) {
+            if (!replaced) {
+                return null;
+            }
+            // the rotated file is read to its end, move on to the one now at the path
+            closeChannel();
+            return poll();
+        }
+
+        int length = (int) Math.min(size - offset, maxReadBytes);
+        read(length);
+        boolean toEnd = length == size - offset;
+        int end = cut(length, toEnd && replaced, toEnd && now - lastGrowth >= quietNanos);
+        return end == 0 ? null : new Chunk(buffer, end, offset + end);
+    }
+
+    // The chunk was ingested, the next poll starts after it
+    public void commit(Chunk chunk) {
+        offset = chunk.endOffset();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getFileKey() {
+        return fileKey;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    // true once the path is gone and everything that was written to it has been read
+    public boolean isGone() {
+        return gone;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeChannel();
+    }
+
+    public record Chunk(byte[] bytes, int length, long endOffset) {
+    }
+
+    // end of the bytes to hand out, 0 to wait for more
+    private int cut(int length, boolean complete, boolean quiet) {
+        if (complete) {
+            // nothing more will be appended to a rotated file
+            return length;
+        }
+        int end = length;
+        while (end > 0 && buffer[end - 1] != '\n') {
+            end--;
+        }
+        if (end == 0) {
+            // a line longer than one read is cut where the read ends
+            return length == maxReadBytes ? length : 0;
+        }
+        if (quiet) {
+            return end;
+        }
+        int lastEvent = lastEventStart(end);
+        if (lastEvent > 0) {
+            return lastEvent;
+        }
+        // a single event fills the whole read, it cannot be held back
+        return length == maxReadBytes ? end : 0;
+    }
+
+    private int lastEventStart(int end) {
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        int lastEvent = 0;
+        int lineStart = 0;
+        for (int i = 0; i < end; i++) {
+            if (buffer[i] == '\n') {
+                if (EVENTS.isEventStart(view, lineStart, i)) {
+                    lastEvent = lineStart;
+                }
+                lineStart = i + 1;
+            }
+        }
+        return lastEvent;
+    }
+
+    private void read(int length) throws IOException {
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, Math.min(maxReadBytes, buffer.length * 2))];
+        }
+        ByteBuffer target = ByteBuffer.wrap(buffer, 0, length);
+        while (target.hasRemaining()) {
+            if (channel.read(target, offset + target.position()) < 0) {
+                throw new EOFException("Log file " + path + " shrank while it was read");
+            }
+        }
+    }
+
+    private void open(String pathKey) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (!pathKey.equals(fileKey)) {
+            // not the file the saved offset belongs to
+            fileKey = pathKey;
+            offset = 0;
+        }
+        lastSize = -1;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // inode on Unix; creation time where the file system has no file key.
+    // null when nothing is at the path
+    private static String fileKey(Path path) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            Object key = attributes.fileKey();
+            return key != null ? key.toString() : "created:" + attributes.creationTime().toMillis();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
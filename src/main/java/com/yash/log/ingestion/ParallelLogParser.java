@@ -0,0 +1,220 @@
+package com.yash.log.ingestion;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Parses a file on disk in parallel. The file is cut into line-aligned byte
+// ranges, each range is memory-mapped and its lines are handed, as raw bytes,
+// to a line handler on a fork-join pool; only lines that pass the prefilter
+// are decoded. Results are merged back in file order and passed
+// to the sink one wave of chunks at a time, so memory stays bounded by the wave
+// size rather than the file size.
+@Slf4j
+@Component
+public class ParallelLogParser {
+
+    private final ForkJoinPool pool;
+    private final int chunkSizeBytes;
+    private final int chunksPerWave;
+
+    public ParallelLogParser(@Value("${ingestion.parallel.threads:0}") int threads,
+                             @Value("${ingestion.parallel.chunk-size-bytes:8388608}") int chunkSizeBytes) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.chunksPerWave = parallelism * 2;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public <T> void parse(Path file, Function<CharSequence, T> lineParser, Consumer<List<T>> sink) throws IOException {
+        parse(file, LinePrefilter.ACCEPT_ALL, lineParser, sink);
+    }
+
+    // lineParser returns null for lines that should be dropped; it and the
+    // prefilter are called concurrently from several threads and must be thread-safe
+    public <T> void parse(Path file, LinePrefilter prefilter, Function<CharSequence, T> lineParser,
+                          Consumer<List<T>> sink) throws IOException {
+        parseRecords(file, LinePrefilter.ACCEPT_ALL, out -> (bytes, from, to) -> {
+            if (prefilter.test(bytes, from, to)) {
+                T parsed = lineParser.apply(ByteLineReader.decode(bytes, from, to));
+                if (parsed != null) {
+                    out.accept(parsed);
+                }
+            }
+        }, sink);
+    }
+
+    // For records that span several lines. Chunks are cut only in front of a
+    // line accepted by recordStart, so a record never straddles two chunks.
+    // Each chunk gets its own handler from handlerFactory, fed the chunk's lines
+    // in order on one thread; whatever it passes to the given consumer is
+    // merged in file order and handed to the sink.
+    public <T> void parseRecords(Path file, LinePrefilter recordStart,
+                                 Function<Consumer<T>, LineHandler> handlerFactory,
+                                 Consumer<List<T>> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<ByteRange> ranges = split(channel, recordStart);
+            log.debug("Parsing {} in {} chunks on {} threads", file, ranges.size(), pool.getParallelism());
+
+            for (int from = 0; from < ranges.size(); from += chunksPerWave) {
+                List<ByteRange> wave = ranges.subList(from, Math.min(from + chunksPerWave, ranges.size()));
+                List<T> parsed = pool.invoke(new ChunkTask<>(channel, wave, handlerFactory));
+                sink.accept(parsed);
+            }
+        }
+    }
+
+    List<ByteRange> split(FileChannel channel) throws IOException {
+        return split(channel, LinePrefilter.ACCEPT_ALL);
+    }
+
+    // Cuts the file roughly every chunkSizeBytes, moving each cut forward to the
+    // start of the next line that recordStart accepts
+    List<ByteRange> split(FileChannel channel, LinePrefilter recordStart) throws IOException {
+        long size = channel.size();
+        List<ByteRange> ranges = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSizeBytes, size);
+            if (end < size) {
+                end = nextRecordStart(channel, end, size, probe, recordStart);
+            }
+            ranges.add(new ByteRange(start, end));
+            start = end;
+        }
+        return ranges;
+    }
+
+    private static long nextRecordStart(FileChannel channel, long position, long size, ByteBuffer probe,
+                                        LinePrefilter recordStart) throws IOException {
+        while (true) {
+            position = nextLineStart(channel, position, size, probe);
+            if (position >= size || recordStart == LinePrefilter.ACCEPT_ALL) {
+                return position;
+            }
+            // only the head of the line is needed to recognise a record
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                return size;
+            }
+            int lineEnd = 0;
+            while (lineEnd < read && probe.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd > 0 && probe.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (recordStart.test(probe, 0, lineEnd)) {
+                return position;
+            }
+        }
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer probe) throws IOException {
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    record ByteRange(long start, long end) {
+        long length() {
+            return end - start;
+        }
+    }
+
+    // Splits the range list in halves until a single chunk is left, then
+    // concatenates left before right so the merged output keeps file order
+    private static final class ChunkTask<T> extends RecursiveTask<List<T>> {
+
+        private final FileChannel channel;
+        private final List<ByteRange> ranges;
+        private final Function<Consumer<T>, LineHandler> handlerFactory;
+
+        ChunkTask(FileChannel channel, List<ByteRange> ranges, Function<Consumer<T>, LineHandler> handlerFactory) {
+            this.channel = channel;
+            this.ranges = ranges;
+            this.handlerFactory = handlerFactory;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (ranges.size() == 1) {
+                return parseRange(ranges.get(0));
+            }
+            int mid = ranges.size() / 2;
+            ChunkTask<T> left = new ChunkTask<>(channel, ranges.subList(0, mid), handlerFactory);
+            ChunkTask<T> right = new ChunkTask<>(channel, ranges.subList(mid, ranges.size()), handlerFactory);
+            left.fork();
+            List<T> rightResult = right.compute();
+            List<T> merged = new ArrayList<>(left.join());
+            merged.addAll(rightResult);
+            return merged;
+        }
+
+        private List<T> parseRange(ByteRange range) {
+            MappedByteBuffer mapped;
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, range.start(), range.length());
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not map bytes " + range.start() + "-" + range.end(), e);
+            }
+
+            // lines end on '\n', which never occurs inside a multi-byte UTF-8 character
+            List<T> results = new ArrayList<>();
+            LineHandler handler = handlerFactory.apply(results::add);
+            int length = mapped.limit();
+            int lineStart = 0;
+            for (int i = 0; i <= length; i++) {
+                if (i == length || mapped.get(i) == '\n') {
+                    int lineEnd = i;
+                    if (lineEnd > lineStart && mapped.get(lineEnd - 1) == '\r') {
+                        lineEnd--;
+                    }
+                    // the final '\n' of a range does not start another line
+                    if (i < length || lineStart < length) {
+                        handler.line(mapped, lineStart, lineEnd);
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            handler.finish();
+            return results;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
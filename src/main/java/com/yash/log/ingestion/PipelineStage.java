@@ -0,0 +1,185 @@
+package com.yash.log.ingestion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// One stage of an ingestion run: a bounded queue of batches worked on by a
+// fixed number of virtual threads. Results are handed to next in the order
+// the batches were submitted, whichever worker finishes first, so rows still
+// reach the database in file order. A full queue blocks submit(); that is how
+// a slow database holds the parser back instead of parsed rows piling up in
+// memory. The first failure of a worker or of next fails every later submit()
+// and finish(); batches still queued are then dropped.
+public final class PipelineStage<I, O> implements AutoCloseable {
+
+    private final String name;
+    private final StageMetrics metrics;
+    private final StageMetrics upstream;
+    private final Function<List<I>, List<O>> work;
+    private final Consumer<List<O>> next;
+    private final BlockingQueue<Task<I>> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Task<I> end = new Task<>(-1, null);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong submitted = new AtomicLong();
+
+    // results done out of turn, by sequence number
+    private final ReentrantLock handOnLock = new ReentrantLock();
+    private final Map<Long, List<O>> done = new HashMap<>();
+    private long handedOn;
+
+    private boolean stopped;
+
+    // Time submit() waits for room is counted as blocked on upstream, the
+    // stage feeding this one. next may be null for the last stage.
+    public PipelineStage(StageMetrics metrics, StageMetrics upstream, int workerCount, int capacity,
+                         Function<List<I>, List<O>> work, Consumer<List<O>> next) {
+        this.name = metrics.getName();
+        this.metrics = metrics;
+        this.upstream = upstream;
+        this.work = work;
+        this.next = next;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        for (int i = 0; i < Math.max(1, workerCount); i++) {
+            workers.add(Thread.ofVirtual().name("ingest-" + name + "-" + i).start(this::work));
+        }
+    }
+
+    // Queues a batch, waiting while the queue is full
+    public void submit(List<I> items) {
+        checkFailure();
+        Task<I> task = new Task<>(submitted.getAndIncrement(), items);
+        metrics.queued(1);
+        try {
+            if (!queue.offer(task)) {
+                long start = System.nanoTime();
+                try {
+                    // the workers may have failed while we wait
+                    while (!queue.offer(task, 100, TimeUnit.MILLISECONDS)) {
+                        checkFailure();
+                    }
+                } finally {
+                    upstream.blocked(System.nanoTime() - start);
+                }
+            }
+        } catch (InterruptedException e) {
+            metrics.queued(-1);
+            Thread.currentThread().interrupt();
+            fail(e);
+            checkFailure();
+        } catch (RuntimeException | Error e) {
+            metrics.queued(-1);
+            throw e;
+        }
+    }
+
+    // Waits until every batch submitted has been worked on and handed on,
+    // then throws the first failure, if any
+    public void finish() {
+        stop();
+        checkFailure();
+    }
+
+    // Stops the workers without reporting failures, for a run that is failing anyway
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        try {
+            for (int i = 0; i < workers.size(); i++) {
+                queue.put(end);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            workers.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+    }
+
+    private void work() {
+        metrics.workerStarted();
+        try {
+            while (true) {
+                Task<I> task = queue.take();
+                if (task == end) {
+                    return;
+                }
+                metrics.queued(-1);
+                List<O> out = null;
+                if (failure.get() == null) {
+                    long start = System.nanoTime();
+                    try {
+                        out = work.apply(task.items());
+                    } catch (RuntimeException | Error e) {
+                        fail(e);
+                    }
+                    metrics.processed(task.items().size(), System.nanoTime() - start);
+                }
+                handOn(task.sequence(), out);
+            }
+        } catch (InterruptedException e) {
+            fail(e);
+        } finally {
+            metrics.workerStopped();
+        }
+    }
+
+    // whoever finishes the batch next in line hands it on, with any done after it
+    private void handOn(long sequence, List<O> out) {
+        handOnLock.lock();
+        try {
+            done.put(sequence, out);
+            while (done.containsKey(handedOn)) {
+                List<O> ready = done.remove(handedOn++);
+                if (ready != null && next != null && failure.get() == null) {
+                    try {
+                        next.accept(ready);
+                    } catch (RuntimeException | Error e) {
+                        fail(e);
+                    }
+                }
+            }
+        } finally {
+            handOnLock.unlock();
+        }
+    }
+
+    private void fail(Throwable e) {
+        failure.compareAndSet(null, e);
+    }
+
+    private void checkFailure() {
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        if (e != null) {
+            throw new IllegalStateException("Ingestion stage " + name + " was interrupted", e);
+        }
+    }
+
+    private record Task<I>(long sequence, List<I> items) {
+    }
+}
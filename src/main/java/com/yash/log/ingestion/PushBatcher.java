@@ -0,0 +1,81 @@
+package com.yash.log.ingestion;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// Collects the lines pushed over one connection into blocks of whole events
+// for the ingestion workers. A block is cut where an event starts; only an
+// event of more than four blocks is cut inside, the stack trace past that
+// point is lost (the parser keeps just its first max-stack-trace-chars). While
+// shedding() is true, events that are not ERROR are dropped here together with
+// their continuation lines, before they take up queue space or parser time.
+// One instance per connection; not thread-safe.
+public final class PushBatcher implements LineHandler {
+
+    private final int blockBytes;
+    private final BooleanSupplier shedding;
+    private final Consumer<byte[]> out;
+    private final LongAdder linesReceived;
+    private final LongAdder linesShed;
+
+    private byte[] block;
+    private int length;
+    private boolean dropping;
+
+    // out receives each block and may block to push back on the sender
+    public PushBatcher(int blockBytes, BooleanSupplier shedding, Consumer<byte[]> out,
+                       LongAdder linesReceived, LongAdder linesShed) {
+        this.blockBytes = blockBytes;
+        this.shedding = shedding;
+        this.out = out;
+        this.linesReceived = linesReceived;
+        this.linesShed = linesShed;
+        this.block = new byte[blockBytes];
+    }
+
+    @Override
+    public void line(ByteBuffer bytes, int from, int to) {
+        linesReceived.increment();
+        LevelFilter.LineKind kind = LevelFilter.ERRORS_ONLY.classify(bytes, from, to);
+        if (kind != LevelFilter.LineKind.CONTINUATION) {
+            if (length >= blockBytes) {
+                flush();
+            }
+            dropping = kind == LevelFilter.LineKind.DROP && shedding.getAsBoolean();
+        } else if (length >= 4 * blockBytes) {
+            flush();
+        }
+        if (dropping) {
+            linesShed.increment();
+            return;
+        }
+        append(bytes, from, to);
+    }
+
+    // hands on everything collected so far, e.g. when the sender goes quiet
+    public void flush() {
+        if (length > 0) {
+            byte[] full = Arrays.copyOf(block, length);
+            length = 0;
+            out.accept(full);
+        }
+    }
+
+    @Override
+    public void finish() {
+        flush();
+    }
+
+    private void append(ByteBuffer bytes, int from, int to) {
+        int needed = length + (to - from) + 1;
+        if (needed > block.length) {
+            block = Arrays.copyOf(block, Math.max(needed, block.length * 2));
+        }
+        bytes.get(from, block, length, to - from);
+        length += to - from;
+        block[length++] = '\n';
+    }
+}
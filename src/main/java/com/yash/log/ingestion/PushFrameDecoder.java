@@ -0,0 +1,189 @@
+package com.yash.log.ingestion;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Splits what push clients send into log lines. On TCP two framings are
+// accepted, decided per message: octet counting ("<length> <message>",
+// RFC 6587) as sent by syslog daemons, and plain newline-terminated lines.
+// A UDP datagram is one message. A syslog header in front of a message
+// (RFC 5424 or RFC 3164) is cut off so the parser sees the application's own
+// line, and a message holding several lines (a stack trace) is handed on one
+// line at a time. Messages longer than maxFrameBytes are cut there.
+// Digits followed by a space only at the start of a message mean octet
+// counting; log lines start with a timestamp, which never looks like that.
+// One instance per connection; not thread-safe.
+public final class PushFrameDecoder {
+
+    private static final int MAX_LENGTH_DIGITS = 9;
+
+    private final int maxFrameBytes;
+    private byte[] pending = new byte[64 * 1024];
+    private ByteBuffer view = ByteBuffer.wrap(pending);
+    private int length;
+    private int skip;         // bytes still to drop of an oversized octet-counted message
+
+    public PushFrameDecoder(int maxFrameBytes) {
+        this.maxFrameBytes = maxFrameBytes;
+    }
+
+    // The next bytes of a TCP stream; complete messages go to out right away
+    public void feed(byte[] data, int from, int to, LineHandler out) {
+        append(data, from, to);
+        int start = 0;
+        while (start < length) {
+            int end = frame(start, out);
+            if (end < 0) {
+                break;
+            }
+            start = end;
+        }
+        // keep the unfinished message at the front
+        System.arraycopy(pending, start, pending, 0, length - start);
+        length -= start;
+    }
+
+    // The stream ended; an unterminated last line is still a message
+    public void finish(LineHandler out) {
+        if (length > 0) {
+            message(pending, view, 0, length, out);
+            length = 0;
+        }
+    }
+
+    public static void datagram(byte[] data, int from, int to, LineHandler out) {
+        message(data, ByteBuffer.wrap(data), from, to, out);
+    }
+
+    // decodes the message starting at start, returns where the next one starts or -1 when incomplete
+    private int frame(int start, LineHandler out) {
+        int digits = 0;
+        while (start + digits < length && digits <= MAX_LENGTH_DIGITS && isDigit(pending[start + digits])) {
+            digits++;
+        }
+        if (digits > 0 && digits <= MAX_LENGTH_DIGITS) {
+            if (start + digits == length) {
+                return -1;
+            }
+            if (pending[start + digits] == ' ') {
+                int messageLength = Integer.parseInt(new String(pending, start, digits, StandardCharsets.US_ASCII));
+                int messageStart = start + digits + 1;
+                int kept = Math.min(messageLength, maxFrameBytes);
+                if (length - messageStart < kept) {
+                    return -1;
+                }
+                message(pending, view, messageStart, messageStart + kept, out);
+                // the rest of an oversized message is dropped, also what has not arrived yet
+                int dropped = Math.min(messageLength - kept, length - messageStart - kept);
+                skip = messageLength - kept - dropped;
+                return messageStart + kept + dropped;
+            }
+        }
+        for (int i = start; i < length; i++) {
+            if (pending[i] == '\n') {
+                message(pending, view, start, i, out);
+                return i + 1;
+            }
+        }
+        if (length - start >= maxFrameBytes) {
+            message(pending, view, start, start + maxFrameBytes, out);
+            return start + maxFrameBytes;
+        }
+        return -1;
+    }
+
+    private void append(byte[] data, int from, int to) {
+        if (skip > 0) {
+            int skipped = Math.min(skip, to - from);
+            skip -= skipped;
+            from += skipped;
+        }
+        int needed = length + (to - from);
+        if (needed > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(needed, pending.length * 2));
+            view = ByteBuffer.wrap(pending);
+        }
+        System.arraycopy(data, from, pending, length, to - from);
+        length = needed;
+    }
+
+    private static void message(byte[] bytes, ByteBuffer view, int from, int to, LineHandler out) {
+        int lineStart = payloadStart(bytes, from, to);
+        for (int i = lineStart; i <= to; i++) {
+            if (i == to || bytes[i] == '\n') {
+                int lineEnd = i > lineStart && bytes[i - 1] == '\r' ? i - 1 : i;
+                if (lineEnd > lineStart) {
+                    out.line(view, lineStart, lineEnd);
+                }
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    // start of the message after a syslog header, or from when there is none
+    static int payloadStart(byte[] b, int from, int to) {
+        if (from >= to || b[from] != '<') {
+            return from;
+        }
+        int i = from + 1;
+        while (i < to && i - from <= 4 && isDigit(b[i])) {
+            i++;
+        }
+        if (i == from + 1 || i >= to || b[i] != '>') {
+            return from;
+        }
+        i++;
+        if (i < to && isDigit(b[i])) {
+            // RFC 5424: VERSION TIMESTAMP HOSTNAME APP-NAME PROCID MSGID STRUCTURED-DATA MSG
+            for (int field = 0; field < 6; field++) {
+                i = skipToken(b, i, to);
+            }
+            i = skipStructuredData(b, i, to);
+            if (to - i >= 3 && b[i] == (byte) 0xEF && b[i + 1] == (byte) 0xBB && b[i + 2] == (byte) 0xBF) {
+                i += 3;
+            }
+            return i;
+        }
+        // RFC 3164: "Mmm dd hh:mm:ss HOSTNAME TAG: MSG", the tag being optional
+        if (to - i > 16 && b[i + 3] == ' ' && b[i + 15] == ' ') {
+            i = skipToken(b, i + 16, to);
+            int tagEnd = i;
+            while (tagEnd < to && b[tagEnd] != ' ') {
+                tagEnd++;
+            }
+            if (tagEnd > i && b[tagEnd - 1] == ':') {
+                i = Math.min(tagEnd + 1, to);
+            }
+        }
+        return i;
+    }
+
+    // past the token at i and the single space after it
+    private static int skipToken(byte[] b, int i, int to) {
+        while (i < to && b[i] != ' ') {
+            i++;
+        }
+        return Math.min(i + 1, to);
+    }
+
+    // "-" or one or more [id param="value" ...] elements, then the space before MSG
+    private static int skipStructuredData(byte[] b, int i, int to) {
+        if (i < to && b[i] == '-') {
+            return Math.min(i + 2, to);
+        }
+        while (i < to && b[i] == '[') {
+            i++;
+            while (i < to && b[i] != ']') {
+                // \] and \" inside a value do not end it
+                i += b[i] == '\\' ? 2 : 1;
+            }
+            i = Math.min(i + 1, to);
+        }
+        return i < to && b[i] == ' ' ? i + 1 : i;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
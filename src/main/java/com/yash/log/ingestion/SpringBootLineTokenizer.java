@@ -0,0 +1,183 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.dto.ErrorLevel;
+
+// Single pass, regex free reader for the Spring Boot console layout that
+// LogConstant.LOG_PATTERN describes:
+//
+//   <timestamp> <LEVEL> <pid> --- [<thread>] [<logger>] <source> : <message>
+//
+// Only offsets are recorded, nothing is allocated while scanning; callers cut
+// out the fields they keep. Whenever tokenize() accepts a line, LOG_PATTERN
+// captures exactly the same groups. Lines it rejects (odd spacing, ']' inside
+// the thread name, ...) should still be offered to the regex.
+public final class SpringBootLineTokenizer {
+
+    private SpringBootLineTokenizer() {
+    }
+
+    public static boolean tokenize(CharSequence line, Tokens tokens) {
+        int n = line.length();
+        if (n == 0 || isWhitespace(line.charAt(0))) {
+            return false;
+        }
+
+        // timestamp: first run of non-whitespace
+        int i = skipNonWhitespace(line, 0, n);
+        int timestampEnd = i;
+        if (i == n) {
+            return false;
+        }
+        i = skipWhitespace(line, i, n);
+
+        // level, followed by whitespace
+        ErrorLevel level = readLevel(line, i, n);
+        if (level == null) {
+            return false;
+        }
+        i += level.name().length();
+        if (i == n || !isWhitespace(line.charAt(i))) {
+            return false;
+        }
+        i = skipWhitespace(line, i, n);
+
+        // process id
+        int pidStart = i;
+        while (i < n && line.charAt(i) >= '0' && line.charAt(i) <= '9') {
+            i++;
+        }
+        if (i == pidStart || i == n || !isWhitespace(line.charAt(i))) {
+            return false;
+        }
+        i = skipWhitespace(line, i, n);
+
+        // separator
+        if (i + 3 >= n || line.charAt(i) != '-' || line.charAt(i + 1) != '-' || line.charAt(i + 2) != '-'
+                || !isWhitespace(line.charAt(i + 3))) {
+            return false;
+        }
+        i = skipWhitespace(line, i + 3, n);
+
+        // [thread] and [logger]
+        i = skipBracketed(line, i, n);
+        if (i < 0) {
+            return false;
+        }
+        i = skipBracketed(line, i, n);
+        if (i < 0) {
+            return false;
+        }
+
+        // source, then " : "
+        int sourceStart = i;
+        i = skipNonWhitespace(line, i, n);
+        int sourceEnd = i;
+        if (sourceEnd == sourceStart || i == n) {
+            return false;
+        }
+        i = skipWhitespace(line, i, n);
+        if (i + 1 >= n || line.charAt(i) != ':' || !isWhitespace(line.charAt(i + 1))) {
+            return false;
+        }
+        int messageStart = skipWhitespace(line, i + 1, n);
+
+        tokens.timestampEnd = timestampEnd;
+        tokens.level = level;
+        tokens.sourceStart = sourceStart;
+        tokens.sourceEnd = sourceEnd;
+        tokens.messageStart = messageStart;
+        tokens.messageEnd = n;
+        return true;
+    }
+
+    private static ErrorLevel readLevel(CharSequence line, int i, int n) {
+        if (i >= n) {
+            return null;
+        }
+        ErrorLevel level = switch (line.charAt(i)) {
+            case 'I' -> ErrorLevel.INFO;
+            case 'W' -> ErrorLevel.WARN;
+            case 'E' -> ErrorLevel.ERROR;
+            case 'D' -> ErrorLevel.DEBUG;
+            default -> null;
+        };
+        return level != null && regionMatches(line, i, n, level.name()) ? level : null;
+    }
+
+    // "[...]" up to the first ']', which must be followed by whitespace
+    private static int skipBracketed(CharSequence line, int i, int n) {
+        if (i >= n || line.charAt(i) != '[') {
+            return -1;
+        }
+        i++;
+        while (i < n && line.charAt(i) != ']') {
+            i++;
+        }
+        if (i + 1 >= n || !isWhitespace(line.charAt(i + 1))) {
+            return -1;
+        }
+        return skipWhitespace(line, i + 1, n);
+    }
+
+    private static boolean regionMatches(CharSequence line, int offset, int n, String expected) {
+        if (offset + expected.length() > n) {
+            return false;
+        }
+        for (int k = 0; k < expected.length(); k++) {
+            if (line.charAt(offset + k) != expected.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(CharSequence line, int i, int n) {
+        while (i < n && isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipNonWhitespace(CharSequence line, int i, int n) {
+        while (i < n && !isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // same set as the regex \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    // Offsets of one tokenized line. Mutable so a caller can reuse one instance per thread.
+    public static final class Tokens {
+
+        private int timestampEnd;
+        private ErrorLevel level;
+        private int sourceStart;
+        private int sourceEnd;
+        private int messageStart;
+        private int messageEnd;
+
+        public ErrorLevel getLevel() {
+            return level;
+        }
+
+        public int getTimestampEnd() {
+            return timestampEnd;
+        }
+
+        public CharSequence timestamp(CharSequence line) {
+            return line.subSequence(0, timestampEnd);
+        }
+
+        public String source(CharSequence line) {
+            return line.subSequence(sourceStart, sourceEnd).toString();
+        }
+
+        public String message(CharSequence line) {
+            return line.subSequence(messageStart, messageEnd).toString();
+        }
+    }
+}
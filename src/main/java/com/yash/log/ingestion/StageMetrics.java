@@ -0,0 +1,104 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.dto.PipelineStageStatsDto;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters of one ingestion pipeline stage, for one job or, as the parent
+// every job's counters pass their updates on to, for all runs since startup.
+// Busy is time spent on batches, blocked is time spent waiting for room in
+// the next stage's queue: a stage that is mostly blocked is held back by the
+// one after it, a stage with a full queue holds back the one before.
+public final class StageMetrics {
+
+    public static final String PARSE = "parse";
+    public static final String ENRICH = "enrich";
+    public static final String PERSIST = "persist";
+
+    private final String name;
+    private final StageMetrics parent;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+
+    public StageMetrics(String name) {
+        this(name, null);
+    }
+
+    public StageMetrics(String name, StageMetrics parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void workerStarted() {
+        activeWorkers.incrementAndGet();
+        if (parent != null) {
+            parent.workerStarted();
+        }
+    }
+
+    public void workerStopped() {
+        activeWorkers.decrementAndGet();
+        if (parent != null) {
+            parent.workerStopped();
+        }
+    }
+
+    // batches put on (positive) or taken off (negative) the stage's queue
+    public void queued(int delta) {
+        queued.addAndGet(delta);
+        if (parent != null) {
+            parent.queued(delta);
+        }
+    }
+
+    public void processed(int eventCount, long nanos) {
+        events.add(eventCount);
+        batches.increment();
+        busyNanos.add(nanos);
+        if (parent != null) {
+            parent.processed(eventCount, nanos);
+        }
+    }
+
+    public void blocked(long nanos) {
+        blockedNanos.add(nanos);
+        if (parent != null) {
+            parent.blocked(nanos);
+        }
+    }
+
+    public long getBusyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(busyNanos.sum());
+    }
+
+    public long getBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum());
+    }
+
+    public PipelineStageStatsDto toDto(int workers, int queueCapacity) {
+        long busy = busyNanos.sum();
+        long eventCount = events.sum();
+        PipelineStageStatsDto stats = new PipelineStageStatsDto();
+        stats.setStage(name);
+        stats.setWorkers(workers);
+        stats.setActiveWorkers(activeWorkers.get());
+        stats.setQueueDepth(queued.get());
+        stats.setQueueCapacity(queueCapacity);
+        stats.setEvents(eventCount);
+        stats.setBatches(batches.sum());
+        stats.setBusyMillis(TimeUnit.NANOSECONDS.toMillis(busy));
+        stats.setBlockedMillis(getBlockedMillis());
+        stats.setEventsPerBusySecond(busy == 0 ? 0 : eventCount * 1e9 / busy);
+        return stats;
+    }
+}
@@ -0,0 +1,179 @@
+package com.yash.log.ingestion;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+// Minimal streaming reader for ustar/GNU tar, enough to walk rotated log
+// bundles without pulling in commons-compress. Used like ZipInputStream:
+// nextEntry() moves to the next regular file and read() then returns its
+// bytes only. Directories, links and global pax headers are skipped; long
+// names from GNU 'L' and pax 'x' headers are honoured.
+public class TarInputStream extends FilterInputStream {
+
+    private static final int BLOCK = 512;
+    // GNU 'L' and pax 'x' data is read whole; real names and records are far smaller
+    static final int MAX_HEADER_DATA = 64 * 1024;
+
+    private final byte[] header = new byte[BLOCK];
+    private long remaining;     // unread bytes of the current entry
+    private long padding;       // zero fill after the current entry
+
+    public TarInputStream(InputStream in) {
+        super(in);
+    }
+
+    // Name of the next regular file, or null at the end of the archive
+    public String nextEntry() throws IOException {
+        String longName = null;
+        while (true) {
+            skipRest();
+            if (in.readNBytes(header, 0, BLOCK) < BLOCK || isZeroBlock()) {
+                return null;
+            }
+            long size = parseSize();
+            byte type = header[156];
+            remaining = size;
+            padding = (BLOCK - size % BLOCK) % BLOCK;
+
+            if ((type == 'L' || type == 'x') && size > MAX_HEADER_DATA) {
+                // checked before reading, the size field is whatever the archive claims
+                throw new IOException("Corrupt tar header: " + size + " bytes of long name or pax data");
+            }
+            if (type == 'L') {
+                // GNU: the data of this entry is the name of the next one
+                byte[] name = in.readNBytes((int) size);
+                remaining -= name.length;
+                longName = cString(name, 0, name.length);
+                continue;
+            }
+            if (type == 'x') {
+                // pax: "<len> path=<name>\n" overrides the name of the next entry
+                byte[] records = in.readNBytes((int) size);
+                remaining -= records.length;
+                longName = paxPath(new String(records, StandardCharsets.UTF_8));
+                continue;
+            }
+            if (type == '0' || type == 0) {
+                return longName != null ? longName : headerName();
+            }
+            longName = null;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Truncated tar entry");
+        }
+        remaining--;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int read = in.read(b, off, (int) Math.min(len, remaining));
+        if (read < 0) {
+            throw new EOFException("Truncated tar entry");
+        }
+        remaining -= read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(in.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void skipRest() throws IOException {
+        in.skipNBytes(remaining + padding);
+        remaining = 0;
+        padding = 0;
+    }
+
+    private boolean isZeroBlock() {
+        for (byte b : header) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String headerName() {
+        String name = cString(header, 0, 100);
+        // ustar keeps long paths split over prefix and name
+        if (cString(header, 257, 5).equals("ustar")) {
+            String prefix = cString(header, 345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    // octal, or base-256 when the top bit of the first byte is set (entries over 8 GB)
+    private long parseSize() throws IOException {
+        if ((header[124] & 0x80) != 0) {
+            long size = 0;
+            for (int i = 125; i < 136; i++) {
+                size = (size << 8) | (header[i] & 0xFF);
+            }
+            return size;
+        }
+        long size = 0;
+        for (int i = 124; i < 136; i++) {
+            byte b = header[i];
+            if (b == 0 || b == ' ') {
+                if (size > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (b < '0' || b > '7') {
+                throw new IOException("Corrupt tar header: bad size field");
+            }
+            size = (size << 3) + (b - '0');
+        }
+        return size;
+    }
+
+    private static String paxPath(String records) {
+        for (String record : records.split("\n")) {
+            int key = record.indexOf(' ') + 1;
+            if (record.startsWith("path=", key)) {
+                return record.substring(key + "path=".length());
+            }
+        }
+        return null;
+    }
+
+    private static String cString(byte[] bytes, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+    }
+}
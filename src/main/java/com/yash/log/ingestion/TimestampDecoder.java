@@ -0,0 +1,155 @@
+package com.yash.log.ingestion;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Reads "yyyy-MM-ddTHH:mm:ss[.fffffffff]" timestamps without a DateTimeFormatter.
+// Lines of a busy log mostly share their second with the line before, so the
+// date-time up to the seconds is kept and reused while the next timestamp
+// starts with the same 19 characters; only the fraction is read then.
+// Anything off the fixed layout (no seconds, a field out of range, a longer
+// offset, ...) goes to the fallback formatter, which also throws the
+// DateTimeParseException for text that is no timestamp at all.
+// One instance per thread; not thread-safe.
+public final class TimestampDecoder {
+
+    private static final int SECOND_LENGTH = "yyyy-MM-ddTHH:mm:ss".length();
+    private static final int[] FRACTION_SCALE = {1, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000,
+            100, 10, 1};
+
+    private final DateTimeFormatter fallback;
+    private final boolean offset;
+    private final boolean lenient;
+
+    private final char[] lastPrefix = new char[SECOND_LENGTH];
+    private LocalDateTime lastSecond;
+
+    private TimestampDecoder(DateTimeFormatter fallback, boolean offset, boolean lenient) {
+        this.fallback = fallback;
+        this.offset = offset;
+        this.lenient = lenient;
+    }
+
+    // Same result as LocalDateTime.parse(text, ISO_OFFSET_DATE_TIME): the offset
+    // ("Z" or "+05:30") must be there but the local date-time is kept as written
+    public static TimestampDecoder isoOffsetDateTime() {
+        return new TimestampDecoder(DateTimeFormatter.ISO_OFFSET_DATE_TIME, true, false);
+    }
+
+    // No offset; 'T' or ' ' between date and time and '.' or ',' before the
+    // fraction, as log4j writes them. fallback must accept all of those.
+    public static TimestampDecoder localDateTime(DateTimeFormatter fallback) {
+        return new TimestampDecoder(fallback, false, true);
+    }
+
+    public LocalDateTime decode(CharSequence text) {
+        return decode(text, 0, text.length());
+    }
+
+    public LocalDateTime decode(CharSequence text, int from, int to) {
+        LocalDateTime decoded = decodeFixed(text, from, to);
+        return decoded != null ? decoded : LocalDateTime.parse(text.subSequence(from, to), fallback);
+    }
+
+    // null when the text is not in the fixed layout
+    private LocalDateTime decodeFixed(CharSequence text, int from, int to) {
+        int i = from + SECOND_LENGTH;
+        if (i > to) {
+            return null;
+        }
+        int nano = 0;
+        if (i < to && (text.charAt(i) == '.' || lenient && text.charAt(i) == ',')) {
+            int digits = 0;
+            i++;
+            while (i < to && digits < 9 && isDigit(text.charAt(i))) {
+                nano = nano * 10 + text.charAt(i) - '0';
+                digits++;
+                i++;
+            }
+            if (digits == 0) {
+                return null;
+            }
+            nano *= FRACTION_SCALE[digits];
+        }
+        if (offset ? !isOffset(text, i, to) : i != to) {
+            return null;
+        }
+        LocalDateTime second = second(text, from);
+        return second == null || nano == 0 ? second : second.withNano(nano);
+    }
+
+    // the date-time up to the seconds, from the last timestamp when it is the same
+    private LocalDateTime second(CharSequence text, int from) {
+        if (lastSecond != null && samePrefix(text, from)) {
+            return lastSecond;
+        }
+        char separator = text.charAt(from + 10);
+        if (text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-'
+                || !(separator == 'T' || lenient && separator == ' ')
+                || text.charAt(from + 13) != ':' || text.charAt(from + 16) != ':') {
+            return null;
+        }
+        int year = digits(text, from, 4);
+        int month = digits(text, from + 5, 2);
+        int day = digits(text, from + 8, 2);
+        int hour = digits(text, from + 11, 2);
+        int minute = digits(text, from + 14, 2);
+        int second = digits(text, from + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        LocalDateTime decoded;
+        try {
+            decoded = LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            // e.g. February 30th, the formatter reports it
+            return null;
+        }
+        for (int k = 0; k < SECOND_LENGTH; k++) {
+            lastPrefix[k] = text.charAt(from + k);
+        }
+        lastSecond = decoded;
+        return decoded;
+    }
+
+    private boolean samePrefix(CharSequence text, int from) {
+        // the seconds change most often, compare from the end
+        for (int k = SECOND_LENGTH - 1; k >= 0; k--) {
+            if (lastPrefix[k] != text.charAt(from + k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // "Z" or "+hh:mm" up to 17:59; longer or larger offsets are left to the formatter
+    private static boolean isOffset(CharSequence text, int i, int to) {
+        if (to - i == 1) {
+            return text.charAt(i) == 'Z';
+        }
+        if (to - i != 6 || (text.charAt(i) != '+' && text.charAt(i) != '-') || text.charAt(i + 3) != ':') {
+            return false;
+        }
+        int hours = digits(text, i + 1, 2);
+        int minutes = digits(text, i + 4, 2);
+        return hours >= 0 && hours < 18 && minutes >= 0 && minutes < 60;
+    }
+
+    // the number written by count digits at i, -1 when one is not a digit
+    private static int digits(CharSequence text, int i, int count) {
+        int value = 0;
+        for (int k = i; k < i + count; k++) {
+            char c = text.charAt(k);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
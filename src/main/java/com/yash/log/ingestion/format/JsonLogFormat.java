@@ -0,0 +1,250 @@
+package com.yash.log.ingestion.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.yash.log.config.JsonFormatProperties;
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// One JSON object per line, as written by logstash-logback-encoder, Log4j2's
+// JsonTemplateLayout (ECS) or Spring Boot's structured logging:
+// {"@timestamp":"2025-12-11T10:33:54.946+05:30","level":"ERROR","logger_name":"c.y.Foo",
+//  "message":"boom","stack_trace":"java.lang.IllegalStateException: boom\n\tat ..."}
+// Events are read with Jackson's streaming parser rather than bound to a
+// tree: only the mapped fields are turned into Strings, every other value and
+// nested object is skipped token by token. Field names come from
+// ingestion.formats.json. The stack trace is part of the event, so there are
+// no continuation lines; its innermost "Caused by:" exception is the root
+// cause ErrorTypeClassifier is given, as for plain logs. Timestamps with an
+// offset or zone are moved to the system zone, like epoch milliseconds.
+@Component
+@Order(20)
+public class JsonLogFormat implements LogFormat {
+
+    public static final String NAME = "json";
+
+    // thread-safe, parsers are cheap to create from it
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final String CAUSED_BY = "Caused by: ";
+
+    private static final int TIMESTAMP = 0;
+    private static final int LEVEL = 1;
+    private static final int LOGGER = 2;
+    private static final int MESSAGE = 3;
+    private static final int STACK_TRACE = 4;
+
+    private final String name;
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final Set<String> nestedObjects = new HashSet<>();
+    private final byte[][] levelKeys;
+
+    @Autowired
+    public JsonLogFormat(JsonFormatProperties properties) {
+        this(NAME, properties.getFields());
+    }
+
+    // a format for sources that name their fields differently
+    public JsonLogFormat(String name, JsonFormatProperties.Fields fields) {
+        this.name = name;
+        map(TIMESTAMP, fields.getTimestamp());
+        map(LEVEL, fields.getLevel());
+        map(LOGGER, fields.getLogger());
+        map(MESSAGE, fields.getMessage());
+        map(STACK_TRACE, fields.getStackTrace());
+        // "a.b" may be written flat or as field b of object a
+        Set<String> keys = new LinkedHashSet<>();
+        for (String level : fields.getLevel()) {
+            keys.add("\"" + level + "\"");
+            keys.add("\"" + level.substring(level.lastIndexOf('.') + 1) + "\"");
+        }
+        this.levelKeys = keys.stream().map(key -> key.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+    }
+
+    private void map(int field, List<String> names) {
+        for (int rank = 0; rank < names.size(); rank++) {
+            String path = names.get(rank);
+            slots.putIfAbsent(path, new Slot(field, rank));
+            for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+                nestedObjects.add(path.substring(0, dot));
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // Every object line is an event; INFO when it names no level
+    @Override
+    public ErrorLevel levelOf(ByteBuffer bytes, int from, int to) {
+        int start = LineBytes.skipWhitespace(bytes, from, to);
+        if (start == to || bytes.get(start) != '{') {
+            return null;
+        }
+        for (byte[] key : levelKeys) {
+            int at = LineBytes.indexOf(bytes, start, to, key);
+            if (at >= 0) {
+                int i = LineBytes.skipWhitespace(bytes, at + key.length, to);
+                if (i < to && bytes.get(i) == ':') {
+                    i = LineBytes.skipWhitespace(bytes, i + 1, to);
+                    if (i < to && bytes.get(i) == '"') {
+                        int close = LineBytes.indexOf(bytes, i + 1, to, (byte) '"');
+                        ErrorLevel level = close < 0 ? null : LineBytes.level(bytes, i + 1, close);
+                        return level != null ? level : ErrorLevel.INFO;
+                    }
+                }
+            }
+        }
+        return ErrorLevel.INFO;
+    }
+
+    @Override
+    public LogDTO parse(CharSequence line) {
+        Event event = new Event();
+        try (JsonParser parser = JSON.createParser(line.toString())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            readObject(parser, null, event);
+        } catch (IOException e) {
+            // not JSON, or cut off
+            return null;
+        }
+        String message = event.values[MESSAGE];
+        String timestamp = event.values[TIMESTAMP];
+        if (message == null || timestamp == null) {
+            return null;
+        }
+        String level = event.values[LEVEL];
+        ErrorLevel errorLevel = level != null ? LineBytes.level(level) : null;
+
+        LogDTO logDto = new LogDTO();
+        logDto.setErrorLevel((errorLevel != null ? errorLevel : ErrorLevel.INFO).name());
+        logDto.setErrorMessage(message);
+        logDto.setSource(event.values[LOGGER]);
+        logDto.setTimeStamp(event.epochTimestamp ? epochMillis(timestamp) : timestamp(timestamp));
+        String stackTrace = event.values[STACK_TRACE];
+        if (stackTrace != null && !stackTrace.isBlank()) {
+            logDto.setStackTrace(stackTrace);
+            logDto.setRootCause(rootCause(stackTrace));
+        }
+        return logDto;
+    }
+
+    // Reads the mapped fields of the object the parser is in, up to its END_OBJECT.
+    // path is the dotted name of this object, null at the top.
+    private void readObject(JsonParser parser, String path, Event event) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            // top-level names come from Jackson's symbol table and are not copied
+            String fieldName = path == null ? parser.currentName() : path + "." + parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT && nestedObjects.contains(fieldName)) {
+                readObject(parser, fieldName, event);
+                continue;
+            }
+            Slot slot = value.isScalarValue() && value != JsonToken.VALUE_NULL ? slots.get(fieldName) : null;
+            if (slot != null && slot.rank < event.ranks[slot.field]) {
+                event.values[slot.field] = parser.getText();
+                event.ranks[slot.field] = slot.rank;
+                if (slot.field == TIMESTAMP) {
+                    event.epochTimestamp = value == JsonToken.VALUE_NUMBER_INT;
+                }
+            } else {
+                // a no-op for scalars; objects and arrays are passed over without building them
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static LocalDateTime epochMillis(String millis) {
+        try {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(millis)), ZoneId.systemDefault());
+        } catch (NumberFormatException e) {
+            throw new DateTimeParseException("Not epoch milliseconds", millis, 0);
+        }
+    }
+
+    // ISO date-time with or without offset
+    private static LocalDateTime timestamp(String value) {
+        TemporalAccessor parsed;
+        try {
+            parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(value, ZonedDateTime::from, LocalDateTime::from);
+        } catch (DateTimeParseException e) {
+            // "2025-12-11 10:33:54.946" as some layouts write it
+            parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(value.replace(' ', 'T'),
+                    ZonedDateTime::from, LocalDateTime::from);
+        }
+        if (parsed instanceof ZonedDateTime zoned) {
+            return zoned.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        return (LocalDateTime) parsed;
+    }
+
+    // Simple name of the innermost "Caused by:" exception, or else the thrown one
+    static String rootCause(String stackTrace) {
+        String cause = null;
+        int lineStart = 0;
+        while (lineStart < stackTrace.length()) {
+            int lineEnd = stackTrace.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = stackTrace.length();
+            }
+            String line = stackTrace.substring(lineStart, lineEnd).strip();
+            if (lineStart == 0) {
+                cause = exceptionName(line);
+            } else if (line.startsWith(CAUSED_BY)) {
+                String name = exceptionName(line.substring(CAUSED_BY.length()));
+                if (name != null) {
+                    cause = name;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return cause;
+    }
+
+    private static String exceptionName(String line) {
+        int colon = line.indexOf(':');
+        String className = colon < 0 ? line : line.substring(0, colon);
+        if (!className.matches("[\\w$.]+")) {
+            return null;
+        }
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return simpleName.endsWith("Exception") || simpleName.endsWith("Error") || simpleName.endsWith("Throwable")
+                ? simpleName : null;
+    }
+
+    // where a field name goes, and how preferred it is among the names for that field
+    private record Slot(int field, int rank) {
+    }
+
+    // the mapped values of one event
+    private static final class Event {
+        private final String[] values = new String[5];
+        private final int[] ranks = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Integer.MAX_VALUE};
+        private boolean epochTimestamp;
+    }
+}
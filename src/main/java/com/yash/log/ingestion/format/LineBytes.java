@@ -0,0 +1,130 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.dto.ErrorLevel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Byte-level helpers for LogFormat.levelOf: nothing here decodes or allocates.
+final class LineBytes {
+
+    // names other logging libraries use, mapped onto the four levels we store
+    private static final byte[][] LEVEL_NAMES = ascii("ERROR", "WARN", "INFO", "DEBUG", "FATAL", "TRACE",
+            "WARNING", "CRITICAL", "SEVERE", "NOTICE", "CRIT", "ALERT", "EMERG");
+    private static final ErrorLevel[] LEVELS = {ErrorLevel.ERROR, ErrorLevel.WARN, ErrorLevel.INFO, ErrorLevel.DEBUG,
+            ErrorLevel.ERROR, ErrorLevel.DEBUG, ErrorLevel.WARN, ErrorLevel.ERROR, ErrorLevel.ERROR, ErrorLevel.INFO,
+            ErrorLevel.ERROR, ErrorLevel.ERROR, ErrorLevel.ERROR};
+
+    private LineBytes() {
+    }
+
+    // Level named by the bytes from i to end, in any case, or null
+    static ErrorLevel level(ByteBuffer bytes, int i, int end) {
+        for (int k = 0; k < LEVEL_NAMES.length; k++) {
+            if (equalsIgnoreCase(bytes, i, end, LEVEL_NAMES[k])) {
+                return LEVELS[k];
+            }
+        }
+        return null;
+    }
+
+    // Same names as level(byte...), for values already decoded
+    static ErrorLevel level(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+        return level(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    static int indexOf(ByteBuffer bytes, int from, int to, byte b) {
+        for (int i = from; i < to; i++) {
+            if (bytes.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int indexOf(ByteBuffer bytes, int from, int to, byte[] needle) {
+        int last = to - needle.length;
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int k = 0; k < needle.length; k++) {
+                if (bytes.get(i + k) != needle[k]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // first index at or after from where the token ends: whitespace or to
+    static int tokenEnd(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        while (i < to && !isWhitespace(bytes.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static int skipWhitespace(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        while (i < to && isWhitespace(bytes.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static int skipDigits(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        while (i < to && isDigit(bytes.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // true when the line has digits at each offset marked '9' in the shape and
+    // the same byte as the shape elsewhere, e.g. "9999-99-99"
+    static boolean matchesShape(ByteBuffer bytes, int from, int to, String shape) {
+        if (to - from < shape.length()) {
+            return false;
+        }
+        for (int k = 0; k < shape.length(); k++) {
+            byte b = bytes.get(from + k);
+            char expected = shape.charAt(k);
+            if (expected == '9' ? !isDigit(b) : b != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    // same set as the regex \s
+    static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+    }
+
+    private static boolean equalsIgnoreCase(ByteBuffer bytes, int i, int end, byte[] name) {
+        if (end - i != name.length) {
+            return false;
+        }
+        for (int k = 0; k < name.length; k++) {
+            // ASCII letters only, clearing bit 5 upper-cases them
+            if ((bytes.get(i + k) & 0xDF) != name[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static byte[][] ascii(String... names) {
+        byte[][] bytes = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            bytes[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+}
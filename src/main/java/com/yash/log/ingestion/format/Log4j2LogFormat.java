@@ -0,0 +1,90 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+import com.yash.log.ingestion.TimestampDecoder;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Log4j2 / Logback pattern layouts with a local timestamp, the level either
+// right after it or after the thread, and " - " before the message:
+// "2025-12-11 10:33:54,946 [main] ERROR com.yash.Foo - message" or
+// "2025-12-11 10:33:54.946 ERROR [main] com.yash.Foo - message".
+// FATAL is stored as ERROR and TRACE as DEBUG.
+@Component
+@Order(10)
+public class Log4j2LogFormat implements LogFormat {
+
+    public static final String NAME = "log4j2";
+
+    private static final Pattern LINE = Pattern.compile(
+            "^(\\d{4}-\\d{2}-\\d{2}[ T]\\d{2}:\\d{2}:\\d{2}(?:[.,]\\d{1,9})?)\\s+(?:\\[[^\\]]*\\]\\s+)?"
+                    + "(TRACE|DEBUG|INFO|WARN|ERROR|FATAL)\\s+(?:\\[[^\\]]*\\]\\s+)?(\\S+)\\s+-\\s(.*)$");
+    // "yyyy-MM-dd HH:mm:ss" with an optional fraction after '.' or ','
+    private static final DateTimeFormatter TIMESTAMP = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd")
+            .optionalStart().appendLiteral(' ').optionalEnd()
+            .optionalStart().appendLiteral('T').optionalEnd()
+            .appendPattern("HH:mm:ss")
+            .optionalStart().appendLiteral('.').appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, false).optionalEnd()
+            .optionalStart().appendLiteral(',').appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, false).optionalEnd()
+            .toFormatter();
+    private static final ThreadLocal<TimestampDecoder> TIMESTAMPS =
+            ThreadLocal.withInitial(() -> TimestampDecoder.localDateTime(TIMESTAMP));
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ErrorLevel levelOf(ByteBuffer bytes, int from, int to) {
+        if (!LineBytes.matchesShape(bytes, from, to, "9999-99-99")) {
+            return null;
+        }
+        int i = from + 10;
+        if (i >= to || (bytes.get(i) != ' ' && bytes.get(i) != 'T')
+                || !LineBytes.matchesShape(bytes, i + 1, to, "99:99:99")) {
+            return null;
+        }
+        i += 9;
+        if (i < to && (bytes.get(i) == '.' || bytes.get(i) == ',')) {
+            i = LineBytes.skipDigits(bytes, i + 1, to);
+        }
+        int levelStart = LineBytes.skipWhitespace(bytes, i, to);
+        if (levelStart == i) {
+            // an offset or zone follows, not this layout
+            return null;
+        }
+        if (levelStart < to && bytes.get(levelStart) == '[') {
+            int close = LineBytes.indexOf(bytes, levelStart, to, (byte) ']');
+            if (close < 0) {
+                return null;
+            }
+            levelStart = LineBytes.skipWhitespace(bytes, close + 1, to);
+        }
+        int levelEnd = LineBytes.tokenEnd(bytes, levelStart, to);
+        return levelEnd < to ? LineBytes.level(bytes, levelStart, levelEnd) : null;
+    }
+
+    @Override
+    public LogDTO parse(CharSequence line) {
+        Matcher matcher = LINE.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+        LogDTO logDto = new LogDTO();
+        logDto.setErrorLevel(LineBytes.level(matcher.group(2)).name());
+        logDto.setSource(matcher.group(3));
+        logDto.setErrorMessage(matcher.group(4));
+        logDto.setTimeStamp(TIMESTAMPS.get().decode(line, matcher.start(1), matcher.end(1)));
+        return logDto;
+    }
+}
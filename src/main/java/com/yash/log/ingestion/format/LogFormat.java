@@ -0,0 +1,27 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+
+import java.nio.ByteBuffer;
+
+// One log layout the ingestion pipeline can read. levelOf() runs on the raw
+// bytes of every line, so it must not decode or allocate; parse() only sees
+// the first line of an event whose level is kept. Implementations are
+// stateless (or keep per-thread state) because the parallel parser calls them
+// from several threads. Register one as a Spring bean to make it selectable.
+public interface LogFormat {
+
+    // the value of ?format= that selects this layout
+    String getName();
+
+    // Level of the event this line starts, or null when the line starts none
+    // (stack frame, "Caused by:", wrapped message, banner). from is inclusive,
+    // to exclusive, without the line terminator.
+    ErrorLevel levelOf(ByteBuffer bytes, int from, int to);
+
+    // The event as read from its first line, or null when the line does not have
+    // this layout after all. errorType may be left null for the classifier to fill.
+    // Throws DateTimeParseException when only the timestamp cannot be read.
+    LogDTO parse(CharSequence line);
+}
@@ -0,0 +1,124 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.config.JsonFormatProperties;
+import com.yash.log.dto.LogDTO;
+import com.yash.log.ingestion.ByteLineReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// The log layouts uploads can be read with: every LogFormat bean in @Order,
+// then a json:<source> format per ingestion.formats.json.sources entry.
+// A source is read with one format from start to end: the one the upload
+// asked for, or the one detect() picks from its first lines. Detection costs
+// a few dozen parses per source, after that each line goes through a single
+// format as before.
+@Component
+public class LogFormatRegistry {
+
+    private final Map<String, LogFormat> formats = new LinkedHashMap<>();
+    private final LogFormat defaultFormat;
+    private final int detectLines;
+
+    public LogFormatRegistry(List<LogFormat> formats, JsonFormatProperties jsonFormats,
+                             @Value("${ingestion.formats.detect-lines:50}") int detectLines) {
+        formats.forEach(this::register);
+        jsonFormats.getSources().forEach((source, fields) ->
+                register(new JsonLogFormat(JsonLogFormat.NAME + ":" + source, fields)));
+        if (this.formats.isEmpty()) {
+            throw new IllegalStateException("No log formats registered");
+        }
+        this.defaultFormat = this.formats.getOrDefault(SpringBootLogFormat.NAME, formats.get(0));
+        this.detectLines = detectLines;
+    }
+
+    private void register(LogFormat format) {
+        if (this.formats.putIfAbsent(format.getName(), format) != null) {
+            throw new IllegalStateException("Two log formats are named " + format.getName());
+        }
+    }
+
+    public Set<String> getNames() {
+        return formats.keySet();
+    }
+
+    public LogFormat getDefault() {
+        return defaultFormat;
+    }
+
+    public LogFormat get(String name) {
+        LogFormat format = formats.get(name);
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown log format '" + name + "', expected one of " + getNames());
+        }
+        return format;
+    }
+
+    // Format that reads most of the first detect-lines lines of the sample; the
+    // earlier one on a tie and the default when none reads any. A last line
+    // without its terminator is left out, it may be cut off.
+    public LogFormat detect(byte[] sample, int length) {
+        ByteBuffer bytes = ByteBuffer.wrap(sample, 0, length);
+        int[] scores = new int[formats.size()];
+        int lines = 0;
+        int lineStart = 0;
+        for (int i = 0; i < length && lines < detectLines; i++) {
+            if (sample[i] == '\n' || (i == length - 1 && lineStart == 0)) {
+                int lineEnd = sample[i] == '\n' ? i : length;
+                if (lineEnd > lineStart && sample[lineEnd - 1] == '\r') {
+                    lineEnd--;
+                }
+                if (lineEnd > lineStart) {
+                    score(bytes, lineStart, lineEnd, scores);
+                    lines++;
+                }
+                lineStart = i + 1;
+            }
+        }
+
+        LogFormat best = defaultFormat;
+        int bestScore = 0;
+        int k = 0;
+        for (LogFormat format : formats.values()) {
+            if (scores[k] > bestScore) {
+                best = format;
+                bestScore = scores[k];
+            }
+            k++;
+        }
+        return best;
+    }
+
+    // one point for each format that finds an event start here and can read it
+    private void score(ByteBuffer bytes, int from, int to, int[] scores) {
+        CharSequence line = null;
+        int k = 0;
+        for (LogFormat format : formats.values()) {
+            if (format.levelOf(bytes, from, to) != null) {
+                if (line == null) {
+                    line = ByteLineReader.decode(bytes, from, to);
+                }
+                if (reads(format, line)) {
+                    scores[k]++;
+                }
+            }
+            k++;
+        }
+    }
+
+    private static boolean reads(LogFormat format, CharSequence line) {
+        try {
+            LogDTO parsed = format.parse(line);
+            return parsed != null;
+        } catch (DateTimeParseException e) {
+            // the layout fits, only this timestamp is off
+            return true;
+        }
+    }
+}
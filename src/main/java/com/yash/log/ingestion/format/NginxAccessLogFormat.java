@@ -0,0 +1,77 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// nginx / Apache access logs in the common or combined format:
+// '10.0.0.7 - - [11/Dec/2025:10:33:54 +0530] "GET /api/orders HTTP/1.1" 502 157 "-" "curl/8.4"'.
+// The level comes from the status: 5xx is ERROR, 4xx WARN, anything else INFO,
+// so the default ERROR-only upload keeps just the server errors. The client
+// address is the source and "HTTP <status>" the error type.
+@Component
+@Order(40)
+public class NginxAccessLogFormat implements LogFormat {
+
+    public static final String NAME = "nginx-access";
+
+    private static final Pattern LINE = Pattern.compile(
+            "^(\\S+) \\S+ \\S+ \\[([^\\]]+)\\] \"([^\"]*)\" (\\d{3}) (\\S+)(?: \"([^\"]*)\" \"([^\"]*)\")?.*$");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+    // "[11/Dec/2025:10:33:54 +0530] \"" from the opening bracket on
+    private static final String TIME_SHAPE = "[99/";
+    private static final int TIME_LENGTH = "[11/Dec/2025:10:33:54 +0530] \"".length();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ErrorLevel levelOf(ByteBuffer bytes, int from, int to) {
+        int open = LineBytes.indexOf(bytes, from, to, (byte) '[');
+        if (open <= from || !LineBytes.matchesShape(bytes, open, to, TIME_SHAPE)
+                || open + TIME_LENGTH > to || bytes.get(open + TIME_LENGTH - 3) != ']'
+                || bytes.get(open + TIME_LENGTH - 1) != '"') {
+            return null;
+        }
+        // nginx writes a quote inside the request line as \x22, the next one ends it
+        int requestEnd = LineBytes.indexOf(bytes, open + TIME_LENGTH, to, (byte) '"');
+        if (requestEnd < 0 || !LineBytes.matchesShape(bytes, requestEnd, to, "\" 999 ")) {
+            return null;
+        }
+        return levelOf(bytes.get(requestEnd + 2));
+    }
+
+    @Override
+    public LogDTO parse(CharSequence line) {
+        Matcher matcher = LINE.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String status = matcher.group(4);
+        LogDTO logDto = new LogDTO();
+        logDto.setErrorLevel(levelOf((byte) status.charAt(0)).name());
+        logDto.setSource(matcher.group(1));
+        logDto.setErrorMessage(matcher.group(3) + " -> " + status);
+        logDto.setErrorType("HTTP " + status);
+        logDto.setTimeStamp(LocalDateTime.parse(matcher.group(2), TIMESTAMP));
+        return logDto;
+    }
+
+    private static ErrorLevel levelOf(byte statusClass) {
+        return switch (statusClass) {
+            case '5' -> ErrorLevel.ERROR;
+            case '4' -> ErrorLevel.WARN;
+            default -> ErrorLevel.INFO;
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// nginx error_log, a fixed-position layout read without a regex:
+// "2025/12/11 10:33:54 [error] 1234#1234: *5 connect() failed ..., client: ..."
+// The timestamp is always 19 characters and the level follows in brackets.
+// crit, alert and emerg are stored as ERROR, notice as INFO.
+@Component
+@Order(30)
+public class NginxErrorLogFormat implements LogFormat {
+
+    public static final String NAME = "nginx-error";
+
+    private static final String SHAPE = "9999/99/99 99:99:99 [";
+    private static final int LEVEL_START = SHAPE.length();
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ErrorLevel levelOf(ByteBuffer bytes, int from, int to) {
+        if (!LineBytes.matchesShape(bytes, from, to, SHAPE)) {
+            return null;
+        }
+        int close = LineBytes.indexOf(bytes, from + LEVEL_START, to, (byte) ']');
+        return close < 0 ? null : LineBytes.level(bytes, from + LEVEL_START, close);
+    }
+
+    @Override
+    public LogDTO parse(CharSequence line) {
+        String text = line.toString();
+        int close = text.indexOf(']', LEVEL_START);
+        if (!text.startsWith(" [", 19) || close < 0) {
+            return null;
+        }
+        ErrorLevel level = LineBytes.level(text.substring(LEVEL_START, close));
+        if (level == null) {
+            return null;
+        }
+        // "pid#tid: " comes before the message
+        int messageStart = close + 1;
+        int pidEnd = text.indexOf(": ", messageStart);
+        if (pidEnd >= 0 && text.substring(messageStart, pidEnd).trim().matches("\\d+#\\d+")) {
+            messageStart = pidEnd + 2;
+        }
+        LogDTO logDto = new LogDTO();
+        logDto.setErrorLevel(level.name());
+        logDto.setSource("nginx");
+        logDto.setErrorMessage(text.substring(messageStart).trim());
+        logDto.setTimeStamp(LocalDateTime.parse(text.substring(0, 19), TIMESTAMP));
+        return logDto;
+    }
+}
@@ -0,0 +1,68 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.constants.LogConstant;
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+import com.yash.log.ingestion.LevelFilter;
+import com.yash.log.ingestion.SpringBootLineTokenizer;
+import com.yash.log.ingestion.TimestampDecoder;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Spring Boot's default console/file layout:
+// "2025-12-11T10:33:54.946+05:30 ERROR 1234 --- [app] [main] c.y.Foo : message".
+// The default format, and the one tried first when detecting.
+@Component
+@Order(0)
+public class SpringBootLogFormat implements LogFormat {
+
+    public static final String NAME = "spring-boot";
+
+    private static final Pattern LOG_PATTERN = Pattern.compile(LogConstant.LOG_PATTERN);
+    // reused per thread so tokenizing a line allocates nothing
+    private static final ThreadLocal<SpringBootLineTokenizer.Tokens> LINE_TOKENS =
+            ThreadLocal.withInitial(SpringBootLineTokenizer.Tokens::new);
+    // per thread, as it remembers the second of the last timestamp
+    private static final ThreadLocal<TimestampDecoder> TIMESTAMPS =
+            ThreadLocal.withInitial(TimestampDecoder::isoOffsetDateTime);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ErrorLevel levelOf(ByteBuffer bytes, int from, int to) {
+        return LevelFilter.springBootLevel(bytes, from, to);
+    }
+
+    @Override
+    public LogDTO parse(CharSequence line) {
+        // fast path: hand-written tokenizer, the regex below only sees lines it rejects
+        SpringBootLineTokenizer.Tokens tokens = LINE_TOKENS.get();
+        if (SpringBootLineTokenizer.tokenize(line, tokens)) {
+            // only the kept fields are materialised as Strings
+            LogDTO logDto = new LogDTO();
+            logDto.setErrorLevel(tokens.getLevel().name());
+            logDto.setErrorMessage(tokens.message(line));
+            logDto.setSource(tokens.source(line));
+            logDto.setTimeStamp(TIMESTAMPS.get().decode(line, 0, tokens.getTimestampEnd()));
+            return logDto;
+        }
+
+        Matcher matcher = LOG_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return null;
+        }
+        LogDTO logDto = new LogDTO();
+        logDto.setErrorLevel(matcher.group(2));
+        logDto.setErrorMessage(matcher.group(4));
+        logDto.setSource(matcher.group(3));
+        logDto.setTimeStamp(TIMESTAMPS.get().decode(line, matcher.start(1), matcher.end(1)));
+        return logDto;
+    }
+}
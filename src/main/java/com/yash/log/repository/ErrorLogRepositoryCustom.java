@@ -0,0 +1,29 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.Log;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+public interface ErrorLogRepositoryCustom {
+
+    // Inserts the given rows in multi-row INSERTs inside a single transaction.
+    // Rows whose fingerprint is already stored are skipped by the unique index.
+    // Returns the rows that are in the table under their id afterwards, i.e.
+    // all but the skipped ones; a restored row that was stored already is too.
+    List<Log> batchInsert(List<Log> logs);
+
+    // Which of the given fingerprints are already stored
+    Set<Long> findExistingFingerprints(Collection<Long> fingerprints);
+
+    // Streams every stored fingerprint, used to load the dedup filter
+    void forEachFingerprint(LongConsumer consumer);
+
+    // Streams the searchable columns (id, type, source, message, timeStamp,
+    // createdAt) of every row with an id above afterErrorId, used to build the
+    // full-text index
+    void forEachSearchable(long afterErrorId, Consumer<Log> consumer);
+}
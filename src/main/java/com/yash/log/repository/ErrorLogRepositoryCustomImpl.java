@@ -0,0 +1,182 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.Log;
+import com.yash.log.entity.TimeOrderedIds;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+// Spring Data picks this up as the implementation of ErrorLogRepositoryCustom.
+// Plain JDBC skips the persistence context, which a batch of thousands of rows
+// only fills up. Ids are taken from TimeOrderedIds for the whole batch at once;
+// its node bits keep them apart from the ids of other instances.
+// Rows go out as one multi-row INSERT per ROWS_PER_INSERT, what
+// rewriteBatchedStatements makes of a batch, so that one statement's update
+// count covers them. A row whose fingerprint is stored already is skipped by
+// ON DUPLICATE KEY UPDATE; unlike INSERT IGNORE that keeps every other error
+// an error. With useAffectedRows=true on the datasource url MySQL counts a
+// skipped row as 0 and an inserted one as 1, so only a statement that skipped
+// rows is followed by a lookup of which.
+public class ErrorLogRepositoryCustomImpl implements ErrorLogRepositoryCustom {
+
+    static final int ROWS_PER_INSERT = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO log (error_id, error_level, error_message, time_stamp, user_id, source, error_type, " +
+            "ticket_id, stack_trace, fingerprint, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE error_id = error_id";
+    private static final String TRUNCATED = "...";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ErrorLogRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<Log> batchInsert(List<Log> logs) {
+        if (logs == null || logs.isEmpty()) {
+            return List.of();
+        }
+        // @CreatedDate is applied by the JPA listener, which JDBC bypasses
+        LocalDateTime createdAt = LocalDateTime.now();
+        // in list order, so rows of one file keep their order by id; restored rows keep theirs
+        long[] ids = TimeOrderedIds.shared().next(logs.size());
+        for (int i = 0; i < logs.size(); i++) {
+            Log log = logs.get(i);
+            if (log.getErrorId() == null) {
+                log.setErrorId(ids[i]);
+            }
+            // set on the rows too, the search index is fed from them
+            if (log.getCreatedAt() == null) {
+                log.setCreatedAt(createdAt);
+            }
+            // the partition column, NULL is not allowed
+            if (log.getTimeStamp() == null) {
+                log.setTimeStamp(createdAt);
+            }
+        }
+
+        List<Log> written = new ArrayList<>(logs.size());
+        for (int from = 0; from < logs.size(); from += ROWS_PER_INSERT) {
+            List<Log> rows = logs.subList(from, Math.min(from + ROWS_PER_INSERT, logs.size()));
+            int inserted = insert(rows);
+            written.addAll(inserted == rows.size() ? rows : stored(rows));
+        }
+        return written;
+    }
+
+    private int insert(List<Log> rows) {
+        String sql = INSERT_SQL + String.join(", ", Collections.nCopies(rows.size(), ROW)) + ON_DUPLICATE;
+        return jdbcTemplate.update(sql, ps -> {
+            int p = 0;
+            for (Log log : rows) {
+                ps.setLong(++p, log.getErrorId());
+                ps.setString(++p, log.getErrorLevel());
+                ps.setString(++p, truncate(log.getErrorMessage()));
+                ps.setTimestamp(++p, Timestamp.valueOf(log.getTimeStamp()));
+                setNullableLong(ps, ++p, log.getUserId());
+                ps.setString(++p, log.getSource());
+                ps.setString(++p, log.getErrorType());
+                setNullableLong(ps, ++p, log.getTicketId());
+                ps.setString(++p, log.getStackTrace());
+                setNullableLong(ps, ++p, log.getFingerprint());
+                ps.setTimestamp(++p, Timestamp.valueOf(log.getCreatedAt()));
+            }
+        });
+    }
+
+    // The rows in the table under their id; one skipped for its fingerprint is
+    // not. The time bound keeps the lookup to the partitions the rows are in.
+    private List<Log> stored(List<Log> rows) {
+        LocalDateTime from = rows.stream().map(Log::getTimeStamp).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime to = rows.stream().map(Log::getTimeStamp).max(LocalDateTime::compareTo).orElseThrow();
+        List<Object> args = new ArrayList<>(rows.size() + 2);
+        rows.forEach(log -> args.add(log.getErrorId()));
+        args.add(Timestamp.valueOf(from));
+        args.add(Timestamp.valueOf(to));
+        Set<Long> ids = new HashSet<>(jdbcTemplate.queryForList("SELECT error_id FROM log WHERE error_id IN (" +
+                        String.join(", ", Collections.nCopies(rows.size(), "?")) + ") AND time_stamp BETWEEN ? AND ?",
+                Long.class, args.toArray()));
+        return rows.stream().filter(log -> ids.contains(log.getErrorId())).toList();
+    }
+
+    // the column would reject a longer message and fail the whole batch
+    static String truncate(String message) {
+        if (message == null || message.length() <= Log.MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, Log.MESSAGE_LENGTH - TRUNCATED.length()) + TRUNCATED;
+    }
+
+    @Override
+    public Set<Long> findExistingFingerprints(Collection<Long> fingerprints) {
+        if (fingerprints == null || fingerprints.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(fingerprints.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT fingerprint FROM log WHERE fingerprint IN (" + placeholders + ")",
+                Long.class, fingerprints.toArray()));
+    }
+
+    @Override
+    public void forEachFingerprint(LongConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT fingerprint FROM log WHERE fingerprint IS NOT NULL",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL streams the result row by row instead of loading it all
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1)));
+    }
+
+    @Override
+    public void forEachSearchable(long afterErrorId, Consumer<Log> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT error_id, error_type, source, error_message, time_stamp, created_at FROM log WHERE error_id > ?",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setLong(1, afterErrorId);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Log log = new Log();
+            log.setErrorId(rs.getLong("error_id"));
+            log.setErrorType(rs.getString("error_type"));
+            log.setSource(rs.getString("source"));
+            log.setErrorMessage(rs.getString("error_message"));
+            Timestamp timeStamp = rs.getTimestamp("time_stamp");
+            log.setTimeStamp(timeStamp != null ? timeStamp.toLocalDateTime() : null);
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            log.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+            consumer.accept(log);
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
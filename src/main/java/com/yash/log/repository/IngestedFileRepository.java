@@ -0,0 +1,13 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.IngestedFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IngestedFileRepository extends JpaRepository<IngestedFile, Long> {
+
+    Optional<IngestedFile> findBySha256(String sha256);
+}
@@ -0,0 +1,28 @@
+package com.yash.log.repository;
+
+import com.yash.log.constants.IngestionStatus;
+import com.yash.log.entity.IngestionReport;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IngestionReportRepository extends JpaRepository<IngestionReport, Long> {
+
+    Optional<IngestionReport> findFirstByJobIdOrderByIdDesc(String jobId);
+
+    // newest first; a null fileName or status matches every report
+    @Query("SELECT r FROM IngestionReport r " +
+            "WHERE (:fileName IS NULL OR r.fileName = :fileName) " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "AND r.finishedAt BETWEEN :from AND :to " +
+            "ORDER BY r.finishedAt DESC")
+    List<IngestionReport> search(@Param("fileName") String fileName, @Param("status") IngestionStatus status,
+                                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable page);
+}
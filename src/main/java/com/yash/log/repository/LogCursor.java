@@ -0,0 +1,69 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.Log;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position after the last row of a page, newest first. Clients get it as an
+// opaque string and send it back for the next page, which is then read with a
+// WHERE on the key instead of an OFFSET. The table pages in (timeStamp, errorId)
+// order, the search index by errorId alone; a cursor carries its order and is
+// only valid for pages read in that order.
+public record LogCursor(Order order, LocalDateTime timeStamp, long errorId) {
+
+    public enum Order {
+        TIME_STAMP,
+        ERROR_ID
+    }
+
+    private static final char SEPARATOR = '|';
+    private static final String ERROR_ID_PREFIX = "id" + SEPARATOR;
+
+    public LogCursor(LocalDateTime timeStamp, long errorId) {
+        this(Order.TIME_STAMP, timeStamp, errorId);
+    }
+
+    public static LogCursor of(Log row) {
+        return new LogCursor(row.getTimeStamp(), row.getErrorId());
+    }
+
+    public static LogCursor afterErrorId(long errorId) {
+        return new LogCursor(Order.ERROR_ID, null, errorId);
+    }
+
+    // null for a missing cursor, i.e. the first page
+    public static LogCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (value.startsWith(ERROR_ID_PREFIX)) {
+                return afterErrorId(Long.parseLong(value.substring(ERROR_ID_PREFIX.length())));
+            }
+            int separator = value.indexOf(SEPARATOR);
+            return new LogCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // A page read in another order would skip or repeat rows, e.g. when the search
+    // index becomes ready or stops answering between two pages
+    public static LogCursor decode(String cursor, Order order) {
+        LogCursor decoded = decode(cursor);
+        if (decoded != null && decoded.order() != order) {
+            throw new IllegalArgumentException("Cursor is from a listing in another order, request the first page again");
+        }
+        return decoded;
+    }
+
+    public String encode() {
+        String value = order == Order.ERROR_ID ? ERROR_ID_PREFIX + errorId : timeStamp.toString() + SEPARATOR + errorId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
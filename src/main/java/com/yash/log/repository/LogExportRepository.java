@@ -0,0 +1,70 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.Log;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reads the rows of an export for LogExportServiceImpl. The result set is
+// streamed by the driver and each row handed on as it arrives, so an export
+// of any size holds one row at a time; no entity reaches the persistence context.
+@Repository
+public class LogExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LogExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Every row matching the search like LogSpecifications.mentions and with a
+    // timeStamp within [from, to], newest first; null leaves a condition out
+    public void forEachMatching(String search, LocalDateTime from, LocalDateTime to, Consumer<Log> consumer) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (search != null && !search.isBlank()) {
+            List<String> patterns = LogSpecifications.termPatterns(search);
+            if (patterns.isEmpty()) {
+                // backslash is the default LIKE escape of MySQL
+                conditions.add("(error_type LIKE ? OR source LIKE ? OR error_message LIKE ?)");
+                patterns = List.of(LogSpecifications.containing(search));
+            } else {
+                patterns.forEach(pattern -> conditions.add("(REGEXP_LIKE(error_type, ?, 'i') " +
+                        "OR REGEXP_LIKE(source, ?, 'i') OR REGEXP_LIKE(error_message, ?, 'i'))"));
+            }
+            for (String pattern : patterns) {
+                args.add(pattern);
+                args.add(pattern);
+                args.add(pattern);
+            }
+        }
+        if (from != null) {
+            conditions.add("time_stamp >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add("time_stamp <= ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        String sql = "SELECT " + LogRetentionRepository.COLUMNS + " FROM log" +
+                (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) +
+                " ORDER BY time_stamp DESC, error_id DESC";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            // MySQL streams the result row by row instead of loading it all
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(LogRetentionRepository.toLog(rs)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.yash.log.repository;
+
+import com.yash.log.dto.LogPartitionDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// DDL for the RANGE COLUMNS(time_stamp) partitions of the log table. MySQL
+// wants the partition column in every unique key, so turning the table into a
+// partitioned one also widens the primary key to (error_id, time_stamp) and
+// the fingerprint key to (fingerprint, time_stamp); fingerprints are made from
+// the timestamp, so that keeps deduplication as it was. The last partition
+// is open-ended so a row is never rejected for its timestamp; new partitions
+// are split off it, which only rewrites the rows it holds below their bounds.
+@Repository
+public class LogPartitionRepository {
+
+    public static final String FUTURE = "p_future";
+
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LogPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // in range order; empty while the table is not partitioned
+    public List<LogPartitionDto> findPartitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'log' AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, i) -> new LogPartitionDto(rs.getString(1), lessThan(rs.getString(2)), rs.getLong(3)));
+    }
+
+    // One-off: rebuilds the table with the given partitions plus the open-ended one
+    public void partitionTable(List<LogPartitionDto> partitions) {
+        // time_stamp becomes part of the primary key, which does not allow NULL
+        jdbcTemplate.update("UPDATE log SET time_stamp = COALESCE(created_at, NOW()) WHERE time_stamp IS NULL");
+        jdbcTemplate.execute("ALTER TABLE log DROP PRIMARY KEY, ADD PRIMARY KEY (error_id, time_stamp), " +
+                "DROP INDEX uk_log_fingerprint, ADD UNIQUE INDEX uk_log_fingerprint (fingerprint, time_stamp)");
+        jdbcTemplate.execute("ALTER TABLE log PARTITION BY RANGE COLUMNS(time_stamp) (" + definitions(partitions) + ")");
+    }
+
+    // rows of the open-ended partition that a split at 'before' would move
+    public long countFutureRowsBefore(LocalDateTime before) {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM log PARTITION (" + FUTURE + ") WHERE time_stamp < ?", Long.class, before);
+        return rows == null ? 0 : rows;
+    }
+
+    // copies the rows of p_future into the new partitions and p_future, under a table lock
+    public void addPartitions(List<LogPartitionDto> partitions) {
+        jdbcTemplate.execute("ALTER TABLE log REORGANIZE PARTITION " + FUTURE + " INTO (" + definitions(partitions) + ")");
+    }
+
+    // removes the partitions with their rows; a metadata change, not a DELETE
+    public void dropPartitions(List<String> names) {
+        jdbcTemplate.execute("ALTER TABLE log DROP PARTITION " + String.join(", ", names));
+    }
+
+    private static String definitions(List<LogPartitionDto> partitions) {
+        return partitions.stream()
+                .map(p -> "PARTITION " + p.getName() + " VALUES LESS THAN ('" + BOUND.format(p.getLessThan()) + "')")
+                .collect(Collectors.joining(", ")) + ", PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE)";
+    }
+
+    // information_schema has the bound as a quoted literal, or MAXVALUE
+    private static LocalDateTime lessThan(String description) {
+        if (description == null || "MAXVALUE".equalsIgnoreCase(description)) {
+            return null;
+        }
+        return LocalDateTime.parse(description.replace("'", ""), BOUND);
+    }
+}
@@ -2,7 +2,8 @@ package com.yash.log.repository;
 
 import com.yash.log.entity.Log;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-public interface LogRepository extends JpaRepository<Log, Long> {
+public interface LogRepository extends JpaRepository<Log, Long>, JpaSpecificationExecutor<Log>, LogRepositoryCustom {
 
 }
@@ -0,0 +1,13 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.Log;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface LogRepositoryCustom {
+
+    // One page of the matching rows in the pageable's order. Unlike findAll(spec, pageable)
+    // it runs no COUNT query: it reads one row more than the page to tell if another follows.
+    Slice<Log> findSlice(Specification<Log> spec, Pageable pageable);
+}
@@ -0,0 +1,125 @@
+package com.yash.log.repository;
+
+import com.yash.log.config.RetentionProperties;
+import com.yash.log.entity.Log;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reads and deletes expired log rows for LogRetentionServiceImpl. Every
+// statement is bounded, either by LIMIT or by one partition, so a purge
+// never holds locks on more than a batch of rows at a time.
+@Repository
+public class LogRetentionRepository {
+
+    static final String COLUMNS = "error_id, error_level, error_message, time_stamp, user_id, source, " +
+            "error_type, ticket_id, stack_trace, fingerprint, created_at";
+
+    private static final RowMapper<Log> ROW = (rs, i) -> toLog(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LogRetentionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Up to limit rows older than before that the rule matches and none of the earlier rules do,
+    // oldest first in (time_stamp, error_id) order and after the given row (null for the first batch),
+    // so each batch goes on from the last one instead of passing the rows it kept again
+    public List<Log> findExpired(LocalDateTime before, RetentionProperties.Rule rule,
+                                 List<RetentionProperties.Rule> earlier, LogCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM log WHERE time_stamp < ?");
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(before));
+        if (after != null) {
+            // the bare bound keeps partition pruning, the OR breaks ties on error_id
+            Timestamp timeStamp = Timestamp.valueOf(after.timeStamp());
+            sql.append(" AND time_stamp >= ? AND (time_stamp > ? OR (time_stamp = ? AND error_id > ?))");
+            args.add(timeStamp);
+            args.add(timeStamp);
+            args.add(timeStamp);
+            args.add(after.errorId());
+        }
+        if (rule.getLevel() != null) {
+            sql.append(" AND error_level = ?");
+            args.add(rule.getLevel());
+        }
+        if (rule.getErrorType() != null) {
+            sql.append(" AND error_type = ?");
+            args.add(rule.getErrorType());
+        }
+        for (RetentionProperties.Rule other : earlier) {
+            // <=> so rows with a NULL level or type fall through to later rules
+            List<String> matches = new ArrayList<>();
+            if (other.getLevel() != null) {
+                matches.add("error_level <=> ?");
+                args.add(other.getLevel());
+            }
+            if (other.getErrorType() != null) {
+                matches.add("error_type <=> ?");
+                args.add(other.getErrorType());
+            }
+            if (!matches.isEmpty()) {
+                sql.append(" AND NOT (").append(String.join(" AND ", matches)).append(")");
+            }
+        }
+        sql.append(" ORDER BY time_stamp, error_id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW, args.toArray());
+    }
+
+    // the time bound lets MySQL skip the partitions the rows cannot be in
+    public int deleteExpired(List<Long> errorIds, LocalDateTime before) {
+        if (errorIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(before));
+        args.addAll(errorIds);
+        return jdbcTemplate.update("DELETE FROM log WHERE time_stamp < ? AND error_id IN (" +
+                String.join(", ", Collections.nCopies(errorIds.size(), "?")) + ")", args.toArray());
+    }
+
+    // Streams every row of one partition, used to archive it before it is dropped
+    public void forEachInPartition(String partition, Consumer<Log> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM log PARTITION (" + partition + ")",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toLog(rs)));
+    }
+
+    // also maps the rows of LogExportRepository
+    static Log toLog(ResultSet rs) throws SQLException {
+        Log log = new Log();
+        log.setErrorId(rs.getLong("error_id"));
+        log.setErrorLevel(rs.getString("error_level"));
+        log.setErrorMessage(rs.getString("error_message"));
+        log.setTimeStamp(toLocalDateTime(rs.getTimestamp("time_stamp")));
+        log.setUserId(rs.getObject("user_id", Long.class));
+        log.setSource(rs.getString("source"));
+        log.setErrorType(rs.getString("error_type"));
+        log.setTicketId(rs.getObject("ticket_id", Long.class));
+        log.setStackTrace(rs.getString("stack_trace"));
+        log.setFingerprint(rs.getObject("fingerprint", Long.class));
+        log.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        return log;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,117 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.Log;
+import com.yash.log.search.LogTokenizer;
+import com.yash.log.search.SearchQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Conditions of the log listings and the /api/logs search, turned into SQL by LogRepository
+public final class LogSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    // what LogTokenizer splits on, in a pattern both MySQL (ICU) and H2 (java.util.regex) read
+    private static final String TERM_CHAR = "[\\p{L}\\p{N}]";
+    private static final String SEPARATOR = "[^\\p{L}\\p{N}]";
+
+    private LogSpecifications() {
+    }
+
+    // Every word, "phrase" and prefix* of the search as whole terms in errorType,
+    // source or errorMessage, as the full-text index matches them, so a search
+    // finds the same rows whether the index or the table answers it. Text
+    // without a word (only punctuation) is looked for anywhere instead.
+    public static Specification<Log> mentions(String search) {
+        List<String> patterns = termPatterns(search);
+        if (patterns.isEmpty()) {
+            String pattern = containing(search);
+            return (root, query, cb) -> cb.or(
+                    cb.like(root.get("errorType"), pattern, ESCAPE),
+                    cb.like(root.get("source"), pattern, ESCAPE),
+                    cb.like(root.get("errorMessage"), pattern, ESCAPE));
+        }
+        return (root, query, cb) -> cb.and(patterns.stream()
+                .map(pattern -> cb.or(
+                        matches(root, cb, "errorType", pattern),
+                        matches(root, cb, "source", pattern),
+                        matches(root, cb, "errorMessage", pattern)))
+                .toArray(Predicate[]::new));
+    }
+
+    public static Specification<Log> timeStampFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("timeStamp"), from);
+    }
+
+    public static Specification<Log> timeStampUntil(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("timeStamp"), to);
+    }
+
+    // rows after the cursor in (timeStamp, errorId) descending order; the extra
+    // bare timeStamp <= keeps the partition pruning the OR would defeat
+    public static Specification<Log> before(LogCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("timeStamp"), cursor.timeStamp()),
+                cb.or(
+                        cb.lessThan(root.get("timeStamp"), cursor.timeStamp()),
+                        cb.and(
+                                cb.equal(root.get("timeStamp"), cursor.timeStamp()),
+                                cb.lessThan(root.get("errorId"), cursor.errorId()))));
+    }
+
+    public static Specification<Log> idIn(Collection<Long> errorIds) {
+        return (root, query, cb) -> root.get("errorId").in(errorIds);
+    }
+
+    // bounds an id lookup on the partition column, so only the partitions in range are probed
+    public static Specification<Log> timeStampBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> cb.between(root.get("timeStamp"), from, to);
+    }
+
+    // One REGEXP_LIKE pattern per clause of the search, each must match one of
+    // the columns; also used by LogExportRepository. Terms hold only letters and
+    // digits, so they need no escaping. A term cut at MAX_TERM_CHARS by the
+    // tokenizer matches the longer run it was cut from.
+    static List<String> termPatterns(String search) {
+        return SearchQuery.parse(search).getClauses().stream().map(clause -> switch (clause) {
+            case SearchQuery.Term term -> "(^|" + SEPARATOR + ")" + term(term.term()) + "(" + SEPARATOR + "|$)";
+            case SearchQuery.Phrase phrase -> "(^|" + SEPARATOR + ")"
+                    + phrase.terms().stream().map(LogSpecifications::term).collect(Collectors.joining(SEPARATOR + "+"))
+                    + "(" + SEPARATOR + "|$)";
+            case SearchQuery.Prefix prefix -> "(^|" + SEPARATOR + ")" + prefix.prefix();
+        }).toList();
+    }
+
+    private static Predicate matches(Root<Log> root, CriteriaBuilder cb, String field, String pattern) {
+        return cb.isTrue(cb.function("regexp_like", Boolean.class, root.get(field), cb.literal(pattern), cb.literal("i")));
+    }
+
+    private static String term(String term) {
+        return term.length() < LogTokenizer.MAX_TERM_CHARS ? term : term + TERM_CHAR + "*";
+    }
+
+    // LIKE pattern for the text anywhere, also used by LogExportRepository
+    static String containing(String text) {
+        return "%" + escape(text) + "%";
+    }
+
+    // % and _ in the search text are matched literally
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,13 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.TailOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TailOffsetRepository extends JpaRepository<TailOffset, Long> {
+
+    Optional<TailOffset> findByPath(String path);
+}
@@ -0,0 +1,162 @@
+package com.yash.log.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Walks matching log ids newest first, i.e. in descending order, which for
+// the time-ordered ids is descending insert time. Starts before the first id:
+// doc() is Long.MAX_VALUE until next() or advance() is called.
+public abstract class DocIterator {
+
+    public static final long NO_MORE_DOCS = Long.MIN_VALUE;
+
+    protected static final long UNPOSITIONED = Long.MAX_VALUE;
+
+    public abstract long doc();
+
+    // the next smaller id, or NO_MORE_DOCS
+    public abstract long next();
+
+    // the first id at or below target, never moving backwards
+    public long advance(long target) {
+        long doc = doc();
+        while (doc > target) {
+            doc = next();
+        }
+        return doc;
+    }
+
+    public static DocIterator empty() {
+        return new DocIterator() {
+            private long doc = UNPOSITIONED;
+
+            @Override
+            public long doc() {
+                return doc;
+            }
+
+            @Override
+            public long next() {
+                return doc = NO_MORE_DOCS;
+            }
+
+            @Override
+            public long advance(long target) {
+                return doc = NO_MORE_DOCS;
+            }
+        };
+    }
+
+    // ids found by any of the iterators, each once
+    public static DocIterator union(List<? extends DocIterator> iterators) {
+        if (iterators.isEmpty()) {
+            return empty();
+        }
+        return iterators.size() == 1 ? iterators.get(0) : new Union(iterators);
+    }
+
+    // ids found by all of the iterators
+    public static DocIterator all(List<? extends DocIterator> iterators) {
+        if (iterators.isEmpty()) {
+            return empty();
+        }
+        return iterators.size() == 1 ? iterators.get(0) : new Conjunction(iterators);
+    }
+
+    // Heap on the current id of each iterator, the largest on top
+    private static final class Union extends DocIterator {
+
+        private final PriorityQueue<DocIterator> heap =
+                new PriorityQueue<>(Comparator.comparingLong(DocIterator::doc).reversed());
+        private final List<DocIterator> unstarted;
+        private long doc = UNPOSITIONED;
+
+        Union(List<? extends DocIterator> iterators) {
+            this.unstarted = new ArrayList<>(iterators);
+        }
+
+        @Override
+        public long doc() {
+            return doc;
+        }
+
+        @Override
+        public long next() {
+            if (doc == UNPOSITIONED) {
+                for (DocIterator iterator : unstarted) {
+                    if (iterator.next() != NO_MORE_DOCS) {
+                        heap.add(iterator);
+                    }
+                }
+                unstarted.clear();
+            } else {
+                // every iterator still on the current id moves past it, so a repeated id is returned once
+                while (!heap.isEmpty() && heap.peek().doc() == doc) {
+                    DocIterator top = heap.poll();
+                    if (top.next() != NO_MORE_DOCS) {
+                        heap.add(top);
+                    }
+                }
+            }
+            return doc = heap.isEmpty() ? NO_MORE_DOCS : heap.peek().doc();
+        }
+
+        @Override
+        public long advance(long target) {
+            if (doc == UNPOSITIONED) {
+                next();
+            }
+            while (!heap.isEmpty() && heap.peek().doc() > target) {
+                DocIterator top = heap.poll();
+                if (top.advance(target) != NO_MORE_DOCS) {
+                    heap.add(top);
+                }
+            }
+            return doc = heap.isEmpty() ? NO_MORE_DOCS : heap.peek().doc();
+        }
+    }
+
+    // Leapfrog: every iterator is advanced to the smallest id seen until they agree
+    private static final class Conjunction extends DocIterator {
+
+        private final List<DocIterator> iterators;
+        private long doc = UNPOSITIONED;
+
+        Conjunction(List<? extends DocIterator> iterators) {
+            this.iterators = new ArrayList<>(iterators);
+        }
+
+        @Override
+        public long doc() {
+            return doc;
+        }
+
+        @Override
+        public long next() {
+            return doc = align(iterators.get(0).next());
+        }
+
+        @Override
+        public long advance(long target) {
+            return doc = align(iterators.get(0).advance(target));
+        }
+
+        private long align(long candidate) {
+            int agreeing = 1;
+            int i = 1;
+            while (candidate != NO_MORE_DOCS && agreeing < iterators.size()) {
+                long found = iterators.get(i).advance(candidate);
+                if (found == candidate) {
+                    agreeing++;
+                } else {
+                    candidate = found;
+                    agreeing = 1;
+                }
+                i = (i + 1) % iterators.size();
+            }
+            return candidate;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.yash.log.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Inverted index from terms to log ids, kept in a directory of segments.
+// add() buffers documents in memory; flush() writes the buffer as a new
+// segment, after which its documents are found by search(). Segments never
+// change: merge() rewrites the smallest ones into one, dropping repeated ids,
+// and the "segments" file names the live set, replaced atomically on every
+// change, so a crash leaves the last complete set. Documents that were only
+// buffered are lost then and come back with the next catch-up.
+//
+// A document is the terms of its fields with their positions, plus its
+// createdAt and time_stamp in millis, time_stamp for date filters and row lookups.
+// Searches run on the segments of the moment and never wait for writers.
+public final class FullTextIndex implements Closeable {
+
+    public static final long MIN_TIME = Long.MIN_VALUE;
+    public static final long MAX_TIME = Long.MAX_VALUE;
+
+    // terms indexed per document, the rest of a huge message is not searchable
+    static final int MAX_DOC_TERMS = 10_000;
+
+    private static final String MANIFEST = "segments";
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int MERGE_FACTOR = 10;
+
+    private final Path dir;
+    private final int maxPrefixTerms;
+
+    private final Object bufferLock = new Object();
+    private List<BufferedDoc> buffer = new ArrayList<>();
+
+    // guards every change of the segment set
+    private final Object commitLock = new Object();
+    private volatile List<IndexSegment> segments;
+    private final Set<IndexSegment> merging = new HashSet<>();
+    private long nextGeneration;
+    // bumped by clear(), a merge started before it is thrown away
+    private long epoch;
+
+    private FullTextIndex(Path dir, int maxPrefixTerms, List<IndexSegment> segments, long nextGeneration) {
+        this.dir = dir;
+        this.maxPrefixTerms = maxPrefixTerms;
+        this.segments = List.copyOf(segments);
+        this.nextGeneration = nextGeneration;
+    }
+
+    // Opens the segments the manifest names; files it does not name are left over from a crash and deleted
+    public static FullTextIndex open(Path dir, int maxPrefixTerms) throws IOException {
+        Files.createDirectories(dir);
+        Path manifest = dir.resolve(MANIFEST);
+        Set<String> live = new HashSet<>(Files.exists(manifest)
+                ? Files.readAllLines(manifest, StandardCharsets.UTF_8) : List.of());
+        live.remove("");
+        List<IndexSegment> segments = new ArrayList<>();
+        long maxGeneration = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (live.contains(name)) {
+                    segments.add(IndexSegment.open(file));
+                } else if (name.startsWith(SEGMENT_PREFIX)) {
+                    Files.delete(file);
+                }
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    maxGeneration = Math.max(maxGeneration, generationOf(name));
+                }
+            }
+        }
+        if (segments.size() != live.size()) {
+            throw new IOException("Search index in " + dir + " is missing segments of " + live);
+        }
+        segments.sort(Comparator.comparingLong(segment -> generationOf(segment.getName())));
+        return new FullTextIndex(dir, maxPrefixTerms, segments, maxGeneration + 1);
+    }
+
+    // Removes the index files from the directory, used when they cannot be opened
+    public static void delete(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) || name.startsWith(MANIFEST)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // Buffers one document, returns the number of buffered documents
+    public int add(long id, long createdAtMillis, long timeStampMillis, String... fields) {
+        List<String> terms = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        int[] position = {0};
+        for (String field : fields) {
+            LogTokenizer.tokenize(field, term -> {
+                if (terms.size() < MAX_DOC_TERMS) {
+                    terms.add(term);
+                    positions.add(position[0]);
+                }
+                position[0]++;
+            });
+            // a gap between fields, so a phrase never runs from one into the next
+            position[0]++;
+        }
+        BufferedDoc doc = new BufferedDoc(id, createdAtMillis, timeStampMillis, terms.toArray(String[]::new),
+                positions.stream().mapToInt(Integer::intValue).toArray());
+        synchronized (bufferLock) {
+            buffer.add(doc);
+            return buffer.size();
+        }
+    }
+
+    public int getBufferedDocs() {
+        synchronized (bufferLock) {
+            return buffer.size();
+        }
+    }
+
+    public List<IndexSegment> getSegments() {
+        return segments;
+    }
+
+    // largest id in any segment, Long.MIN_VALUE when there is none
+    public long getMaxDoc() {
+        return segments.stream().mapToLong(IndexSegment::getMaxDoc).max().orElse(Long.MIN_VALUE);
+    }
+
+    // Writes the buffered documents as a new segment, false when there were none
+    public boolean flush() throws IOException {
+        List<BufferedDoc> docs;
+        synchronized (bufferLock) {
+            if (buffer.isEmpty()) {
+                return false;
+            }
+            docs = buffer;
+            buffer = new ArrayList<>();
+        }
+        try {
+            synchronized (commitLock) {
+                IndexSegment segment = write(docs, dir.resolve(SEGMENT_PREFIX + nextGeneration++ + SEGMENT_SUFFIX));
+                List<IndexSegment> next = new ArrayList<>(segments);
+                next.add(segment);
+                publish(next);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // kept for the next flush
+            synchronized (bufferLock) {
+                buffer.addAll(0, docs);
+            }
+            throw e;
+        }
+    }
+
+    // Merges up to MERGE_FACTOR of the smallest segments when there are more than maxSegments.
+    // The merged segment stays under maxSegmentBytes. False when nothing was merged.
+    public boolean merge(int maxSegments, long maxSegmentBytes) throws IOException {
+        List<IndexSegment> inputs = new ArrayList<>();
+        Path file;
+        long startEpoch;
+        synchronized (commitLock) {
+            if (segments.size() <= maxSegments) {
+                return false;
+            }
+            List<IndexSegment> bySize = new ArrayList<>(segments);
+            bySize.removeAll(merging);
+            bySize.sort(Comparator.comparingLong(IndexSegment::getSizeBytes));
+            long bytes = 0;
+            for (IndexSegment segment : bySize) {
+                if (inputs.size() == MERGE_FACTOR || bytes + segment.getSizeBytes() > maxSegmentBytes) {
+                    break;
+                }
+                inputs.add(segment);
+                bytes += segment.getSizeBytes();
+            }
+            if (inputs.size() < 2) {
+                return false;
+            }
+            merging.addAll(inputs);
+            file = dir.resolve(SEGMENT_PREFIX + nextGeneration++ + SEGMENT_SUFFIX);
+            startEpoch = epoch;
+        }
+        try {
+            IndexSegment merged = merge(inputs, file);
+            synchronized (commitLock) {
+                if (epoch != startEpoch) {
+                    Files.deleteIfExists(file);
+                    return false;
+                }
+                List<IndexSegment> next = new ArrayList<>(segments);
+                next.removeAll(inputs);
+                if (merged != null) {
+                    next.add(merged);
+                }
+                publish(next);
+            }
+            for (IndexSegment input : inputs) {
+                // on Windows a file still mapped by a running search cannot be deleted, open() does it later
+                try {
+                    Files.deleteIfExists(input.getFile());
+                } catch (IOException e) {
+                    // left for open()
+                }
+            }
+            return true;
+        } finally {
+            synchronized (commitLock) {
+                merging.removeAll(inputs);
+            }
+        }
+    }
+
+    // Drops every document, buffered or written
+    public void clear() throws IOException {
+        synchronized (bufferLock) {
+            buffer = new ArrayList<>();
+        }
+        List<IndexSegment> old;
+        synchronized (commitLock) {
+            epoch++;
+            old = segments;
+            publish(List.of());
+        }
+        for (IndexSegment segment : old) {
+            try {
+                Files.deleteIfExists(segment.getFile());
+            } catch (IOException e) {
+                // left for open()
+            }
+        }
+    }
+
+    // Ids matching the query whose time_stamp is within [fromMillis, toMillis], newest first
+    public DocIterator search(SearchQuery query, long fromMillis, long toMillis) {
+        boolean dated = fromMillis != MIN_TIME || toMillis != MAX_TIME;
+        List<DocIterator> matches = new ArrayList<>();
+        for (IndexSegment segment : segments) {
+            if (dated && (segment.getMaxTime() < fromMillis || segment.getMinTime() > toMillis)) {
+                continue;
+            }
+            DocIterator match = match(segment, query, dated, fromMillis, toMillis);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        // an id in two segments, e.g. during a rebuild, is found once
+        return DocIterator.union(matches);
+    }
+
+    // time_stamp of the document in millis, Long.MIN_VALUE when it is not in a segment
+    public long timeStampOf(long id) {
+        List<IndexSegment> snapshot = segments;
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            IndexSegment segment = snapshot.get(i);
+            if (id >= segment.getMinDoc() && id <= segment.getMaxDoc()) {
+                long row = segment.findDoc(id);
+                if (row >= 0) {
+                    return segment.docTimeStamp(row);
+                }
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    // null when some clause has no match in the segment; a date range is one more clause
+    private DocIterator match(IndexSegment segment, SearchQuery query, boolean dated, long fromMillis, long toMillis) {
+        record Clause(DocIterator docs, long cost) {
+        }
+        List<Clause> clauses = new ArrayList<>();
+        for (SearchQuery.Clause clause : query.getClauses()) {
+            switch (clause) {
+                case SearchQuery.Term term -> {
+                    int index = segment.findTerm(bytes(term.term()));
+                    if (index < 0) {
+                        return null;
+                    }
+                    clauses.add(new Clause(segment.postings(index), segment.docFreq(index)));
+                }
+                case SearchQuery.Phrase phrase -> {
+                    List<PostingsIterator> terms = new ArrayList<>();
+                    long cost = Long.MAX_VALUE;
+                    for (String term : phrase.terms()) {
+                        int index = segment.findTerm(bytes(term));
+                        if (index < 0) {
+                            return null;
+                        }
+                        terms.add(segment.postings(index));
+                        cost = Math.min(cost, segment.docFreq(index));
+                    }
+                    clauses.add(new Clause(new PhraseIterator(terms), cost));
+                }
+                case SearchQuery.Prefix prefix -> {
+                    byte[] start = bytes(prefix.prefix());
+                    List<PostingsIterator> terms = new ArrayList<>();
+                    long cost = 0;
+                    // the first maxPrefixTerms terms in byte order, like a clause limit
+                    for (int index = segment.ceilingTerm(start); index < segment.getTermCount()
+                            && terms.size() < maxPrefixTerms && segment.termStartsWith(index, start); index++) {
+                        terms.add(segment.postings(index));
+                        cost += segment.docFreq(index);
+                    }
+                    if (terms.isEmpty()) {
+                        return null;
+                    }
+                    clauses.add(new Clause(DocIterator.union(terms), cost));
+                }
+            }
+        }
+        if (clauses.isEmpty()) {
+            return null;
+        }
+        if (dated) {
+            clauses.add(new Clause(new TimeRangeIterator(segment, fromMillis, toMillis),
+                    TimeRangeIterator.cost(segment, fromMillis, toMillis)));
+        }
+        // the rarest clause leads, the others are only advanced to its ids
+        clauses.sort(Comparator.comparingLong(Clause::cost));
+        return DocIterator.all(clauses.stream().map(Clause::docs).toList());
+    }
+
+    private IndexSegment write(List<BufferedDoc> docs, Path file) throws IOException {
+        docs.sort(Comparator.comparingLong(BufferedDoc::id).reversed());
+        Map<String, TermPostings> terms = new HashMap<>();
+        long previous = Long.MIN_VALUE;
+        List<BufferedDoc> unique = new ArrayList<>(docs.size());
+        for (BufferedDoc doc : docs) {
+            if (!unique.isEmpty() && doc.id() == previous) {
+                continue;
+            }
+            unique.add(doc);
+            previous = doc.id();
+            for (int i = 0; i < doc.terms().length; i++) {
+                terms.computeIfAbsent(doc.terms()[i], term -> new TermPostings()).add(doc.id(), doc.positions()[i]);
+            }
+        }
+        List<Map.Entry<byte[], TermPostings>> sorted = new ArrayList<>(terms.size());
+        terms.forEach((term, postings) -> sorted.add(Map.entry(bytes(term), postings)));
+        sorted.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+
+        try (SegmentWriter writer = new SegmentWriter(file)) {
+            for (Map.Entry<byte[], TermPostings> entry : sorted) {
+                writer.startTerm(entry.getKey());
+                TermPostings postings = entry.getValue();
+                for (int d = 0; d < postings.docCount; d++) {
+                    writer.addPosting(postings.docs[d], postings.positions, d == 0 ? 0 : postings.ends[d - 1],
+                            postings.ends[d]);
+                }
+                writer.finishTerm();
+            }
+            for (int i = unique.size() - 1; i >= 0; i--) {
+                BufferedDoc doc = unique.get(i);
+                writer.addDoc(doc.id(), doc.createdAt(), doc.timeStamp());
+            }
+            writer.finish(unique.get(unique.size() - 1).id(), unique.get(0).id());
+        }
+        return IndexSegment.open(file);
+    }
+
+    // k-way merge of the dictionaries, the postings of each term and the doc tables; null when empty
+    private static IndexSegment merge(List<IndexSegment> inputs, Path file) throws IOException {
+        record TermCursor(IndexSegment segment, int index, byte[] term) {
+        }
+        PriorityQueue<TermCursor> terms = new PriorityQueue<>((a, b) -> Arrays.compareUnsigned(a.term(), b.term()));
+        for (IndexSegment segment : inputs) {
+            if (segment.getTermCount() > 0) {
+                terms.add(new TermCursor(segment, 0, segment.term(0)));
+            }
+        }
+        try (SegmentWriter writer = new SegmentWriter(file)) {
+            while (!terms.isEmpty()) {
+                byte[] term = terms.peek().term();
+                PriorityQueue<PostingsIterator> postings =
+                        new PriorityQueue<>(Comparator.comparingLong(PostingsIterator::doc).reversed());
+                while (!terms.isEmpty() && Arrays.equals(terms.peek().term(), term)) {
+                    TermCursor cursor = terms.poll();
+                    PostingsIterator docs = cursor.segment().postings(cursor.index());
+                    docs.next();
+                    postings.add(docs);
+                    int next = cursor.index() + 1;
+                    if (next < cursor.segment().getTermCount()) {
+                        terms.add(new TermCursor(cursor.segment(), next, cursor.segment().term(next)));
+                    }
+                }
+                writer.startTerm(term);
+                long last = Long.MAX_VALUE;
+                while (!postings.isEmpty()) {
+                    PostingsIterator top = postings.poll();
+                    if (top.doc() != last) {
+                        writer.addPosting(top.doc(), top.positions(), 0, top.freq());
+                        last = top.doc();
+                    }
+                    if (top.next() != DocIterator.NO_MORE_DOCS) {
+                        postings.add(top);
+                    }
+                }
+                writer.finishTerm();
+            }
+
+            long[] rows = new long[inputs.size()];
+            long minDoc = Long.MAX_VALUE;
+            long maxDoc = Long.MIN_VALUE;
+            long last = Long.MIN_VALUE;
+            while (true) {
+                int smallest = -1;
+                for (int i = 0; i < inputs.size(); i++) {
+                    if (rows[i] < inputs.get(i).getDocCount() && (smallest < 0
+                            || inputs.get(i).docId(rows[i]) < inputs.get(smallest).docId(rows[smallest]))) {
+                        smallest = i;
+                    }
+                }
+                if (smallest < 0) {
+                    break;
+                }
+                IndexSegment segment = inputs.get(smallest);
+                long row = rows[smallest]++;
+                long id = segment.docId(row);
+                if (id != last) {
+                    writer.addDoc(id, segment.docCreatedAt(row), segment.docTimeStamp(row));
+                    minDoc = Math.min(minDoc, id);
+                    maxDoc = Math.max(maxDoc, id);
+                    last = id;
+                }
+            }
+            if (writer.getDocCount() == 0) {
+                return null;
+            }
+            writer.finish(minDoc, maxDoc);
+        }
+        return IndexSegment.open(file);
+    }
+
+    private void publish(List<IndexSegment> next) throws IOException {
+        Path tmp = dir.resolve(MANIFEST + ".tmp");
+        Files.write(tmp, next.stream().map(IndexSegment::getName).toList(), StandardCharsets.UTF_8);
+        Files.move(tmp, dir.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        segments = List.copyOf(next);
+    }
+
+    private static long generationOf(String name) {
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.indexOf(SEGMENT_SUFFIX)));
+    }
+
+    private static byte[] bytes(String term) {
+        return term.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record BufferedDoc(long id, long createdAt, long timeStamp, String[] terms, int[] positions) {
+    }
+
+    // the postings of one term while a segment is built, docs in descending order
+    private static final class TermPostings {
+
+        private long[] docs = new long[2];
+        private int[] ends = new int[2];
+        private int[] positions = new int[2];
+        private int docCount;
+        private int positionCount;
+
+        void add(long doc, int position) {
+            if (docCount == 0 || docs[docCount - 1] != doc) {
+                if (docCount == docs.length) {
+                    docs = Arrays.copyOf(docs, docCount * 2);
+                    ends = Arrays.copyOf(ends, docCount * 2);
+                }
+                docs[docCount++] = doc;
+            }
+            if (positionCount == positions.length) {
+                positions = Arrays.copyOf(positions, positionCount * 2);
+            }
+            positions[positionCount++] = position;
+            ends[docCount - 1] = positionCount;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.yash.log.search;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// One immutable, memory-mapped segment of the full-text index.
+//
+//   header     magic, version, doc and term counts, section offsets, min/max id
+//   postings   per term: blocks of BLOCK_DOCS docs, then the skip table
+//              (block count, then first id and offset of every block)
+//   doc table  per doc, ascending id: id, createdAt millis, time_stamp millis
+//   time table per BLOCK_DOCS docs of the doc table: min and max time_stamp millis
+//   dictionary per term, ascending bytes: term bytes offset, length, doc count, skip table offset
+//   term bytes UTF-8 terms, back to back
+//
+// In a block the first doc's id is in the skip table, each later doc is the
+// gap to the doc before it (ids descend), then come the number of positions
+// and the gaps between them, all as var-longs. Reads use absolute offsets
+// only, so one mapping serves any number of concurrent searches. The time
+// table lets a date filter pass over the docs of a block without reading them.
+public final class IndexSegment {
+
+    static final int MAGIC = 0x4C474958;   // "LGIX"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 64;
+    static final int BLOCK_DOCS = 128;
+    static final int DOC_BYTES = 24;
+    static final int TERM_ENTRY_BYTES = 24;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final long docCount;
+    private final int termCount;
+    private final int docsOffset;
+    private final int dictOffset;
+    private final int termBytesOffset;
+    private final long minDoc;
+    private final long maxDoc;
+    private final int timesOffset;
+    private final int timeBlockCount;
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+
+    private IndexSegment(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a search index segment: " + file);
+        }
+        this.docCount = buffer.getLong(8);
+        this.termCount = Math.toIntExact(buffer.getLong(16));
+        this.docsOffset = Math.toIntExact(buffer.getLong(24));
+        this.dictOffset = Math.toIntExact(buffer.getLong(32));
+        this.termBytesOffset = Math.toIntExact(buffer.getLong(40));
+        this.minDoc = buffer.getLong(48);
+        this.maxDoc = buffer.getLong(56);
+        // the time table sits between the doc table and the dictionary
+        this.timesOffset = Math.toIntExact(docsOffset + docCount * DOC_BYTES);
+        this.timeBlockCount = Math.toIntExact((docCount + BLOCK_DOCS - 1) / BLOCK_DOCS);
+        for (int block = 0; block < timeBlockCount; block++) {
+            minTime = Math.min(minTime, blockMinTime(block));
+            maxTime = Math.max(maxTime, blockMaxTime(block));
+        }
+    }
+
+    public static IndexSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segment larger than 2 GB: " + file);
+            }
+            // the mapping stays valid after the channel is closed
+            return new IndexSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public String getName() {
+        return file.getFileName().toString();
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    public long getSizeBytes() {
+        return buffer.capacity();
+    }
+
+    public long getDocCount() {
+        return docCount;
+    }
+
+    int getTermCount() {
+        return termCount;
+    }
+
+    public long getMinDoc() {
+        return minDoc;
+    }
+
+    public long getMaxDoc() {
+        return maxDoc;
+    }
+
+    // smallest time_stamp of any doc, Long.MAX_VALUE when there is none
+    long getMinTime() {
+        return minTime;
+    }
+
+    long getMaxTime() {
+        return maxTime;
+    }
+
+    byte[] term(int index) {
+        int entry = dictOffset + index * TERM_ENTRY_BYTES;
+        byte[] term = new byte[buffer.getInt(entry + 8)];
+        buffer.get(termBytesOffset + (int) buffer.getLong(entry), term);
+        return term;
+    }
+
+    int docFreq(int index) {
+        return buffer.getInt(dictOffset + index * TERM_ENTRY_BYTES + 12);
+    }
+
+    // index of the term, or -1
+    int findTerm(byte[] term) {
+        int index = ceilingTerm(term);
+        return index < termCount && compareTerm(index, term) == 0 ? index : -1;
+    }
+
+    // index of the first term not below the given bytes, termCount when there is none
+    int ceilingTerm(byte[] term) {
+        int low = 0;
+        int high = termCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareTerm(mid, term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    boolean termStartsWith(int index, byte[] prefix) {
+        int entry = dictOffset + index * TERM_ENTRY_BYTES;
+        if (buffer.getInt(entry + 8) < prefix.length) {
+            return false;
+        }
+        int start = termBytesOffset + (int) buffer.getLong(entry);
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    PostingsIterator postings(int index) {
+        int entry = dictOffset + index * TERM_ENTRY_BYTES;
+        return new PostingsIterator(buffer, (int) buffer.getLong(entry + 16), buffer.getInt(entry + 12));
+    }
+
+    // row in the doc table of the id, or -1
+    long findDoc(long id) {
+        long row = floorDoc(id, docCount - 1);
+        return row >= 0 && docId(row) == id ? row : -1;
+    }
+
+    // last row up to maxRow whose id is not above the given one, or -1
+    long floorDoc(long id, long maxRow) {
+        long low = 0;
+        long high = maxRow;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            if (docId(mid) <= id) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    long docId(long row) {
+        return buffer.getLong(docsOffset + (int) (row * DOC_BYTES));
+    }
+
+    long docCreatedAt(long row) {
+        return buffer.getLong(docsOffset + (int) (row * DOC_BYTES) + 8);
+    }
+
+    long docTimeStamp(long row) {
+        return buffer.getLong(docsOffset + (int) (row * DOC_BYTES) + 16);
+    }
+
+    // rows block * BLOCK_DOCS up to the next block
+    long blockMinTime(int block) {
+        return buffer.getLong(timesOffset + block * 16);
+    }
+
+    long blockMaxTime(int block) {
+        return buffer.getLong(timesOffset + block * 16 + 8);
+    }
+
+    private int compareTerm(int index, byte[] term) {
+        int entry = dictOffset + index * TERM_ENTRY_BYTES;
+        int start = termBytesOffset + (int) buffer.getLong(entry);
+        int length = buffer.getInt(entry + 8);
+        int common = Math.min(length, term.length);
+        for (int i = 0; i < common; i++) {
+            int diff = Byte.toUnsignedInt(buffer.get(start + i)) - Byte.toUnsignedInt(term[i]);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return Integer.compare(length, term.length);
+    }
+}
@@ -0,0 +1,41 @@
+package com.yash.log.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// Splits text into the terms of the full-text index: runs of letters and
+// digits, lower-cased. "java.net.SocketTimeoutException: Read timed out"
+// gives java, net, sockettimeoutexception, read, timed, out. Documents and
+// queries go through the same code, so both sides always agree on a term.
+public final class LogTokenizer {
+
+    // longer runs (hashes, base64) are cut, they are still found by their first characters
+    public static final int MAX_TERM_CHARS = 64;
+
+    private LogTokenizer() {
+    }
+
+    public static void tokenize(String text, Consumer<String> terms) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inTerm = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inTerm && start < 0) {
+                start = i;
+            } else if (!inTerm && start >= 0) {
+                terms.accept(text.substring(start, Math.min(i, start + MAX_TERM_CHARS)).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, tokens::add);
+        return tokens;
+    }
+}
@@ -0,0 +1,56 @@
+package com.yash.log.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Ids where the terms occur next to each other in the given order: the docs
+// all terms share, kept when some position p of the first term has term i at
+// p + i. All postings come from the same segment.
+final class PhraseIterator extends DocIterator {
+
+    private final List<PostingsIterator> terms;
+    private final DocIterator all;
+
+    PhraseIterator(List<PostingsIterator> terms) {
+        this.terms = terms;
+        this.all = DocIterator.all(terms);
+    }
+
+    @Override
+    public long doc() {
+        return all.doc();
+    }
+
+    @Override
+    public long next() {
+        return skipNonPhrases(all.next());
+    }
+
+    @Override
+    public long advance(long target) {
+        return skipNonPhrases(all.advance(target));
+    }
+
+    private long skipNonPhrases(long doc) {
+        while (doc != NO_MORE_DOCS && !adjacent()) {
+            doc = all.next();
+        }
+        return doc;
+    }
+
+    private boolean adjacent() {
+        PostingsIterator first = terms.get(0);
+        for (int p = 0; p < first.freq(); p++) {
+            int start = first.positions()[p];
+            boolean match = true;
+            for (int i = 1; i < terms.size() && match; i++) {
+                PostingsIterator term = terms.get(i);
+                match = Arrays.binarySearch(term.positions(), 0, term.freq(), start + i) >= 0;
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
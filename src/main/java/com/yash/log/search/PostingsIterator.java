@@ -0,0 +1,127 @@
+package com.yash.log.search;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// The ids of one term in one segment, newest first, with the positions of
+// the term in each. advance() finds its block with a binary search of the
+// skip table, so ANDing a rare term with a common one reads a block of the
+// common term per match instead of all of it.
+final class PostingsIterator extends DocIterator {
+
+    private final ByteBuffer buffer;
+    private final int skipOffset;
+    private final int blockCount;
+    private final int docFreq;
+
+    private int block = -1;
+    private int leftInBlock;
+    private int pointer;
+    private long doc = UNPOSITIONED;
+    private int freq;
+    private int[] positions = new int[8];
+
+    PostingsIterator(ByteBuffer buffer, int skipOffset, int docFreq) {
+        this.buffer = buffer;
+        this.skipOffset = skipOffset;
+        this.blockCount = buffer.getInt(skipOffset);
+        this.docFreq = docFreq;
+    }
+
+    @Override
+    public long doc() {
+        return doc;
+    }
+
+    int freq() {
+        return freq;
+    }
+
+    // ascending, the first freq() entries are valid
+    int[] positions() {
+        return positions;
+    }
+
+    @Override
+    public long next() {
+        if (doc == NO_MORE_DOCS) {
+            return doc;
+        }
+        if (leftInBlock == 0) {
+            if (block + 1 >= blockCount) {
+                return doc = NO_MORE_DOCS;
+            }
+            enterBlock(block + 1);
+        } else {
+            doc -= readVarLong();
+        }
+        readPositions();
+        leftInBlock--;
+        return doc;
+    }
+
+    @Override
+    public long advance(long target) {
+        if (doc <= target) {
+            return doc;
+        }
+        // the last block starting at or above target holds the first id at or below it, or the block after does
+        int low = block + 1;
+        int high = blockCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blockFirstDoc(mid) >= target) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found > block) {
+            enterBlock(found);
+            readPositions();
+            leftInBlock--;
+        }
+        while (doc > target) {
+            next();
+        }
+        return doc;
+    }
+
+    private void enterBlock(int index) {
+        block = index;
+        int entry = skipOffset + 4 + index * 16;
+        doc = buffer.getLong(entry);
+        pointer = (int) buffer.getLong(entry + 8);
+        leftInBlock = index == blockCount - 1 ? docFreq - index * IndexSegment.BLOCK_DOCS : IndexSegment.BLOCK_DOCS;
+    }
+
+    private long blockFirstDoc(int index) {
+        return buffer.getLong(skipOffset + 4 + index * 16);
+    }
+
+    private void readPositions() {
+        freq = (int) readVarLong();
+        if (positions.length < freq) {
+            positions = Arrays.copyOf(positions, Math.max(freq, positions.length * 2));
+        }
+        int position = 0;
+        for (int i = 0; i < freq; i++) {
+            position += (int) readVarLong();
+            positions[i] = position;
+        }
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(pointer++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
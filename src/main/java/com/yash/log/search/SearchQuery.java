@@ -0,0 +1,81 @@
+package com.yash.log.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A parsed search: every clause must match. Words are terms, "quoted text" is
+// a phrase (its terms next to each other, in order) and a word ending in * is
+// a prefix. A word the tokenizer splits, like order-1234 or
+// java.net.ConnectException, is a phrase of its parts; with a trailing * its
+// last part is the prefix and the others are terms.
+public final class SearchQuery {
+
+    public sealed interface Clause permits Term, Phrase, Prefix {
+    }
+
+    public record Term(String term) implements Clause {
+    }
+
+    public record Phrase(List<String> terms) implements Clause {
+    }
+
+    public record Prefix(String prefix) implements Clause {
+    }
+
+    private final List<Clause> clauses;
+
+    private SearchQuery(List<Clause> clauses) {
+        this.clauses = List.copyOf(clauses);
+    }
+
+    public static SearchQuery parse(String text) {
+        List<Clause> clauses = new ArrayList<>();
+        if (text == null) {
+            return new SearchQuery(clauses);
+        }
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = text.indexOf('"', i + 1);
+                end = end < 0 ? text.length() : end;
+                addWords(LogTokenizer.tokens(text.substring(i + 1, end)), false, clauses);
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < text.length() && !Character.isWhitespace(text.charAt(end)) && text.charAt(end) != '"') {
+                    end++;
+                }
+                String word = text.substring(i, end);
+                addWords(LogTokenizer.tokens(word), word.endsWith("*"), clauses);
+                i = end;
+            }
+        }
+        return new SearchQuery(clauses);
+    }
+
+    private static void addWords(List<String> terms, boolean prefix, List<Clause> clauses) {
+        if (terms.isEmpty()) {
+            return;
+        }
+        if (prefix) {
+            terms.subList(0, terms.size() - 1).forEach(term -> clauses.add(new Term(term)));
+            clauses.add(new Prefix(terms.get(terms.size() - 1)));
+        } else if (terms.size() == 1) {
+            clauses.add(new Term(terms.get(0)));
+        } else {
+            clauses.add(new Phrase(terms));
+        }
+    }
+
+    public List<Clause> getClauses() {
+        return clauses;
+    }
+
+    // only punctuation, nothing the index can look up
+    public boolean isEmpty() {
+        return clauses.isEmpty();
+    }
+}
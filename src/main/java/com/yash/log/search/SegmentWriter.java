@@ -0,0 +1,257 @@
+package com.yash.log.search;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Writes one segment file in the layout IndexSegment reads. Terms come in
+// ascending byte order, the postings of a term in descending id order and the
+// doc table in ascending id order. The doc table, its time table and the
+// dictionary go to side files while the postings are written, and are
+// appended by finish(), so
+// nothing grows with the size of the segment in memory. The file only appears
+// under its name once complete.
+final class SegmentWriter implements Closeable {
+
+    private final Path file;
+    private final Path tmp;
+    private final Path docsTmp;
+    private final Path timesTmp;
+    private final Path dictTmp;
+    private final Path termBytesTmp;
+
+    private final Output postings;
+    private final Output docs;
+    private final Output times;
+    private final Output dict;
+    private final Output termBytes;
+
+    private long docCount;
+    private long lastDocId = Long.MIN_VALUE;
+    // time_stamp range of the block of docs being written
+    private long blockMinTime;
+    private long blockMaxTime;
+    private long termCount;
+    private byte[] lastTerm;
+
+    // the term being written
+    private int docFreq;
+    private long lastPostingDoc;
+    private long[] blockFirstDocs = new long[16];
+    private long[] blockOffsets = new long[16];
+    private int blockCount;
+
+    SegmentWriter(Path file) throws IOException {
+        this.file = file;
+        this.tmp = sibling(file, ".tmp");
+        this.docsTmp = sibling(file, ".docs.tmp");
+        this.timesTmp = sibling(file, ".times.tmp");
+        this.dictTmp = sibling(file, ".dict.tmp");
+        this.termBytesTmp = sibling(file, ".terms.tmp");
+        this.postings = new Output(tmp);
+        this.docs = new Output(docsTmp);
+        this.times = new Output(timesTmp);
+        this.dict = new Output(dictTmp);
+        this.termBytes = new Output(termBytesTmp);
+        postings.write(new byte[IndexSegment.HEADER_BYTES]);
+    }
+
+    void addDoc(long id, long createdAtMillis, long timeStampMillis) throws IOException {
+        if (id <= lastDocId) {
+            throw new IllegalStateException("Doc ids must ascend: " + id + " after " + lastDocId);
+        }
+        lastDocId = id;
+        docs.writeLong(id);
+        docs.writeLong(createdAtMillis);
+        docs.writeLong(timeStampMillis);
+        if (docCount % IndexSegment.BLOCK_DOCS == 0) {
+            finishTimeBlock();
+            blockMinTime = timeStampMillis;
+            blockMaxTime = timeStampMillis;
+        } else {
+            blockMinTime = Math.min(blockMinTime, timeStampMillis);
+            blockMaxTime = Math.max(blockMaxTime, timeStampMillis);
+        }
+        docCount++;
+    }
+
+    // the range of the block before, nothing before the first doc
+    private void finishTimeBlock() throws IOException {
+        if (docCount > 0) {
+            times.writeLong(blockMinTime);
+            times.writeLong(blockMaxTime);
+        }
+    }
+
+    void startTerm(byte[] term) {
+        if (lastTerm != null && Arrays.compareUnsigned(lastTerm, term) >= 0) {
+            throw new IllegalStateException("Terms must ascend");
+        }
+        lastTerm = term;
+        docFreq = 0;
+        blockCount = 0;
+    }
+
+    // positions[from..to) ascending
+    void addPosting(long doc, int[] positions, int from, int to) throws IOException {
+        if (docFreq % IndexSegment.BLOCK_DOCS == 0) {
+            if (blockCount == blockFirstDocs.length) {
+                blockFirstDocs = Arrays.copyOf(blockFirstDocs, blockCount * 2);
+                blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+            }
+            blockFirstDocs[blockCount] = doc;
+            blockOffsets[blockCount] = postings.position;
+            blockCount++;
+        } else {
+            if (doc >= lastPostingDoc) {
+                throw new IllegalStateException("Postings must descend: " + doc + " after " + lastPostingDoc);
+            }
+            postings.writeVarLong(lastPostingDoc - doc);
+        }
+        postings.writeVarLong(to - from);
+        int last = 0;
+        for (int i = from; i < to; i++) {
+            postings.writeVarLong(positions[i] - last);
+            last = positions[i];
+        }
+        lastPostingDoc = doc;
+        docFreq++;
+    }
+
+    // the skip table follows the blocks it points into
+    void finishTerm() throws IOException {
+        if (docFreq == 0) {
+            return;
+        }
+        long skipOffset = postings.position;
+        postings.writeInt(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            postings.writeLong(blockFirstDocs[i]);
+            postings.writeLong(blockOffsets[i]);
+        }
+        dict.writeLong(termBytes.position);
+        dict.writeInt(lastTerm.length);
+        dict.writeInt(docFreq);
+        dict.writeLong(skipOffset);
+        termBytes.write(lastTerm);
+        termCount++;
+    }
+
+    long getDocCount() {
+        return docCount;
+    }
+
+    // appends the side files, fills in the header and moves the file to its name
+    void finish(long minDoc, long maxDoc) throws IOException {
+        finishTimeBlock();
+        long docsOffset = postings.position;
+        docs.close();
+        postings.append(docsTmp);
+        times.close();
+        postings.append(timesTmp);
+        long dictOffset = postings.position;
+        dict.close();
+        postings.append(dictTmp);
+        long termBytesOffset = postings.position;
+        termBytes.close();
+        postings.append(termBytesTmp);
+        postings.close();
+
+        ByteBuffer header = ByteBuffer.allocate(IndexSegment.HEADER_BYTES);
+        header.putInt(IndexSegment.MAGIC).putInt(IndexSegment.VERSION)
+                .putLong(docCount).putLong(termCount)
+                .putLong(docsOffset).putLong(dictOffset).putLong(termBytesOffset)
+                .putLong(minDoc).putLong(maxDoc)
+                .flip();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+        deleteSideFiles();
+    }
+
+    // without finish() the partial files are removed
+    @Override
+    public void close() throws IOException {
+        postings.close();
+        docs.close();
+        times.close();
+        dict.close();
+        termBytes.close();
+        Files.deleteIfExists(tmp);
+        deleteSideFiles();
+    }
+
+    private void deleteSideFiles() throws IOException {
+        Files.deleteIfExists(docsTmp);
+        Files.deleteIfExists(timesTmp);
+        Files.deleteIfExists(dictTmp);
+        Files.deleteIfExists(termBytesTmp);
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    // DataOutputStream that knows its position past 2 GB
+    private static final class Output implements Closeable {
+
+        private final DataOutputStream out;
+        private long position;
+        private boolean closed;
+
+        Output(Path path) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        }
+
+        void writeInt(int value) throws IOException {
+            out.writeInt(value);
+            position += 4;
+        }
+
+        void writeLong(long value) throws IOException {
+            out.writeLong(value);
+            position += 8;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            position += bytes.length;
+        }
+
+        // 7 bits per byte, high bit set on all but the last
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+                position++;
+            }
+            out.writeByte((int) value);
+            position++;
+        }
+
+        void append(Path path) throws IOException {
+            position += Files.copy(path, (OutputStream) out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.yash.log.search;
+
+// The ids of one segment whose time_stamp is within [from, to], newest first.
+// Walks the doc table down from its last row; a block of BLOCK_DOCS rows whose
+// time table range lies outside [from, to] is passed over without reading a
+// row. ANDed with the clauses of a query, it leads when its blocks hold fewer
+// docs than the rarest clause, so a narrow date range reads only its blocks.
+final class TimeRangeIterator extends DocIterator {
+
+    private final IndexSegment segment;
+    private final long from;
+    private final long to;
+    private long row;
+    private long doc = UNPOSITIONED;
+
+    TimeRangeIterator(IndexSegment segment, long from, long to) {
+        this.segment = segment;
+        this.from = from;
+        this.to = to;
+        this.row = segment.getDocCount();
+    }
+
+    // docs in the blocks that overlap the range, at least as many as match it
+    static long cost(IndexSegment segment, long from, long to) {
+        long docs = 0;
+        long blocks = (segment.getDocCount() + IndexSegment.BLOCK_DOCS - 1) / IndexSegment.BLOCK_DOCS;
+        for (int block = 0; block < blocks; block++) {
+            if (overlaps(segment, block, from, to)) {
+                docs += Math.min(IndexSegment.BLOCK_DOCS, segment.getDocCount() - (long) block * IndexSegment.BLOCK_DOCS);
+            }
+        }
+        return docs;
+    }
+
+    @Override
+    public long doc() {
+        return doc;
+    }
+
+    @Override
+    public long next() {
+        if (doc == NO_MORE_DOCS) {
+            return doc;
+        }
+        return doc = seek(row - 1);
+    }
+
+    @Override
+    public long advance(long target) {
+        if (doc != UNPOSITIONED && doc <= target) {
+            return doc;
+        }
+        return doc = seek(segment.floorDoc(target, row - 1));
+    }
+
+    // the first row at or below the given one in range
+    private long seek(long candidate) {
+        while (candidate >= 0) {
+            int block = (int) (candidate / IndexSegment.BLOCK_DOCS);
+            if (!overlaps(segment, block, from, to)) {
+                candidate = (long) block * IndexSegment.BLOCK_DOCS - 1;
+                continue;
+            }
+            long timeStamp = segment.docTimeStamp(candidate);
+            if (timeStamp >= from && timeStamp <= to) {
+                row = candidate;
+                return segment.docId(candidate);
+            }
+            candidate--;
+        }
+        row = -1;
+        return NO_MORE_DOCS;
+    }
+
+    private static boolean overlaps(IndexSegment segment, int block, long from, long to) {
+        return segment.blockMaxTime(block) >= from && segment.blockMinTime(block) <= to;
+    }
+}
@@ -0,0 +1,177 @@
+package com.yash.log.service.impl;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.IngestionJobDto;
+import com.yash.log.dto.UploadSessionDto;
+import com.yash.log.ingestion.ChunkedUpload;
+import com.yash.log.service.services.ChunkedUploadService;
+import com.yash.log.service.services.IngestionJobService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private final IngestionJobService ingestionJobService;
+    private final Path spoolDir;
+    private final int defaultChunkSize;
+    private final int maxChunkSize;
+    private final long maxFileBytes;
+    private final Duration idleTimeout;
+    private final Map<String, ChunkedUpload> uploads = new ConcurrentHashMap<>();
+
+    public ChunkedUploadServiceImpl(IngestionJobService ingestionJobService,
+                                    @Value("${ingestion.spool-dir:${java.io.tmpdir}/log-ingestion}") String spoolDir,
+                                    @Value("${ingestion.chunked.chunk-size-bytes:8388608}") int defaultChunkSize,
+                                    @Value("${ingestion.chunked.max-chunk-size-bytes:67108864}") int maxChunkSize,
+                                    @Value("${ingestion.chunked.max-file-bytes:21474836480}") long maxFileBytes,
+                                    @Value("${ingestion.chunked.idle-timeout-seconds:600}") long idleTimeoutSeconds) {
+        this.ingestionJobService = ingestionJobService;
+        this.spoolDir = Paths.get(spoolDir);
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.maxFileBytes = maxFileBytes;
+        this.idleTimeout = Duration.ofSeconds(idleTimeoutSeconds);
+    }
+
+    @Override
+    public UploadSessionDto start(String fileName, long totalBytes, Integer chunkSize, Set<ErrorLevel> levels,
+                                  String format) throws IOException {
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size <= 0 || size > maxChunkSize) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + maxChunkSize + " bytes");
+        }
+        if (totalBytes <= 0 || totalBytes > maxFileBytes) {
+            throw new IllegalArgumentException("File size must be between 1 and " + maxFileBytes + " bytes");
+        }
+
+        Files.createDirectories(spoolDir);
+        String uploadId = UUID.randomUUID().toString();
+        ChunkedUpload upload = new ChunkedUpload(uploadId, fileName, totalBytes, size, levels, format,
+                spoolDir.resolve(uploadId + ".upload"), idleTimeout);
+        uploads.put(uploadId, upload);
+
+        log.info("Started chunked upload {} for file {} ({} bytes in {} byte chunks)", uploadId, fileName, totalBytes, size);
+        return upload.toDto();
+    }
+
+    @Override
+    public UploadSessionDto putChunk(String uploadId, int index, InputStream body) throws IOException {
+        ChunkedUpload upload = find(uploadId);
+        if (upload.writeChunk(index, body)) {
+            startIngestion(upload, false);
+        }
+        return upload.toDto();
+    }
+
+    @Override
+    public UploadSessionDto complete(String uploadId) {
+        ChunkedUpload upload = find(uploadId);
+        upload.complete();
+        // normally already running, unless the queue was full when chunk 0 came in
+        startIngestion(upload, true);
+        log.info("Chunked upload {} complete, ingested by job {}", uploadId, upload.getJobId());
+        return upload.toDto();
+    }
+
+    @Override
+    public Optional<UploadSessionDto> getUpload(String uploadId) {
+        return Optional.ofNullable(uploads.get(uploadId)).map(ChunkedUpload::toDto);
+    }
+
+    @Override
+    public void abort(String uploadId) throws IOException {
+        ChunkedUpload upload = find(uploadId);
+        upload.abort("Cancelled by client");
+        // a running job closes the upload itself when its read fails
+        if (upload.getJobId() == null) {
+            uploads.remove(uploadId);
+            upload.close();
+        }
+    }
+
+    // Fails uploads that stopped sending chunks and forgets the ones whose ingestion ended
+    @Scheduled(fixedDelayString = "${ingestion.chunked.sweep-interval-ms:60000}")
+    public void expireIdleUploads() {
+        uploads.values().removeIf(upload -> {
+            if (upload.isClosed()) {
+                return true;
+            }
+            if (!upload.isIdle()) {
+                return false;
+            }
+            log.warn("Chunked upload {} received no chunk for {}, aborting", upload.getUploadId(), idleTimeout);
+            upload.abort("No chunk received for " + idleTimeout.toSeconds() + "s");
+            if (upload.getJobId() == null) {
+                closeQuietly(upload);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private ChunkedUpload find(String uploadId) {
+        ChunkedUpload upload = uploads.get(uploadId);
+        if (upload == null) {
+            throw new NoSuchElementException("Unknown upload " + uploadId);
+        }
+        return upload;
+    }
+
+    // Starts the job that parses the upload as it arrives, on a thread of its own.
+    // It is only rejected while shutting down: that fails the complete call; for a
+    // chunk the chunk is kept and the next call retries.
+    private void startIngestion(ChunkedUpload upload, boolean rethrow) {
+        if (!upload.claimIngestion()) {
+            return;
+        }
+        try {
+            IngestionJobDto job = ingestionJobService.submit(upload.getFileName(), upload.getTotalBytes(),
+                    upload.getLevels(), upload.getFormat(), upload.openStream());
+            upload.setJobId(job.getJobId());
+        } catch (RejectedExecutionException e) {
+            upload.releaseIngestion();
+            log.warn("Ingestion rejected, chunked upload {} not started yet", upload.getUploadId());
+            if (rethrow) {
+                throw e;
+            }
+        }
+    }
+
+    private void closeQuietly(ChunkedUpload upload) {
+        try {
+            upload.close();
+        } catch (IOException e) {
+            log.warn("Could not delete spool file of upload {}", upload.getUploadId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // uploads do not survive a restart, clients start over
+        uploads.values().forEach(upload -> {
+            upload.abort("Server shutting down");
+            if (upload.getJobId() == null) {
+                closeQuietly(upload);
+            }
+        });
+    }
+}
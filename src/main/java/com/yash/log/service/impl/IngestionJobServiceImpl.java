@@ -0,0 +1,172 @@
+package com.yash.log.service.impl;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.IngestionJobDto;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.service.services.IngestionJobService;
+import com.yash.log.service.services.IngestionReportService;
+import com.yash.log.service.services.LogFileService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class IngestionJobServiceImpl implements IngestionJobService {
+
+    private final LogFileService logFileService;
+    private final IngestionReportService ingestionReportService;
+    private final Path spoolDir;
+    private final int retainedJobs;
+    private final ThreadPoolExecutor executor;
+    // streamed uploads wait on their client for most of their run, so each gets a
+    // virtual thread of its own instead of one of the workers spooled files queue for
+    private final ExecutorService streamExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("log-stream-", 0).factory());
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+
+    public IngestionJobServiceImpl(LogFileService logFileService, IngestionReportService ingestionReportService,
+                                   @Value("${ingestion.spool-dir:${java.io.tmpdir}/log-ingestion}") String spoolDir,
+                                   @Value("${ingestion.workers:2}") int workers,
+                                   @Value("${ingestion.queue-capacity:20}") int queueCapacity,
+                                   @Value("${ingestion.retained-jobs:200}") int retainedJobs) {
+        this.logFileService = logFileService;
+        this.ingestionReportService = ingestionReportService;
+        this.spoolDir = Paths.get(spoolDir);
+        this.retainedJobs = retainedJobs;
+        // bounded queue: once it is full new uploads are rejected instead of piling up on disk
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("log-ingest-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public IngestionJobDto submit(MultipartFile file, Set<ErrorLevel> levels) throws IOException {
+        return submit(file, levels, null);
+    }
+
+    @Override
+    public IngestionJobDto submit(MultipartFile file, Set<ErrorLevel> levels, String format) throws IOException {
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), file.getOriginalFilename(),
+                file.getSize(), levels, format);
+
+        Files.createDirectories(spoolDir);
+        Path spooled = spoolDir.resolve(job.getJobId() + ".log");
+        file.transferTo(spooled);
+
+        try {
+            enqueue(executor, job, () -> logFileService.ingest(spooled, job), () -> Files.deleteIfExists(spooled));
+        } catch (RejectedExecutionException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        log.info("Queued ingestion job {} for file {} ({} bytes)", job.getJobId(), job.getFileName(), job.getFileSizeBytes());
+        return job.toDto();
+    }
+
+    @Override
+    public IngestionJobDto submit(String fileName, long sizeBytes, Set<ErrorLevel> levels, String format,
+                                  InputStream in) {
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), fileName, sizeBytes, levels, format);
+        enqueue(streamExecutor, job, () -> logFileService.ingest(in, job), in);
+
+        log.info("Started streaming ingestion job {} for file {} ({} bytes)", job.getJobId(), fileName, sizeBytes);
+        return job.toDto();
+    }
+
+    @Override
+    public Optional<IngestionJobDto> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(IngestionJob::toDto);
+    }
+
+    @Override
+    public List<IngestionJobDto> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(IngestionJob::getSubmittedAt).reversed())
+                .map(IngestionJob::toDto)
+                .toList();
+    }
+
+    // registers the job and hands it to a worker; cleanup runs once it has ended
+    private void enqueue(Executor executor, IngestionJob job, Ingestion ingestion, Closeable cleanup) {
+        jobs.put(job.getJobId(), job);
+        try {
+            executor.execute(() -> run(job, ingestion, cleanup));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw e;
+        }
+        evictFinishedJobs();
+    }
+
+    private void run(IngestionJob job, Ingestion ingestion, Closeable cleanup) {
+        job.start();
+        try {
+            ingestion.run();
+            job.complete();
+            log.info("Ingestion job {} completed: {} lines read, {} rows persisted",
+                    job.getJobId(), job.getLinesRead().get(), job.getRowsPersisted().get());
+        } catch (Exception e) {
+            log.error("Ingestion job {} failed", job.getJobId(), e);
+            job.fail(e);
+        } finally {
+            ingestionReportService.record(job);
+            try {
+                cleanup.close();
+            } catch (IOException e) {
+                log.warn("Could not clean up after ingestion job {}", job.getJobId(), e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Ingestion {
+        void run() throws IOException;
+    }
+
+    // keeps the job registry bounded by dropping the oldest finished jobs
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - retainedJobs;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(IngestionJob::isFinished)
+                .sorted(Comparator.comparing(IngestionJob::getSubmittedAt))
+                .limit(excess)
+                .map(IngestionJob::getJobId)
+                .toList()
+                .forEach(jobs::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        streamExecutor.shutdown();
+    }
+}
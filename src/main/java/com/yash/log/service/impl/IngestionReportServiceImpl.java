@@ -0,0 +1,111 @@
+package com.yash.log.service.impl;
+
+import com.yash.log.constants.IngestionStatus;
+import com.yash.log.entity.IngestionReport;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.ingestion.StageMetrics;
+import com.yash.log.repository.IngestionReportRepository;
+import com.yash.log.service.services.IngestionReportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class IngestionReportServiceImpl implements IngestionReportService {
+
+    private static final int MAX_RESULTS = 500;
+    private static final int DEFAULT_DAYS = 7;
+
+    private final IngestionReportRepository ingestionReportRepository;
+
+    public IngestionReportServiceImpl(IngestionReportRepository ingestionReportRepository) {
+        this.ingestionReportRepository = ingestionReportRepository;
+    }
+
+    @Override
+    public void record(IngestionJob job) {
+        try {
+            ingestionReportRepository.save(toReport(job));
+        } catch (RuntimeException e) {
+            // the report is diagnostics, the upload itself has its outcome already
+            log.warn("Could not store the ingestion report of {}", job.getFileName(), e);
+        }
+    }
+
+    @Override
+    public Optional<IngestionReport> getReport(Long id) {
+        return ingestionReportRepository.findById(id);
+    }
+
+    @Override
+    public Optional<IngestionReport> getReportForJob(String jobId) {
+        return ingestionReportRepository.findFirstByJobIdOrderByIdDesc(jobId);
+    }
+
+    @Override
+    public List<IngestionReport> findReports(String fileName, IngestionStatus status, LocalDateTime from,
+                                             LocalDateTime to, int limit) {
+        LocalDateTime until = to != null ? to : LocalDateTime.now();
+        LocalDateTime since = from != null ? from : until.minusDays(DEFAULT_DAYS);
+        int size = Math.max(1, Math.min(limit, MAX_RESULTS));
+        return ingestionReportRepository.search(fileName == null || fileName.isBlank() ? null : fileName, status,
+                since, until, PageRequest.of(0, size));
+    }
+
+    private IngestionReport toReport(IngestionJob job) {
+        IngestionReport report = new IngestionReport();
+        report.setJobId(job.getJobId());
+        report.setFileName(job.getFileName());
+        report.setStatus(job.getStatus());
+        report.setFormat(job.getFormat() != null ? job.getFormat() : job.getRequestedFormat());
+        report.setContentSha256(job.getContentSha256());
+        report.setDuplicateOf(job.getDuplicateOf());
+        report.setSizeBytes(job.getFileSizeBytes());
+        report.setSourcesRead(job.getSourcesRead().get());
+        report.setLinesRead(job.getLinesRead().get());
+        report.setLinesMatched(job.getLinesMatched().get());
+        report.setLinesSkippedByLevel(job.getLinesSkippedByLevel().get());
+        report.setLinesUnparseable(job.getLinesUnparseable().get());
+        report.setRowsPersisted(job.getRowsPersisted().get());
+        report.setEventsDeduplicated(job.getEventsDeduplicated().get());
+        report.setErrorCount(job.getErrorCount().get());
+        report.setUnparseableSample(joined(job.getUnparseableSample()));
+        report.setErrors(joined(job.getErrors()));
+        report.setLinesPerSecond(job.linesPerSecond());
+        report.setBytesPerSecond(job.bytesPerSecond());
+        report.setDurationMillis(job.getDurationMillis());
+        for (StageMetrics stage : job.getStages()) {
+            switch (stage.getName()) {
+                case StageMetrics.PARSE -> {
+                    report.setParseMillis(stage.getBusyMillis());
+                    report.setParseBlockedMillis(stage.getBlockedMillis());
+                }
+                case StageMetrics.ENRICH -> {
+                    report.setEnrichMillis(stage.getBusyMillis());
+                    report.setEnrichBlockedMillis(stage.getBlockedMillis());
+                }
+                case StageMetrics.PERSIST -> {
+                    report.setPersistMillis(stage.getBusyMillis());
+                    report.setPersistBlockedMillis(stage.getBlockedMillis());
+                }
+                default -> log.debug("No report column for pipeline stage {}", stage.getName());
+            }
+        }
+        report.setStartedAt(job.getStartedAt());
+        report.setFinishedAt(job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now());
+        return report;
+    }
+
+    private static String joined(List<String> lines) {
+        if (lines.isEmpty()) {
+            return null;
+        }
+        String text = String.join("\n", lines);
+        return text.length() > IngestionReport.TEXT_LENGTH ? text.substring(0, IngestionReport.TEXT_LENGTH) : text;
+    }
+}
@@ -0,0 +1,116 @@
+package com.yash.log.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yash.log.constants.ExportFormat;
+import com.yash.log.entity.Log;
+import com.yash.log.repository.LogExportRepository;
+import com.yash.log.service.services.LogExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// Writes each row as the repository reads it, through a fixed-size buffer
+// (and gzip) into the response; nothing is collected, so the heap an export
+// needs does not grow with its size. A client that goes away fails the next
+// write, which ends the query.
+@Slf4j
+@Service
+public class LogExportServiceImpl implements LogExportService {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final String CSV_HEADER = "errorId,timeStamp,errorLevel,errorType,source,errorMessage," +
+            "stackTrace,userId,ticketId,fingerprint,createdAt";
+
+    private final LogExportRepository logExportRepository;
+    private final ObjectMapper objectMapper;
+
+    public LogExportServiceImpl(LogExportRepository logExportRepository, ObjectMapper objectMapper) {
+        this.logExportRepository = logExportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long export(String search, LocalDateTime startDate, LocalDateTime endDate,
+                       ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_BYTES) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_BYTES);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+        long[] rows = {0};
+        try {
+            logExportRepository.forEachMatching(search, startDate, endDate, row -> {
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} logs as {}{} in {} ms", rows[0], format, gzip ? " (gzip)" : "",
+                (System.nanoTime() - started) / 1_000_000);
+        return rows[0];
+    }
+
+    private static void writeCsv(Writer writer, Log row) throws IOException {
+        Object[] values = {row.getErrorId(), row.getTimeStamp(), row.getErrorLevel(), row.getErrorType(),
+                row.getSource(), row.getErrorMessage(), row.getStackTrace(), row.getUserId(), row.getTicketId(),
+                row.getFingerprint(), row.getCreatedAt()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvValue(writer, values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // quoted when it holds a separator, a quote or a line break, quotes doubled
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
@@ -4,28 +4,62 @@ import com.yash.log.constants.LogConstant;
 
 import com.yash.log.dto.DailyErrorCountDto;
 import com.yash.log.dto.ErrorCategoryStatDto;
+import com.yash.log.dto.ErrorLevel;
 import com.yash.log.dto.ErrorTypes;
 import com.yash.log.dto.LogDTO;
+import com.yash.log.dto.PipelineStageStatsDto;
 
+import com.yash.log.entity.IngestedFile;
 import com.yash.log.entity.Log;
 
+import com.yash.log.ingestion.ByteLineReader;
+import com.yash.log.ingestion.ContentHash;
+import com.yash.log.ingestion.ErrorTypeClassifier;
+import com.yash.log.ingestion.EventDeduplicator;
+import com.yash.log.ingestion.EventFingerprint;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.ingestion.LevelFilter;
+import com.yash.log.ingestion.LogArchive;
+import com.yash.log.ingestion.LogEventAssembler;
+import com.yash.log.ingestion.ParallelLogParser;
+import com.yash.log.ingestion.PipelineStage;
+import com.yash.log.ingestion.StageMetrics;
+import com.yash.log.ingestion.format.LogFormat;
+import com.yash.log.ingestion.format.LogFormatRegistry;
+
 import com.yash.log.mapper.LogMapper;
 import com.yash.log.repository.ErrorLogRepository;
+import com.yash.log.repository.IngestedFileRepository;
+import com.yash.log.service.services.IngestionReportService;
 import com.yash.log.service.services.LogFileService;
+import com.yash.log.service.services.LogSearchIndexService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -38,94 +72,440 @@ public class LogFileServiceImpl implements LogFileService {
 
     private final LogMapper logMapper;
 
-    public LogFileServiceImpl(ErrorLogRepository errorLogRepository,LogMapper logMapper) {
+    private final ParallelLogParser parallelLogParser;
+
+    private final ErrorTypeClassifier errorTypeClassifier;
+
+    private final EventDeduplicator eventDeduplicator;
+
+    private final IngestedFileRepository ingestedFileRepository;
+
+    private final LogFormatRegistry logFormatRegistry;
+
+    private final IngestionReportService ingestionReportService;
+
+    private final LogSearchIndexService logSearchIndexService;
+
+    // rows buffered before one batched insert (one transaction per chunk)
+    @Value("${ingestion.batch-size:1000}")
+    private int batchSize = 1000;
+
+    // spooled files at least this large are parsed with the parallel parser
+    @Value("${ingestion.parallel.threshold-bytes:16777216}")
+    private long parallelThresholdBytes = 16L * 1024 * 1024;
+
+    // levels persisted when an upload does not ask for its own
+    @Value("${ingestion.persist-levels:ERROR}")
+    private Set<ErrorLevel> persistLevels = EnumSet.of(ErrorLevel.ERROR);
+
+    // stack trace text kept per event, must fit Log.stackTrace
+    @Value("${ingestion.max-stack-trace-chars:16384}")
+    private int maxStackTraceChars = 16384;
+
+    // classify + map workers per ingestion run
+    @Value("${ingestion.pipeline.enrich-workers:2}")
+    private int enrichWorkers = 2;
+
+    // batched-insert workers per ingestion run; above 1 rows no longer land in file order
+    @Value("${ingestion.pipeline.persist-workers:1}")
+    private int persistWorkers = 1;
+
+    // batches that may wait in front of each stage of a run
+    @Value("${ingestion.pipeline.queue-capacity:4}")
+    private int pipelineQueueCapacity = 4;
+
+    private final StageMetrics parseMetrics = new StageMetrics(StageMetrics.PARSE);
+    private final StageMetrics enrichMetrics = new StageMetrics(StageMetrics.ENRICH);
+    private final StageMetrics persistMetrics = new StageMetrics(StageMetrics.PERSIST);
+
+    // decompressed bytes one .gz/.zip/.tar upload may expand to, all entries together
+    @Value("${ingestion.archive.max-uncompressed-bytes:2147483648}")
+    private long maxUncompressedBytes = 2L * 1024 * 1024 * 1024;
+
+    public LogFileServiceImpl(ErrorLogRepository errorLogRepository,LogMapper logMapper,
+                              ParallelLogParser parallelLogParser, ErrorTypeClassifier errorTypeClassifier,
+                              EventDeduplicator eventDeduplicator, IngestedFileRepository ingestedFileRepository,
+                              LogFormatRegistry logFormatRegistry, IngestionReportService ingestionReportService,
+                              LogSearchIndexService logSearchIndexService) {
         this.errorLogRepository = errorLogRepository;
         this.logMapper = logMapper;
+        this.parallelLogParser = parallelLogParser;
+        this.errorTypeClassifier = errorTypeClassifier;
+        this.eventDeduplicator = eventDeduplicator;
+        this.ingestedFileRepository = ingestedFileRepository;
+        this.logFormatRegistry = logFormatRegistry;
+        this.ingestionReportService = ingestionReportService;
+        this.logSearchIndexService = logSearchIndexService;
     }
 
+    // loads stored fingerprints in the background; until then every event is checked in the table
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpDeduplication() {
+        Thread.ofVirtual().name("dedup-warm-up").start(() -> {
+            try {
+                eventDeduplicator.warmUp(errorLogRepository::forEachFingerprint);
+                log.info("Event dedup filter loaded");
+            } catch (RuntimeException e) {
+                log.warn("Could not load the event dedup filter, stored events are checked in the table", e);
+            }
+        });
+    }
 
 
-    private static final Pattern LOG_PATTERN = Pattern.compile(LogConstant.LOG_PATTERN);
-    private static final DateTimeFormatter ISO_OFFSET_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    // head of each source the log format is detected from
+    private static final int FORMAT_SAMPLE_BYTES = 64 * 1024;
+    private static final String TRUNCATED = "\n\t... (truncated)";
 
     @Override
     public void parseAndSaveLogs(MultipartFile file) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                Matcher matcher = LOG_PATTERN.matcher(line);
-                if (matcher.find()) {
-
-                    log.info("Class Name : {}", matcher.group(3));
-                    log.info("Message : {}", matcher.group(4));
-
-                    LogDTO log = new LogDTO();
-                    log.setErrorLevel(matcher.group(2));
-                    log.setErrorMessage(matcher.group(4));
-                    log.setSource(matcher.group(3));
-                    log.setErrorType(detectErrorType(matcher.group(4)));
-                    log.setTimeStamp(LocalDateTime.parse(matcher.group(1), DateTimeFormatter.ISO_OFFSET_DATE_TIME));
-                    if(!matcher.group(2).equals("ERROR")){
-                        continue;
-                    }
-                    LogDTO logDto = mapMatcherToLogDto(matcher);
-
-                    Log saveToDb = logMapper.toEntity(logDto);
-
-                    errorLogRepository.save(saveToDb);
-                }
+        parseAndSaveLogs(file, null);
+    }
+
+    @Override
+    public void parseAndSaveLogs(MultipartFile file, Set<ErrorLevel> levels) throws IOException {
+        parseAndSaveLogs(file, levels, null);
+    }
+
+    @Override
+    public void parseAndSaveLogs(MultipartFile file, Set<ErrorLevel> levels, String format) throws IOException {
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), file.getOriginalFilename(), file.getSize(),
+                levels, format);
+        job.start();
+        try {
+            ingestUpload(file, job);
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            job.fail(e);
+            throw e;
+        } finally {
+            ingestionReportService.record(job);
+        }
+    }
+
+    private void ingestUpload(MultipartFile file, IngestionJob job) throws IOException {
+        String sha256;
+        try (InputStream in = file.getInputStream()) {
+            sha256 = ContentHash.sha256(in);
+        }
+        if (isKnownUpload(sha256, job)) {
+            return;
+        }
+        try (InputStream in = file.getInputStream()) {
+            ingest(in, job);
+        }
+    }
+
+    @Override
+    public void ingest(InputStream in, IngestionJob job) throws IOException {
+        // plain uploads are a single source, archives one per entry
+        MessageDigest digest = ContentHash.newDigest();
+        try (RowBatcher rows = new RowBatcher(job); InputStream hashed = new DigestInputStream(in, digest)) {
+            LogArchive.forEachSource(hashed, job.getFileName(), maxUncompressedBytes, (name, source) -> {
+                log.debug("Ingesting {} from {}", name, job.getFileName());
+                job.sourceRead();
+                ingestSource(source, job, rows);
+            });
+            // archive trailers are never read by the parser but belong to the file hash
+            hashed.transferTo(OutputStream.nullOutputStream());
+            rows.finish();
+        }
+        recordIngestedFile(ContentHash.hex(digest), job);
+    }
+
+    // a fresh assembler per source, so an event never runs across two entries
+    // and each entry of an archive may have its own format
+    private void ingestSource(InputStream in, IngestionJob job, RowBatcher rows) throws IOException {
+        InputStream buffered = new BufferedInputStream(in, FORMAT_SAMPLE_BYTES);
+        readEvents(buffered, logFormat(buffered, job), job, rows);
+    }
+
+    private void readEvents(InputStream in, LogFormat format, IngestionJob job, RowBatcher rows) throws IOException {
+        LogEventAssembler assembler = newAssembler(format, levelFilter(job), job, rows);
+        ByteLineReader reader = new ByteLineReader(in);
+        while (reader.nextLine()) {
+            assembler.line(reader.bytes(), reader.lineStart(), reader.lineEnd());
+        }
+        assembler.finish();
+    }
+
+    @Override
+    public void ingest(Path file, IngestionJob job) throws IOException {
+        String sha256;
+        try (InputStream in = Files.newInputStream(file)) {
+            sha256 = ContentHash.sha256(in);
+        }
+        if (isKnownUpload(sha256, job)) {
+            return;
+        }
+        // compressed data cannot be split into byte ranges, archives are always streamed
+        if (Files.size(file) < parallelThresholdBytes || LogArchive.isArchive(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                ingest(in, job);
             }
+            return;
+        }
+        // events are assembled on the fork-join pool, chunks are cut only where
+        // an event starts and rows come back in file order
+        job.sourceRead();
+        LogFormat format;
+        try (InputStream head = new BufferedInputStream(Files.newInputStream(file), FORMAT_SAMPLE_BYTES)) {
+            format = logFormat(head, job);
+        }
+        LevelFilter levelFilter = levelFilter(job);
+        try (RowBatcher rows = new RowBatcher(job)) {
+            parallelLogParser.<LogDTO>parseRecords(file, (bytes, from, to) -> format.levelOf(bytes, from, to) != null,
+                    out -> newAssembler(format, levelFilter, job, out), parsed -> parsed.forEach(rows));
+            rows.finish();
+        }
+        recordIngestedFile(sha256, job);
+    }
+
+    @Override
+    public void ingestText(InputStream in, IngestionJob job) throws IOException {
+        try (RowBatcher rows = new RowBatcher(job)) {
+            ingestSource(in, job, rows);
+            rows.finish();
         }
     }
 
-    // helper method
-    private LogDTO mapMatcherToLogDto(Matcher matcher) {
-        LogDTO logDto = new LogDTO();
-        logDto.setErrorLevel(matcher.group(2));
-        logDto.setErrorMessage(matcher.group(4));
-        logDto.setSource(matcher.group(3));
-        logDto.setErrorType(detectErrorType(matcher.group(4)));
-        logDto.setTimeStamp(LocalDateTime.parse(matcher.group(1), ISO_OFFSET_FORMATTER));
+    @Override
+    public TextIngestion openText(IngestionJob job) {
+        return new TextBlocks(job);
+    }
+
+    // One RowBatcher for every block, instead of a pipeline started and drained per block
+    private final class TextBlocks implements TextIngestion {
+
+        private final IngestionJob job;
+        private final RowBatcher rows;
+
+        TextBlocks(IngestionJob job) {
+            this.job = job;
+            this.rows = new RowBatcher(job);
+        }
+
+        @Override
+        public LogFormat ingest(InputStream block, LogFormat format) throws IOException {
+            rows.resume();
+            if (format != null) {
+                readEvents(block, format, job, rows);
+                return format;
+            }
+            InputStream buffered = new BufferedInputStream(block, FORMAT_SAMPLE_BYTES);
+            LogFormat detected = logFormat(buffered, job);
+            readEvents(buffered, detected, job, rows);
+            return detected;
+        }
+
+        @Override
+        public void flush() {
+            rows.flush();
+        }
+
+        @Override
+        public void close() {
+            try {
+                rows.finish();
+            } finally {
+                rows.close();
+            }
+        }
+    }
+
+    // true when a file with these exact bytes was fully ingested before
+    private boolean isKnownUpload(String sha256, IngestionJob job) {
+        job.setContentSha256(sha256);
+        Optional<IngestedFile> earlier = ingestedFileRepository.findBySha256(sha256);
+        if (earlier.isEmpty()) {
+            return false;
+        }
+        log.info("Skipping {}: same content as {} ingested at {}", job.getFileName(),
+                earlier.get().getFileName(), earlier.get().getIngestedAt());
+        job.skipDuplicate(earlier.get().getFileName());
+        return true;
+    }
+
+    private void recordIngestedFile(String sha256, IngestionJob job) {
+        job.setContentSha256(sha256);
+        IngestedFile file = new IngestedFile();
+        file.setSha256(sha256);
+        file.setFileName(job.getFileName());
+        file.setSizeBytes(job.getFileSizeBytes());
+        file.setRowsPersisted(job.getRowsPersisted().get());
+        file.setIngestedAt(LocalDateTime.now());
+        try {
+            ingestedFileRepository.save(file);
+        } catch (DataIntegrityViolationException e) {
+            // the same file was ingested concurrently, its events were deduplicated
+            log.debug("File {} already recorded", sha256);
+        }
+    }
+
+    // The requested format, or else the one the first lines are written in.
+    // in is left where it was, it must support mark/reset.
+    private LogFormat logFormat(InputStream in, IngestionJob job) throws IOException {
+        LogFormat format;
+        if (job.getRequestedFormat() != null) {
+            format = logFormatRegistry.get(job.getRequestedFormat());
+        } else {
+            in.mark(FORMAT_SAMPLE_BYTES);
+            byte[] sample = in.readNBytes(FORMAT_SAMPLE_BYTES);
+            in.reset();
+            format = logFormatRegistry.detect(sample, sample.length);
+            log.debug("Reading {} as {}", job.getFileName(), format.getName());
+        }
+        job.setFormat(format.getName());
+        return format;
+    }
+
+    private LevelFilter levelFilter(IngestionJob job) {
+        return LevelFilter.of(job.getLevels() != null ? job.getLevels() : persistLevels);
+    }
+
+    // Lines of other levels are dropped by the assembler before they are decoded;
+    // stack trace lines are attached to the event above them
+    private LogEventAssembler newAssembler(LogFormat format, LevelFilter levelFilter, IngestionJob job,
+                                           Consumer<LogDTO> out) {
+        return new LogEventAssembler(format, levelFilter, line -> parseLine(format, line, levelFilter, job),
+                maxStackTraceChars, job, out);
+    }
+
+    // Returns the DTO to persist for this line, or null when the line is skipped.
+    // Called concurrently by the parallel parser, so it only touches thread-safe state.
+    private LogDTO parseLine(LogFormat format, CharSequence line, LevelFilter levelFilter, IngestionJob job) {
+        LogDTO logDto;
+        try {
+            logDto = format.parse(line);
+        } catch (DateTimeParseException e) {
+            job.lineMatched();
+            job.recordError("Unparseable timestamp '" + e.getParsedString() + "'");
+            return null;
+        }
+        if (logDto == null) {
+            job.lineUnparseable(() -> line);
+            return null;
+        }
+        job.lineMatched();
+        if (!levelFilter.allows(logDto.getErrorLevel())) {
+            return null;
+        }
+        // formats that carry the stack trace in the line itself, e.g. JSON
+        String stackTrace = logDto.getStackTrace();
+        if (stackTrace != null && stackTrace.length() > maxStackTraceChars) {
+            logDto.setStackTrace(stackTrace.substring(0, maxStackTraceChars) + TRUNCATED);
+        }
         return logDto;
     }
 
+    // Parsed events go through two more stages, each on its own threads and
+    // behind its own bounded queue: enrich (error type, entity mapping,
+    // fingerprint) and persist (dedup and batched insert). The parser only
+    // waits when the stage after it is full. Batches are batchSize events.
+    private final class RowBatcher implements Consumer<LogDTO>, AutoCloseable {
+
+        private final StageMetrics parse;
+        private final PipelineStage<Log, Log> persist;
+        private final PipelineStage<LogDTO, Log> enrich;
+        private List<LogDTO> batch = new ArrayList<>(batchSize);
+        private long parseStart = System.nanoTime();
+
+        RowBatcher(IngestionJob job) {
+            this.parse = job.stage(parseMetrics);
+            StageMetrics enrichStage = job.stage(enrichMetrics);
+            this.persist = new PipelineStage<>(job.stage(persistMetrics), enrichStage, persistWorkers,
+                    pipelineQueueCapacity, rows -> flushBatch(rows, job), null);
+            this.enrich = new PipelineStage<>(enrichStage, parse, enrichWorkers, pipelineQueueCapacity,
+                    LogFileServiceImpl.this::toRows, persist::submit);
+            parse.workerStarted();
+        }
+
+        @Override
+        public void accept(LogDTO logDto) {
+            batch.add(logDto);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        // hands on the last batch and waits until everything is stored
+        void finish() {
+            flush();
+            enrich.finish();
+            persist.finish();
+        }
+
+        @Override
+        public void close() {
+            parse.workerStopped();
+            enrich.close();
+            persist.close();
+        }
 
-    private String detectErrorType(String message) {
-        // If message contains a Java exception, extract it
-        Pattern exceptionPattern = Pattern.compile(LogConstant.EXCEPTION_PATTERN);
-        Matcher matcher = exceptionPattern.matcher(message);
-        if (matcher.find()) {
-            return matcher.group(1); // e.g., NullPointerException
+        // the time a long-lived batcher sat idle is not parse time
+        void resume() {
+            if (batch.isEmpty()) {
+                parseStart = System.nanoTime();
+            }
         }
 
-        // If message has a colon-based prefix (e.g., Database Transaction Error: ...)
-        int colonIndex = message.indexOf(':');
-        if (colonIndex > 0) {
-            return message.substring(0, colonIndex).trim();
+        void flush() {
+            if (!batch.isEmpty()) {
+                parse.processed(batch.size(), System.nanoTime() - parseStart);
+                enrich.submit(batch);
+                batch = new ArrayList<>(batchSize);
+                parseStart = System.nanoTime();
+            }
         }
-        return LogConstant.UNKNOWN_ERROR;
     }
 
+    private List<Log> toRows(List<LogDTO> events) {
+        List<Log> rows = new ArrayList<>(events.size());
+        for (LogDTO logDto : events) {
+            if (logDto.getErrorType() == null) {
+                logDto.setErrorType(detectErrorType(logDto.getErrorMessage(), logDto.getRootCause()));
+            }
+            Log row = logMapper.toEntity(logDto);
+            row.setFingerprint(EventFingerprint.of(logDto.getTimeStamp(), logDto.getSource(), logDto.getErrorMessage()));
+            rows.add(row);
+        }
+        return rows;
+    }
 
-    @Override
-    public List<Object[]> countByErrorType() {
-        List<Object[]> result = errorLogRepository.countByErrorType();
-        return result;
+    // events stored by an earlier upload, or repeated within this one, are not written again
+    private List<Log> flushBatch(List<Log> batch, IngestionJob job) {
+        List<Log> fresh = eventDeduplicator.newRows(batch, errorLogRepository::findExistingFingerprints);
+        job.eventsDeduplicated(batch.size() - fresh.size());
+        if (fresh.isEmpty()) {
+            return fresh;
+        }
+        // a row skipped for a fingerprint stored meanwhile has an id no row has
+        List<Log> written = errorLogRepository.batchInsert(fresh);
+        job.rowsPersisted(written.size());
+        eventDeduplicator.recordPersisted(written);
+        logSearchIndexService.index(written);
+        return written;
+    }
+
+    private String detectErrorType(String message, String rootCause) {
+        return errorTypeClassifier.classify(message, rootCause);
     }
 
 
     @Override
-    public List<Log> getAllLogs() {
-        return errorLogRepository.findAll();
+    public List<PipelineStageStatsDto> getPipelineStats() {
+        return List.of(parseMetrics.toDto(1, 0),
+                enrichMetrics.toDto(enrichWorkers, pipelineQueueCapacity),
+                persistMetrics.toDto(persistWorkers, pipelineQueueCapacity));
     }
 
-
-    public List<Log> getLogsLastNDays(int days) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime from = now.minusDays(days);
-        return errorLogRepository.findByTimeStampBetweenOrderByTimeStampDesc(from, now);
+    @Override
+    public List<Object[]> countByErrorType() {
+        List<Object[]> result = errorLogRepository.countByErrorType();
+        return result;
     }
 
+
     public List<DailyErrorCountDto> getDailyErrorCounts(int days) {
         LocalDate today = LocalDate.now();
         LocalDate fromDate = today.minusDays(days - 1);
@@ -180,6 +560,7 @@ public class LogFileServiceImpl implements LogFileService {
         log.setSource(logDto.getSource());
         log.setErrorType(logDto.getErrorType());
         errorLogRepository.save(log);
+        logSearchIndexService.index(List.of(log));
 
     }
 }
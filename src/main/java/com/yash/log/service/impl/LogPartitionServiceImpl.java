@@ -0,0 +1,144 @@
+package com.yash.log.service.impl;
+
+import com.yash.log.config.PartitionProperties;
+import com.yash.log.dto.LogPartitionDto;
+import com.yash.log.repository.LogPartitionRepository;
+import com.yash.log.service.services.LogPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Keeps the log table split into one partition per day or month, so queries
+// bounded on timeStamp only read the partitions in their range and expired
+// history goes with a DROP PARTITION instead of a DELETE. Runs on startup and
+// then every check interval when storage.partitions.enabled is set; a run with
+// nothing to do only reads information_schema. The table is partitioned the
+// first time only by partitionTable, the copy it takes blocks ingestion.
+@Slf4j
+@Service
+public class LogPartitionServiceImpl implements LogPartitionService {
+
+    private static final String HISTORY = "p_history";
+    private static final DateTimeFormatter DAY_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final LogPartitionRepository logPartitionRepository;
+    private final PartitionProperties properties;
+
+    public LogPartitionServiceImpl(LogPartitionRepository logPartitionRepository, PartitionProperties properties) {
+        if (properties.getUnit() != ChronoUnit.DAYS && properties.getUnit() != ChronoUnit.MONTHS) {
+            throw new IllegalArgumentException("storage.partitions.unit must be DAYS or MONTHS, was " + properties.getUnit());
+        }
+        this.logPartitionRepository = logPartitionRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${storage.partitions.check-interval-ms:3600000}")
+    public void scheduledMaintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            maintain(LocalDate.now());
+        } catch (RuntimeException e) {
+            // rows still land in the open-ended partition, the next run tries again
+            log.error("Log partition maintenance failed", e);
+        }
+    }
+
+    @Override
+    public void maintain(LocalDate today) {
+        LocalDate current = periodStart(today);
+        LocalDate last = current.plus(properties.getAhead() + 1L, properties.getUnit());
+        List<LogPartitionDto> existing = logPartitionRepository.findPartitions();
+
+        if (existing.isEmpty()) {
+            log.warn("The log table is not partitioned, POST /api/errors/partitions/convert partitions it");
+            return;
+        }
+
+        LocalDate highest = existing.stream()
+                .map(LogPartitionDto::getLessThan)
+                .filter(Objects::nonNull)
+                .map(LocalDateTime::toLocalDate)
+                .max(LocalDate::compareTo)
+                .orElse(current);
+        List<LogPartitionDto> added = partitionsBetween(highest, last);
+        if (!added.isEmpty()) {
+            log.info("Adding log partitions {}", added.stream().map(LogPartitionDto::getName).toList());
+            // p_future is empty below the new bounds while maintenance keeps 'ahead' periods in front
+            // of now; rows dated later than that, or left by runs missed, are copied during the split
+            LocalDateTime bound = added.get(added.size() - 1).getLessThan();
+            long moved = logPartitionRepository.countFutureRowsBefore(bound);
+            if (moved > 0) {
+                log.warn("{} is not empty, {} rows before {} are copied while the log table is locked",
+                        LogPartitionRepository.FUTURE, moved, bound);
+            }
+            logPartitionRepository.addPartitions(added);
+        }
+
+        if (properties.getRetain() > 0) {
+            LocalDateTime cutoff = current.minus(properties.getRetain(), properties.getUnit()).atStartOfDay();
+            List<String> expired = existing.stream()
+                    .filter(p -> p.getLessThan() != null && !p.getLessThan().isAfter(cutoff))
+                    .map(LogPartitionDto::getName)
+                    .toList();
+            if (!expired.isEmpty()) {
+                log.info("Dropping log partitions before {}: {}", cutoff, expired);
+                logPartitionRepository.dropPartitions(expired);
+            }
+        }
+    }
+
+    @Override
+    public List<LogPartitionDto> partitionTable(LocalDate today) {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("storage.partitions.enabled is false, nothing would add the partitions ahead");
+        }
+        if (!logPartitionRepository.findPartitions().isEmpty()) {
+            throw new IllegalStateException("The log table is partitioned already");
+        }
+        LocalDate current = periodStart(today);
+        LocalDate last = current.plus(properties.getAhead() + 1L, properties.getUnit());
+        List<LogPartitionDto> partitions = new ArrayList<>();
+        partitions.add(new LogPartitionDto(HISTORY, current.atStartOfDay(), 0));
+        partitions.addAll(partitionsBetween(current, last));
+        log.info("Partitioning the log table by {}, {} partitions up to {}", properties.getUnit(),
+                partitions.size(), last);
+        logPartitionRepository.partitionTable(partitions);
+        return logPartitionRepository.findPartitions();
+    }
+
+    @Override
+    public List<LogPartitionDto> getPartitions() {
+        return logPartitionRepository.findPartitions();
+    }
+
+    // one partition per period from 'from' until 'to', named after the period's first day
+    private List<LogPartitionDto> partitionsBetween(LocalDate from, LocalDate to) {
+        List<LogPartitionDto> partitions = new ArrayList<>();
+        while (from.isBefore(to)) {
+            LocalDate start = periodStart(from);
+            LocalDate end = start.plus(1, properties.getUnit());
+            partitions.add(new LogPartitionDto(name(start), end.atStartOfDay(), 0));
+            from = end;
+        }
+        return partitions;
+    }
+
+    private LocalDate periodStart(LocalDate day) {
+        return properties.getUnit() == ChronoUnit.MONTHS ? day.withDayOfMonth(1) : day;
+    }
+
+    private String name(LocalDate start) {
+        return (properties.getUnit() == ChronoUnit.MONTHS ? MONTH_NAME : DAY_NAME).format(start);
+    }
+}
@@ -0,0 +1,280 @@
+package com.yash.log.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yash.log.config.RetentionProperties;
+import com.yash.log.dto.LogPartitionDto;
+import com.yash.log.dto.RetentionRunDto;
+import com.yash.log.entity.Log;
+import com.yash.log.repository.ErrorLogRepository;
+import com.yash.log.repository.LogCursor;
+import com.yash.log.repository.LogPartitionRepository;
+import com.yash.log.repository.LogRetentionRepository;
+import com.yash.log.service.services.LogRetentionService;
+import com.yash.log.service.services.LogSearchIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Removes log rows past the retention of their level and type. Partitions
+// older than the longest retention go whole with DROP PARTITION; the rest is
+// deleted per rule in batches of batchSize rows. With archiving on, rows are
+// written to a gzipped NDJSON file (one Log as JSON per line) before they are
+// removed, and restore() inserts such a file again. Restored rows are purged
+// again by the next run unless the rules keep them.
+@Slf4j
+@Service
+public class LogRetentionServiceImpl implements LogRetentionService {
+
+    private static final String ARCHIVE_SUFFIX = ".ndjson.gz";
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final LogRetentionRepository logRetentionRepository;
+    private final LogPartitionRepository logPartitionRepository;
+    private final ErrorLogRepository errorLogRepository;
+    private final RetentionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final LogSearchIndexService logSearchIndexService;
+
+    public LogRetentionServiceImpl(LogRetentionRepository logRetentionRepository,
+                                   LogPartitionRepository logPartitionRepository,
+                                   ErrorLogRepository errorLogRepository, RetentionProperties properties,
+                                   ObjectMapper objectMapper, LogSearchIndexService logSearchIndexService) {
+        this.logRetentionRepository = logRetentionRepository;
+        this.logPartitionRepository = logPartitionRepository;
+        this.errorLogRepository = errorLogRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.logSearchIndexService = logSearchIndexService;
+    }
+
+    @Scheduled(fixedDelayString = "${storage.retention.check-interval-ms:3600000}",
+            initialDelayString = "${storage.retention.check-interval-ms:3600000}")
+    public void scheduledPurge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            purge(LocalDateTime.now());
+        } catch (IOException | RuntimeException e) {
+            log.error("Log retention run failed", e);
+        }
+    }
+
+    @Override
+    public synchronized RetentionRunDto purge(LocalDateTime now) throws IOException {
+        RetentionRunDto run = new RetentionRunDto();
+        run.setStartedAt(now);
+        long started = System.nanoTime();
+        try (Archive archive = properties.getArchive().isEnabled() ? new Archive(now) : null) {
+            dropExpiredPartitions(now, archive, run);
+            deleteExpiredRows(now, archive, run);
+            if (archive != null && archive.rows > 0) {
+                run.setRowsArchived(archive.rows);
+                run.setArchiveFile(archive.path.getFileName().toString());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        run.setDurationMillis(Duration.ofNanos(System.nanoTime() - started).toMillis());
+        if (run.getRowsDeleted() > 0 || !run.getPartitionsDropped().isEmpty()) {
+            log.info("Retention removed {} rows and partitions {}, archived {} rows to {}", run.getRowsDeleted(),
+                    run.getPartitionsDropped(), run.getRowsArchived(), run.getArchiveFile());
+        }
+        return run;
+    }
+
+    @Override
+    public List<String> listArchives() throws IOException {
+        Path dir = archiveDir();
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(ARCHIVE_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    @Override
+    public long restore(String fileName) throws IOException {
+        Path dir = archiveDir();
+        Path file = dir.resolve(fileName).normalize();
+        if (!file.getParent().equals(dir) || !fileName.endsWith(ARCHIVE_SUFFIX) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No archive named " + fileName);
+        }
+        long restored = 0;
+        List<Log> batch = new ArrayList<>(properties.getBatchSize());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(objectMapper.readValue(line, Log.class));
+                if (batch.size() == properties.getBatchSize()) {
+                    restored += restoreBatch(batch);
+                    batch = new ArrayList<>(properties.getBatchSize());
+                }
+            }
+        }
+        restored += restoreBatch(batch);
+        log.info("Restored {} rows from {}", restored, fileName);
+        return restored;
+    }
+
+    private int restoreBatch(List<Log> batch) {
+        List<Log> written = errorLogRepository.batchInsert(batch);
+        logSearchIndexService.index(written);
+        return written.size();
+    }
+
+    // whole partitions, when no rule keeps any of their rows
+    private void dropExpiredPartitions(LocalDateTime now, Archive archive, RetentionRunDto run) {
+        int longest = longestRetentionDays();
+        if (longest == 0) {
+            return;
+        }
+        LocalDateTime cutoff = now.minusDays(longest);
+        for (LogPartitionDto partition : logPartitionRepository.findPartitions()) {
+            if (partition.getLessThan() == null || partition.getLessThan().isAfter(cutoff)) {
+                continue;
+            }
+            if (archive != null) {
+                logRetentionRepository.forEachInPartition(partition.getName(), archive::write);
+                archive.flush();
+            }
+            logPartitionRepository.dropPartitions(List.of(partition.getName()));
+            run.getPartitionsDropped().add(partition.getName());
+        }
+    }
+
+    // rule by rule, each row going by the first rule matching it
+    private void deleteExpiredRows(LocalDateTime now, Archive archive, RetentionRunDto run) {
+        List<RetentionProperties.Rule> rules = rulesWithDefault();
+        for (int i = 0; i < rules.size(); i++) {
+            RetentionProperties.Rule rule = rules.get(i);
+            List<RetentionProperties.Rule> earlier = rules.subList(0, i);
+            if (earlier.stream().anyMatch(LogRetentionServiceImpl::matchesAll)) {
+                return;
+            }
+            if (rule.getDays() <= 0) {
+                continue;
+            }
+            LocalDateTime before = now.minusDays(rule.getDays());
+            LogCursor after = null;
+            List<Log> batch;
+            do {
+                batch = logRetentionRepository.findExpired(before, rule, earlier, after, properties.getBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (archive != null) {
+                    batch.forEach(archive::write);
+                    archive.flush();
+                }
+                run.setRowsDeleted(run.getRowsDeleted() + logRetentionRepository.deleteExpired(
+                        batch.stream().map(Log::getErrorId).toList(), before));
+                after = LogCursor.of(batch.get(batch.size() - 1));
+            } while (batch.size() == properties.getBatchSize());
+        }
+    }
+
+    // 0 when some rows are kept forever
+    private int longestRetentionDays() {
+        int longest = 0;
+        for (RetentionProperties.Rule rule : rulesWithDefault()) {
+            if (rule.getDays() <= 0) {
+                return 0;
+            }
+            longest = Math.max(longest, rule.getDays());
+        }
+        return longest;
+    }
+
+    private List<RetentionProperties.Rule> rulesWithDefault() {
+        List<RetentionProperties.Rule> rules = new ArrayList<>(properties.getRules());
+        RetentionProperties.Rule fallback = new RetentionProperties.Rule();
+        fallback.setDays(properties.getDefaultDays());
+        rules.add(fallback);
+        return rules;
+    }
+
+    private static boolean matchesAll(RetentionProperties.Rule rule) {
+        return rule.getLevel() == null && rule.getErrorType() == null;
+    }
+
+    private Path archiveDir() {
+        return Paths.get(properties.getArchive().getDir()).toAbsolutePath().normalize();
+    }
+
+    // One archive file per run, created with its first row
+    private final class Archive implements Closeable {
+
+        private final Path path;
+        private Writer writer;
+        private long rows;
+
+        Archive(LocalDateTime now) {
+            this.path = archiveDir().resolve("log-" + FILE_TIME.format(now) + ARCHIVE_SUFFIX);
+        }
+
+        void write(Log row) {
+            try {
+                if (writer == null) {
+                    Files.createDirectories(path.getParent());
+                    // sync flush, so flush() gets every row written so far into the file before it is deleted
+                    writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                            Files.newOutputStream(path, StandardOpenOption.CREATE_NEW), true), StandardCharsets.UTF_8));
+                }
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+                rows++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void flush() {
+            try {
+                if (writer != null) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
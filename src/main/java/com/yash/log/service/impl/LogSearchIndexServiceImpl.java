@@ -0,0 +1,296 @@
+package com.yash.log.service.impl;
+
+import com.yash.log.config.SearchIndexProperties;
+import com.yash.log.dto.LogPageDto;
+import com.yash.log.dto.SearchIndexStatsDto;
+import com.yash.log.entity.Log;
+import com.yash.log.repository.ErrorLogRepository;
+import com.yash.log.repository.LogCursor;
+import com.yash.log.repository.LogRepository;
+import com.yash.log.repository.LogSpecifications;
+import com.yash.log.search.DocIterator;
+import com.yash.log.search.FullTextIndex;
+import com.yash.log.search.IndexSegment;
+import com.yash.log.search.SearchQuery;
+import com.yash.log.service.services.LogSearchIndexService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps the full-text index of log rows (errorType, source, errorMessage) in
+// search.index.dir. Ingestion hands every stored batch to index(); the buffer
+// is written as a segment every flush interval, and segments past maxSegments
+// are merged on a background thread. On startup the index is opened and the
+// rows with a larger id than any indexed one are read from the table, so the
+// rows ingested since the last flush come back after a crash. Rows ingested by
+// other instances only come in with a catch-up or a rebuild.
+//
+// A search walks the ids in the index and reads only the rows of the page, by
+// primary key and bounded on time_stamp. Rows deleted by retention are still
+// in the index and drop out of the page when their lookup finds nothing; a
+// rebuild removes them.
+@Slf4j
+@Service
+public class LogSearchIndexServiceImpl implements LogSearchIndexService {
+
+    private final ErrorLogRepository errorLogRepository;
+    private final LogRepository logRepository;
+    private final SearchIndexProperties properties;
+
+    private volatile FullTextIndex index;
+    private volatile boolean ready;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean merging = new AtomicBoolean();
+
+    public LogSearchIndexServiceImpl(ErrorLogRepository errorLogRepository, LogRepository logRepository,
+                                     SearchIndexProperties properties) {
+        if (properties.getMaxSegmentBytes() >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("search.index.max-segment-bytes must be under 2 GB");
+        }
+        this.errorLogRepository = errorLogRepository;
+        this.logRepository = logRepository;
+        this.properties = properties;
+    }
+
+    // opens the index and catches up with the table in the background; until then searches use the table
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuilding.set(true);
+        Thread.ofVirtual().name("search-index-load").start(() -> {
+            boolean loaded = false;
+            try {
+                index = open(Paths.get(properties.getDir()));
+                catchUp(Math.max(0, index.getMaxDoc()));
+                loaded = true;
+            } catch (IOException | RuntimeException e) {
+                log.error("Loading the search index failed, searches use the table", e);
+            } finally {
+                rebuilding.set(false);
+                ready = loaded;
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        FullTextIndex current = index;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.flush();
+        } catch (IOException | RuntimeException e) {
+            // the documents stay buffered for the next run
+            log.error("Writing a search index segment failed", e);
+        }
+        if (current.getSegments().size() > properties.getMaxSegments() && merging.compareAndSet(false, true)) {
+            // off the scheduler thread, a merge of large segments takes a while
+            Thread.ofVirtual().name("search-index-merge").start(() -> {
+                try {
+                    while (current.merge(properties.getMaxSegments(), properties.getMaxSegmentBytes())) {
+                        log.debug("Merged search index segments, {} left", current.getSegments().size());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.error("Merging search index segments failed", e);
+                } finally {
+                    merging.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        FullTextIndex current = index;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn("Search index buffer not written, the next start reads those rows again", e);
+            }
+        }
+    }
+
+    @Override
+    public void index(List<Log> rows) {
+        FullTextIndex current = index;
+        if (current == null || rows == null) {
+            return;
+        }
+        int buffered = 0;
+        for (Log row : rows) {
+            if (row.getErrorId() == null) {
+                continue;
+            }
+            LocalDateTime createdAt = row.getCreatedAt() != null ? row.getCreatedAt() : LocalDateTime.now();
+            // the insert stores createdAt as the time_stamp of rows without one
+            LocalDateTime timeStamp = row.getTimeStamp() != null ? row.getTimeStamp() : createdAt;
+            buffered = current.add(row.getErrorId(), millis(createdAt), millis(timeStamp),
+                    row.getErrorType(), row.getSource(), row.getErrorMessage());
+        }
+        if (buffered >= properties.getMaxBufferedDocs()) {
+            try {
+                current.flush();
+            } catch (IOException e) {
+                log.error("Writing a search index segment failed", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean canSearch(String search) {
+        return ready && index != null && !SearchQuery.parse(search).isEmpty();
+    }
+
+    @Override
+    public LogPageDto search(String search, LocalDateTime startDate, LocalDateTime endDate, LogCursor after, int size) {
+        FullTextIndex current = index;
+        DocIterator docs = current.search(SearchQuery.parse(search),
+                startDate != null ? millis(startDate) : FullTextIndex.MIN_TIME,
+                endDate != null ? millis(endDate) : FullTextIndex.MAX_TIME);
+        // one more than the page, to know whether another follows
+        List<Long> ids = new ArrayList<>(size + 1);
+        long doc = after != null ? docs.advance(after.errorId() - 1) : docs.next();
+        while (doc != DocIterator.NO_MORE_DOCS) {
+            ids.add(doc);
+            if (ids.size() > size) {
+                break;
+            }
+            doc = docs.next();
+        }
+        if (ids.isEmpty()) {
+            return new LogPageDto(List.of(), null);
+        }
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids.remove(ids.size() - 1);
+        }
+        List<Log> rows = findRows(current, ids);
+        // after the last id rather than the last row, which may have been deleted
+        return new LogPageDto(rows, hasNext ? LogCursor.afterErrorId(ids.get(ids.size() - 1)).encode() : null);
+    }
+
+    @Override
+    public boolean rebuild() {
+        FullTextIndex current = index;
+        if (current == null || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        ready = false;
+        Thread.ofVirtual().name("search-index-rebuild").start(() -> {
+            boolean rebuilt = false;
+            try {
+                current.clear();
+                catchUp(0);
+                rebuilt = true;
+            } catch (IOException | RuntimeException e) {
+                log.error("Rebuilding the search index failed, searches use the table", e);
+            } finally {
+                rebuilding.set(false);
+                ready = rebuilt;
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public SearchIndexStatsDto getStats() {
+        SearchIndexStatsDto stats = new SearchIndexStatsDto();
+        stats.setEnabled(properties.isEnabled());
+        stats.setReady(ready);
+        stats.setRebuilding(rebuilding.get());
+        FullTextIndex current = index;
+        if (current != null) {
+            List<IndexSegment> segments = current.getSegments();
+            stats.setSegments(segments.size());
+            stats.setDocuments(segments.stream().mapToLong(IndexSegment::getDocCount).sum());
+            stats.setSizeBytes(segments.stream().mapToLong(IndexSegment::getSizeBytes).sum());
+            stats.setBufferedDocuments(current.getBufferedDocs());
+        }
+        return stats;
+    }
+
+    private FullTextIndex open(Path dir) throws IOException {
+        try {
+            return FullTextIndex.open(dir, properties.getMaxPrefixTerms());
+        } catch (IOException | RuntimeException e) {
+            // built again from the table by the catch-up
+            log.warn("Search index in {} cannot be opened, rebuilding it: {}", dir, e.getMessage());
+            FullTextIndex.delete(dir);
+            return FullTextIndex.open(dir, properties.getMaxPrefixTerms());
+        }
+    }
+
+    private void catchUp(long afterErrorId) throws IOException {
+        long started = System.nanoTime();
+        long[] rows = {0};
+        List<Log> batch = new ArrayList<>();
+        errorLogRepository.forEachSearchable(afterErrorId, row -> {
+            batch.add(row);
+            if (batch.size() == 1000) {
+                index(batch);
+                rows[0] += batch.size();
+                batch.clear();
+            }
+        });
+        index(batch);
+        rows[0] += batch.size();
+        index.flush();
+        log.info("Search index caught up, {} rows after id {} indexed in {} ms", rows[0], afterErrorId,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // the page's rows in the order of ids, those no longer in the table are left out
+    private List<Log> findRows(FullTextIndex current, List<Long> ids) {
+        Specification<Log> spec = LogSpecifications.idIn(ids);
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        for (long id : ids) {
+            long timeStamp = current.timeStampOf(id);
+            if (timeStamp == Long.MIN_VALUE) {
+                // cleared by a rebuild meanwhile, looked up without the partition bound
+                from = Long.MIN_VALUE;
+                break;
+            }
+            from = Math.min(from, timeStamp);
+            to = Math.max(to, timeStamp);
+        }
+        if (from != Long.MIN_VALUE) {
+            // a second either side for the rounding of the stored fraction
+            spec = spec.and(LogSpecifications.timeStampBetween(dateTime(from - 1000), dateTime(to + 1000)));
+        }
+        Map<Long, Log> byId = logRepository.findAll(spec).stream()
+                .collect(Collectors.toMap(Log::getErrorId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // LocalDateTime read as UTC, only ever compared with values converted the same way
+    private static long millis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime dateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
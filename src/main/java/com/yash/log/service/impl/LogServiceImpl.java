@@ -1,53 +1,97 @@
 package com.yash.log.service.impl;
 
+import com.yash.log.dto.LogPageDto;
 import com.yash.log.entity.Log;
+import com.yash.log.repository.LogCursor;
 import com.yash.log.repository.LogRepository;
+import com.yash.log.repository.LogSpecifications;
+import com.yash.log.service.services.LogSearchIndexService;
 import com.yash.log.service.services.LogService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
+// Search text goes to the full-text index, which finds the page's ids and
+// reads only those rows. Without text, or while the index is not ready,
+// filters in the database: the conditions become the WHERE clause, the
+// cursor a condition on (timeStamp, errorId) and the page a LIMIT, so any
+// page reads the same few rows of idx_log_time_stamp_id_type whatever its depth.
 @Service
 public class LogServiceImpl implements LogService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timeStamp"), Sort.Order.desc("errorId"));
+
     private final LogRepository repo;
 
-    public LogServiceImpl(LogRepository repo) {
+    private final LogSearchIndexService logSearchIndexService;
+
+    @Value("${search.default-page-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${search.max-page-size:1000}")
+    private int maxPageSize = 1000;
+
+    public LogServiceImpl(LogRepository repo, LogSearchIndexService logSearchIndexService) {
         this.repo = repo;
+        this.logSearchIndexService = logSearchIndexService;
+    }
+
+    @Override
+    public LogPageDto filterLogs(String search,
+                                 LocalDateTime startDate,
+                                 LocalDateTime endDate,
+                                 String cursor,
+                                 Integer size) {
+        int pageSize = pageSize(size);
+        if (search != null && logSearchIndexService.canSearch(search)) {
+            // newest first by id, which is the order rows were ingested in
+            return logSearchIndexService.search(search, startDate, endDate,
+                    LogCursor.decode(cursor, LogCursor.Order.ERROR_ID), pageSize);
+        }
+        LogCursor after = LogCursor.decode(cursor, LogCursor.Order.TIME_STAMP);
+
+        List<Specification<Log>> conditions = new ArrayList<>();
+        // SEARCH FILTER — search in errorType, source, errorMessage
+        if (search != null && !search.isBlank()) {
+            conditions.add(LogSpecifications.mentions(search));
+        }
+        if (startDate != null) {
+            conditions.add(LogSpecifications.timeStampFrom(startDate));
+        }
+        if (endDate != null) {
+            conditions.add(LogSpecifications.timeStampUntil(endDate));
+        }
+        return page(conditions, after, pageSize);
     }
 
     @Override
-    public List<Log> filterLogs(String search,
-                                LocalDateTime startDate,
-                                LocalDateTime endDate) {
-
-        return repo.findAll().stream()
-
-
-                // SEARCH FILTER — search in errorType, source, errorMessage
-                .filter(log ->
-                        search == null || search.isBlank() ||
-                                Objects.toString(log.getErrorType(), "").toLowerCase().contains(search.toLowerCase()) ||
-                                Objects.toString(log.getSource(), "").toLowerCase().contains(search.toLowerCase()) ||
-                                Objects.toString(log.getErrorMessage(), "").toLowerCase().contains(search.toLowerCase())
-                )
-
-                // START DATE FILTER
-                .filter(log ->
-                        startDate == null ||
-                                (log.getCreatedAt() != null &&
-                                        !log.getCreatedAt().isBefore(startDate))
-                )
-
-                // END DATE FILTER
-                .filter(log ->
-                        endDate == null ||
-                                (log.getCreatedAt() != null &&
-                                        !log.getCreatedAt().isAfter(endDate))
-                )
-
-                .toList();
+    public LogPageDto listLogs(LocalDateTime since, String cursor, Integer size) {
+        LogCursor after = LogCursor.decode(cursor, LogCursor.Order.TIME_STAMP);
+        List<Specification<Log>> conditions = new ArrayList<>();
+        if (since != null) {
+            conditions.add(LogSpecifications.timeStampFrom(since));
+        }
+        return page(conditions, after, pageSize(size));
+    }
+
+    private LogPageDto page(List<Specification<Log>> conditions, LogCursor after, int pageSize) {
+        if (after != null) {
+            conditions.add(LogSpecifications.before(after));
+        }
+        Slice<Log> slice = repo.findSlice(Specification.allOf(conditions), PageRequest.of(0, pageSize, NEWEST_FIRST));
+        List<Log> logs = slice.getContent();
+        String next = slice.hasNext() ? LogCursor.of(logs.get(logs.size() - 1)).encode() : null;
+        return new LogPageDto(logs, next);
+    }
+
+    private int pageSize(Integer size) {
+        return Math.max(1, Math.min(size != null ? size : defaultPageSize, maxPageSize));
     }
 }
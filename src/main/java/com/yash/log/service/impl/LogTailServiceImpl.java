@@ -0,0 +1,211 @@
+package com.yash.log.service.impl;
+
+import com.yash.log.config.TailProperties;
+import com.yash.log.dto.IngestionJobDto;
+import com.yash.log.entity.TailOffset;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.ingestion.LogTail;
+import com.yash.log.repository.TailOffsetRepository;
+import com.yash.log.service.services.LogFileService;
+import com.yash.log.service.services.LogTailService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Follows the files in ingestion.tail.directories and feeds appended lines
+// through the same parser as uploads. The watch service only wakes the
+// tailer thread up early; every wake-up, and every poll interval without one,
+// scans all matching files, so file systems that deliver no events (NFS,
+// some container mounts) are still followed. Offsets are saved after each
+// ingested chunk; anything replayed after a crash is dropped by event dedup.
+@Slf4j
+@Service
+public class LogTailServiceImpl implements LogTailService {
+
+    private final LogFileService logFileService;
+    private final TailOffsetRepository tailOffsetRepository;
+    private final TailProperties properties;
+    private final Map<Path, Tailed> tails = new ConcurrentHashMap<>();
+
+    private volatile WatchService watchService;
+    private volatile Thread tailer;
+
+    public LogTailServiceImpl(LogFileService logFileService, TailOffsetRepository tailOffsetRepository,
+                              TailProperties properties) {
+        this.logFileService = logFileService;
+        this.tailOffsetRepository = tailOffsetRepository;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!properties.isEnabled() || properties.getDirectories().isEmpty()) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : directories()) {
+            if (Files.isDirectory(directory)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } else {
+                log.warn("Tail directory {} does not exist, it is scanned but not watched", directory);
+            }
+        }
+        tailer = Thread.ofPlatform().name("log-tailer").daemon().start(this::watch);
+        log.info("Tailing {} in {}", properties.getGlob(), properties.getDirectories());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = tailer;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            log.debug("Could not close the watch service", e);
+        }
+        synchronized (this) {
+            tails.values().forEach(tailed -> closeQuietly(tailed.tail));
+            tails.clear();
+        }
+    }
+
+    @Override
+    public synchronized void scan() {
+        Set<Path> files = new LinkedHashSet<>(tails.keySet());
+        for (Path directory : directories()) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (DirectoryStream<Path> matches = Files.newDirectoryStream(directory, properties.getGlob())) {
+                for (Path file : matches) {
+                    if (Files.isRegularFile(file)) {
+                        files.add(file);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Could not list tail directory {}", directory, e);
+            }
+        }
+        files.forEach(this::follow);
+    }
+
+    @Override
+    public List<IngestionJobDto> getTailedFiles() {
+        return tails.values().stream().map(tailed -> tailed.job.toDto()).toList();
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                scan();
+                WatchKey key = watchService.poll(properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+                // the events only say that something changed, the scan finds out what
+                while (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                    key = watchService.poll();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.debug("Log tailer stopped");
+        }
+    }
+
+    // ingests every complete chunk the file has, then saves where it stopped
+    private void follow(Path file) {
+        Tailed tailed = tails.computeIfAbsent(file, this::open);
+        try {
+            LogTail.Chunk chunk;
+            while ((chunk = tailed.tail.poll()) != null) {
+                logFileService.ingestText(new ByteArrayInputStream(chunk.bytes(), 0, chunk.length()), tailed.job);
+                tailed.tail.commit(chunk);
+                saveOffset(tailed);
+            }
+            if (tailed.tail.isGone()) {
+                log.info("Stopped tailing {}, the file is gone", file);
+                closeQuietly(tailed.tail);
+                tails.remove(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            // the chunk is read again on the next scan
+            tailed.job.recordError(e.getMessage());
+            log.warn("Could not ingest new lines of {}", file, e);
+        }
+    }
+
+    private Tailed open(Path file) {
+        TailOffset offset = tailOffsetRepository.findByPath(file.toString()).orElseGet(() -> {
+            TailOffset created = new TailOffset();
+            created.setPath(file.toString());
+            return created;
+        });
+        LogTail tail = new LogTail(file, offset.getFileKey(), offset.getByteOffset(),
+                properties.getMaxReadBytes(), properties.getPollIntervalMs());
+        IngestionJob job = new IngestionJob("tail:" + file, file.toString(), 0);
+        job.start();
+        log.info("Tailing {} from byte {}", file, offset.getByteOffset());
+        return new Tailed(tail, offset, job);
+    }
+
+    private void saveOffset(Tailed tailed) {
+        tailed.offset.setFileKey(tailed.tail.getFileKey());
+        tailed.offset.setByteOffset(tailed.tail.getOffset());
+        tailed.offset.setUpdatedAt(LocalDateTime.now());
+        tailed.offset = tailOffsetRepository.save(tailed.offset);
+    }
+
+    private List<Path> directories() {
+        List<Path> directories = new ArrayList<>();
+        for (String directory : properties.getDirectories()) {
+            directories.add(Paths.get(directory).toAbsolutePath().normalize());
+        }
+        return directories;
+    }
+
+    private static void closeQuietly(LogTail tail) {
+        try {
+            tail.close();
+        } catch (IOException e) {
+            log.debug("Could not close {}", tail.getPath(), e);
+        }
+    }
+
+    private static final class Tailed {
+
+        private final LogTail tail;
+        private TailOffset offset;
+        private final IngestionJob job;
+
+        private Tailed(LogTail tail, TailOffset offset, IngestionJob job) {
+            this.tail = tail;
+            this.offset = offset;
+            this.job = job;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.yash.log.service.services;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.UploadSessionDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Set;
+
+public interface ChunkedUploadService {
+
+    // Opens an upload of totalBytes split into chunkSize pieces; null chunkSize uses the default,
+    // a null format is detected from the file
+    UploadSessionDto start(String fileName, long totalBytes, Integer chunkSize, Set<ErrorLevel> levels, String format)
+            throws IOException;
+
+    // Stores chunk index; sending a chunk again overwrites it. Ingestion starts with chunk 0.
+    UploadSessionDto putChunk(String uploadId, int index, InputStream body) throws IOException;
+
+    // Ends the upload once every chunk is in, ingestion then reads to the end of the file
+    UploadSessionDto complete(String uploadId);
+
+    // Received and missing chunks, used by clients to resume
+    Optional<UploadSessionDto> getUpload(String uploadId);
+
+    void abort(String uploadId) throws IOException;
+}
@@ -0,0 +1,30 @@
+package com.yash.log.service.services;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.IngestionJobDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface IngestionJobService {
+
+    // Spools the upload to disk and queues it for background ingestion.
+    // levels selects what is persisted; null keeps the configured default.
+    IngestionJobDto submit(MultipartFile file, Set<ErrorLevel> levels) throws IOException;
+
+    // Same, reading the file as the named log format; null detects it
+    IngestionJobDto submit(MultipartFile file, Set<ErrorLevel> levels, String format) throws IOException;
+
+    // Starts ingestion of a stream that may still be filling up, such as a chunked
+    // upload, on a thread of its own rather than an ingestion worker; the stream
+    // is closed when the job ends; a null format detects it
+    IngestionJobDto submit(String fileName, long sizeBytes, Set<ErrorLevel> levels, String format, InputStream in);
+
+    Optional<IngestionJobDto> getJob(String jobId);
+
+    List<IngestionJobDto> getJobs();
+}
@@ -0,0 +1,23 @@
+package com.yash.log.service.services;
+
+import com.yash.log.constants.IngestionStatus;
+import com.yash.log.entity.IngestionReport;
+import com.yash.log.ingestion.IngestionJob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IngestionReportService {
+
+    // Stores the report of a finished run; a failure to store it is logged, not thrown
+    void record(IngestionJob job);
+
+    Optional<IngestionReport> getReport(Long id);
+
+    Optional<IngestionReport> getReportForJob(String jobId);
+
+    // Newest first, at most limit; null filters match everything, from/to default to the last 7 days
+    List<IngestionReport> findReports(String fileName, IngestionStatus status, LocalDateTime from, LocalDateTime to,
+                                      int limit);
+}
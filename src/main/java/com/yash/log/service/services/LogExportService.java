@@ -0,0 +1,16 @@
+package com.yash.log.service.services;
+
+import com.yash.log.constants.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface LogExportService {
+
+    // Writes every log with the search text (a substring of errorType, source or errorMessage)
+    // and a timeStamp within the dates to out, newest first; null leaves a filter out.
+    // With gzip the whole output is one gzip stream. out is left open. Returns the rows written.
+    long export(String search, LocalDateTime startDate, LocalDateTime endDate,
+                ExportFormat format, boolean gzip, OutputStream out) throws IOException;
+}
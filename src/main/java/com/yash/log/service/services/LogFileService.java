@@ -1,19 +1,60 @@
 package com.yash.log.service.services;
 
+import com.yash.log.dto.ErrorLevel;
 import com.yash.log.dto.LogDTO;
-import com.yash.log.entity.Log;
+import com.yash.log.dto.PipelineStageStatsDto;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.ingestion.format.LogFormat;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
 
 public interface LogFileService {
 
     void parseAndSaveLogs(MultipartFile file) throws IOException;
 
-    List<Object[]> countByErrorType();
+    // Persists only the given levels; null or empty falls back to ingestion.persist-levels
+    void parseAndSaveLogs(MultipartFile file, Set<ErrorLevel> levels) throws IOException;
+
+    // Reads the file as the named log format; null detects it from the first lines
+    void parseAndSaveLogs(MultipartFile file, Set<ErrorLevel> levels, String format) throws IOException;
+
+    // Streams the given log content into the database, reporting progress on the job.
+    // gzip, zip and tar content is decompressed on the fly, each entry read as its own file
+    void ingest(InputStream in, IngestionJob job) throws IOException;
+
+    // Same as above for a file already on disk; large files are parsed in parallel
+    void ingest(Path file, IngestionJob job) throws IOException;
+
+    // Plain log text such as lines appended to a tailed file: no archive detection, no file hash
+    void ingestText(InputStream in, IngestionJob job) throws IOException;
+
+    // Plain log text that keeps arriving in blocks, such as pushed lines. Every block
+    // goes through the same pipeline, so batches fill across blocks.
+    TextIngestion openText(IngestionJob job);
 
-    List<Log> getAllLogs();
+    interface TextIngestion extends AutoCloseable {
+
+        // Reads a block of whole events in the given format, null detects it from the
+        // block; returns the format read, to pass with the next block of the same sender
+        LogFormat ingest(InputStream block, LogFormat format) throws IOException;
+
+        // hands on the rows buffered so far instead of waiting for a full batch
+        void flush();
+
+        // waits until every row handed on is stored, then stops the pipeline
+        @Override
+        void close();
+    }
+
+    // Per-stage counters of the ingestion pipeline (parse, enrich, persist) since startup
+    List<PipelineStageStatsDto> getPipelineStats();
+
+    List<Object[]> countByErrorType();
 
     void saveManualError(LogDTO logDto);
 
@@ -0,0 +1,19 @@
+package com.yash.log.service.services;
+
+import com.yash.log.dto.LogPartitionDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LogPartitionService {
+
+    // Adds the partitions up to storage.partitions.ahead after today and drops
+    // those past retain; an unpartitioned table is left as it is
+    void maintain(LocalDate today);
+
+    // Partitions the log table once. MySQL copies the whole table for it and
+    // blocks writes to it until done, so this is only run on request.
+    List<LogPartitionDto> partitionTable(LocalDate today);
+
+    List<LogPartitionDto> getPartitions();
+}
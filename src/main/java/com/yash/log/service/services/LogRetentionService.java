@@ -0,0 +1,19 @@
+package com.yash.log.service.services;
+
+import com.yash.log.dto.RetentionRunDto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LogRetentionService {
+
+    // Archives (when enabled) and removes the rows past their rule's days as of now
+    RetentionRunDto purge(LocalDateTime now) throws IOException;
+
+    // Archive files in storage.retention.archive.dir, oldest first
+    List<String> listArchives() throws IOException;
+
+    // Inserts the rows of one archive file again, keeping their ids; returns the rows written
+    long restore(String fileName) throws IOException;
+}
@@ -0,0 +1,30 @@
+package com.yash.log.service.services;
+
+import com.yash.log.dto.LogPageDto;
+import com.yash.log.dto.SearchIndexStatsDto;
+import com.yash.log.entity.Log;
+import com.yash.log.repository.LogCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LogSearchIndexService {
+
+    // Adds stored rows to the index; they are found after the next flush (search.index.flush-interval-ms)
+    void index(List<Log> rows);
+
+    // False while the index is loading or rebuilding, when it is disabled, or when the
+    // text has no word to look up; filterLogs then searches the table instead,
+    // matching the same terms (LogSpecifications.mentions)
+    boolean canSearch(String search);
+
+    // Rows with every word, "phrase" and prefix* of the search, newest first by id,
+    // from below the cursor's errorId (an ERROR_ID cursor); dates bound timeStamp
+    // like the table search
+    LogPageDto search(String search, LocalDateTime startDate, LocalDateTime endDate, LogCursor after, int size);
+
+    // Re-reads every row from the table in the background, false when disabled or already rebuilding
+    boolean rebuild();
+
+    SearchIndexStatsDto getStats();
+}
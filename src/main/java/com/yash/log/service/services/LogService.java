@@ -1,12 +1,22 @@
 package com.yash.log.service.services;
 
-import com.yash.log.entity.Log;
+import com.yash.log.dto.LogPageDto;
+
 import java.time.LocalDateTime;
-import java.util.List;
 
+// Pages of logs newest first by (timeStamp, errorId), at most search.max-page-size rows;
+// null size means the default. The cursor is the nextCursor of the previous page, null
+// for the first; an unreadable one is an IllegalArgumentException.
 public interface LogService {
 
-    List<Log> filterLogs(String search,
-                         LocalDateTime startDate,
-                         LocalDateTime endDate);
+    // Search text is looked up as words, "phrases" and prefix* (see SearchQuery).
+    // Dates bound timeStamp.
+    LogPageDto filterLogs(String search,
+                          LocalDateTime startDate,
+                          LocalDateTime endDate,
+                          String cursor,
+                          Integer size);
+
+    // Every log, or those with a timeStamp from since on
+    LogPageDto listLogs(LocalDateTime since, String cursor, Integer size);
 }
@@ -0,0 +1,14 @@
+package com.yash.log.service.services;
+
+import com.yash.log.dto.IngestionJobDto;
+
+import java.util.List;
+
+public interface LogTailService {
+
+    // Ingests what was appended to the watched files since the last scan
+    void scan();
+
+    // One entry per followed file, with the counters since startup
+    List<IngestionJobDto> getTailedFiles();
+}
@@ -0,0 +1,9 @@
+package com.yash.log.service.services;
+
+import com.yash.log.dto.PushListenerStatsDto;
+
+public interface PushListenerService {
+
+    // Ports, queue depth, shed lines and parser counters of the push listener
+    PushListenerStatsDto getStats();
+}
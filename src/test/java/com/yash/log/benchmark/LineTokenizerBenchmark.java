@@ -0,0 +1,83 @@
+package com.yash.log.benchmark;
+
+import com.yash.log.constants.LogConstant;
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.ingestion.SpringBootLineTokenizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// LOG_PATTERN + Matcher.group versus SpringBootLineTokenizer on a typical mix
+// of Spring Boot lines (one ERROR in twenty). Both variants pull out level,
+// source and message the way LogFileServiceImpl does; run with -prof gc to
+// compare allocation per line as well as time.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineTokenizerBenchmark {
+
+    private static final Pattern LOG_PATTERN = Pattern.compile(LogConstant.LOG_PATTERN);
+
+    private final SpringBootLineTokenizer.Tokens tokens = new SpringBootLineTokenizer.Tokens();
+    private String[] lines;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        lines = new String[64];
+        for (int i = 0; i < lines.length; i++) {
+            String level = i % 20 == 0 ? "ERROR" : (i % 3 == 0 ? "DEBUG" : "INFO");
+            lines[i] = "2025-12-11T10:33:" + String.format("%02d", i) + ".946+05:30 " + level
+                    + " 12345 --- [http-nio-8080-exec-" + (i % 10) + "] [com.yash.app.service.OrderService] "
+                    + "com.yash.app.service.OrderService : Processing order " + i
+                    + " for customer 42 java.lang.NullPointerException: value was null";
+        }
+    }
+
+    private String nextLine() {
+        next = (next + 1) & (lines.length - 1);
+        return lines[next];
+    }
+
+    @Benchmark
+    public void regexMatcher(Blackhole blackhole) {
+        Matcher matcher = LOG_PATTERN.matcher(nextLine());
+        if (matcher.find()) {
+            blackhole.consume(matcher.group(1));
+            blackhole.consume(matcher.group(2));
+            blackhole.consume(matcher.group(3));
+            blackhole.consume(matcher.group(4));
+        }
+    }
+
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) {
+        String line = nextLine();
+        if (SpringBootLineTokenizer.tokenize(line, tokens)) {
+            blackhole.consume(tokens.getLevel());
+            if (tokens.getLevel() == ErrorLevel.ERROR) {
+                // only rows that get persisted pay for the Strings
+                blackhole.consume(tokens.timestamp(line));
+                blackhole.consume(tokens.source(line));
+                blackhole.consume(tokens.message(line));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LineTokenizerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
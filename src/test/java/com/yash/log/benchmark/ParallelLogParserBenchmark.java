@@ -0,0 +1,99 @@
+package com.yash.log.benchmark;
+
+import com.yash.log.constants.LogConstant;
+import com.yash.log.ingestion.ParallelLogParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Lines/sec of LOG_PATTERN matching over a spooled file: the single-threaded
+// BufferedReader loop versus ParallelLogParser at increasing thread counts.
+// Score is in ops/s where one op parses the whole file, so lines/sec = score * lines.
+//
+// mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+// java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.yash.log.benchmark.ParallelLogParserBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelLogParserBenchmark {
+
+    private static final Pattern LOG_PATTERN = Pattern.compile(LogConstant.LOG_PATTERN);
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"500000"})
+    public int lines;
+
+    private Path file;
+    private ParallelLogParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("parallel-parser-bench", ".log");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                String level = i % 20 == 0 ? "ERROR" : "INFO";
+                writer.write("2025-12-11T10:33:" + String.format("%02d", i % 60) + ".946+05:30 " + level
+                        + " 12345 --- [http-nio-8080-exec-" + (i % 10) + "] [com.yash.app.Service] com.yash.app.Service"
+                        + " : Processing request " + i + " java.lang.NullPointerException: value was null");
+                writer.newLine();
+            }
+        }
+        parser = new ParallelLogParser(threads, 4 * 1024 * 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        parser.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void parallelParser(Blackhole blackhole) throws IOException {
+        parser.parse(file, line -> {
+            Matcher matcher = LOG_PATTERN.matcher(line);
+            return matcher.find() ? matcher.group(4) : null;
+        }, blackhole::consume);
+    }
+
+    @Benchmark
+    public void bufferedReaderBaseline(Blackhole blackhole) throws IOException {
+        if (threads != 1) {
+            // the baseline is single threaded, one run is enough
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = LOG_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    blackhole.consume(matcher.group(4));
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ParallelLogParserBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
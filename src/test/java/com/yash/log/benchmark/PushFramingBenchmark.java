@@ -0,0 +1,89 @@
+package com.yash.log.benchmark;
+
+import com.yash.log.ingestion.PushBatcher;
+import com.yash.log.ingestion.PushFrameDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lines/sec of what a push reader thread does before the queue: PushFrameDecoder
+// splitting a TCP stream read in socket-sized pieces, and PushBatcher cutting the
+// lines into blocks. Newline framing is plain lines; octet framing is RFC 6587
+// with an RFC 5424 header on every message, as rsyslog sends it. Shedding is off,
+// so every line is copied into a block. One op is the whole stream, so
+// lines/sec = score * the lines per op printed at the start of the trial.
+//
+// mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+// java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.yash.log.benchmark.PushFramingBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PushFramingBenchmark {
+
+    private static final int LINES = 100_000;
+
+    @Param({"newline", "octet"})
+    public String framing;
+
+    // a socket read
+    @Param({"65536"})
+    public int readBytes;
+
+    // listener.block-bytes
+    @Param({"262144"})
+    public int blockBytes;
+
+    private byte[] stream;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < LINES; i++) {
+            String level = i % 20 == 0 ? "ERROR" : (i % 3 == 0 ? "DEBUG" : "INFO");
+            String line = "2025-12-11T10:33:" + String.format("%02d", i % 60) + ".946+05:30 " + level
+                    + " 12345 --- [http-nio-8080-exec-" + (i % 10) + "] [com.yash.app.service.OrderService] "
+                    + "com.yash.app.service.OrderService : Processing order " + i + " for customer 42";
+            if (framing.equals("octet")) {
+                String message = "<11>1 2025-12-11T10:33:00.946+05:30 app-host order-service 12345 - - " + line;
+                byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+                out.writeBytes((bytes.length + " ").getBytes(StandardCharsets.US_ASCII));
+                out.writeBytes(bytes);
+            } else {
+                out.writeBytes((line + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        stream = out.toByteArray();
+        System.out.println("lines per op: " + LINES + ", bytes per op: " + stream.length);
+    }
+
+    @Benchmark
+    public void decodeAndBatch(Blackhole blackhole) {
+        LongAdder received = new LongAdder();
+        PushBatcher batcher = new PushBatcher(blockBytes, () -> false, blackhole::consume, received, new LongAdder());
+        PushFrameDecoder decoder = new PushFrameDecoder(64 * 1024);
+        for (int from = 0; from < stream.length; from += readBytes) {
+            decoder.feed(stream, from, Math.min(from + readBytes, stream.length), batcher);
+        }
+        decoder.finish(batcher);
+        batcher.finish();
+        blackhole.consume(received.sum());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PushFramingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,133 @@
+package com.yash.log.benchmark;
+
+import com.yash.log.config.ClassifierProperties;
+import com.yash.log.config.JsonFormatProperties;
+import com.yash.log.entity.Log;
+import com.yash.log.ingestion.ErrorTypeClassifier;
+import com.yash.log.ingestion.EventDeduplicator;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.ingestion.ParallelLogParser;
+import com.yash.log.ingestion.format.JsonLogFormat;
+import com.yash.log.ingestion.format.Log4j2LogFormat;
+import com.yash.log.ingestion.format.LogFormat;
+import com.yash.log.ingestion.format.LogFormatRegistry;
+import com.yash.log.ingestion.format.NginxAccessLogFormat;
+import com.yash.log.ingestion.format.NginxErrorLogFormat;
+import com.yash.log.ingestion.format.SpringBootLogFormat;
+import com.yash.log.mapper.LogMapper;
+import com.yash.log.repository.ErrorLogRepository;
+import com.yash.log.repository.IngestedFileRepository;
+import com.yash.log.service.impl.LogFileServiceImpl;
+import com.yash.log.service.services.IngestionReportService;
+import com.yash.log.service.services.LogFileService;
+import com.yash.log.service.services.LogSearchIndexService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Lines/sec of a push worker draining blocks as PushBatcher cuts them: a
+// pipeline and format detection per block (ingestText) versus one pipeline and
+// the connection's format for every block (openText). The database is a mock
+// that accepts every batch, so this is the cost of parsing and the pipeline;
+// after the first op the dedup filter drops the rows as repeats in both cases.
+// One op ingests every block, so lines/sec = score * the lines per op printed
+// at the start of the trial.
+//
+// mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+// java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.yash.log.benchmark.PushIngestionBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PushIngestionBenchmark {
+
+    // listener.block-bytes
+    @Param({"262144"})
+    public int blockBytes;
+
+    @Param({"40"})
+    public int blocks;
+
+    private final List<byte[]> data = new ArrayList<>();
+    private LogFileServiceImpl service;
+    private ParallelLogParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ErrorLogRepository repository = mock(ErrorLogRepository.class);
+        when(repository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        LogMapper mapper = mock(LogMapper.class);
+        when(mapper.toEntity(any())).thenAnswer(invocation -> new Log());
+        JsonFormatProperties json = new JsonFormatProperties();
+        LogFormatRegistry formats = new LogFormatRegistry(List.of(new SpringBootLogFormat(), new Log4j2LogFormat(),
+                new JsonLogFormat(json), new NginxErrorLogFormat(), new NginxAccessLogFormat()), json, 50);
+        parser = new ParallelLogParser(1, 4 * 1024 * 1024);
+        service = new LogFileServiceImpl(repository, mapper, parser, new ErrorTypeClassifier(new ClassifierProperties()),
+                new EventDeduplicator(1_000_000, 0.01), mock(IngestedFileRepository.class), formats,
+                mock(IngestionReportService.class), mock(LogSearchIndexService.class));
+        fillBlocks();
+    }
+
+    private void fillBlocks() {
+        int lines = 0;
+        for (int b = 0; b < blocks; b++) {
+            StringBuilder block = new StringBuilder(blockBytes + 256);
+            while (block.length() < blockBytes) {
+                block.append("2025-12-11T10:33:").append(String.format("%02d", lines % 60))
+                        .append(".946+05:30 ERROR 12345 --- [http-nio-8080-exec-").append(lines % 10)
+                        .append("] [com.yash.app.Service] com.yash.app.Service : Request ").append(lines)
+                        .append(" failed java.lang.NullPointerException: value was null\n");
+                lines++;
+            }
+            data.add(block.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        System.out.println("Lines per op: " + lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parser.shutdown();
+    }
+
+    @Benchmark
+    public void pipelinePerBlock() throws IOException {
+        IngestionJob job = new IngestionJob("push", "push", 0);
+        for (byte[] block : data) {
+            service.ingestText(new ByteArrayInputStream(block), job);
+        }
+    }
+
+    @Benchmark
+    public void pipelinePerWorker() throws IOException {
+        IngestionJob job = new IngestionJob("push", "push", 0);
+        try (LogFileService.TextIngestion text = service.openText(job)) {
+            LogFormat format = null;
+            for (byte[] block : data) {
+                format = text.ingest(new ByteArrayInputStream(block), format);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PushIngestionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
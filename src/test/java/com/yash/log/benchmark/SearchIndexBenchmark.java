@@ -0,0 +1,141 @@
+package com.yash.log.benchmark;
+
+import com.yash.log.search.DocIterator;
+import com.yash.log.search.FullTextIndex;
+import com.yash.log.search.SearchQuery;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Time for the ids of a first page (100) from FullTextIndex.search, the part of
+// GET /api/logs?search= before the rows are read by primary key. The index
+// holds `docs` rows written in segments of search.index.max-buffered-docs and
+// merged down to search.index.max-segments, as the service does. time_stamp
+// rises with the id over 30 days and one row in fifty arrived up to an hour
+// late. A query is a rare term, a common one, a phrase or a prefix, on all
+// rows, the last day or the first day; the first day is where the time table
+// matters, the newest 29 days of matches lie before it. The score percentiles
+// (p0.50, p0.99) are the latency.
+//
+// mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+// java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.yash.log.benchmark.SearchIndexBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class SearchIndexBenchmark {
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final long START_MILLIS = 1_765_411_200_000L;
+    private static final int PAGE = 100;
+
+    @Param({"2000000"})
+    public int docs;
+
+    @Param({"deadlock", "timed", "\"read timed out\"", "socket*"})
+    public String query;
+
+    @Param({"all", "lastDay", "firstDay"})
+    public String range;
+
+    private Path dir;
+    private FullTextIndex index;
+    private SearchQuery parsed;
+    private long from;
+    private long to;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("search-index-benchmark");
+        index = FullTextIndex.open(dir, 1024);
+        Random random = new Random(42);
+        long step = 30 * DAY_MILLIS / docs;
+        for (int id = 1; id <= docs; id++) {
+            long timeStamp = START_MILLIS + id * step;
+            if (random.nextInt(50) == 0) {
+                timeStamp -= random.nextInt(60 * 60 * 1000);
+            }
+            String[] row = row(id, random);
+            index.add(id, timeStamp, timeStamp, row);
+            if (id % 50_000 == 0) {
+                index.flush();
+                while (index.merge(10, 1024L * 1024 * 1024)) {
+                    // down to max-segments like the background merge
+                }
+            }
+        }
+        index.flush();
+        while (index.merge(10, 1024L * 1024 * 1024)) {
+            // down to max-segments like the background merge
+        }
+        parsed = SearchQuery.parse(query);
+        long last = START_MILLIS + (long) docs * step;
+        switch (range) {
+            case "lastDay" -> {
+                from = last - DAY_MILLIS;
+                to = last;
+            }
+            case "firstDay" -> {
+                from = START_MILLIS;
+                to = START_MILLIS + DAY_MILLIS;
+            }
+            default -> {
+                from = FullTextIndex.MIN_TIME;
+                to = FullTextIndex.MAX_TIME;
+            }
+        }
+        System.out.println("segments: " + index.getSegments().size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void firstPage(Blackhole blackhole) {
+        DocIterator ids = index.search(parsed, from, to);
+        int found = 0;
+        for (long id = ids.next(); id != DocIterator.NO_MORE_DOCS && found < PAGE; id = ids.next()) {
+            blackhole.consume(id);
+            found++;
+        }
+    }
+
+    // errorType, source and errorMessage; "Deadlock" in one row of a thousand, "timed" in one of five
+    private static String[] row(int id, Random random) {
+        String source = "service-" + random.nextInt(40);
+        return switch (random.nextInt(1000)) {
+            case 0 -> new String[]{"Database Error", source, "Deadlock found when trying to get lock; order " + id};
+            case 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 -> new String[]{"Network Timeout Error", source,
+                    "java.net.SocketTimeoutException: Read timed out after " + random.nextInt(30_000) + " ms"};
+            default -> random.nextInt(5) == 0
+                    ? new String[]{"Network Timeout Error", source, "Connect to db-" + random.nextInt(20)
+                    + ":3306 timed out, retry " + random.nextInt(5)}
+                    : new String[]{"Other", source, "Processing order " + id + " for customer "
+                    + random.nextInt(100_000) + " failed: status " + (400 + random.nextInt(100))};
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SearchIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
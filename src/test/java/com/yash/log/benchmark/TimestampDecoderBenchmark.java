@@ -0,0 +1,62 @@
+package com.yash.log.benchmark;
+
+import com.yash.log.ingestion.TimestampDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// LocalDateTime.parse with ISO_OFFSET_DATE_TIME versus TimestampDecoder on
+// Spring Boot timestamps. linesPerSecond is how many consecutive lines share
+// a second: 1 always misses the decoder's cache, 50 is a busy service.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimestampDecoderBenchmark {
+
+    @Param({"1", "50"})
+    private int linesPerSecond;
+
+    private final TimestampDecoder decoder = TimestampDecoder.isoOffsetDateTime();
+    private String[] timestamps;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        timestamps = new String[1024];
+        for (int i = 0; i < timestamps.length; i++) {
+            int second = i / linesPerSecond;
+            timestamps[i] = String.format("2025-12-11T10:%02d:%02d.%03d+05:30", second / 60 % 60, second % 60, i % 1000);
+        }
+    }
+
+    private String nextTimestamp() {
+        next = (next + 1) & (timestamps.length - 1);
+        return timestamps[next];
+    }
+
+    @Benchmark
+    public LocalDateTime formatter() {
+        return LocalDateTime.parse(nextTimestamp(), DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    @Benchmark
+    public LocalDateTime decoder() {
+        return decoder.decode(nextTimestamp());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TimestampDecoderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
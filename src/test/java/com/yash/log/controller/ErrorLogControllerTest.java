@@ -1,10 +1,21 @@
 package com.yash.log.controller;
+import com.yash.log.constants.IngestionStatus;
+import com.yash.log.dto.ClassifierStatsDto;
+import com.yash.log.dto.IngestionJobDto;
 import com.yash.log.dto.LogDTO;
+import com.yash.log.dto.LogPageDto;
+import com.yash.log.dto.LogPartitionDto;
+import com.yash.log.dto.RetentionRunDto;
+import com.yash.log.dto.PipelineStageStatsDto;
+import com.yash.log.dto.PushListenerStatsDto;
+import com.yash.log.dto.UploadSessionDto;
+import com.yash.log.entity.IngestionReport;
 import com.yash.log.entity.Log;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import com.yash.log.dto.DailyErrorCountDto;
 import com.yash.log.dto.ErrorCategoryStatDto;
 import com.yash.log.entity.User;
@@ -17,7 +28,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.yash.log.service.impl.LogFileServiceImpl;
+import com.yash.log.ingestion.ErrorTypeClassifier;
+import com.yash.log.ingestion.format.LogFormatRegistry;
+import com.yash.log.service.services.ChunkedUploadService;
+import com.yash.log.service.services.IngestionJobService;
+import com.yash.log.service.services.IngestionReportService;
+import com.yash.log.service.services.LogPartitionService;
+import com.yash.log.service.services.LogRetentionService;
+import com.yash.log.service.services.LogService;
+import com.yash.log.service.services.LogTailService;
+import com.yash.log.service.services.PushListenerService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.http.HttpStatus;
@@ -27,11 +50,16 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.multipart.MultipartFile;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +75,36 @@ class ErrorLogControllerTest {
     @Mock
     private IUserRepository userRepository;
 
+    @Mock
+    private IngestionJobService ingestionJobService;
+
+    @Mock
+    private ErrorTypeClassifier errorTypeClassifier;
+
+    @Mock
+    private ChunkedUploadService chunkedUploadService;
+
+    @Mock
+    private LogTailService logTailService;
+
+    @Mock
+    private PushListenerService pushListenerService;
+
+    @Mock
+    private LogFormatRegistry logFormatRegistry;
+
+    @Mock
+    private IngestionReportService ingestionReportService;
+
+    @Mock
+    private LogPartitionService logPartitionService;
+
+    @Mock
+    private LogRetentionService logRetentionService;
+
+    @Mock
+    private LogService logService;
+
 
     @BeforeEach
     void setUp() {
@@ -69,13 +127,24 @@ class ErrorLogControllerTest {
                 "sample log content".getBytes()
         );
 
-        doNothing().when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class));
+        doNothing().when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class), any(), any());
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Logs uploaded and saved successfully!", response.getBody());
-        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(validFile);
+        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(validFile, null, null);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"app.log.gz", "logs.tar.gz", "logs.TGZ", "logs.tar", "bundle.zip"})
+    void uploadLogFile_Archive_IsAccepted(String fileName) throws IOException {
+        MultipartFile archive = new MockMultipartFile("file", fileName, "application/octet-stream", new byte[]{1});
+
+        ResponseEntity<String> response = errorLogController.uploadLogFile(archive, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(logFileServiceImpl).parseAndSaveLogs(archive, null, null);
     }
 
     @Test
@@ -88,11 +157,11 @@ class ErrorLogControllerTest {
                 "invalid content".getBytes()
         );
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(invalidFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(invalidFile, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertTrue(response.getBody().contains("Invalid file type"));
-        verify(logFileServiceImpl, never()).parseAndSaveLogs(any());
+        verify(logFileServiceImpl, never()).parseAndSaveLogs(any(), any(), any());
     }
 
     @Test
@@ -106,11 +175,11 @@ class ErrorLogControllerTest {
                 largeContent
         );
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(largeFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(largeFile, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertTrue(response.getBody().contains("File too large"));
-        verify(logFileServiceImpl, never()).parseAndSaveLogs(any());
+        verify(logFileServiceImpl, never()).parseAndSaveLogs(any(), any(), any());
     }
 
     // ========== Tests for saveManualError ==========
@@ -185,11 +254,11 @@ class ErrorLogControllerTest {
                 new byte[0]
         );
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(emptyFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(emptyFile, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertTrue(response.getBody().contains("No file provided or file is empty"));
-        verify(logFileServiceImpl, never()).parseAndSaveLogs(any());
+        verify(logFileServiceImpl, never()).parseAndSaveLogs(any(), any(), any());
     }
 
     @Test
@@ -202,11 +271,11 @@ class ErrorLogControllerTest {
                 "content".getBytes()
         );
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(nullNameFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(nullNameFile, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertTrue(response.getBody().contains("Filename is missing"));
-        verify(logFileServiceImpl, never()).parseAndSaveLogs(any());
+        verify(logFileServiceImpl, never()).parseAndSaveLogs(any(), any(), any());
     }
 
     @Test
@@ -219,11 +288,11 @@ class ErrorLogControllerTest {
                 "content".getBytes()
         );
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(emptyNameFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(emptyNameFile, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertTrue(response.getBody().contains("Filename is missing"));
-        verify(logFileServiceImpl, never()).parseAndSaveLogs(any());
+        verify(logFileServiceImpl, never()).parseAndSaveLogs(any(), any(), any());
     }
 
     @Test
@@ -236,11 +305,11 @@ class ErrorLogControllerTest {
                 "content".getBytes()
         );
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(whitespaceNameFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(whitespaceNameFile, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertTrue(response.getBody().contains("Filename is missing"));
-        verify(logFileServiceImpl, never()).parseAndSaveLogs(any());
+        verify(logFileServiceImpl, never()).parseAndSaveLogs(any(), any(), any());
     }
 
     @Test
@@ -253,13 +322,13 @@ class ErrorLogControllerTest {
                 "sample log content".getBytes()
         );
 
-        doNothing().when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class));
+        doNothing().when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class), any(), any());
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Logs uploaded and saved successfully!", response.getBody());
-        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(validFile);
+        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(validFile, null, null);
     }
 
     @Test
@@ -272,13 +341,13 @@ class ErrorLogControllerTest {
                 "sample log content".getBytes()
         );
 
-        doNothing().when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class));
+        doNothing().when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class), any(), any());
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Logs uploaded and saved successfully!", response.getBody());
-        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(validFile);
+        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(validFile, null, null);
     }
 
     @Test
@@ -292,13 +361,13 @@ class ErrorLogControllerTest {
                 exactSizeContent
         );
 
-        doNothing().when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class));
+        doNothing().when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class), any(), any());
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(exactSizeFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(exactSizeFile, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Logs uploaded and saved successfully!", response.getBody());
-        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(exactSizeFile);
+        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(exactSizeFile, null, null);
     }
 
     @Test
@@ -307,11 +376,11 @@ class ErrorLogControllerTest {
         // Note: In actual Spring MVC, @RequestParam will reject null before reaching controller
         // So this might not be reachable in real scenarios, but we test it anyway
 
-        ResponseEntity<String> response = errorLogController.uploadLogFile(null);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(null, null, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertTrue(response.getBody().contains("No file provided or file is empty"));
-        verify(logFileServiceImpl, never()).parseAndSaveLogs(any());
+        verify(logFileServiceImpl, never()).parseAndSaveLogs(any(), any(), any());
     }
 
 //    @Test
@@ -383,62 +452,72 @@ class ErrorLogControllerTest {
         );
 
         doThrow(new RuntimeException("Service error"))
-                .when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class));
+                .when(logFileServiceImpl).parseAndSaveLogs(any(MultipartFile.class), any(), any());
 
         // Act
-        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile);
+        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile, null, null);
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertTrue(response.getBody().contains("Service error"));
-        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(validFile);
+        verify(logFileServiceImpl, times(1)).parseAndSaveLogs(validFile, null, null);
     }
 
 
 
     @Test
-    void getAllLogs_ReturnsListOfLogs() {
+    void getAllLogs_ReturnsOnePageOfLogs() {
         // Arrange
-        List<Log> mockLogs = List.of(new Log(), new Log());
-        when(logFileServiceImpl.getAllLogs()).thenReturn(mockLogs);
+        LogPageDto page = new LogPageDto(List.of(new Log(), new Log()), "next");
+        when(logService.listLogs(null, null, null)).thenReturn(page);
 
         // Act
-        ResponseEntity<List<Log>> response = errorLogController.getAllLogs();
+        ResponseEntity<?> response = errorLogController.getAllLogs(null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().size());
-        verify(logFileServiceImpl, times(1)).getAllLogs();
+        assertSame(page, response.getBody());
+        verify(logService, times(1)).listLogs(null, null, null);
+    }
+
+    @Test
+    void getAllLogs_PassesCursorAndSize() {
+        LogPageDto page = new LogPageDto(List.of(new Log()), null);
+        when(logService.listLogs(null, "abc", 20)).thenReturn(page);
+
+        ResponseEntity<?> response = errorLogController.getAllLogs("abc", 20);
+
+        assertSame(page, response.getBody());
     }
 
     @Test
     void getAll_NoLastDays_ReturnsAllLogs() {
         // Arrange
-        List<Log> mockLogs = List.of(new Log(), new Log(), new Log());
-        when(logFileServiceImpl.getAllLogs()).thenReturn(mockLogs);
+        LogPageDto page = new LogPageDto(List.of(new Log(), new Log(), new Log()), null);
+        when(logService.listLogs(null, null, null)).thenReturn(page);
 
         // Act
-        List<Log> result = errorLogController.getAll(null);
+        ResponseEntity<?> result = errorLogController.getAll(null, null, null);
 
         // Assert
-        assertEquals(3, result.size());
-        verify(logFileServiceImpl, times(1)).getAllLogs();
-        verify(logFileServiceImpl, never()).getLogsLastNDays(anyInt());
+        assertEquals(3, ((LogPageDto) result.getBody()).getLogs().size());
+        verify(logService, times(1)).listLogs(null, null, null);
     }
 
     @Test
     void getAll_WithLastDays_ReturnsFilteredLogs() {
         // Arrange
-        List<Log> mockLogs = List.of(new Log());
-        when(logFileServiceImpl.getLogsLastNDays(7)).thenReturn(mockLogs);
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
+        when(logService.listLogs(any(LocalDateTime.class), eq("abc"), eq(50)))
+                .thenReturn(new LogPageDto(List.of(new Log()), null));
 
         // Act
-        List<Log> result = errorLogController.getAll(7);
+        ResponseEntity<?> result = errorLogController.getAll(7, "abc", 50);
 
         // Assert
-        assertEquals(1, result.size());
-        verify(logFileServiceImpl, times(1)).getLogsLastNDays(7);
-        verify(logFileServiceImpl, never()).getAllLogs();
+        assertEquals(1, ((LogPageDto) result.getBody()).getLogs().size());
+        verify(logService).listLogs(argThat(since -> !since.isBefore(before)
+                && !since.isAfter(LocalDateTime.now().minusDays(7))), eq("abc"), eq(50));
     }
 
     @Test
@@ -506,20 +585,22 @@ class ErrorLogControllerTest {
 
     @Test
     void getAllLogs_ShouldThrowException_WhenServiceFails() {
-        when(logFileServiceImpl.getAllLogs())
+        when(logService.listLogs(null, null, null))
                 .thenThrow(new RuntimeException("DB failed"));
 
         assertThrows(RuntimeException.class,
-                () -> errorLogController.getAllLogs());
+                () -> errorLogController.getAllLogs(null, null));
     }
 
     @Test
-    void getAll_ShouldThrowException_WhenInvalidLastDays() {
-        when(logFileServiceImpl.getLogsLastNDays(5))
-                .thenThrow(new IllegalArgumentException("Invalid days"));
+    void getAll_ShouldReturnBadRequest_WhenCursorIsInvalid() {
+        when(logService.listLogs(null, "bad", null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        ResponseEntity<?> result = errorLogController.getAll(null, "bad", null);
 
-        assertThrows(IllegalArgumentException.class,
-                () -> errorLogController.getAll(5));
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        assertEquals("Invalid cursor: bad", result.getBody());
     }
 
     @Test
@@ -757,4 +838,283 @@ void saveManualError_EmptyMessage_ReturnsBadRequest() {
         verify(logFileServiceImpl, times(1)).saveManualError(any(LogDTO.class));
     }
 
-}
\ No newline at end of file
+
+    // ========== Tests for async upload ==========
+
+    @Test
+    void uploadLogFileAsync_ValidFile_ReturnsAcceptedWithJob() throws IOException {
+        MultipartFile validFile = new MockMultipartFile("file", "test.log", "text/plain", "content".getBytes());
+        IngestionJobDto job = new IngestionJobDto();
+        job.setJobId("job-1");
+        job.setStatus(IngestionStatus.QUEUED);
+        when(ingestionJobService.submit(validFile, null, null)).thenReturn(job);
+
+        ResponseEntity<?> response = errorLogController.uploadLogFileAsync(validFile, null, null);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertSame(job, response.getBody());
+        verifyNoInteractions(logFileServiceImpl);
+    }
+
+    @Test
+    void uploadLogFileAsync_InvalidFileType_ReturnsBadRequest() throws IOException {
+        MultipartFile invalidFile = new MockMultipartFile("file", "test.invalid", "text/plain", "content".getBytes());
+
+        ResponseEntity<?> response = errorLogController.uploadLogFileAsync(invalidFile, null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(ingestionJobService, never()).submit(any(), any(), any());
+    }
+
+    @Test
+    void uploadLogFileAsync_QueueFull_ReturnsServiceUnavailable() throws IOException {
+        MultipartFile validFile = new MockMultipartFile("file", "test.log", "text/plain", "content".getBytes());
+        when(ingestionJobService.submit(validFile, null, null)).thenThrow(new RejectedExecutionException("full"));
+
+        ResponseEntity<?> response = errorLogController.uploadLogFileAsync(validFile, null, null);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+
+    @Test
+    void uploadLogFileAsync_WithFormat_PassesItToTheJob() throws IOException {
+        MultipartFile validFile = new MockMultipartFile("file", "access.log", "text/plain", "content".getBytes());
+        IngestionJobDto job = new IngestionJobDto();
+        job.setFormat("nginx-access");
+        when(ingestionJobService.submit(validFile, null, "nginx-access")).thenReturn(job);
+
+        ResponseEntity<?> response = errorLogController.uploadLogFileAsync(validFile, null, "nginx-access");
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        verify(logFormatRegistry).get("nginx-access");
+    }
+
+    @Test
+    void uploadLogFile_UnknownFormat_ReturnsBadRequest() throws IOException {
+        MultipartFile validFile = new MockMultipartFile("file", "test.log", "text/plain", "content".getBytes());
+        when(logFormatRegistry.get("syslog"))
+                .thenThrow(new IllegalArgumentException("Unknown log format 'syslog'"));
+
+        ResponseEntity<String> response = errorLogController.uploadLogFile(validFile, null, "syslog");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("syslog"));
+        verify(logFileServiceImpl, never()).parseAndSaveLogs(any(), any(), any());
+    }
+
+    @Test
+    void getLogFormats_ListsRegisteredFormats() {
+        when(logFormatRegistry.getNames()).thenReturn(Set.of("spring-boot", "json"));
+
+        assertEquals(Set.of("spring-boot", "json"), errorLogController.getLogFormats());
+    }
+
+    @Test
+    void getIngestionJob_UnknownId_ReturnsNotFound() {
+        when(ingestionJobService.getJob("missing")).thenReturn(Optional.empty());
+
+        ResponseEntity<IngestionJobDto> response = errorLogController.getIngestionJob("missing");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void getTailedFiles_ReturnsTailerProgress() {
+        IngestionJobDto tailed = new IngestionJobDto();
+        tailed.setFileName("/var/log/app/app.log");
+        when(logTailService.getTailedFiles()).thenReturn(List.of(tailed));
+
+        assertEquals(List.of(tailed), errorLogController.getTailedFiles());
+    }
+
+    @Test
+    void getPushListenerStats_ReturnsListenerCounters() {
+        PushListenerStatsDto stats = new PushListenerStatsDto();
+        stats.setLinesShed(42);
+        when(pushListenerService.getStats()).thenReturn(stats);
+
+        assertSame(stats, errorLogController.getPushListenerStats());
+    }
+
+    @Test
+    void getClassifierStats_ReturnsClassifierCounters() {
+        ClassifierStatsDto stats = new ClassifierStatsDto(90, 10, 0, 10, 10000, 0.9);
+        when(errorTypeClassifier.getStats()).thenReturn(stats);
+
+        assertSame(stats, errorLogController.getClassifierStats());
+    }
+
+    @Test
+    void getIngestionJobReport_Stored_ReturnsReport() {
+        IngestionReport report = new IngestionReport();
+        report.setJobId("job-1");
+        report.setLinesUnparseable(3);
+        when(ingestionReportService.getReportForJob("job-1")).thenReturn(Optional.of(report));
+
+        ResponseEntity<IngestionReport> response = errorLogController.getIngestionJobReport("job-1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(report, response.getBody());
+    }
+
+    @Test
+    void getIngestionReport_Unknown_ReturnsNotFound() {
+        when(ingestionReportService.getReport(42L)).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.NOT_FOUND, errorLogController.getIngestionReport(42L).getStatusCode());
+    }
+
+    @Test
+    void getIngestionReports_PassesFilters() {
+        LocalDateTime from = LocalDateTime.of(2025, 12, 1, 0, 0);
+        IngestionReport report = new IngestionReport();
+        when(ingestionReportService.findReports("app.log", IngestionStatus.FAILED, from, null, 10))
+                .thenReturn(List.of(report));
+
+        assertEquals(List.of(report),
+                errorLogController.getIngestionReports("app.log", IngestionStatus.FAILED, from, null, 10));
+    }
+
+    @Test
+    void getPipelineStats_ReturnsStageCounters() {
+        PipelineStageStatsDto persist = new PipelineStageStatsDto();
+        persist.setStage("persist");
+        persist.setQueueDepth(3);
+        when(logFileServiceImpl.getPipelineStats()).thenReturn(List.of(persist));
+
+        assertEquals(List.of(persist), errorLogController.getPipelineStats());
+    }
+
+    @Test
+    void getPartitions_ReturnsLogTablePartitions() {
+        LogPartitionDto today = new LogPartitionDto("p20251211", LocalDateTime.of(2025, 12, 12, 0, 0), 42);
+        when(logPartitionService.getPartitions()).thenReturn(List.of(today));
+
+        assertEquals(List.of(today), errorLogController.getPartitions());
+    }
+
+    @Test
+    void partitionTable_ReturnsTheNewPartitions() {
+        LogPartitionDto today = new LogPartitionDto("p20251211", LocalDateTime.of(2025, 12, 12, 0, 0), 0);
+        when(logPartitionService.partitionTable(any(LocalDate.class))).thenReturn(List.of(today));
+
+        ResponseEntity<?> response = errorLogController.partitionTable();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(today), response.getBody());
+    }
+
+    @Test
+    void partitionTable_AlreadyPartitioned_ReturnsConflict() {
+        when(logPartitionService.partitionTable(any(LocalDate.class)))
+                .thenThrow(new IllegalStateException("The log table is partitioned already"));
+
+        ResponseEntity<?> response = errorLogController.partitionTable();
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("The log table is partitioned already", response.getBody());
+    }
+
+    @Test
+    void runRetention_ReturnsWhatWasRemoved() throws IOException {
+        RetentionRunDto run = new RetentionRunDto();
+        run.setRowsDeleted(12);
+        when(logRetentionService.purge(any(LocalDateTime.class))).thenReturn(run);
+
+        ResponseEntity<?> response = errorLogController.runRetention();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(run, response.getBody());
+    }
+
+    @Test
+    void restoreRetentionArchive_Unknown_ReturnsNotFound() throws IOException {
+        when(logRetentionService.restore("nope.ndjson.gz")).thenThrow(new IllegalArgumentException("No archive named nope.ndjson.gz"));
+
+        ResponseEntity<?> response = errorLogController.restoreRetentionArchive("nope.ndjson.gz");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void startChunkedUpload_ValidName_ReturnsCreatedSession() throws IOException {
+        UploadSessionDto session = new UploadSessionDto();
+        session.setUploadId("upload-1");
+        when(chunkedUploadService.start("huge.log.gz", 5_000_000_000L, null, null, null)).thenReturn(session);
+
+        ResponseEntity<?> response = errorLogController.startChunkedUpload("huge.log.gz", 5_000_000_000L, null, null, null);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertSame(session, response.getBody());
+    }
+
+    @Test
+    void startChunkedUpload_WithFormat_PassesItToTheUpload() throws IOException {
+        UploadSessionDto session = new UploadSessionDto();
+        session.setFormat("nginx-access");
+        when(chunkedUploadService.start("access.log", 1000, null, null, "nginx-access")).thenReturn(session);
+
+        ResponseEntity<?> response = errorLogController.startChunkedUpload("access.log", 1000, null, null, "nginx-access");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verify(logFormatRegistry).get("nginx-access");
+    }
+
+    @Test
+    void startChunkedUpload_UnknownFormat_ReturnsBadRequest() throws IOException {
+        when(logFormatRegistry.get("syslog"))
+                .thenThrow(new IllegalArgumentException("Unknown log format 'syslog'"));
+
+        ResponseEntity<?> response = errorLogController.startChunkedUpload("app.log", 1000, null, null, "syslog");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(chunkedUploadService, never()).start(any(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void startChunkedUpload_InvalidName_ReturnsBadRequest() throws IOException {
+        ResponseEntity<?> response = errorLogController.startChunkedUpload("huge.exe", 100, null, null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().toString().contains("Invalid file type"));
+        verify(chunkedUploadService, never()).start(any(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void putUploadChunk_StoresChunk() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[]{1, 2, 3});
+        UploadSessionDto session = new UploadSessionDto();
+        when(chunkedUploadService.putChunk("upload-1", 0, body)).thenReturn(session);
+
+        ResponseEntity<?> response = errorLogController.putUploadChunk("upload-1", 0, body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(session, response.getBody());
+    }
+
+    @Test
+    void putUploadChunk_UnknownUpload_ReturnsNotFound() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(chunkedUploadService.putChunk("missing", 0, body)).thenThrow(new NoSuchElementException("Unknown upload missing"));
+
+        assertEquals(HttpStatus.NOT_FOUND, errorLogController.putUploadChunk("missing", 0, body).getStatusCode());
+    }
+
+    @Test
+    void completeChunkedUpload_MissingChunks_ReturnsConflict() {
+        when(chunkedUploadService.complete("upload-1")).thenThrow(new IllegalStateException("Upload is missing chunks [3]"));
+
+        ResponseEntity<?> response = errorLogController.completeChunkedUpload("upload-1");
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Upload is missing chunks [3]", response.getBody());
+    }
+
+    @Test
+    void completeChunkedUpload_QueueFull_ReturnsServiceUnavailable() {
+        when(chunkedUploadService.complete("upload-1")).thenThrow(new RejectedExecutionException("full"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, errorLogController.completeChunkedUpload("upload-1").getStatusCode());
+    }
+
+}
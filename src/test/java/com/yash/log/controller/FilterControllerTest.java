@@ -1,17 +1,30 @@
 package com.yash.log.controller;
 
+import com.yash.log.constants.ExportFormat;
+import com.yash.log.dto.LogPageDto;
+import com.yash.log.dto.SearchIndexStatsDto;
 import com.yash.log.entity.Log;
+import com.yash.log.service.services.LogExportService;
+import com.yash.log.service.services.LogSearchIndexService;
 import com.yash.log.service.services.LogService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,6 +33,12 @@ class FilterControllerTest {
     @Mock
     private LogService service;
 
+    @Mock
+    private LogSearchIndexService logSearchIndexService;
+
+    @Mock
+    private LogExportService logExportService;
+
     @InjectMocks
     private FilterController controller;
 
@@ -31,14 +50,87 @@ class FilterControllerTest {
         log.setErrorMessage("Test message");
         log.setCreatedAt(LocalDateTime.now());
 
-        when(service.filterLogs(null, null, null))
-                .thenReturn(List.of(log));
+        when(service.filterLogs(null, null, null, null, null))
+                .thenReturn(new LogPageDto(List.of(log), "next"));
 
         // call controller method
-        List<Log> result = controller.getLogs(null, null, null);
+        ResponseEntity<?> result = controller.getLogs(null, null, null, null, null);
 
         // verify normal Java behavior
-        assertEquals(1, result.size());
-        assertEquals("Test message", result.get(0).getErrorMessage());
+        LogPageDto page = (LogPageDto) result.getBody();
+        assertEquals(1, page.getLogs().size());
+        assertEquals("Test message", page.getLogs().get(0).getErrorMessage());
+        assertEquals("next", page.getNextCursor());
+    }
+
+    @Test
+    void testGetLogs_passesDatesAndCursor() {
+        when(service.filterLogs("timeout", LocalDateTime.of(2025, 12, 1, 0, 0), LocalDateTime.of(2025, 12, 2, 23, 59, 59), "abc", 50))
+                .thenReturn(new LogPageDto(List.of(), null));
+
+        ResponseEntity<?> result = controller.getLogs("timeout", "2025-12-01", "2025-12-02", "abc", 50);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(0, ((LogPageDto) result.getBody()).getLogs().size());
+    }
+
+    @Test
+    void testGetLogs_badCursorIsABadRequest() {
+        when(service.filterLogs(null, null, null, "abc", null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: abc"));
+
+        ResponseEntity<?> result = controller.getLogs(null, null, null, "abc", null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @Test
+    void testExport_streamsTheFilteredRowsAsAnAttachment() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = controller.export("timeout", "2025-12-01", null, "CSV", true);
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.parseMediaType("application/gzip"), response.getHeaders().getContentType());
+        String disposition = response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION);
+        assertTrue(disposition.startsWith("attachment") && disposition.contains(".csv.gz"));
+        verify(logExportService).export("timeout", LocalDateTime.of(2025, 12, 1, 0, 0), null, ExportFormat.CSV, true, out);
+    }
+
+    @Test
+    void testExport_plainNdjsonByDefault() {
+        ResponseEntity<StreamingResponseBody> response = controller.export(null, null, null, "ndjson", false);
+
+        assertEquals(MediaType.parseMediaType("application/x-ndjson"), response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains(".ndjson\""));
+        verifyNoInteractions(logExportService);
+    }
+
+    @Test
+    void testExport_badFormatOrDateIsABadRequest() throws Exception {
+        ResponseEntity<StreamingResponseBody> badFormat = controller.export(null, null, null, "xml", false);
+        ResponseEntity<StreamingResponseBody> badDate = controller.export(null, "yesterday", null, "csv", false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        badFormat.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.BAD_REQUEST, badFormat.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, badDate.getStatusCode());
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("Invalid export request"));
+        verifyNoInteractions(logExportService);
+    }
+
+    @Test
+    void testRebuildIndex_AcceptedOnceThenConflict() {
+        SearchIndexStatsDto stats = new SearchIndexStatsDto();
+        when(logSearchIndexService.getStats()).thenReturn(stats);
+        when(logSearchIndexService.rebuild()).thenReturn(true, false);
+
+        ResponseEntity<SearchIndexStatsDto> started = controller.rebuildIndex();
+        ResponseEntity<SearchIndexStatsDto> running = controller.rebuildIndex();
+
+        assertEquals(HttpStatus.ACCEPTED, started.getStatusCode());
+        assertEquals(stats, started.getBody());
+        assertEquals(HttpStatus.CONFLICT, running.getStatusCode());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.yash.log.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdsTest {
+
+    private static final long NOW = TimeOrderedIds.EPOCH_MILLIS + 86_400_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Test
+    void next_SameMillisecond_CountsUpAndKeepsTheTime() {
+        TimeOrderedIds ids = new TimeOrderedIds(0, clock::get);
+
+        long first = ids.next();
+        long second = ids.next();
+
+        assertEquals(first + 1, second);
+        assertEquals(NOW, TimeOrderedIds.millisOf(first));
+        assertEquals(NOW, TimeOrderedIds.millisOf(second));
+    }
+
+    @Test
+    void next_LaterMillisecond_IsLargerAndStartsTheSequenceAgain() {
+        TimeOrderedIds ids = new TimeOrderedIds(0, clock::get);
+        long before = ids.next();
+        ids.next();
+
+        clock.incrementAndGet();
+        long after = ids.next();
+
+        assertTrue(after > before);
+        assertEquals(NOW + 1, TimeOrderedIds.millisOf(after));
+        assertEquals(0, after & ((1 << TimeOrderedIds.SEQUENCE_BITS) - 1));
+    }
+
+    @Test
+    void next_SequenceUsedUp_BorrowsTheNextMillisecond() {
+        TimeOrderedIds ids = new TimeOrderedIds(0, clock::get);
+
+        long[] batch = ids.next(1 << TimeOrderedIds.SEQUENCE_BITS);
+        long borrowed = ids.next();
+
+        assertEquals(NOW, TimeOrderedIds.millisOf(batch[batch.length - 1]));
+        assertEquals(NOW + 1, TimeOrderedIds.millisOf(borrowed));
+        assertTrue(borrowed > batch[batch.length - 1]);
+    }
+
+    @Test
+    void next_ClockStepsBack_StillGrows() {
+        TimeOrderedIds ids = new TimeOrderedIds(0, clock::get);
+        long before = ids.next();
+
+        clock.set(NOW - 60_000);
+
+        assertTrue(ids.next() > before);
+    }
+
+    @Test
+    void next_Block_IsAscending() {
+        TimeOrderedIds ids = new TimeOrderedIds(0, System::currentTimeMillis);
+
+        long[] block = ids.next(5000);
+
+        for (int i = 1; i < block.length; i++) {
+            assertTrue(block[i] > block[i - 1]);
+        }
+    }
+
+    @Test
+    void next_DifferentNodes_NeverCollide() {
+        TimeOrderedIds a = new TimeOrderedIds(1, clock::get);
+        TimeOrderedIds b = new TimeOrderedIds(2, clock::get);
+
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        for (long id : a.next(2000)) {
+            seen.add(id);
+        }
+        for (long id : b.next(2000)) {
+            assertTrue(seen.add(id));
+        }
+    }
+
+    @Test
+    void next_StaysJavaScriptSafe() {
+        TimeOrderedIds ids = new TimeOrderedIds(TimeOrderedIds.MAX_NODE, () -> TimeOrderedIds.EPOCH_MILLIS + (1L << 41) - 1);
+
+        assertTrue(ids.next() < (1L << 53));
+    }
+
+    @Test
+    void next_ConcurrentCallers_GetDistinctIds() throws Exception {
+        TimeOrderedIds ids = new TimeOrderedIds(0, System::currentTimeMillis);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        seen.add(ids.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(40_000, seen.size());
+    }
+
+    @Test
+    void setNode_OutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(TimeOrderedIds.MAX_NODE + 1, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(-1, clock::get));
+    }
+}
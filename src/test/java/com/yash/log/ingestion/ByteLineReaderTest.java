@@ -0,0 +1,68 @@
+package com.yash.log.ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteLineReaderTest {
+
+    @Test
+    void nextLine_SplitsLikeBufferedReader() throws IOException {
+        String content = "first\nsecond\r\n\nünïcödé line\nlast without newline";
+
+        assertEquals(readWithBufferedReader(content), readAll(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void nextLine_LinesLongerThanTheBuffer() throws IOException {
+        String longLine = "x".repeat(200_000);
+        String content = "short\n" + longLine + "\nafter\n";
+
+        assertEquals(List.of("short", longLine, "after"), readAll(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void nextLine_StreamReturningFewBytesAtATime() throws IOException {
+        byte[] bytes = "alpha\nbeta\r\ngamma".getBytes(StandardCharsets.UTF_8);
+        InputStream trickle = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+
+        List<String> lines = new ArrayList<>();
+        ByteLineReader reader = new ByteLineReader(trickle);
+        while (reader.nextLine()) {
+            lines.add(ByteLineReader.decode(reader.bytes(), reader.lineStart(), reader.lineEnd()).toString());
+        }
+        assertEquals(List.of("alpha", "beta", "gamma"), lines);
+    }
+
+    @Test
+    void nextLine_EmptyStream_HasNoLines() throws IOException {
+        assertFalse(new ByteLineReader(new ByteArrayInputStream(new byte[0])).nextLine());
+    }
+
+    private static List<String> readAll(byte[] bytes) throws IOException {
+        List<String> lines = new ArrayList<>();
+        ByteLineReader reader = new ByteLineReader(new ByteArrayInputStream(bytes));
+        while (reader.nextLine()) {
+            lines.add(ByteLineReader.decode(reader.bytes(), reader.lineStart(), reader.lineEnd()).toString());
+        }
+        return lines;
+    }
+
+    private static List<String> readWithBufferedReader(String content) throws IOException {
+        return new BufferedReader(new StringReader(content)).lines().toList();
+    }
+}
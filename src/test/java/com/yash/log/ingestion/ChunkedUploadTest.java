@@ -0,0 +1,140 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.constants.UploadStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedUploadTest {
+
+    private static final String CONTENT = "0123456789abcdefghij!";   // 21 bytes, chunks of 5
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void chunksInAnyOrderAndRetriedChunksGiveTheOriginalFile() throws Exception {
+        ChunkedUpload upload = upload(Duration.ofMinutes(1));
+
+        assertFalse(upload.writeChunk(4, chunk(4)));
+        assertFalse(upload.writeChunk(2, chunk(2)));
+        assertTrue(upload.writeChunk(0, chunk(0)));
+        assertTrue(upload.writeChunk(1, chunk(1)));
+        assertTrue(upload.writeChunk(3, chunk(3)));
+        assertFalse(upload.writeChunk(3, chunk(3)));   // resent after a dropped response
+        upload.complete();
+
+        try (InputStream in = upload.openStream()) {
+            assertEquals(CONTENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertFalse(Files.exists(dir.resolve("u.upload")));
+    }
+
+    @Test
+    void readerFollowsTheContiguousChunksWhileTheUploadIsRunning() throws Exception {
+        ChunkedUpload upload = upload(Duration.ofMinutes(1));
+        upload.writeChunk(0, chunk(0));
+        upload.writeChunk(2, chunk(2));
+        InputStream in = upload.openStream();
+
+        assertEquals("01234", new String(in.readNBytes(5), StandardCharsets.UTF_8));
+        CompletableFuture<String> rest = CompletableFuture.supplyAsync(() -> {
+            try {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        // chunk 1 is still missing, so chunk 2 must not be read yet
+        assertThrows(TimeoutException.class, () -> rest.get(200, TimeUnit.MILLISECONDS));
+
+        upload.writeChunk(1, chunk(1));
+        upload.writeChunk(3, chunk(3));
+        upload.writeChunk(4, chunk(4));
+        upload.complete();
+
+        assertEquals(CONTENT.substring(5), rest.get(5, TimeUnit.SECONDS));
+        in.close();
+    }
+
+    @Test
+    void missingChunksAreReportedAndBlockCompletion() throws Exception {
+        ChunkedUpload upload = upload(Duration.ofMinutes(1));
+        upload.writeChunk(1, chunk(1));
+        upload.writeChunk(3, chunk(3));
+
+        assertEquals(List.of(0, 2, 4), upload.missingChunks());
+        assertThrows(IllegalStateException.class, upload::complete);
+        assertEquals(5, upload.toDto().getChunkCount());
+        assertEquals(0, upload.toDto().getContiguousBytes());
+        upload.close();
+    }
+
+    @Test
+    void chunkOfTheWrongLengthIsNotMarkedReceived() throws Exception {
+        ChunkedUpload upload = upload(Duration.ofMinutes(1));
+
+        assertThrows(IllegalArgumentException.class, () -> upload.writeChunk(0, bytes("0123")));
+        assertThrows(IllegalArgumentException.class, () -> upload.writeChunk(0, bytes("012345")));
+        assertThrows(IllegalArgumentException.class, () -> upload.writeChunk(5, bytes("x")));
+        assertEquals(List.of(0, 1, 2, 3, 4), upload.missingChunks());
+
+        // the last chunk is the remainder
+        assertEquals(1, upload.chunkLength(4));
+        upload.close();
+    }
+
+    @Test
+    void abortFailsTheReader() throws Exception {
+        ChunkedUpload upload = upload(Duration.ofMinutes(1));
+        upload.writeChunk(0, chunk(0));
+        InputStream in = upload.openStream();
+        in.readNBytes(5);
+
+        upload.abort("Cancelled by client");
+
+        IOException e = assertThrows(IOException.class, in::read);
+        assertTrue(e.getMessage().contains("Cancelled by client"));
+        assertEquals(UploadStatus.ABORTED, upload.toDto().getStatus());
+        assertThrows(IllegalStateException.class, () -> upload.writeChunk(1, chunk(1)));
+        in.close();
+    }
+
+    @Test
+    void readerGivesUpWhenNoChunkArrivesWithinTheIdleTimeout() throws Exception {
+        ChunkedUpload upload = upload(Duration.ofMillis(100));
+        upload.writeChunk(0, chunk(0));
+
+        try (InputStream in = upload.openStream()) {
+            in.readNBytes(5);
+            IOException e = assertThrows(IOException.class, in::read);
+            assertTrue(e.getMessage().contains("No chunk received"));
+        }
+        assertTrue(upload.isClosed());
+    }
+
+    private ChunkedUpload upload(Duration idleTimeout) throws IOException {
+        return new ChunkedUpload("u", "app.log", CONTENT.length(), 5, null, null, dir.resolve("u.upload"), idleTimeout);
+    }
+
+    private static InputStream chunk(int index) {
+        return bytes(CONTENT.substring(index * 5, Math.min(CONTENT.length(), index * 5 + 5)));
+    }
+
+    private static InputStream bytes(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,183 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.config.ClassifierProperties;
+import com.yash.log.constants.LogConstant;
+import com.yash.log.dto.ClassifierStatsDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorTypeClassifierTest {
+
+    @Test
+    void classify_BuiltInRules() {
+        ErrorTypeClassifier classifier = new ErrorTypeClassifier(new ClassifierProperties());
+
+        assertEquals("NullPointerException", classifier.classify("java.lang.NullPointerException: value was null"));
+        assertEquals("SQLException", classifier.classify("Query failed: java.sql.SQLException: timeout, IOException later"));
+        assertEquals("Database Transaction Error", classifier.classify("Database Transaction Error: Failed to connect"));
+        assertEquals(LogConstant.UNKNOWN_ERROR, classifier.classify("Something odd happened"));
+        assertEquals(LogConstant.UNKNOWN_ERROR, classifier.classify(""));
+    }
+
+    @Test
+    void classify_UserRulesWinOverBuiltIns() {
+        ClassifierProperties properties = new ClassifierProperties();
+        properties.setRules(List.of(
+                rule("Network Timeout Error", "(?i)read timed out|connect timed out"),
+                rule("Database Transaction Error", "Deadlock found")));
+        ErrorTypeClassifier classifier = new ErrorTypeClassifier(properties);
+
+        assertEquals("Network Timeout Error", classifier.classify("java.net.SocketTimeoutException: Read timed out"));
+        assertEquals("Database Transaction Error", classifier.classify("Deadlock found when trying to get lock"));
+        assertEquals("IOException", classifier.classify("java.io.IOException: Broken pipe"));
+    }
+
+    @Test
+    void classify_UserRulesSeeTheRootCauseAfterTheMessage() {
+        ClassifierProperties properties = new ClassifierProperties();
+        properties.setRules(List.of(
+                rule("Database Transaction Error", "^SQLException$|Deadlock"),
+                rule("Network Timeout Error", "ConnectException")));
+        ErrorTypeClassifier classifier = new ErrorTypeClassifier(properties);
+
+        assertEquals("Database Transaction Error", classifier.classify("Order failed", "SQLException"));
+        assertEquals("Database Transaction Error", classifier.classify("Deadlock found", "ConnectException"));
+        // the built-in rules only read the message
+        assertEquals("Order failed", classifier.classify("Order failed: retrying", "IOException"));
+        assertEquals(LogConstant.UNKNOWN_ERROR, classifier.classify("Order failed", null));
+    }
+
+    @Test
+    void classify_InvalidRule_Rejected() {
+        ClassifierProperties properties = new ClassifierProperties();
+        properties.setRules(List.of(rule("", "timeout")));
+
+        assertThrows(IllegalArgumentException.class, () -> new ErrorTypeClassifier(properties));
+    }
+
+    @Test
+    void classify_RepeatedMessagesHitTheCache() {
+        ErrorTypeClassifier classifier = new ErrorTypeClassifier(new ClassifierProperties());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("SQLException", classifier.classify("Order " + i % 3 + " failed: SQLException after " + i + " ms"));
+        }
+
+        // "Order 0/1/2 failed:" are three signatures, the numbers after ':' do not matter
+        ClassifierStatsDto stats = classifier.getStats();
+        assertEquals(3, stats.getMisses());
+        assertEquals(97, stats.getHits());
+        assertEquals(3, stats.getSize());
+    }
+
+    @Test
+    void classify_CacheIsBounded() {
+        ClassifierProperties properties = new ClassifierProperties();
+        properties.setCacheSize(2);
+        ErrorTypeClassifier classifier = new ErrorTypeClassifier(properties);
+
+        assertEquals("A Error", classifier.classify("A Error: code 1"));
+        assertEquals("B Error", classifier.classify("B Error: code 1"));
+        assertEquals("A Error", classifier.classify("A Error: code 2"));     // hit
+        assertEquals("C Error", classifier.classify("C Error: code 1"));     // evicts one of the three
+
+        ClassifierStatsDto stats = classifier.getStats();
+        assertEquals(2, stats.getSize());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(3, stats.getMisses());
+        assertEquals(1, stats.getHits());
+    }
+
+    @Test
+    void classify_UserRulesSeeTheNumbersAndAreNotCached() {
+        ClassifierProperties properties = new ClassifierProperties();
+        properties.setRules(List.of(
+                rule("External Service Error", "status 503"),
+                rule("Database Error", "ORA-00060")));
+        ErrorTypeClassifier classifier = new ErrorTypeClassifier(properties);
+
+        assertEquals("External Service Error", classifier.classify("Call failed: upstream returned status 503"));
+        assertEquals("Database Error", classifier.classify("Update failed: ORA-00060: deadlock detected"));
+        assertEquals("Call failed", classifier.classify("Call failed: upstream returned status 502"));
+
+        ClassifierStatsDto stats = classifier.getStats();
+        assertEquals(1, stats.getSize());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void classify_ConcurrentCallersAgree() throws InterruptedException {
+        ClassifierProperties properties = new ClassifierProperties();
+        properties.setCacheSize(8);
+        ErrorTypeClassifier classifier = new ErrorTypeClassifier(properties);
+        List<String> wrong = new CopyOnWriteArrayList<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    String type = "Type" + i % 20 + " Error";
+                    String classified = classifier.classify(type + ": attempt " + i);
+                    if (!type.equals(classified)) {
+                        wrong.add(classified);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), wrong);
+        assertTrue(classifier.getStats().getSize() <= 8);
+    }
+
+    @Test
+    void signature_NormalizesStandaloneNumbersAfterTheFirstColon() {
+        assertEquals("Order 42 failed: timeout after 0 ms (attempt 0)",
+                ErrorTypeClassifier.signature("Order 42 failed: timeout after 3000 ms (attempt 2)"));
+        assertEquals("x: Http404Exception v2 0.0", ErrorTypeClassifier.signature("x: Http404Exception v2 1.25"));
+        String unchanged = "no colon 123";
+        assertSame(unchanged, ErrorTypeClassifier.signature(unchanged));
+    }
+
+    // the built-in rules must classify a signature exactly like the message it came from
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Order 12 failed: Http404Exception after 3000 ms",
+            "Error 500: upstream 503 returned",
+            "failed: 123Exception and 45 SQLException",
+            "x: _123_FooException 9",
+            "1: 2: 3",
+            ": 42 IOException",
+            "Timeout 30: IOException 404Exception"
+    })
+    void signature_ClassifiesLikeTheMessage(String message) {
+        assertEquals(builtIn(message), builtIn(ErrorTypeClassifier.signature(message)), message);
+    }
+
+    private static String builtIn(String message) {
+        Matcher matcher = Pattern.compile(LogConstant.EXCEPTION_PATTERN).matcher(message);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        int colonIndex = message.indexOf(':');
+        return colonIndex > 0 ? message.substring(0, colonIndex).trim() : LogConstant.UNKNOWN_ERROR;
+    }
+
+    private static ClassifierProperties.Rule rule(String type, String pattern) {
+        ClassifierProperties.Rule rule = new ClassifierProperties.Rule();
+        rule.setType(type);
+        rule.setPattern(pattern);
+        return rule;
+    }
+}
@@ -0,0 +1,110 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.entity.Log;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDeduplicatorTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 12, 11, 10, 33, 54, 946_000_000);
+
+    @Test
+    void fingerprint_SameEvent_SameValue() {
+        long fingerprint = EventFingerprint.of(TIME, "com.yash.app.Service", "boom");
+
+        assertEquals(fingerprint, EventFingerprint.of(TIME, "com.yash.app.Service", "boom"));
+        assertNotEquals(fingerprint, EventFingerprint.of(TIME.plusNanos(1_000_000), "com.yash.app.Service", "boom"));
+        assertNotEquals(fingerprint, EventFingerprint.of(TIME, "com.yash.app.Dao", "boom"));
+        assertNotEquals(fingerprint, EventFingerprint.of(TIME, "com.yash.app.Service", "boom!"));
+        // field boundaries count
+        assertNotEquals(EventFingerprint.of(TIME, "ab", "c"), EventFingerprint.of(TIME, "a", "bc"));
+        assertNotEquals(EventFingerprint.of(TIME, null, "x"), EventFingerprint.of(TIME, "", "x"));
+    }
+
+    @Test
+    void bloomFilter_NoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long key = 0; key < 10_000; key++) {
+            filter.put(EventFingerprint.of(TIME, "s", "m" + key));
+        }
+
+        for (long key = 0; key < 10_000; key++) {
+            assertTrue(filter.mightContain(EventFingerprint.of(TIME, "s", "m" + key)));
+        }
+        int falsePositives = 0;
+        for (long key = 10_000; key < 20_000; key++) {
+            if (filter.mightContain(EventFingerprint.of(TIME, "s", "m" + key))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    void newRows_BeforeWarmUp_ChecksEveryFingerprint() {
+        EventDeduplicator deduplicator = new EventDeduplicator(1000, 0.01);
+        List<Log> rows = List.of(row(1L), row(2L), row(3L));
+        List<Collection<Long>> lookups = new ArrayList<>();
+
+        List<Log> fresh = deduplicator.newRows(rows, fingerprints -> {
+            lookups.add(fingerprints);
+            return Set.of(2L);
+        });
+
+        assertEquals(List.of(1L, 3L), fresh.stream().map(Log::getFingerprint).toList());
+        assertEquals(List.of(List.of(1L, 2L, 3L)), lookups);
+    }
+
+    @Test
+    void newRows_AfterWarmUp_OnlyLooksUpWhatTheFilterMayHaveSeen() {
+        EventDeduplicator deduplicator = new EventDeduplicator(1000, 0.01);
+        deduplicator.warmUp(consumer -> consumer.accept(2L));
+        assertTrue(deduplicator.isWarm());
+
+        List<Collection<Long>> lookups = new ArrayList<>();
+        List<Log> fresh = deduplicator.newRows(List.of(row(1L), row(2L), row(3L)), fingerprints -> {
+            lookups.add(fingerprints);
+            return Set.of(2L);
+        });
+        assertEquals(List.of(1L, 3L), fresh.stream().map(Log::getFingerprint).toList());
+        assertEquals(List.of(List.of(2L)), lookups);
+
+        // rows recorded as persisted are caught by the filter from then on
+        deduplicator.recordPersisted(fresh);
+        lookups.clear();
+        deduplicator.newRows(List.of(row(3L)), fingerprints -> {
+            lookups.add(fingerprints);
+            return Set.copyOf(fingerprints);
+        });
+        assertEquals(List.of(List.of(3L)), lookups);
+    }
+
+    @Test
+    void newRows_RepeatsInBatchDroppedAndManualRowsKept() {
+        EventDeduplicator deduplicator = new EventDeduplicator(1000, 0.01);
+        deduplicator.warmUp(consumer -> { });
+
+        List<Log> fresh = deduplicator.newRows(List.of(row(5L), row(null), row(5L), row(null)), fingerprints -> {
+            throw new AssertionError("nothing was persisted, no lookup needed");
+        });
+
+        assertEquals(3, fresh.size());
+        assertEquals(5L, fresh.get(0).getFingerprint());
+        assertNull(fresh.get(1).getFingerprint());
+        assertNull(fresh.get(2).getFingerprint());
+    }
+
+    private static Log row(Long fingerprint) {
+        Log log = new Log();
+        log.setFingerprint(fingerprint);
+        return log;
+    }
+}
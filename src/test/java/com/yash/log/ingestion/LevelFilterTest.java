@@ -0,0 +1,85 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.constants.LogConstant;
+import com.yash.log.dto.ErrorLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelFilterTest {
+
+    private static final Pattern LOG_PATTERN = Pattern.compile(LogConstant.LOG_PATTERN);
+
+    @Test
+    void errorsOnly_AcceptsErrorLinesOnly() {
+        LevelFilter filter = LevelFilter.ERRORS_ONLY;
+
+        assertTrue(test(filter, "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : boom"));
+        assertFalse(test(filter, "2025-12-11T10:33:54.946+05:30 INFO 1 --- [main] [x] x : started"));
+        assertFalse(test(filter, "2025-12-11T10:33:54.946+05:30 WARN 1 --- [main] [x] x : slow"));
+    }
+
+    @Test
+    void of_ErrorAndWarn_AcceptsBoth() {
+        LevelFilter filter = LevelFilter.of(EnumSet.of(ErrorLevel.ERROR, ErrorLevel.WARN));
+
+        assertTrue(test(filter, "2025-12-11T10:33:54.946+05:30 WARN 1 --- [main] [x] x : slow"));
+        assertTrue(test(filter, "2025-12-11T10:33:54.946+05:30\tERROR 1 --- [main] [x] x : boom"));
+        assertFalse(test(filter, "2025-12-11T10:33:54.946+05:30 DEBUG 1 --- [main] [x] x : details"));
+        assertTrue(filter.allows("WARN"));
+        assertFalse(filter.allows("INFO"));
+    }
+
+    @Test
+    void of_Empty_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> LevelFilter.of(List.of()));
+    }
+
+    @Test
+    void test_UsesOnlyTheGivenRange() {
+        byte[] bytes = "xx 2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : boom".getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(LevelFilter.ERRORS_ONLY.test(ByteBuffer.wrap(bytes), 3, bytes.length));
+        // cut before the whitespace that has to follow the level
+        assertFalse(LevelFilter.ERRORS_ONLY.test(ByteBuffer.wrap(bytes), 3, 38));
+    }
+
+    // the prefilter may only reject lines that LOG_PATTERN would not have persisted
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [c.y.S] c.y.S : boom",
+            "2025-12-11T10:33:54.946+05:30    ERROR   1 --- [main] [x] x : spaced",
+            "2025-12-11T10:33:54.946+05:30 ERRORS 1 --- [main] [x] x : not a level",
+            "2025-12-11T10:33:54.946+05:30 error 1 --- [main] [x] x : lower case",
+            " 2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : leading space",
+            "ERROR 2025-12-11T10:33:54.946+05:30 1 --- [main] [x] x : level first",
+            "2025-12-11T10:33:54.946+05:30 ERROR",
+            "2025-12-11T10:33:54.946+05:30",
+            "",
+            "\tat com.yash.app.Service.run(Service.java:42)"
+    })
+    void test_AgreesWithLogPattern(String line) {
+        Matcher matcher = LOG_PATTERN.matcher(line);
+        boolean persisted = matcher.find() && "ERROR".equals(matcher.group(2));
+
+        if (persisted) {
+            assertTrue(test(LevelFilter.ERRORS_ONLY, line), line);
+        }
+        // and for these lines it is exact
+        assertEquals(persisted, test(LevelFilter.ERRORS_ONLY, line), line);
+    }
+
+    private static boolean test(LevelFilter filter, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return filter.test(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+}
@@ -0,0 +1,194 @@
+package com.yash.log.ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogArchiveTest {
+
+    private final Map<String, String> sources = new LinkedHashMap<>();
+
+    @Test
+    void plainFileIsOneSource() throws IOException {
+        assertEquals(LogArchive.Format.PLAIN, read(bytes("line 1\nline 2\n"), "app.log"));
+
+        assertEquals(Map.of("app.log", "line 1\nline 2\n"), sources);
+    }
+
+    @Test
+    void gzipIsDecompressedAsOneSource() throws IOException {
+        assertEquals(LogArchive.Format.GZIP, read(gzip(bytes("line 1\n")), "app.log.1.gz"));
+
+        assertEquals(Map.of("app.log.1", "line 1\n"), sources);
+    }
+
+    @Test
+    void zipEntriesAreSeparateSourcesAndNestedGzipIsUnpacked() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zipEntry(zip, "logs/", new byte[0]);
+            zipEntry(zip, "logs/app.log", bytes("current\n"));
+            zipEntry(zip, "logs/app.log.1.gz", gzip(bytes("rotated\n")));
+            zipEntry(zip, "__MACOSX/logs/._app.log", bytes("resource fork"));
+            zipEntry(zip, "logs/.DS_Store", bytes("finder"));
+        }
+
+        assertEquals(LogArchive.Format.ZIP, read(out.toByteArray(), "bundle.zip"));
+
+        assertEquals(Map.of("logs/app.log", "current\n", "logs/app.log.1", "rotated\n"), sources);
+    }
+
+    @Test
+    void tarGzEntriesAreSeparateSources() throws IOException {
+        String longName = "var/log/" + "service-".repeat(20) + "app.log";
+        byte[] tar = tar(Map.of(longName, "first\n"), Map.of("b.log", "x".repeat(1000)));
+
+        assertEquals(LogArchive.Format.TAR_GZIP, read(gzip(tar), "logs.tgz"));
+
+        assertEquals(2, sources.size());
+        assertEquals("first\n", sources.get(longName));
+        assertEquals("x".repeat(1000), sources.get("b.log"));
+    }
+
+    @Test
+    void plainTarIsRecognisedWithoutExtension() throws IOException {
+        byte[] tar = tar(Map.of(), Map.of("a.log", "a\n"));
+
+        assertEquals(LogArchive.Format.TAR, read(tar, "upload.log"));
+
+        assertEquals(Map.of("a.log", "a\n"), sources);
+    }
+
+    @Test
+    void expansionPastTheLimitIsRejected() throws IOException {
+        byte[] bomb = gzip(new byte[1024 * 1024]);
+
+        IOException e = assertThrows(IOException.class, () -> LogArchive.forEachSource(
+                new ByteArrayInputStream(bomb), "bomb.gz", 64 * 1024, (name, in) -> in.readAllBytes()));
+        assertTrue(e.getMessage().contains("65536"));
+    }
+
+    @Test
+    void tarEntryStopsAtItsOwnSize() throws IOException {
+        byte[] tar = tar(Map.of(), Map.of("a.log", "a"));
+        try (TarInputStream in = new TarInputStream(new ByteArrayInputStream(tar))) {
+            assertEquals("a.log", in.nextEntry());
+            assertEquals("a", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(-1, in.read());
+            assertNull(in.nextEntry());
+        }
+    }
+
+    @Test
+    void truncatedTarIsAnError() throws IOException {
+        byte[] tar = tar(Map.of(), Map.of("a.log", "x".repeat(600)));
+        InputStream truncated = new ByteArrayInputStream(tar, 0, 1124);
+        try (TarInputStream in = new TarInputStream(truncated)) {
+            in.nextEntry();
+            assertThrows(IOException.class, in::readAllBytes);
+        }
+    }
+
+    @Test
+    void callerStreamIsLeftOpenWithTheTrailerUnread() throws IOException {
+        ByteArrayOutputStream zipped = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(zipped)) {
+            zipEntry(zip, "app.log", bytes("current\n"));
+        }
+        for (byte[] archive : new byte[][]{gzip(bytes("line 1\n")), zipped.toByteArray()}) {
+            boolean[] closed = {false};
+            InputStream raw = new ByteArrayInputStream(archive) {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            };
+
+            LogArchive.forEachSource(raw, "upload", Long.MAX_VALUE, (name, in) -> in.readAllBytes());
+
+            assertFalse(closed[0]);
+            // still readable, as for the hash of the whole file
+            raw.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Test
+    void oversizedLongNameHeaderIsRejectedBeforeReadingIt() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tarEntry(out, "././@LongLink", 'L', new byte[0]);
+        byte[] tar = out.toByteArray();
+        // claims 1 GB of name data without carrying any
+        byte[] size = bytes(String.format("%011o", 1L << 30));
+        System.arraycopy(size, 0, tar, 124, size.length);
+
+        try (TarInputStream in = new TarInputStream(new ByteArrayInputStream(tar))) {
+            IOException e = assertThrows(IOException.class, in::nextEntry);
+            assertTrue(e.getMessage().contains("Corrupt tar header"));
+        }
+    }
+
+    private LogArchive.Format read(byte[] content, String fileName) throws IOException {
+        return LogArchive.forEachSource(new ByteArrayInputStream(content), fileName, Long.MAX_VALUE,
+                (name, in) -> sources.put(name, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static void zipEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    // GNU long-name entries, a directory, plain ustar entries and the two end blocks
+    private static byte[] tar(Map<String, String> longNamed, Map<String, String> files) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Map.Entry<String, String> file : longNamed.entrySet()) {
+            byte[] name = bytes(file.getKey() + "\0");
+            tarEntry(out, "././@LongLink", 'L', name);
+            tarEntry(out, file.getKey().substring(0, 99), '0', bytes(file.getValue()));
+        }
+        tarEntry(out, "dir/", '5', new byte[0]);
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            tarEntry(out, file.getKey(), '0', bytes(file.getValue()));
+        }
+        out.write(new byte[1024]);
+        return out.toByteArray();
+    }
+
+    private static void tarEntry(ByteArrayOutputStream out, String name, char type, byte[] content)
+            throws IOException {
+        byte[] header = new byte[512];
+        byte[] nameBytes = bytes(name);
+        System.arraycopy(nameBytes, 0, header, 0, Math.min(nameBytes.length, 100));
+        byte[] size = bytes(String.format("%011o", content.length));
+        System.arraycopy(size, 0, header, 124, size.length);
+        header[156] = (byte) type;
+        System.arraycopy(bytes("ustar\0" + "00"), 0, header, 257, 8);
+        out.write(header);
+        out.write(content);
+        out.write(new byte[(512 - content.length % 512) % 512]);
+    }
+}
@@ -0,0 +1,128 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.dto.LogDTO;
+import com.yash.log.ingestion.format.SpringBootLogFormat;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogEventAssemblerTest {
+
+    private static final String TS = "2025-12-11T10:33:54.946+05:30";
+
+    private final IngestionJob job = new IngestionJob(null, "app.log", 0);
+    private final List<LogDTO> events = new ArrayList<>();
+
+    @Test
+    void stackTraceLinesAreAttachedAndRootCauseIsKept() {
+        feed(16384,
+                TS + " ERROR 1 --- [main] [x] com.yash.OrderService : Order failed",
+                "org.springframework.dao.DataAccessResourceFailureException: could not execute",
+                "\tat com.yash.OrderService.save(OrderService.java:42)",
+                "Caused by: org.hibernate.exception.JDBCConnectionException: could not open",
+                "\t... 12 more",
+                "Caused by: java.net.ConnectException: Connection refused",
+                "\t... 20 more",
+                TS + " ERROR 1 --- [main] [x] com.yash.Other : Plain failure");
+
+        assertEquals(2, events.size());
+        LogDTO first = events.get(0);
+        assertEquals("Order failed", first.getErrorMessage());
+        assertEquals("ConnectException", first.getRootCause());
+        // the type is left to ErrorTypeClassifier
+        assertEquals("from message", first.getErrorType());
+        assertTrue(first.getStackTrace().startsWith("org.springframework.dao.DataAccessResourceFailureException"));
+        assertTrue(first.getStackTrace().endsWith("\t... 20 more"));
+        assertEquals(6, first.getStackTrace().split("\n").length);
+
+        LogDTO second = events.get(1);
+        assertNull(second.getStackTrace());
+        assertNull(second.getRootCause());
+    }
+
+    @Test
+    void thrownExceptionIsTheRootCauseWithoutCausedBy() {
+        feed(16384,
+                TS + " ERROR 1 --- [main] [x] x : Request failed",
+                "java.lang.IllegalStateException: boom",
+                "\tat x.Y.run(Y.java:1)");
+
+        assertEquals("IllegalStateException", events.get(0).getRootCause());
+    }
+
+    @Test
+    void continuationLinesOfDroppedEventsAreDropped() {
+        feed(16384,
+                "\tat orphan.Frame(before any event)",
+                TS + " ERROR 1 --- [main] [x] x : first",
+                "\tat a.B.c(B.java:1)",
+                TS + " INFO 1 --- [main] [x] x : retrying",
+                "java.lang.RuntimeException: logged at info",
+                "\tat a.B.d(B.java:2)",
+                TS + " ERROR 1 --- [main] [x] x : second");
+
+        assertEquals(2, events.size());
+        assertEquals("\tat a.B.c(B.java:1)", events.get(0).getStackTrace());
+        assertNull(events.get(1).getStackTrace());
+        assertEquals(7, job.getLinesRead().get());
+        assertEquals(1, job.getLinesSkippedByLevel().get());
+    }
+
+    @Test
+    void linesWithoutLevelBeforeTheFirstEventAreUnparseable() {
+        feed(16384,
+                "[11/Dec/2025 10:33:54] another layout",
+                "   ",
+                "[11/Dec/2025 10:33:55] another layout again",
+                TS + " INFO 1 --- [main] [x] x : started",
+                "wrapped info message",
+                TS + " ERROR 1 --- [main] [x] x : failed",
+                "\tat a.B.c(B.java:1)");
+
+        assertEquals(1, events.size());
+        assertEquals(2, job.getLinesUnparseable().get());
+        assertEquals(List.of("[11/Dec/2025 10:33:54] another layout", "[11/Dec/2025 10:33:55] another layout again"),
+                job.getUnparseableSample());
+    }
+
+    @Test
+    void stackTraceIsBoundedButRootCauseIsStillFound() {
+        List<String> lines = new ArrayList<>();
+        lines.add(TS + " ERROR 1 --- [main] [x] x : deep recursion");
+        lines.add("java.lang.IllegalStateException: outer");
+        for (int i = 0; i < 500; i++) {
+            lines.add("\tat a.B.frame" + i + "(B.java:" + i + ")");
+        }
+        lines.add("Caused by: java.lang.StackOverflowError");
+        feed(200, lines.toArray(String[]::new));
+
+        LogDTO event = events.get(0);
+        assertTrue(event.getStackTrace().length() <= 200 + "\n\t... (truncated)".length());
+        assertTrue(event.getStackTrace().endsWith("(truncated)"));
+        assertEquals("StackOverflowError", event.getRootCause());
+    }
+
+    private void feed(int maxTraceChars, String... lines) {
+        LogEventAssembler assembler = new LogEventAssembler(new SpringBootLogFormat(), LevelFilter.ERRORS_ONLY, this::parseEvent,
+                maxTraceChars, job, events::add);
+        for (String line : lines) {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            assembler.line(ByteBuffer.wrap(bytes), 0, bytes.length);
+        }
+        assembler.finish();
+    }
+
+    // stands in for LogFileServiceImpl.parseLine
+    private LogDTO parseEvent(CharSequence line) {
+        LogDTO dto = new LogDTO();
+        String text = line.toString();
+        dto.setErrorMessage(text.substring(text.lastIndexOf(" : ") + 3));
+        dto.setErrorType("from message");
+        return dto;
+    }
+}
@@ -0,0 +1,123 @@
+package com.yash.log.ingestion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTailTest {
+
+    private static final String FIRST = "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : first\n";
+    private static final String TRACE = "\tat com.yash.app.Service.save(Service.java:42)\n";
+    private static final String SECOND = "2025-12-11T10:33:55.946+05:30 ERROR 1 --- [main] [x] x : second\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void poll_HoldsBackPartialLineAndLastEventUntilQuiet() throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, FIRST + TRACE + SECOND + "2025-12-11T10:33:56");
+
+        try (LogTail tail = new LogTail(file, null, 0, 1024, 100)) {
+            // "second" may still get a stack trace
+            assertEquals(FIRST + TRACE, read(tail));
+            assertNull(tail.poll());
+
+            Thread.sleep(150);
+            assertEquals(SECOND, read(tail));
+            assertNull(tail.poll());
+            assertEquals((FIRST + TRACE + SECOND).length(), tail.getOffset());
+        }
+    }
+
+    @Test
+    void poll_ResumesFromSavedOffset() throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, FIRST);
+        String fileKey;
+        long offset;
+        try (LogTail tail = new LogTail(file, null, 0, 1024, 0)) {
+            assertEquals(FIRST, read(tail));
+            fileKey = tail.getFileKey();
+            offset = tail.getOffset();
+        }
+        Files.writeString(file, SECOND, StandardOpenOption.APPEND);
+
+        try (LogTail tail = new LogTail(file, fileKey, offset, 1024, 0)) {
+            assertEquals(SECOND, read(tail));
+        }
+    }
+
+    @Test
+    void poll_TruncatedFile_StartsOver() throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, FIRST + SECOND);
+        try (LogTail tail = new LogTail(file, null, 0, 1024, 0)) {
+            assertEquals(FIRST + SECOND, read(tail));
+
+            Files.writeString(file, SECOND, StandardOpenOption.TRUNCATE_EXISTING);
+            assertEquals(SECOND, read(tail));
+        }
+    }
+
+    @Test
+    void poll_RotatedFile_IsReadToItsEndBeforeTheNewOne() throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, FIRST);
+        try (LogTail tail = new LogTail(file, null, 0, 1024, 60_000)) {
+            assertNull(tail.poll());   // single event, not quiet yet
+
+            // written just before the rename, then the logger opens a new file
+            Files.writeString(file, TRACE, StandardOpenOption.APPEND);
+            Files.move(file, dir.resolve("app.log.1"));
+            Files.writeString(file, SECOND);
+
+            assertEquals(FIRST + TRACE, read(tail));
+            String rotatedKey = tail.getFileKey();
+            assertNull(tail.poll());
+            assertNotEquals(rotatedKey, tail.getFileKey());
+            assertEquals(0, tail.getOffset());
+        }
+    }
+
+    @Test
+    void poll_DeletedFile_IsGone() throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, FIRST);
+        try (LogTail tail = new LogTail(file, null, 0, 1024, 0)) {
+            assertEquals(FIRST, read(tail));
+            Files.delete(file);
+
+            assertNull(tail.poll());
+            assertTrue(tail.isGone());
+        }
+    }
+
+    @Test
+    void poll_EventLargerThanOneRead_IsNotHeldBackForever() throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, FIRST + TRACE.repeat(10));
+        try (LogTail tail = new LogTail(file, null, 0, 256, 60_000)) {
+            LogTail.Chunk chunk = tail.poll();
+
+            assertNotNull(chunk);
+            assertTrue(chunk.length() <= 256);
+            assertEquals('\n', chunk.bytes()[chunk.length() - 1]);
+        }
+    }
+
+    // polls one chunk and commits it
+    private static String read(LogTail tail) throws IOException {
+        LogTail.Chunk chunk = tail.poll();
+        assertNotNull(chunk);
+        tail.commit(chunk);
+        return new String(chunk.bytes(), 0, chunk.length(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,166 @@
+package com.yash.log.ingestion;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelLogParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ParallelLogParser parser;
+
+    @AfterEach
+    void tearDown() {
+        if (parser != null) {
+            parser.shutdown();
+        }
+    }
+
+    @Test
+    void parse_ManySmallChunks_KeepsFileOrder() throws Exception {
+        // 64 byte chunks force hundreds of ranges across 4 threads
+        parser = new ParallelLogParser(4, 64);
+        List<String> lines = IntStream.range(0, 2000).mapToObj(i -> "line-" + i).toList();
+        Path file = write(String.join("\n", lines) + "\n");
+
+        List<String> parsed = parseAll(file);
+
+        assertEquals(lines, parsed);
+    }
+
+    @Test
+    void parse_CrlfAndMissingTrailingNewline_MatchesBufferedReader() throws Exception {
+        parser = new ParallelLogParser(2, 16);
+        Path file = write("first\r\nsecond\r\n\r\nthird-without-newline");
+
+        List<String> parsed = parseAll(file);
+
+        assertEquals(List.of("first", "second", "", "third-without-newline"), parsed);
+    }
+
+    @Test
+    void parse_LineLongerThanChunk_StaysWhole() throws Exception {
+        parser = new ParallelLogParser(2, 8);
+        String longLine = "x".repeat(100);
+        Path file = write("a\n" + longLine + "\nb\n");
+
+        assertEquals(List.of("a", longLine, "b"), parseAll(file));
+    }
+
+    @Test
+    void parse_MultiByteCharacters_AreNotSplit() throws Exception {
+        parser = new ParallelLogParser(3, 5);
+        List<String> lines = List.of("héllo", "wörld", "日本語のログ", "ok");
+        Path file = write(String.join("\n", lines));
+
+        assertEquals(lines, parseAll(file));
+    }
+
+    @Test
+    void parse_NullResultsAreDropped() throws Exception {
+        parser = new ParallelLogParser(2, 32);
+        Path file = write(IntStream.range(0, 100).mapToObj(Integer::toString).collect(Collectors.joining("\n")));
+
+        List<Integer> even = new ArrayList<>();
+        parser.parse(file, line -> {
+            int value = Integer.parseInt(line.toString());
+            return value % 2 == 0 ? value : null;
+        }, even::addAll);
+
+        assertEquals(IntStream.range(0, 100).filter(i -> i % 2 == 0).boxed().toList(), even);
+    }
+
+    @Test
+    void split_RangesAreContiguousAndLineAligned() throws Exception {
+        parser = new ParallelLogParser(2, 10);
+        String content = "aaaa\nbbbbbbbbbbbb\ncc\nd\n";
+        Path file = write(content);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<ParallelLogParser.ByteRange> ranges = parser.split(channel);
+
+            assertEquals(0, ranges.get(0).start());
+            assertEquals(content.length(), ranges.get(ranges.size() - 1).end());
+            for (int i = 0; i < ranges.size(); i++) {
+                if (i > 0) {
+                    assertEquals(ranges.get(i - 1).end(), ranges.get(i).start());
+                }
+                assertEquals('\n', content.charAt((int) ranges.get(i).end() - 1));
+            }
+        }
+    }
+
+    @Test
+    void parseRecords_ChunksAreCutOnlyBeforeRecordStarts() throws Exception {
+        parser = new ParallelLogParser(4, 16);
+        // records start with '#', continuation lines are indented
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String record = "#" + i + "\n  a" + i + "\n  b" + i + "\n";
+            content.append(record);
+            expected.add(record.replace("\n", "|"));
+        }
+        Path file = write(content.toString());
+
+        List<String> records = new ArrayList<>();
+        parser.<String>parseRecords(file, (bytes, from, to) -> to > from && bytes.get(from) == '#',
+                out -> new LineHandler() {
+                    private StringBuilder current;
+
+                    @Override
+                    public void line(java.nio.ByteBuffer bytes, int from, int to) {
+                        String line = ByteLineReader.decode(bytes, from, to).toString();
+                        if (line.startsWith("#")) {
+                            finish();
+                            current = new StringBuilder();
+                        }
+                        // a continuation without its record means a bad cut
+                        assertNotNull(current, line);
+                        current.append(line).append('|');
+                    }
+
+                    @Override
+                    public void finish() {
+                        if (current != null) {
+                            out.accept(current.toString());
+                            current = null;
+                        }
+                    }
+                }, records::addAll);
+
+        assertEquals(expected, records);
+    }
+
+    @Test
+    void parse_EmptyFile_ProducesNothing() throws Exception {
+        parser = new ParallelLogParser(2, 16);
+        assertTrue(parseAll(write("")).isEmpty());
+    }
+
+    private List<String> parseAll(Path file) throws Exception {
+        List<String> out = new ArrayList<>();
+        parser.parse(file, CharSequence::toString, out::addAll);
+        return out;
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = tempDir.resolve("input.log");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,126 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.dto.PipelineStageStatsDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineStageTest {
+
+    private final StageMetrics upstream = new StageMetrics("parse");
+    private final StageMetrics metrics = new StageMetrics("enrich");
+    private final List<Integer> handedOn = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void submit_ManyWorkers_HandsResultsOnInSubmissionOrder() {
+        PipelineStage<Integer, Integer> stage = new PipelineStage<>(metrics, upstream, 4, 2, batch -> {
+            // later batches finish first
+            sleep(10 - batch.get(0));
+            return batch.stream().map(i -> i * 10).toList();
+        }, handedOn::addAll);
+
+        for (int i = 0; i < 10; i++) {
+            stage.submit(List.of(i));
+        }
+        stage.finish();
+
+        assertEquals(IntStream.range(0, 10).map(i -> i * 10).boxed().toList(), handedOn);
+        PipelineStageStatsDto stats = metrics.toDto(4, 2);
+        assertEquals(10, stats.getEvents());
+        assertEquals(10, stats.getBatches());
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(0, stats.getActiveWorkers());
+    }
+
+    @Test
+    void submit_QueueFull_BlocksAndCountsBlockedTimeUpstream() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PipelineStage<Integer, Integer> stage = new PipelineStage<>(metrics, upstream, 1, 1, batch -> {
+            await(release);
+            return batch;
+        }, handedOn::addAll);
+
+        stage.submit(List.of(1));   // taken by the worker, which waits
+        stage.submit(List.of(2));   // fills the queue
+        Thread releaser = Thread.ofVirtual().start(() -> {
+            sleep(50);
+            release.countDown();
+        });
+        stage.submit(List.of(3));   // waits for room
+        stage.finish();
+        releaser.join();
+
+        assertEquals(List.of(1, 2, 3), handedOn);
+        assertTrue(upstream.toDto(1, 0).getBlockedMillis() >= 40);
+        assertEquals(0, metrics.toDto(1, 1).getBlockedMillis());
+    }
+
+    @Test
+    void finish_WorkerFailed_ThrowsFailureAndDropsLaterBatches() {
+        CountDownLatch submitted = new CountDownLatch(1);
+        PipelineStage<Integer, Integer> stage = new PipelineStage<>(metrics, upstream, 1, 4, batch -> {
+            await(submitted);
+            if (batch.get(0) == 2) {
+                throw new IllegalStateException("DB down");
+            }
+            return batch;
+        }, handedOn::addAll);
+
+        stage.submit(List.of(1));
+        stage.submit(List.of(2));
+        stage.submit(List.of(3));
+        submitted.countDown();
+        IllegalStateException e = assertThrows(IllegalStateException.class, stage::finish);
+
+        assertEquals("DB down", e.getMessage());
+        assertEquals(List.of(1), handedOn);
+        assertThrows(IllegalStateException.class, () -> stage.submit(List.of(4)));
+    }
+
+    @Test
+    void submit_NextStageFailed_FailsThisStage() {
+        PipelineStage<Integer, Integer> stage = new PipelineStage<>(metrics, upstream, 2, 4, batch -> batch, batch -> {
+            throw new IllegalArgumentException("rejected");
+        });
+
+        stage.submit(List.of(1));
+
+        assertThrows(IllegalArgumentException.class, stage::finish);
+    }
+
+    @Test
+    void close_StopsWorkersWithoutThrowing() {
+        PipelineStage<Integer, Integer> stage = new PipelineStage<>(metrics, upstream, 2, 4, batch -> {
+            throw new IllegalStateException("DB down");
+        }, handedOn::addAll);
+        stage.submit(List.of(1));
+
+        stage.close();
+
+        assertTrue(handedOn.isEmpty());
+        assertEquals(0, metrics.toDto(2, 4).getActiveWorkers());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.yash.log.ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PushBatcherTest {
+
+    private static final String ERROR = "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : boom";
+    private static final String INFO = "2025-12-11T10:33:54.946+05:30 INFO 1 --- [main] [x] x : started";
+    private static final String FRAME = "\tat x.y(Z.java:1)";
+
+    private final List<String> blocks = new ArrayList<>();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    @Test
+    void line_BlocksAreCutAtEventStarts() {
+        PushBatcher batcher = new PushBatcher(80, () -> false, this::collect, received, shed);
+
+        push(batcher, ERROR, FRAME, FRAME, ERROR);
+        batcher.finish();
+
+        assertEquals(List.of(ERROR + "\n" + FRAME + "\n" + FRAME + "\n", ERROR + "\n"), blocks);
+        assertEquals(4, received.sum());
+        assertEquals(0, shed.sum());
+    }
+
+    @Test
+    void line_Shedding_DropsNonErrorEventsWithTheirTraces() {
+        AtomicBoolean shedding = new AtomicBoolean(true);
+        PushBatcher batcher = new PushBatcher(1024, shedding::get, this::collect, received, shed);
+
+        push(batcher, INFO, FRAME, ERROR, FRAME);
+        shedding.set(false);
+        push(batcher, INFO);
+        batcher.flush();
+
+        assertEquals(List.of(ERROR + "\n" + FRAME + "\n" + INFO + "\n"), blocks);
+        assertEquals(2, shed.sum());
+    }
+
+    @Test
+    void flush_NothingCollected_EmitsNothing() {
+        PushBatcher batcher = new PushBatcher(1024, () -> false, this::collect, received, shed);
+
+        batcher.flush();
+
+        assertTrue(blocks.isEmpty());
+    }
+
+    private void push(PushBatcher batcher, String... lines) {
+        for (String line : lines) {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            batcher.line(ByteBuffer.wrap(bytes), 0, bytes.length);
+        }
+    }
+
+    private void collect(byte[] block) {
+        blocks.add(new String(block, StandardCharsets.UTF_8));
+    }
+}
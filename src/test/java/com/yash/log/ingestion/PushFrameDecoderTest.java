@@ -0,0 +1,87 @@
+package com.yash.log.ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PushFrameDecoderTest {
+
+    private static final String LINE = "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : boom";
+
+    private final List<String> lines = new ArrayList<>();
+    private final LineHandler collect = (ByteBuffer bytes, int from, int to) ->
+            lines.add(ByteLineReader.decode(bytes, from, to).toString());
+
+    @Test
+    void feed_NewlineFraming_SplitAcrossReads() {
+        PushFrameDecoder decoder = new PushFrameDecoder(1024);
+        byte[] data = (LINE + "\r\n" + LINE + "\n\tat x.y(Z.java:1)\n").getBytes(StandardCharsets.UTF_8);
+
+        // one byte at a time
+        for (int i = 0; i < data.length; i++) {
+            decoder.feed(data, i, i + 1, collect);
+        }
+
+        assertEquals(List.of(LINE, LINE, "\tat x.y(Z.java:1)"), lines);
+    }
+
+    @Test
+    void feed_OctetCountedSyslog_StripsHeaderAndSplitsLines() {
+        String message = "<11>1 2025-12-11T10:33:54.946Z host orders 123 - [meta x=\"a\\]b\"] " + LINE + "\n\tat x.y(Z.java:1)";
+        String frame = message.getBytes(StandardCharsets.UTF_8).length + " " + message;
+        PushFrameDecoder decoder = new PushFrameDecoder(1024);
+        byte[] data = (frame + frame).getBytes(StandardCharsets.UTF_8);
+
+        decoder.feed(data, 0, 10, collect);
+        assertTrue(lines.isEmpty());
+        decoder.feed(data, 10, data.length, collect);
+
+        assertEquals(List.of(LINE, "\tat x.y(Z.java:1)", LINE, "\tat x.y(Z.java:1)"), lines);
+    }
+
+    @Test
+    void feed_OversizedMessage_IsCutAndRestSkipped() {
+        PushFrameDecoder decoder = new PushFrameDecoder(8);
+        byte[] data = ("20 0123456789abcdefghij" + "5 hello").getBytes(StandardCharsets.UTF_8);
+
+        decoder.feed(data, 0, 15, collect);
+        decoder.feed(data, 15, data.length, collect);
+
+        assertEquals(List.of("01234567", "hello"), lines);
+    }
+
+    @Test
+    void finish_UnterminatedLastLine_IsAMessage() {
+        PushFrameDecoder decoder = new PushFrameDecoder(1024);
+        byte[] data = LINE.getBytes(StandardCharsets.UTF_8);
+
+        decoder.feed(data, 0, data.length, collect);
+        assertTrue(lines.isEmpty());
+        decoder.finish(collect);
+
+        assertEquals(List.of(LINE), lines);
+    }
+
+    @Test
+    void datagram_Rfc3164Header_IsStripped() {
+        byte[] data = ("<11>Dec 11 10:33:54 web-1 orders[123]: " + LINE).getBytes(StandardCharsets.UTF_8);
+
+        PushFrameDecoder.datagram(data, 0, data.length, collect);
+
+        assertEquals(List.of(LINE), lines);
+    }
+
+    @Test
+    void datagram_NoHeader_IsKeptAsIs() {
+        byte[] data = (LINE + "\n" + LINE).getBytes(StandardCharsets.UTF_8);
+
+        PushFrameDecoder.datagram(data, 0, data.length, collect);
+
+        assertEquals(List.of(LINE, LINE), lines);
+    }
+}
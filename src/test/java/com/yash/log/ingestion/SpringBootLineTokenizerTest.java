@@ -0,0 +1,91 @@
+package com.yash.log.ingestion;
+
+import com.yash.log.constants.LogConstant;
+import com.yash.log.dto.ErrorLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.CharBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpringBootLineTokenizerTest {
+
+    private static final Pattern LOG_PATTERN = Pattern.compile(LogConstant.LOG_PATTERN);
+
+    private final SpringBootLineTokenizer.Tokens tokens = new SpringBootLineTokenizer.Tokens();
+
+    @Test
+    void tokenize_SpringBootErrorLine_ExtractsFields() {
+        String line = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Database Transaction Error: Failed to connect";
+
+        assertTrue(SpringBootLineTokenizer.tokenize(line, tokens));
+
+        assertEquals("2025-12-11T10:33:54.946+05:30", tokens.timestamp(line).toString());
+        assertEquals(ErrorLevel.ERROR, tokens.getLevel());
+        assertEquals("com.yash.app.Service", tokens.source(line));
+        assertEquals("Database Transaction Error: Failed to connect", tokens.message(line));
+    }
+
+    @Test
+    void tokenize_WorksOnCharBufferViews() {
+        CharBuffer line = CharBuffer.wrap("2025-12-11T10:33:54.946+05:30 WARN 1 --- [exec-1] [c.y.X] c.y.X : slow query");
+
+        assertTrue(SpringBootLineTokenizer.tokenize(line, tokens));
+        assertEquals(ErrorLevel.WARN, tokens.getLevel());
+        assertEquals("slow query", tokens.message(line));
+    }
+
+    // Every accepted line must produce exactly the regex groups
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Database Transaction Error: Failed to connect",
+            "2025-12-11T10:33:54.946+05:30 INFO 12345 --- [main] [com.yash.log.service.impl.LogFileServiceImpl] com.yash.log.service.impl.LogFileServiceImpl : Class Name : o.h.e.t.j.p.i.JtaPlatformInitiator",
+            "2025-12-11T10:33:54.946+05:30  DEBUG\t7 ---   [ ] []   src   :   padded message  ",
+            "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [pool-1 thread] [a b] x.Y : ",
+            "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [t] [l] : : colon source",
+            "ts WARN 0 --- [a[b] [c] s : m ] [ x"
+    })
+    void tokenize_AcceptedLines_MatchRegexGroups(String line) {
+        Matcher matcher = LOG_PATTERN.matcher(line);
+        assertTrue(matcher.find());
+
+        assertTrue(SpringBootLineTokenizer.tokenize(line, tokens));
+        assertEquals(matcher.group(1), tokens.timestamp(line).toString());
+        assertEquals(matcher.group(2), tokens.getLevel().name());
+        assertEquals(matcher.group(3), tokens.source(line));
+        assertEquals(matcher.group(4), tokens.message(line));
+    }
+
+    // Lines neither the tokenizer nor the regex accept
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            " 2025-12-11T10:33:54.946+05:30 ERROR 1 --- [t] [l] s : m",
+            "2025-12-11T10:33:54.946+05:30 TRACE 1 --- [t] [l] s : m",
+            "2025-12-11T10:33:54.946+05:30 ERRORS 1 --- [t] [l] s : m",
+            "2025-12-11T10:33:54.946+05:30 ERROR pid --- [t] [l] s : m",
+            "2025-12-11T10:33:54.946+05:30 ERROR 1 ---- [t] [l] s : m",
+            "2025-12-11T10:33:54.946+05:30 ERROR 1 --- t [l] s : m",
+            "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [t] [l] s :m",
+            "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [t] [l] s",
+            "2025-12-11T10:33:54.946+05:30 ERROR com.yash.app.Service -- Database Transaction Error",
+            "ERROR: Something went wrong but not in standard format"
+    })
+    void tokenize_NonMatchingLines_Rejected(String line) {
+        assertFalse(LOG_PATTERN.matcher(line).find());
+        assertFalse(SpringBootLineTokenizer.tokenize(line, tokens));
+    }
+
+    // ']' inside the thread name: the tokenizer gives up and the regex fallback still matches
+    @Test
+    void tokenize_BracketInsideThreadName_LeftToRegexFallback() {
+        String line = "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [a] b] [l] s : m";
+
+        assertFalse(SpringBootLineTokenizer.tokenize(line, tokens));
+        assertTrue(LOG_PATTERN.matcher(line).find());
+    }
+}
@@ -0,0 +1,106 @@
+package com.yash.log.ingestion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimestampDecoderTest {
+
+    private static final DateTimeFormatter LOG4J = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd")
+            .optionalStart().appendLiteral(' ').optionalEnd()
+            .optionalStart().appendLiteral('T').optionalEnd()
+            .appendPattern("HH:mm:ss")
+            .optionalStart().appendLiteral('.').appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, false).optionalEnd()
+            .optionalStart().appendLiteral(',').appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, false).optionalEnd()
+            .toFormatter();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2025-12-11T10:33:54.946+05:30",
+            "2025-12-11T10:33:54+05:30",
+            "2025-12-11T10:33:54.9Z",
+            "2025-12-11T10:33:54.123456789-08:00",
+            "2024-02-29T23:59:59.999+00:00",
+            "2025-12-11T10:33+05:30",                 // no seconds
+            "2025-12-11T10:33:54.946+05:30:15",       // offset with seconds
+            "2025-12-11T10:33:54.946+18:00",
+            "2025-12-11T10:33:54.946+05",             // hours only
+            "2025-12-11t10:33:54.946+05:30"
+    })
+    void decode_IsoOffset_SameAsFormatter(String text) {
+        assertEquals(LocalDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                TimestampDecoder.isoOffsetDateTime().decode(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2025-02-30T10:33:54.946+05:30",          // no such day
+            "2025-12-11T24:33:54.946+05:30",
+            "2025-12-11T10:33:54.946",                // offset missing
+            "2025-12-11 10:33:54.946+05:30",
+            "2025-12-11T10:33:54,946+05:30",
+            "2025-12-11T10:33:54.1234567891+05:30",   // ten fraction digits
+            "2025-12-11T10:33:54.946+19:00",
+            "2025-12-11T10:33:54.946+05:30 ",
+            "not a timestamp"
+    })
+    void decode_IsoOffset_InvalidText_ThrowsLikeFormatter(String text) {
+        TimestampDecoder decoder = TimestampDecoder.isoOffsetDateTime();
+
+        assertThrows(DateTimeParseException.class, () -> decoder.decode(text));
+        assertThrows(DateTimeParseException.class, () -> LocalDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2025-12-11 10:33:54,946",
+            "2025-12-11T10:33:54.946",
+            "2025-12-11 10:33:54",
+            "2025-02-30 10:33:54,946"                 // the formatter's resolver decides
+    })
+    void decode_LocalDateTime_SameAsFallback(String text) {
+        assertEquals(LocalDateTime.parse(text, LOG4J), TimestampDecoder.localDateTime(LOG4J).decode(text));
+    }
+
+    @Test
+    void decode_ConsecutiveLines_ReusesSecondAndReadsNewFractions() {
+        TimestampDecoder decoder = TimestampDecoder.isoOffsetDateTime();
+
+        LocalDateTime first = decoder.decode("2025-12-11T10:33:54.946+05:30");
+        LocalDateTime sameSecond = decoder.decode("2025-12-11T10:33:54.001+05:30");
+        LocalDateTime wholeSecond = decoder.decode("2025-12-11T10:33:54Z");
+        LocalDateTime nextSecond = decoder.decode("2025-12-11T10:33:55.5+05:30");
+        LocalDateTime nextDay = decoder.decode("2025-12-12T10:33:55.5+05:30");
+
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54, 946_000_000), first);
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54, 1_000_000), sameSecond);
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54), wholeSecond);
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 55, 500_000_000), nextSecond);
+        assertEquals(LocalDateTime.of(2025, 12, 12, 10, 33, 55, 500_000_000), nextDay);
+    }
+
+    @Test
+    void decode_Range_ReadsOnlyTheTimestamp() {
+        String line = "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : boom";
+
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54, 946_000_000),
+                TimestampDecoder.isoOffsetDateTime().decode(line, 0, 29));
+    }
+
+    @Test
+    void decode_InvalidAfterValid_DoesNotReuseTheCachedSecond() {
+        TimestampDecoder decoder = TimestampDecoder.isoOffsetDateTime();
+        decoder.decode("2025-12-11T10:33:54.946+05:30");
+
+        assertThrows(DateTimeParseException.class, () -> decoder.decode("2025-12-11T10:33:54.946+05:3"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.config.JsonFormatProperties;
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLogFormatTest {
+
+    private final JsonLogFormat format = new JsonLogFormat(new JsonFormatProperties());
+
+    @Test
+    void levelOf_ReadsTheLevelFieldWithoutDecoding() {
+        assertEquals(ErrorLevel.ERROR, levelOf("{\"@timestamp\":\"x\",\"level\" : \"error\",\"message\":\"boom\"}"));
+        assertEquals(ErrorLevel.WARN, levelOf("{\"severity\":\"WARNING\",\"message\":\"slow\"}"));
+        assertEquals(ErrorLevel.ERROR, levelOf("{\"log.level\":\"FATAL\",\"message\":\"down\"}"));
+        // a key that only starts like the level key
+        assertEquals(ErrorLevel.INFO, levelOf("{\"level_value\":40000,\"message\":\"x\"}"));
+        assertNull(levelOf("not json"));
+        assertNull(levelOf(""));
+    }
+
+    @Test
+    void parse_LogstashEncoderLine() {
+        LogDTO dto = format.parse("{\"@timestamp\":\"2025-12-11T10:33:54.946+05:30\",\"level\":\"ERROR\","
+                + "\"logger_name\":\"c.y.OrderService\",\"message\":\"Order failed\","
+                + "\"stack_trace\":\"java.lang.IllegalStateException: boom\\n\\tat c.y.A.b(A.java:1)\"}");
+
+        assertEquals("ERROR", dto.getErrorLevel());
+        assertEquals("Order failed", dto.getErrorMessage());
+        assertEquals("c.y.OrderService", dto.getSource());
+        assertEquals(inSystemZone("2025-12-11T10:33:54.946+05:30"), dto.getTimeStamp());
+        assertEquals("IllegalStateException", dto.getRootCause());
+        // left to ErrorTypeClassifier
+        assertNull(dto.getErrorType());
+        assertEquals("java.lang.IllegalStateException: boom\n\tat c.y.A.b(A.java:1)", dto.getStackTrace());
+    }
+
+    @Test
+    void parse_EcsNestedFieldsAndEpochMillis() {
+        LogDTO dto = format.parse("{\"timestamp\":1765449234946,\"log\":{\"level\":\"warn\",\"logger\":\"c.y.Pool\"},"
+                + "\"msg\":\"Pool almost exhausted\"}");
+
+        assertEquals("WARN", dto.getErrorLevel());
+        assertEquals("c.y.Pool", dto.getSource());
+        assertEquals("Pool almost exhausted", dto.getErrorMessage());
+        assertNotNull(dto.getTimeStamp());
+        assertNull(dto.getRootCause());
+    }
+
+    @Test
+    void parse_UnmappedValuesAreSkipped() {
+        LogDTO dto = format.parse("{\"mdc\":{\"message\":\"not this\",\"deep\":{\"level\":\"DEBUG\"}},"
+                + "\"tags\":[\"a\",{\"message\":\"nor this\"}],\"msg\":\"fallback\",\"message\":\"this one\","
+                + "\"@timestamp\":\"2025-12-11T10:33:54Z\",\"level\":null,\"thread_name\":\"main\"}");
+
+        // "message" comes before "msg" in the mapping, whatever the order in the event
+        assertEquals("this one", dto.getErrorMessage());
+        assertEquals(inSystemZone("2025-12-11T10:33:54Z"), dto.getTimeStamp());
+        assertEquals("INFO", dto.getErrorLevel());
+        assertNull(dto.getSource());
+    }
+
+    @Test
+    void parse_SourceWithItsOwnFieldNames() {
+        JsonFormatProperties.Fields fields = new JsonFormatProperties.Fields();
+        fields.setMessage(List.of("event.text"));
+        fields.setLevel(List.of("sev"));
+        fields.setTimestamp(List.of("when"));
+        JsonLogFormat orders = new JsonLogFormat("json:orders", fields);
+        String line = "{\"when\":\"2025-12-11T10:33:54\",\"sev\":\"error\",\"event\":{\"text\":\"Order failed\"},\"logger\":\"c.y.O\"}";
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+
+        LogDTO dto = orders.parse(line);
+
+        assertEquals(ErrorLevel.ERROR, orders.levelOf(ByteBuffer.wrap(bytes), 0, bytes.length));
+        assertEquals("Order failed", dto.getErrorMessage());
+        assertEquals("ERROR", dto.getErrorLevel());
+        assertEquals("c.y.O", dto.getSource());
+        // no offset, taken as local time
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54), dto.getTimeStamp());
+        // the default mapping finds no message in it
+        assertNull(format.parse(line));
+    }
+
+    @Test
+    void parse_NotALogObject_ReturnsNull() {
+        assertNull(format.parse("{\"message\":\"no timestamp\"}"));
+        assertNull(format.parse("{\"broken\":"));
+        assertNull(format.parse("[1,2,3]"));
+    }
+
+    @Test
+    void parse_BadTimestamp_Throws() {
+        assertThrows(DateTimeParseException.class,
+                () -> format.parse("{\"@timestamp\":\"yesterday\",\"level\":\"ERROR\",\"message\":\"boom\"}"));
+    }
+
+    @Test
+    void rootCause_InnermostCausedBy() {
+        assertEquals("SQLException", JsonLogFormat.rootCause("org.springframework.dao.DataAccessException: x\n"
+                + "\tat a.B.c(B.java:1)\nCaused by: java.io.IOException: y\nCaused by: java.sql.SQLException: z"));
+        assertNull(JsonLogFormat.rootCause("something else entirely"));
+    }
+
+    @Test
+    void parse_OffsetsOfOneInstantGiveOneTime() {
+        LogDTO utc = format.parse("{\"@timestamp\":\"2025-12-11T05:03:54.946Z\",\"message\":\"a\"}");
+        LogDTO india = format.parse("{\"@timestamp\":\"2025-12-11T10:33:54.946+05:30\",\"message\":\"a\"}");
+        LogDTO epoch = format.parse("{\"@timestamp\":1765429434946,\"message\":\"a\"}");
+
+        assertEquals(utc.getTimeStamp(), india.getTimeStamp());
+        assertEquals(epoch.getTimeStamp(), utc.getTimeStamp());
+    }
+
+    private static LocalDateTime inSystemZone(String offsetDateTime) {
+        return OffsetDateTime.parse(offsetDateTime).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private ErrorLevel levelOf(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return format.levelOf(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+}
@@ -0,0 +1,53 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Log4j2LogFormatTest {
+
+    private final Log4j2LogFormat format = new Log4j2LogFormat();
+
+    @Test
+    void levelOf_LevelBeforeOrAfterTheThread() {
+        assertEquals(ErrorLevel.ERROR, levelOf("2025-12-11 10:33:54,946 [main] ERROR c.y.A - boom"));
+        assertEquals(ErrorLevel.WARN, levelOf("2025-12-11 10:33:54.946 WARN  [pool-1] c.y.A - slow"));
+        assertEquals(ErrorLevel.ERROR, levelOf("2025-12-11 10:33:54 FATAL [main] c.y.A - down"));
+        assertEquals(ErrorLevel.DEBUG, levelOf("2025-12-11T10:33:54.946 [main] TRACE c.y.A - details"));
+    }
+
+    @Test
+    void levelOf_OtherLines_AreNotEventStarts() {
+        // Spring Boot's offset timestamp
+        assertNull(levelOf("2025-12-11T10:33:54.946+05:30 ERROR 1 --- [app] [main] c.y.A : boom"));
+        assertNull(levelOf("\tat c.y.A.b(A.java:1)"));
+        assertNull(levelOf("java.lang.IllegalStateException: boom"));
+        assertNull(levelOf("2025-12-11 10:33:54,946 [main] ERROR"));
+    }
+
+    @Test
+    void parse_ReadsAllFields() {
+        LogDTO dto = format.parse("2025-12-11 10:33:54,946 [http-nio-8080-exec-1] FATAL com.yash.OrderService - Order failed: id=7");
+
+        assertEquals("ERROR", dto.getErrorLevel());
+        assertEquals("com.yash.OrderService", dto.getSource());
+        assertEquals("Order failed: id=7", dto.getErrorMessage());
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54, 946_000_000), dto.getTimeStamp());
+    }
+
+    @Test
+    void parse_OtherLayout_ReturnsNull() {
+        assertNull(format.parse("2025-12-11T10:33:54.946+05:30 ERROR 1 --- [app] [main] c.y.A : boom"));
+    }
+
+    private ErrorLevel levelOf(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return format.levelOf(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+}
@@ -0,0 +1,95 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.config.JsonFormatProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFormatRegistryTest {
+
+    private final LogFormatRegistry registry = new LogFormatRegistry(List.of(new SpringBootLogFormat(),
+            new Log4j2LogFormat(), new JsonLogFormat(new JsonFormatProperties()), new NginxErrorLogFormat(),
+            new NginxAccessLogFormat()), new JsonFormatProperties(), 50);
+
+    @Test
+    void detect_SpringBootWithStackTrace() {
+        assertEquals("spring-boot", detect(
+                "2025-12-11T10:33:54.946+05:30 INFO 1 --- [app] [main] c.y.App : Started\n"
+                        + "2025-12-11T10:33:55.946+05:30 ERROR 1 --- [app] [main] c.y.OrderService : Order failed\n"
+                        + "java.lang.IllegalStateException: boom\n"
+                        + "\tat c.y.OrderService.place(OrderService.java:42)\n"));
+    }
+
+    @Test
+    void detect_EachOtherLayout() {
+        assertEquals("log4j2", detect("2025-12-11 10:33:54,946 [main] ERROR c.y.OrderService - Order failed\n"
+                + "2025-12-11 10:33:55,001 [main] INFO c.y.App - Started\n"));
+        assertEquals("json", detect("{\"@timestamp\":\"2025-12-11T10:33:54.946Z\",\"level\":\"ERROR\",\"message\":\"boom\"}\n"));
+        assertEquals("nginx-error", detect("2025/12/11 10:33:54 [error] 1234#1234: *5 connect() failed (111: Connection refused)\n"));
+        assertEquals("nginx-access", detect(
+                "10.0.0.7 - - [11/Dec/2025:10:33:54 +0530] \"GET /api/orders HTTP/1.1\" 502 157 \"-\" \"curl/8.4\"\n"));
+    }
+
+    @Test
+    void detect_MostLinesWin() {
+        // a log4j2 file with one stray Spring Boot line
+        assertEquals("log4j2", detect("2025-12-11T10:33:54.946+05:30 ERROR 1 --- [app] [main] c.y.App : stray\n"
+                + "2025-12-11 10:33:54.946 ERROR [main] c.y.OrderService - Order failed\n"
+                + "2025-12-11 10:33:55.946 WARN [main] c.y.OrderService - Retrying\n"));
+    }
+
+    @Test
+    void detect_NothingReadable_FallsBackToDefault() {
+        assertEquals("spring-boot", detect("just some text\nwithout any layout\n"));
+        assertEquals("spring-boot", detect(""));
+    }
+
+    @Test
+    void detect_OnlyLooksAtTheFirstLines() {
+        LogFormatRegistry oneLine = new LogFormatRegistry(List.of(new SpringBootLogFormat(), new NginxErrorLogFormat()),
+                new JsonFormatProperties(), 1);
+        byte[] sample = ("2025-12-11T10:33:54.946+05:30 ERROR 1 --- [app] [main] c.y.App : first\n"
+                + "2025/12/11 10:33:54 [error] 1#1: second\n"
+                + "2025/12/11 10:33:55 [error] 1#1: third\n").getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("spring-boot", oneLine.detect(sample, sample.length).getName());
+    }
+
+    @Test
+    void jsonSources_AreRegisteredAndDetected() {
+        JsonFormatProperties json = new JsonFormatProperties();
+        JsonFormatProperties.Fields fields = new JsonFormatProperties.Fields();
+        fields.setMessage(List.of("text"));
+        json.getSources().put("orders", fields);
+        LogFormatRegistry withSources = new LogFormatRegistry(List.of(new SpringBootLogFormat(),
+                new JsonLogFormat(new JsonFormatProperties())), json, 50);
+        byte[] sample = "{\"@timestamp\":\"2025-12-11T10:33:54Z\",\"level\":\"ERROR\",\"text\":\"boom\"}\n"
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(Set.of("spring-boot", "json", "json:orders"), withSources.getNames());
+        assertEquals("json:orders", withSources.detect(sample, sample.length).getName());
+    }
+
+    @Test
+    void get_UnknownName_Throws() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> registry.get("syslog"));
+
+        assertTrue(e.getMessage().contains("nginx-access"));
+        assertEquals("json", registry.get("json").getName());
+    }
+
+    @Test
+    void duplicateNames_AreRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> new LogFormatRegistry(List.of(new Log4j2LogFormat(), new Log4j2LogFormat()), new JsonFormatProperties(), 50));
+    }
+
+    private String detect(String sample) {
+        byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+        return registry.detect(bytes, bytes.length).getName();
+    }
+}
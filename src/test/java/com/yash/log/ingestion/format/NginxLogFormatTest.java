@@ -0,0 +1,64 @@
+package com.yash.log.ingestion.format;
+
+import com.yash.log.dto.ErrorLevel;
+import com.yash.log.dto.LogDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NginxLogFormatTest {
+
+    private static final String ACCESS_LINE =
+            "10.0.0.7 - alice [11/Dec/2025:10:33:54 +0530] \"POST /api/orders HTTP/1.1\" 502 157 \"-\" \"curl/8.4\"";
+
+    private final NginxErrorLogFormat errorFormat = new NginxErrorLogFormat();
+    private final NginxAccessLogFormat accessFormat = new NginxAccessLogFormat();
+
+    @Test
+    void errorLog_LevelFromFixedPositions() {
+        assertEquals(ErrorLevel.ERROR, levelOf(errorFormat, "2025/12/11 10:33:54 [crit] 1234#0: *5 SSL failed"));
+        assertEquals(ErrorLevel.WARN, levelOf(errorFormat, "2025/12/11 10:33:54 [warn] 1234#0: slow"));
+        assertEquals(ErrorLevel.INFO, levelOf(errorFormat, "2025/12/11 10:33:54 [notice] 1234#0: signal"));
+        assertNull(levelOf(errorFormat, "2025-12-11 10:33:54 [error] 1234#0: wrong date"));
+        assertNull(levelOf(errorFormat, "2025/12/11 10:33:54 [nonsense] 1234#0: x"));
+    }
+
+    @Test
+    void errorLog_Parse() {
+        LogDTO dto = errorFormat.parse("2025/12/11 10:33:54 [error] 1234#1234: *5 connect() failed (111: Connection refused)");
+
+        assertEquals("ERROR", dto.getErrorLevel());
+        assertEquals("*5 connect() failed (111: Connection refused)", dto.getErrorMessage());
+        assertEquals("nginx", dto.getSource());
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54), dto.getTimeStamp());
+    }
+
+    @Test
+    void accessLog_LevelFromStatus() {
+        assertEquals(ErrorLevel.ERROR, levelOf(accessFormat, ACCESS_LINE));
+        assertEquals(ErrorLevel.WARN, levelOf(accessFormat, ACCESS_LINE.replace(" 502 ", " 404 ")));
+        assertEquals(ErrorLevel.INFO, levelOf(accessFormat, ACCESS_LINE.replace(" 502 ", " 200 ")));
+        assertNull(levelOf(accessFormat, "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [app] [main] c.y.A : [x] boom"));
+        assertNull(levelOf(accessFormat, "[11/Dec/2025:10:33:54 +0530] \"GET / HTTP/1.1\" 500 1"));
+    }
+
+    @Test
+    void accessLog_Parse() {
+        LogDTO dto = accessFormat.parse(ACCESS_LINE);
+
+        assertEquals("ERROR", dto.getErrorLevel());
+        assertEquals("10.0.0.7", dto.getSource());
+        assertEquals("POST /api/orders HTTP/1.1 -> 502", dto.getErrorMessage());
+        assertEquals("HTTP 502", dto.getErrorType());
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54), dto.getTimeStamp());
+    }
+
+    private static ErrorLevel levelOf(LogFormat format, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return format.levelOf(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+}
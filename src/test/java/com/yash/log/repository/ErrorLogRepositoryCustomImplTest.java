@@ -0,0 +1,128 @@
+package com.yash.log.repository;
+
+import com.yash.log.entity.Log;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ErrorLogRepositoryCustomImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ErrorLogRepositoryCustomImpl repository;
+
+    @Test
+    void everyRowInsertedNeedsNoLookup() {
+        Log first = log(11L);
+        Log second = log(12L);
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenReturn(2);
+
+        List<Log> written = repository.batchInsert(List.of(first, second));
+
+        assertEquals(List.of(first, second), written);
+        assertTrue(second.getErrorId() > first.getErrorId());
+        verify(jdbcTemplate).update(contains("ON DUPLICATE KEY UPDATE"), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), any(Object[].class));
+    }
+
+    @Test
+    void rowSkippedForItsFingerprintIsNotReturned() {
+        Log first = log(11L);
+        Log second = log(12L);
+        // the update count says one row was skipped, the lookup finds the other under its id
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenAnswer(invocation -> List.of(first.getErrorId()));
+
+        List<Log> written = repository.batchInsert(List.of(first, second));
+
+        assertEquals(List.of(first), written);
+        // bounded on the partition column
+        verify(jdbcTemplate).queryForList(contains("time_stamp BETWEEN ? AND ?"), eq(Long.class), any(Object[].class));
+    }
+
+    @Test
+    void restoredRowKeepsItsId() {
+        Log restored = log(11L);
+        restored.setErrorId(42L);
+        restored.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenReturn(1);
+
+        assertEquals(List.of(restored), repository.batchInsert(List.of(restored)));
+        assertEquals(42L, restored.getErrorId());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), restored.getCreatedAt());
+    }
+
+    @Test
+    void largeBatchIsSplitIntoStatements() {
+        List<Log> rows = IntStream.range(0, ErrorLogRepositoryCustomImpl.ROWS_PER_INSERT + 1)
+                .mapToObj(ErrorLogRepositoryCustomImplTest::log).toList();
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(ErrorLogRepositoryCustomImpl.ROWS_PER_INSERT, 1);
+
+        assertEquals(rows, repository.batchInsert(rows));
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void rowsAreBoundInColumnOrder() throws Exception {
+        Log row = log(11L);
+        row.setTimeStamp(null);
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenReturn(1);
+
+        repository.batchInsert(List.of(row));
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).update(anyString(), setter.capture());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps);
+        verify(ps).setLong(1, row.getErrorId());
+        verify(ps).setString(3, "Failure 11");
+        // a missing time stamp is the insert time, the partition column may not be NULL
+        verify(ps).setTimestamp(4, Timestamp.valueOf(row.getCreatedAt()));
+        verify(ps).setNull(5, Types.BIGINT);
+        verify(ps).setLong(10, 11L);
+    }
+
+    @Test
+    void longMessageIsCutToTheColumn() {
+        String message = "x".repeat(Log.MESSAGE_LENGTH + 10);
+
+        String cut = ErrorLogRepositoryCustomImpl.truncate(message);
+
+        assertEquals(Log.MESSAGE_LENGTH, cut.length());
+        assertTrue(cut.endsWith("..."));
+        assertEquals("short", ErrorLogRepositoryCustomImpl.truncate("short"));
+        assertNull(ErrorLogRepositoryCustomImpl.truncate(null));
+    }
+
+    private static Log log(long fingerprint) {
+        Log log = new Log();
+        log.setErrorLevel("ERROR");
+        log.setErrorMessage("Failure " + fingerprint);
+        log.setTimeStamp(LocalDateTime.of(2025, 12, 11, 10, 33, 54));
+        log.setFingerprint(fingerprint);
+        return log;
+    }
+}
@@ -0,0 +1,116 @@
+package com.yash.log.repository;
+
+import com.yash.log.audit.AuditAwareImpl;
+import com.yash.log.entity.Log;
+import com.yash.log.search.DocIterator;
+import com.yash.log.search.FullTextIndex;
+import com.yash.log.search.SearchQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The table search of LogSpecifications.mentions on H2 against the full-text
+// index on the same rows: both must find the same ids for a search, so results
+// do not change while the index is loading or rebuilding. H2's own dialect
+// writes the pattern literals the way H2 reads them; the MySQL dialect doubles
+// their backslashes for MySQL.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:log-specifications;MODE=MySQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AuditAwareImpl.class)
+class LogSpecificationsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 12, 11, 0, 0);
+
+    private static final String[][] ROWS = {
+            {"Network Timeout Error", "orders", "java.net.SocketTimeoutException: Read timed out"},
+            {"Database Error", "billing", "Deadlock found when trying to get lock"},
+            {"Network Timeout Error", "billing", "Connect timed out"},
+            {"Other", "orders", "out of time, read timed later"},
+            {"Other", "orders-2", "Order 1234 failed: 100%_done"},
+            {"Null Pointer Error", "billing", "Cannot invoke \"String.length()\" because \"name\" is null"},
+            {"Other", "webhooks", "WebSocketException on /hooks"},
+            {"Other", "orders", "Timeouts exceeded"}};
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path dir;
+
+    private FullTextIndex index;
+
+    @BeforeEach
+    void seed() throws Exception {
+        index = FullTextIndex.open(dir, 100);
+        for (int i = 0; i < ROWS.length; i++) {
+            long id = i + 1;
+            jdbcTemplate.update("INSERT INTO log (error_id, error_level, error_type, source, error_message, " +
+                            "time_stamp, created_at) VALUES (?, 'ERROR', ?, ?, ?, ?, ?)",
+                    id, ROWS[i][0], ROWS[i][1], ROWS[i][2], Timestamp.valueOf(DAY), Timestamp.valueOf(DAY));
+            index.add(id, 0, 0, ROWS[i]);
+        }
+        index.flush();
+    }
+
+    @Test
+    void tableFindsWhatTheIndexFinds() {
+        for (String search : List.of("timed", "TIMEOUT", "billing timed", "\"read timed\"", "read-timed-out",
+                "socket*", "SocketTime*", "java.net.SocketTimeoutException", "orders", "1234", "100%_done",
+                "\"name\" is null", "missing", "billing missing")) {
+            List<Long> indexed = ids(index.search(SearchQuery.parse(search), FullTextIndex.MIN_TIME,
+                    FullTextIndex.MAX_TIME));
+
+            assertEquals(indexed, table(search), "table search for " + search);
+        }
+    }
+
+    @Test
+    void wholeTermsOnly() {
+        // "time" is in "timed", "Timeout" and "Timeouts" but is not a term of them
+        assertEquals(List.of(4L), table("time"));
+        assertEquals(List.of(), table("socket"));
+        assertEquals(List.of(7L), table("websocketexception"));
+    }
+
+    @Test
+    void textWithoutAWordIsLookedForAnywhere() {
+        assertEquals(List.of(5L), table("%_"));
+    }
+
+    private List<Long> table(String search) {
+        return logRepository.findAll(LogSpecifications.mentions(search)).stream()
+                .map(Log::getErrorId).sorted(Comparator.reverseOrder()).toList();
+    }
+
+    private static List<Long> ids(DocIterator docs) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = docs.next(); id != DocIterator.NO_MORE_DOCS; id = docs.next()) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,316 @@
+package com.yash.log.repository;
+
+import com.yash.log.audit.AuditAwareImpl;
+import com.yash.log.config.RetentionProperties;
+import com.yash.log.constants.Status;
+import com.yash.log.entity.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Calls every query of ErrorLogRepository on an in-memory H2 in MySQL mode,
+// with the schema Hibernate creates from the entities and the MySQL dialect of
+// application.yml, records the SQL each call sends with its parameters and runs
+// EXPLAIN on every SELECT. Fails when a plan reads a whole table, or a whole
+// index without a condition on it. A query method without an entry in CALLS or
+// UNCHECKED fails everyRepositoryQueryIsChecked; the inherited JpaRepository
+// methods the application calls have entries too. H2's planner stands in for
+// MySQL's: it catches a query no index can serve, not a plan MySQL's costs
+// would pick differently.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AuditAwareImpl.class, LogRetentionRepository.class, QueryPlanTest.RecordingDataSource.class})
+// ANALYZE commits, so the rows are seeded once and every call runs outside a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 12, 11, 0, 0);
+
+    // read every row by design
+    private static final Map<String, String> UNCHECKED = Map.of(
+            "countErrorsByLevel/0", "dashboard count over the whole table, reads all of idx_log_level_type",
+            "countByErrorType/0", "dashboard and daily alert count over the whole table, reads all of idx_log_error_type",
+            "forEachFingerprint/1", "loads the dedup filter with every fingerprint");
+
+    private static final Map<String, Call> CALLS = Map.ofEntries(
+            // the fingerprint of seeded row 1 is skipped, which makes it look up the rows it wrote
+            entry("batchInsert/1", test -> test.errorLogRepository.batchInsert(List.of(
+                    newLog(10_000_001L, DAY), newLog(31L, seededTimeStamp(1)), newLog(10_000_003L, DAY)))),
+            entry("countByDayBetween/2", test -> test.errorLogRepository.countByDayBetween(DAY, DAY.plusDays(7))),
+            entry("countByerrorTypeBetween/2", test ->
+                    test.errorLogRepository.countByerrorTypeBetween(DAY, DAY.plusDays(7))),
+            entry("countByErrorType/1", test -> test.errorLogRepository.countByErrorType("Database Error")),
+            entry("findAllWithTicketStatus/1", test -> test.errorLogRepository.findAllWithTicketStatus(Status.OPEN)),
+            // inherited, TicketServiceImpl links a ticket to its row by id
+            entry("findById/1", test -> test.errorLogRepository.findById(2500L)),
+            entry("save/1", test -> test.errorLogRepository.save(test.errorLogRepository.findById(2501L).orElseThrow())),
+            entry("findExistingFingerprints/1", test ->
+                    test.errorLogRepository.findExistingFingerprints(List.of(31L, 62L, 93L))),
+            entry("forEachSearchable/2", test -> test.errorLogRepository.forEachSearchable(4000L, log -> {
+            })),
+            // not repository methods, the pages of the log listings (LogServiceImpl) and of a retention rule
+            entry("keyset page", test -> test.logRepository.findSlice(LogSpecifications.before(new LogCursor(DAY, 2500L)),
+                    PageRequest.of(0, 100, Sort.by(Sort.Order.desc("timeStamp"), Sort.Order.desc("errorId"))))),
+            entry("retention batch", test ->
+                    test.retentionRepository.findExpired(DAY, rule("ERROR", "Database Error"), List.of(), null, 1000)),
+            entry("retention next batch", test -> test.retentionRepository.findExpired(DAY,
+                    rule("ERROR", "Database Error"), List.of(), new LogCursor(DAY.minusDays(30), 2500L), 1000)));
+
+    // H2 comments each read in a plan: "/* PUBLIC.LOG.tableScan */" for a whole
+    // table, "/* PUBLIC.<index> */" for a whole index, "/* PUBLIC.<index>: <condition> */"
+    // for the part of the index the condition selects
+    private static final Pattern READ = Pattern.compile("/\\* PUBLIC\\.(\\w+)(\\.tableScan \\*/| \\*/|:)");
+
+    @Autowired
+    private ErrorLogRepository errorLogRepository;
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private LogRetentionRepository retentionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM log", Long.class) > 0) {
+            return;
+        }
+        // a few thousand rows, so the plans are chosen on costs rather than an empty table
+        String[] levels = {"ERROR", "WARN", "INFO"};
+        String[] types = {"Database Error", "Network Timeout Error", "Null Pointer Error", "Other"};
+        jdbcTemplate.batchUpdate("INSERT INTO log (error_id, error_level, error_message, time_stamp, source, " +
+                        "error_type, ticket_id, fingerprint, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                IntStream.rangeClosed(1, 5000).mapToObj(id -> {
+                    Timestamp timeStamp = Timestamp.valueOf(seededTimeStamp(id));
+                    return new Object[]{(long) id, levels[id % levels.length], "message " + id, timeStamp,
+                            "service-" + id % 7, types[id % types.length], id % 50 == 0 ? (long) id / 50 : null,
+                            id * 31L, timeStamp};
+                }).toList());
+        Status[] statuses = Status.values();
+        jdbcTemplate.batchUpdate("INSERT INTO ticket (ticket_id, status, user_id, created_by, assigned_to) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                IntStream.rangeClosed(1, 100).mapToObj(id -> new Object[]{(long) id,
+                        statuses[id % statuses.length].name(), 1L, "1", "2"}).toList());
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("calls")
+    void queryReadsOnlyARange(String call) throws Exception {
+        RecordingDataSource.STATEMENTS.clear();
+
+        CALLS.get(call).run(this);
+
+        List<Recorded> selects = RecordingDataSource.STATEMENTS.stream().filter(Recorded::isSelect).toList();
+        assertFalse(selects.isEmpty(), call + " sent no SELECT");
+        for (Recorded select : selects) {
+            String plan = explain(select);
+            assertEquals(List.of(), fullReads(plan), call + " reads a whole table or index:\n" + plan);
+        }
+    }
+
+    @Test
+    void everyRepositoryQueryIsChecked() {
+        List<String> unchecked = Stream.of(ErrorLogRepository.class, ErrorLogRepositoryCustom.class)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic())
+                .map(method -> method.getName() + "/" + method.getParameterCount())
+                .filter(key -> !CALLS.containsKey(key) && !UNCHECKED.containsKey(key))
+                .sorted()
+                .toList();
+
+        assertEquals(List.of(), unchecked, "repository queries without an entry in QueryPlanTest");
+    }
+
+    @Test
+    void aQueryWithoutAnIndexIsCaught() throws Exception {
+        // guards the check itself: nothing is indexed on source
+        String plan = explain(new Recorded("SELECT * FROM log WHERE source = 'service-1'", List.of()));
+
+        assertEquals(List.of("LOG.tableScan"), fullReads(plan), plan);
+    }
+
+    @Test
+    void aWholeIndexReadIsCaught() throws Exception {
+        // the index covers the query but has no condition to narrow it
+        String plan = explain(new Recorded("SELECT error_level, COUNT(*) FROM log GROUP BY error_level", List.of()));
+
+        assertEquals(List.of("IDX_LOG_LEVEL_TYPE"), fullReads(plan), plan);
+    }
+
+    static Stream<String> calls() {
+        return CALLS.keySet().stream().sorted();
+    }
+
+    // the tables and indexes a plan reads from start to end
+    private static List<String> fullReads(String plan) {
+        List<String> reads = new ArrayList<>();
+        Matcher read = READ.matcher(plan);
+        while (read.find()) {
+            if (read.group(2).startsWith(".tableScan")) {
+                reads.add(read.group(1) + ".tableScan");
+            } else if (!read.group(2).equals(":")) {
+                reads.add(read.group(1));
+            }
+        }
+        return reads;
+    }
+
+    // the recorded statement with the parameters set on it as it ran
+    private String explain(Recorded statement) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Binding binding : statement.bindings()) {
+                binding.setter().invoke(explain, binding.args());
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                assertTrue(plan.next());
+                return statement.sql() + "\n" + plan.getString(1);
+            }
+        }
+    }
+
+    private static LocalDateTime seededTimeStamp(int id) {
+        return DAY.minusDays(60).plusMinutes(id * 17L);
+    }
+
+    private static Log newLog(long fingerprint, LocalDateTime timeStamp) {
+        Log log = new Log();
+        log.setErrorLevel("ERROR");
+        log.setErrorMessage("message " + fingerprint);
+        log.setTimeStamp(timeStamp);
+        log.setFingerprint(fingerprint);
+        return log;
+    }
+
+    private static RetentionProperties.Rule rule(String level, String errorType) {
+        RetentionProperties.Rule rule = new RetentionProperties.Rule();
+        rule.setLevel(level);
+        rule.setErrorType(errorType);
+        rule.setDays(30);
+        return rule;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Call {
+        void run(QueryPlanTest test) throws Exception;
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    private record Recorded(String sql, List<Binding> bindings) {
+
+        boolean isSelect() {
+            return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+        }
+    }
+
+    // Wraps the DataSource that Hibernate and JdbcTemplate share and records every
+    // statement they prepare and run, with the parameters set on it
+    static class RecordingDataSource implements BeanPostProcessor {
+
+        static final List<Recorded> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        private static final Set<String> EXECUTES = Set.of("execute", "executeQuery", "executeUpdate");
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, (method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return method.getName().equals("getConnection") ? connection((Connection) result) : result;
+            });
+        }
+
+        private static Connection connection(Connection connection) {
+            return proxy(Connection.class, (method, args) -> {
+                Object result = invoke(connection, method, args);
+                return method.getName().equals("prepareStatement")
+                        ? statement((PreparedStatement) result, (String) args[0]) : result;
+            });
+        }
+
+        private static PreparedStatement statement(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                String name = method.getName();
+                if (name.equals("setFetchSize") && (int) args[0] < 0) {
+                    // MySQL's hint to stream the rows, which H2 rejects
+                    return null;
+                }
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args.clone()));
+                } else if (EXECUTES.contains(name) && (args == null || args.length == 0)) {
+                    STATEMENTS.add(new Recorded(sql, List.copyOf(bindings)));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> handler.handle(method, args)));
+        }
+
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.yash.log.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullTextIndexTest {
+
+    private static final long ALL_TIME_FROM = FullTextIndex.MIN_TIME;
+    private static final long ALL_TIME_TO = FullTextIndex.MAX_TIME;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void termsAreFoundInEveryFieldNewestFirstOnceFlushed() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        index.add(1, 1000, 1000, "Network Timeout Error", "orders", "java.net.SocketTimeoutException: Read timed out");
+        index.add(2, 2000, 2000, "Database Error", "billing", "Deadlock found when trying to get lock");
+        index.add(3, 3000, 3000, "Network Timeout Error", "billing", "Connect timed out");
+
+        assertEquals(List.of(), search(index, "timeout"));
+        index.flush();
+
+        assertEquals(List.of(3L, 1L), search(index, "timeout"));
+        assertEquals(List.of(3L, 2L), search(index, "BILLING"));
+        assertEquals(List.of(1L), search(index, "SocketTimeoutException"));
+        assertEquals(List.of(3L), search(index, "billing timed"));
+        assertEquals(List.of(), search(index, "missing"));
+        assertEquals(List.of(), search(index, "billing missing"));
+    }
+
+    @Test
+    void phraseNeedsTheTermsNextToEachOtherInOrder() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        index.add(1, 0, 0, null, null, "Read timed out");
+        index.add(2, 0, 0, null, null, "out of time, read timed later");
+        index.add(3, 0, 0, "read", null, "timed out");
+        index.flush();
+
+        assertEquals(List.of(2L, 1L), search(index, "\"read timed\""));
+        // the fields of row 3 do not run into each other
+        assertEquals(List.of(1L), search(index, "\"read timed out\""));
+        assertEquals(List.of(1L), search(index, "Read-timed-out"));
+    }
+
+    @Test
+    void prefixMatchesEveryTermStartingWithIt() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        index.add(1, 0, 0, "SocketTimeoutException");
+        index.add(2, 0, 0, "SocketException");
+        index.add(3, 0, 0, "Socket");
+        index.add(4, 0, 0, "WebSocketException");
+        index.flush();
+
+        assertEquals(List.of(3L, 2L, 1L), search(index, "socket*"));
+        assertEquals(List.of(1L), search(index, "SocketTime*"));
+        assertEquals(List.of(), search(index, "sockx*"));
+    }
+
+    @Test
+    void prefixExpansionIsCapped() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 2);
+        index.add(1, 0, 0, "err1");
+        index.add(2, 0, 0, "err2");
+        index.add(3, 0, 0, "err3");
+        index.flush();
+
+        assertEquals(List.of(2L, 1L), search(index, "err*"));
+    }
+
+    @Test
+    void timeStampRangeIsApplied() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        for (long id = 1; id <= 5; id++) {
+            index.add(id, 0, id * 1000, "boom");
+        }
+        index.flush();
+
+        assertEquals(List.of(4L, 3L, 2L), ids(index.search(SearchQuery.parse("boom"), 2000, 4000)));
+    }
+
+    @Test
+    void timeStampRangeSkipsBlocksOutsideIt() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            // time_stamp mostly follows the id, every seventh row arrived five minutes late
+            long timeStamp = id % 7 == 0 ? id * 1000 - 300_000 : id * 1000;
+            index.add(id, 0, timeStamp, id % 3 == 0 ? "boom" : "other");
+            if (id % 3 == 0 && timeStamp >= 400_000 && timeStamp <= 450_000) {
+                expected.add(0, id);
+            }
+        }
+        index.flush();
+
+        assertEquals(expected, ids(index.search(SearchQuery.parse("boom"), 400_000, 450_000)));
+        // the range leads when it holds fewer docs than the term; 735 arrived late
+        assertEquals(List.of(735L, 435L, 432L), ids(index.search(SearchQuery.parse("boom"), 432_000, 435_000)));
+        assertEquals(List.of(), ids(index.search(SearchQuery.parse("boom"), 0, 999)));
+        DocIterator ranged = index.search(SearchQuery.parse("boom"), 400_000, 450_000);
+        assertEquals(expected.get(3), ranged.advance(expected.get(2) - 1));
+        assertEquals(expected.get(4), ranged.next());
+    }
+
+    @Test
+    void advanceSkipsWholeBlocksOfACommonTerm() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            index.add(id, 0, 0, id % 97 == 0 ? "common rare" : "common");
+            if (id % 97 == 0) {
+                expected.add(0, id);
+            }
+        }
+        index.flush();
+
+        assertEquals(expected, search(index, "common rare"));
+        assertEquals(2000, search(index, "common").size());
+        DocIterator common = index.search(SearchQuery.parse("common"), ALL_TIME_FROM, ALL_TIME_TO);
+        assertEquals(1500, common.advance(1500));
+        assertEquals(3, common.advance(3));
+        assertEquals(2, common.next());
+    }
+
+    @Test
+    void segmentsAreSearchedTogetherAndMergedWithoutRepeats() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        index.add(1, 100, 10, "alpha");
+        index.flush();
+        index.add(2, 200, 20, "alpha beta");
+        index.flush();
+        // the same row indexed again, as during a rebuild
+        index.add(1, 100, 10, "alpha");
+        index.add(3, 300, 30, "beta");
+        index.flush();
+
+        assertEquals(List.of(2L, 1L), search(index, "alpha"));
+        assertEquals(3, index.getSegments().size());
+
+        assertTrue(index.merge(1, Long.MAX_VALUE));
+        assertEquals(1, index.getSegments().size());
+        assertEquals(3, index.getSegments().get(0).getDocCount());
+        assertEquals(List.of(2L, 1L), search(index, "alpha"));
+        assertEquals(List.of(3L, 2L), search(index, "beta"));
+        assertEquals(20, index.timeStampOf(2));
+        assertEquals(Long.MIN_VALUE, index.timeStampOf(9));
+        assertFalse(index.merge(1, Long.MAX_VALUE));
+    }
+
+    @Test
+    void mergeStaysUnderTheSizeLimit() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        for (long id = 1; id <= 3; id++) {
+            index.add(id, 0, 0, "alpha");
+            index.flush();
+        }
+        long segmentBytes = index.getSegments().get(0).getSizeBytes();
+
+        assertFalse(index.merge(1, segmentBytes));
+        assertTrue(index.merge(1, segmentBytes * 2));
+        assertEquals(2, index.getSegments().size());
+    }
+
+    @Test
+    void reopenKeepsTheLiveSegmentsAndDropsLeftovers() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        index.add(7, 0, 0, "kept");
+        index.add(8, 0, 0, "buffered then closed");
+        index.close();
+        Files.writeString(dir.resolve("seg-99.seg.tmp"), "partial");
+
+        FullTextIndex reopened = FullTextIndex.open(dir, 100);
+
+        assertEquals(List.of(7L), search(reopened, "kept"));
+        assertEquals(List.of(8L), search(reopened, "closed"));
+        assertEquals(8, reopened.getMaxDoc());
+        assertFalse(Files.exists(dir.resolve("seg-99.seg.tmp")));
+        reopened.add(9, 0, 0, "kept");
+        reopened.flush();
+        assertEquals(List.of(9L, 7L), search(reopened, "kept"));
+    }
+
+    @Test
+    void clearDropsEverything() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        index.add(1, 0, 0, "alpha");
+        index.flush();
+        index.add(2, 0, 0, "alpha");
+
+        index.clear();
+        index.flush();
+
+        assertEquals(List.of(), search(index, "alpha"));
+        assertEquals(0, index.getBufferedDocs());
+        assertEquals(Long.MIN_VALUE, index.getMaxDoc());
+        assertEquals(List.of(), FullTextIndex.open(dir, 100).getSegments());
+    }
+
+    @Test
+    void missingSegmentFailsTheOpen() throws IOException {
+        FullTextIndex index = FullTextIndex.open(dir, 100);
+        index.add(1, 0, 0, "alpha");
+        index.flush();
+        Files.delete(dir.resolve(index.getSegments().get(0).getName()));
+
+        assertThrows(IOException.class, () -> FullTextIndex.open(dir, 100));
+        FullTextIndex.delete(dir);
+        assertEquals(List.of(), FullTextIndex.open(dir, 100).getSegments());
+    }
+
+    private static List<Long> search(FullTextIndex index, String query) {
+        return ids(index.search(SearchQuery.parse(query), ALL_TIME_FROM, ALL_TIME_TO));
+    }
+
+    private static List<Long> ids(DocIterator docs) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = docs.next(); id != DocIterator.NO_MORE_DOCS; id = docs.next()) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,44 @@
+package com.yash.log.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchQueryTest {
+
+    @Test
+    void tokensAreLowerCasedRunsOfLettersAndDigits() {
+        assertEquals(List.of("java", "net", "sockettimeoutexception", "read", "timed", "out", "after", "30000", "ms"),
+                LogTokenizer.tokens("java.net.SocketTimeoutException: Read timed out after 30000 ms"));
+        assertEquals(List.of("a".repeat(LogTokenizer.MAX_TERM_CHARS)), LogTokenizer.tokens("a".repeat(100)));
+        assertEquals(List.of(), LogTokenizer.tokens(" -- "));
+    }
+
+    @Test
+    void wordsPhrasesAndPrefixes() {
+        assertEquals(List.of(
+                        new SearchQuery.Term("timeout"),
+                        new SearchQuery.Phrase(List.of("read", "timed", "out")),
+                        new SearchQuery.Prefix("socket")),
+                SearchQuery.parse("Timeout \"read timed out\" Socket*").getClauses());
+    }
+
+    @Test
+    void splitWordIsAPhraseAndItsLastPartThePrefix() {
+        assertEquals(List.of(new SearchQuery.Phrase(List.of("order", "1234"))),
+                SearchQuery.parse("order-1234").getClauses());
+        assertEquals(List.of(new SearchQuery.Term("java"), new SearchQuery.Term("net"), new SearchQuery.Prefix("socket")),
+                SearchQuery.parse("java.net.Socket*").getClauses());
+    }
+
+    @Test
+    void unclosedQuoteRunsToTheEndAndPunctuationIsEmpty() {
+        assertEquals(List.of(new SearchQuery.Phrase(List.of("read", "timed"))),
+                SearchQuery.parse("\"read timed").getClauses());
+        assertEquals(List.of(new SearchQuery.Term("x")), SearchQuery.parse("\"x\"").getClauses());
+        assertTrue(SearchQuery.parse(" \"\" * -- ").isEmpty());
+        assertTrue(SearchQuery.parse(null).isEmpty());
+    }
+}
@@ -54,6 +54,15 @@ class AlertSchedulerTest {
         return l;
     }
 
+    // the rows of countByErrorType()
+    private List<Object[]> counts(Object[]... rows) {
+        return List.of(rows);
+    }
+
+    private Object[] count(String type, long count) {
+        return new Object[]{type, count};
+    }
+
     private User admin(String email) {
         User u = new User();
         u.setUserRole(Role.ADMIN);
@@ -78,19 +87,14 @@ class AlertSchedulerTest {
     @Test
     void dailyTask_NoSignificantErrors_SkipsEmail() {
         // error types: DB (10), NPE (5) -> none > 10
-        when(errorLogRepository.findAll())
-                .thenReturn(List.of(logWithType("DB"), logWithType("NPE")));
-
-        when(errorLogRepository.countByErrorType("DB")).thenReturn(10L);
-        when(errorLogRepository.countByErrorType("NPE")).thenReturn(5L);
+        when(errorLogRepository.countByErrorType()).thenReturn(counts(count("DB", 10L), count("NPE", 5L)));
 
         // Act
         alertScheduler.dailyTask();
 
         // Assert
-        verify(errorLogRepository).findAll();
-        verify(errorLogRepository).countByErrorType("DB");
-        verify(errorLogRepository).countByErrorType("NPE");
+        verify(errorLogRepository).countByErrorType();
+        verify(errorLogRepository, never()).findAll();
         verifyNoInteractions(emailService);
         // findAllWithTicketStatus() should not be called when significant types empty
         verify(errorLogRepository, never()).findAllWithTicketStatus(any(Status.class));
@@ -99,11 +103,7 @@ class AlertSchedulerTest {
     @Test
     void dailyTask_NoOpenTickets_SkipsEmail() {
         // Significant errors exist: DB (15), NPE (25)
-        when(errorLogRepository.findAll())
-                .thenReturn(List.of(logWithType("DB"), logWithType("NPE")));
-
-        when(errorLogRepository.countByErrorType("DB")).thenReturn(15L);
-        when(errorLogRepository.countByErrorType("NPE")).thenReturn(25L);
+        when(errorLogRepository.countByErrorType()).thenReturn(counts(count("DB", 15L), count("NPE", 25L)));
 
         // No open tickets
         when(errorLogRepository.findAllWithTicketStatus(Status.OPEN))
@@ -113,9 +113,8 @@ class AlertSchedulerTest {
         alertScheduler.dailyTask();
 
         // Assert
-        verify(errorLogRepository).findAll();
-        verify(errorLogRepository).countByErrorType("DB");
-        verify(errorLogRepository).countByErrorType("NPE");
+        verify(errorLogRepository).countByErrorType();
+        verify(errorLogRepository, never()).findAll();
         verify(errorLogRepository).findAllWithTicketStatus(Status.OPEN);
         verifyNoInteractions(emailService);
     }
@@ -123,8 +122,7 @@ class AlertSchedulerTest {
     @Test
     void dailyTask_NoIntersectionBetweenSignificantAndOpenTicketTypes_SkipsEmail() {
         // Significant: DB (20)
-        when(errorLogRepository.findAll()).thenReturn(List.of(logWithType("DB")));
-        when(errorLogRepository.countByErrorType("DB")).thenReturn(20L);
+        when(errorLogRepository.countByErrorType()).thenReturn(counts(count("DB", 20L)));
 
         // Open tickets have different type: NETWORK
         when(errorLogRepository.findAllWithTicketStatus(Status.OPEN))
@@ -134,8 +132,8 @@ class AlertSchedulerTest {
         alertScheduler.dailyTask();
 
         // Assert
-        verify(errorLogRepository).findAll();
-        verify(errorLogRepository).countByErrorType("DB");
+        verify(errorLogRepository).countByErrorType();
+        verify(errorLogRepository, never()).findAll();
         verify(errorLogRepository).findAllWithTicketStatus(Status.OPEN);
         verifyNoInteractions(emailService);
     }
@@ -143,8 +141,7 @@ class AlertSchedulerTest {
     @Test
     void dailyTask_AdminsEmpty_SkipsEmail() {
         // Significant and intersection present: DB
-        when(errorLogRepository.findAll()).thenReturn(List.of(logWithType("DB")));
-        when(errorLogRepository.countByErrorType("DB")).thenReturn(30L);
+        when(errorLogRepository.countByErrorType()).thenReturn(counts(count("DB", 30L)));
         when(errorLogRepository.findAllWithTicketStatus(Status.OPEN))
                 .thenReturn(List.of(logWithType("DB")));
 
@@ -155,8 +152,8 @@ class AlertSchedulerTest {
         alertScheduler.dailyTask();
 
         // Assert
-        verify(errorLogRepository).findAll();
-        verify(errorLogRepository).countByErrorType("DB");
+        verify(errorLogRepository).countByErrorType();
+        verify(errorLogRepository, never()).findAll();
         verify(errorLogRepository).findAllWithTicketStatus(Status.OPEN);
         verify(userRepository).findByUserRole(Role.ADMIN);
         verifyNoInteractions(emailService);
@@ -165,14 +162,8 @@ class AlertSchedulerTest {
     @Test
     void dailyTask_HappyPath_SendsEmailToAllAdminsWithValidEmails() {
         // Significant and intersection present
-        when(errorLogRepository.findAll()).thenReturn(List.of(
-                logWithType("DB"),
-                logWithType("NPE"),
-                logWithType("NETWORK"))
-        );
-        when(errorLogRepository.countByErrorType("DB")).thenReturn(50L);
-        when(errorLogRepository.countByErrorType("NPE")).thenReturn(8L);
-        when(errorLogRepository.countByErrorType("NETWORK")).thenReturn(12L);
+        when(errorLogRepository.countByErrorType())
+                .thenReturn(counts(count("DB", 50L), count("NPE", 8L), count("NETWORK", 12L)));
 
         // Open tickets with DB and NETWORK
         when(errorLogRepository.findAllWithTicketStatus(Status.OPEN))
@@ -216,8 +207,7 @@ class AlertSchedulerTest {
     @Test
     void dailyTask_BlankOrNullAdminEmails_AreFilteredOut_NoEmailSentToThem() {
         // Significant + intersection for DB
-        when(errorLogRepository.findAll()).thenReturn(List.of(logWithType("DB")));
-        when(errorLogRepository.countByErrorType("DB")).thenReturn(40L);
+        when(errorLogRepository.countByErrorType()).thenReturn(counts(count("DB", 40L)));
         when(errorLogRepository.findAllWithTicketStatus(Status.OPEN))
                 .thenReturn(List.of(logWithType("DB")));
 
@@ -244,8 +234,7 @@ class AlertSchedulerTest {
     @Test
     void dailyTask_EmailServiceThrows_IsCaught_NoExceptionPropagated() {
         // Significant + intersection for DB
-        when(errorLogRepository.findAll()).thenReturn(List.of(logWithType("DB")));
-        when(errorLogRepository.countByErrorType("DB")).thenReturn(40L);
+        when(errorLogRepository.countByErrorType()).thenReturn(counts(count("DB", 40L)));
         when(errorLogRepository.findAllWithTicketStatus(Status.OPEN))
                 .thenReturn(List.of(logWithType("DB")));
 
@@ -0,0 +1,153 @@
+package com.yash.log.serviceImpl;
+
+import com.yash.log.constants.UploadStatus;
+import com.yash.log.dto.IngestionJobDto;
+import com.yash.log.dto.UploadSessionDto;
+import com.yash.log.service.impl.ChunkedUploadServiceImpl;
+import com.yash.log.service.services.IngestionJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceImplTest {
+
+    private static final String CONTENT = "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : boom\n";
+
+    @Mock
+    private IngestionJobService ingestionJobService;
+
+    @TempDir
+    Path spoolDir;
+
+    private ChunkedUploadServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChunkedUploadServiceImpl(ingestionJobService, spoolDir.toString(), 16, 1024, 1_000_000, 600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void ingestionStartsWithChunkZeroAndReadsTheWholeFile() throws Exception {
+        ArgumentCaptor<InputStream> stream = ArgumentCaptor.forClass(InputStream.class);
+        when(ingestionJobService.submit(eq("app.log"), eq((long) CONTENT.length()), any(), isNull(), stream.capture()))
+                .thenReturn(job("job-1"));
+        UploadSessionDto upload = service.start("app.log", CONTENT.length(), null, null, null);
+        assertEquals(4, upload.getChunkCount());
+
+        service.putChunk(upload.getUploadId(), 2, chunk(2));
+        verify(ingestionJobService, never()).submit(any(), anyLong(), any(), any(), any());
+
+        assertEquals("job-1", service.putChunk(upload.getUploadId(), 0, chunk(0)).getJobId());
+        service.putChunk(upload.getUploadId(), 1, chunk(1));
+        service.putChunk(upload.getUploadId(), 3, chunk(3));
+        UploadSessionDto done = service.complete(upload.getUploadId());
+
+        assertEquals(UploadStatus.COMPLETE, done.getStatus());
+        assertEquals(List.of(), done.getMissingChunks());
+        verify(ingestionJobService, times(1)).submit(any(), anyLong(), any(), any(), any());
+        try (InputStream in = stream.getValue()) {
+            assertEquals(CONTENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(0, Files.list(spoolDir).count());
+    }
+
+    @Test
+    void requestedFormatIsPassedToTheJob() throws Exception {
+        when(ingestionJobService.submit(eq("access.log"), eq((long) CONTENT.length()), any(), eq("nginx-access"), any()))
+                .thenReturn(job("job-3"));
+        UploadSessionDto upload = service.start("access.log", CONTENT.length(), null, null, "nginx-access");
+        assertEquals("nginx-access", upload.getFormat());
+
+        assertEquals("job-3", service.putChunk(upload.getUploadId(), 0, chunk(0)).getJobId());
+        service.abort(upload.getUploadId());
+    }
+
+    @Test
+    void resumedClientSeesMissingChunks() throws Exception {
+        UploadSessionDto upload = service.start("app.log", CONTENT.length(), 32, null, null);
+        service.putChunk(upload.getUploadId(), 1, chunk(1, 32));
+
+        UploadSessionDto status = service.getUpload(upload.getUploadId()).orElseThrow();
+
+        assertEquals(List.of(0), status.getMissingChunks());
+        assertEquals(1, status.getReceivedChunks());
+        assertThrows(IllegalStateException.class, () -> service.complete(upload.getUploadId()));
+    }
+
+    @Test
+    void queueFullOnChunk_ChunkIsKeptAndCompleteRetries() throws Exception {
+        when(ingestionJobService.submit(any(), anyLong(), any(), any(), any()))
+                .thenThrow(new RejectedExecutionException("full"))
+                .thenReturn(job("job-2"));
+        UploadSessionDto upload = service.start("app.log", CONTENT.length(), 64, null, null);
+
+        UploadSessionDto afterChunk = service.putChunk(upload.getUploadId(), 0, chunk(0, 64));
+        assertNull(afterChunk.getJobId());
+        assertEquals(1, afterChunk.getReceivedChunks());
+
+        assertEquals("job-2", service.complete(upload.getUploadId()).getJobId());
+    }
+
+    @Test
+    void unknownUploadAndInvalidSizesAreRejected() {
+        assertThrows(NoSuchElementException.class, () -> service.putChunk("missing", 0, chunk(0)));
+        assertTrue(service.getUpload("missing").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.start("app.log", 0, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.start("app.log", 2_000_000, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.start("app.log", 100, 4096, null, null));
+    }
+
+    @Test
+    void abortBeforeIngestionDeletesTheSpoolFile() throws Exception {
+        UploadSessionDto upload = service.start("app.log", CONTENT.length(), null, null, null);
+        service.putChunk(upload.getUploadId(), 3, chunk(3));
+
+        service.abort(upload.getUploadId());
+
+        assertTrue(service.getUpload(upload.getUploadId()).isEmpty());
+        assertEquals(0, Files.list(spoolDir).count());
+    }
+
+    private static InputStream chunk(int index) {
+        return chunk(index, 16);
+    }
+
+    private static InputStream chunk(int index, int size) {
+        byte[] all = CONTENT.getBytes(StandardCharsets.UTF_8);
+        int from = index * size;
+        return new ByteArrayInputStream(all, from, Math.min(size, all.length - from));
+    }
+
+    private static IngestionJobDto job(String jobId) {
+        IngestionJobDto job = new IngestionJobDto();
+        job.setJobId(jobId);
+        return job;
+    }
+}
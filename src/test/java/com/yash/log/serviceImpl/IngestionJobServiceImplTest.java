@@ -0,0 +1,197 @@
+package com.yash.log.serviceImpl;
+
+import com.yash.log.constants.IngestionStatus;
+import com.yash.log.dto.IngestionJobDto;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.service.impl.IngestionJobServiceImpl;
+import com.yash.log.service.services.IngestionReportService;
+import com.yash.log.service.services.LogFileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngestionJobServiceImplTest {
+
+    @Mock
+    private LogFileService logFileService;
+
+    @Mock
+    private IngestionReportService ingestionReportService;
+
+    @TempDir
+    Path spoolDir;
+
+    private IngestionJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IngestionJobServiceImpl(logFileService, ingestionReportService, spoolDir.toString(), 1, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void submit_ReturnsJobImmediatelyAndIngestsInBackground() throws Exception {
+        doAnswer(invocation -> {
+            IngestionJob job = invocation.getArgument(1);
+            job.lineRead();
+            job.lineRead();
+            job.lineMatched();
+            job.rowsPersisted(1);
+            return null;
+        }).when(logFileService).ingest(any(Path.class), any(IngestionJob.class));
+
+        IngestionJobDto queued = service.submit(logFile("app.log"), null);
+
+        assertNotNull(queued.getJobId());
+        assertEquals("app.log", queued.getFileName());
+
+        IngestionJobDto done = awaitFinished(queued.getJobId());
+        assertEquals(IngestionStatus.COMPLETED, done.getStatus());
+        assertEquals(2, done.getLinesRead());
+        assertEquals(1, done.getLinesMatched());
+        assertEquals(1, done.getRowsPersisted());
+        assertNotNull(done.getFinishedAt());
+        // spool file is removed once the job is done
+        assertFalse(Files.exists(spoolDir.resolve(queued.getJobId() + ".log")));
+    }
+
+    @Test
+    void submit_IngestFails_JobMarkedFailedWithError() throws Exception {
+        doThrow(new IOException("disk error"))
+                .when(logFileService).ingest(any(Path.class), any(IngestionJob.class));
+
+        IngestionJobDto queued = service.submit(logFile("broken.log"), null);
+
+        IngestionJobDto done = awaitFinished(queued.getJobId());
+        assertEquals(IngestionStatus.FAILED, done.getStatus());
+        assertEquals(1, done.getErrorCount());
+        assertTrue(done.getErrors().contains("disk error"));
+    }
+
+    @Test
+    void submit_JobEnds_RecordsItsReport() throws Exception {
+        IngestionJobDto queued = service.submit(logFile("app.log"), null);
+
+        awaitFinished(queued.getJobId());
+
+        verify(ingestionReportService, timeout(5000)).record(argThat(job ->
+                job.getJobId().equals(queued.getJobId()) && job.getStatus() == IngestionStatus.COMPLETED));
+    }
+
+    @Test
+    void submit_QueueFull_RejectsUpload() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(logFileService).ingest(any(Path.class), any(IngestionJob.class));
+
+        try {
+            service.submit(logFile("first.log"), null);   // picked up by the single worker
+            awaitStatus(IngestionStatus.RUNNING);
+            service.submit(logFile("second.log"), null);  // fills the queue
+
+            assertThrows(RejectedExecutionException.class, () -> service.submit(logFile("third.log"), null));
+            assertEquals(2, service.getJobs().size());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void submitStream_IngestsAndClosesTheStream() throws Exception {
+        java.util.concurrent.atomic.AtomicBoolean closed = new java.util.concurrent.atomic.AtomicBoolean();
+        java.io.InputStream in = new java.io.ByteArrayInputStream(new byte[0]) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        IngestionJobDto queued = service.submit("huge.log", 1L << 32, null, null, in);
+
+        assertEquals(IngestionStatus.COMPLETED, awaitFinished(queued.getJobId()).getStatus());
+        verify(logFileService).ingest(same(in), any(IngestionJob.class));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void submitStream_WorkersBusy_StillStartsAndLeavesTheQueue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(logFileService).ingest(any(Path.class), any(IngestionJob.class));
+        CountDownLatch streaming = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            streaming.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(logFileService).ingest(any(java.io.InputStream.class), any(IngestionJob.class));
+
+        try {
+            service.submit(logFile("first.log"), null);   // picked up by the single worker
+            awaitStatus(IngestionStatus.RUNNING);
+            service.submit("chunked.log", 100, null, null, new java.io.ByteArrayInputStream(new byte[0]));
+
+            assertTrue(streaming.await(5, TimeUnit.SECONDS));
+            // the queue still takes its one spooled upload
+            assertDoesNotThrow(() -> service.submit(logFile("second.log"), null));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getJob_Unknown_ReturnsEmpty() {
+        assertTrue(service.getJob("missing").isEmpty());
+    }
+
+    private MockMultipartFile logFile(String name) {
+        return new MockMultipartFile("file", name, "text/plain",
+                "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : boom\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private IngestionJobDto awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            IngestionJobDto job = service.getJob(jobId).orElseThrow();
+            if (job.getStatus() == IngestionStatus.COMPLETED || job.getStatus() == IngestionStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Job " + jobId + " did not finish");
+    }
+
+    private void awaitStatus(IngestionStatus status) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (service.getJobs().stream().anyMatch(job -> job.getStatus() == status)) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("No job reached " + status);
+    }
+}
@@ -0,0 +1,122 @@
+package com.yash.log.serviceImpl;
+
+import com.yash.log.constants.IngestionStatus;
+import com.yash.log.entity.IngestionReport;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.ingestion.StageMetrics;
+import com.yash.log.repository.IngestionReportRepository;
+import com.yash.log.service.impl.IngestionReportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngestionReportServiceImplTest {
+
+    @Mock
+    private IngestionReportRepository ingestionReportRepository;
+
+    @InjectMocks
+    private IngestionReportServiceImpl ingestionReportService;
+
+    @Test
+    void record_CompletedJob_StoresCountsSampleAndStageTimes() {
+        IngestionJob job = new IngestionJob("job-1", "app.log", 2048, null, "spring-boot");
+        job.start();
+        job.lineRead();
+        job.lineRead();
+        job.lineRead();
+        job.lineMatched();
+        job.lineSkippedByLevel();
+        job.lineUnparseable(() -> "garbage line");
+        job.rowsPersisted(1);
+        job.stage(new StageMetrics(StageMetrics.PARSE)).processed(1, 3_000_000);
+        job.stage(new StageMetrics(StageMetrics.PERSIST)).blocked(5_000_000);
+        job.complete();
+
+        ingestionReportService.record(job);
+
+        ArgumentCaptor<IngestionReport> captor = ArgumentCaptor.forClass(IngestionReport.class);
+        verify(ingestionReportRepository).save(captor.capture());
+        IngestionReport report = captor.getValue();
+        assertEquals("job-1", report.getJobId());
+        assertEquals("app.log", report.getFileName());
+        assertEquals(IngestionStatus.COMPLETED, report.getStatus());
+        assertEquals("spring-boot", report.getFormat());
+        assertEquals(2048, report.getSizeBytes());
+        assertEquals(3, report.getLinesRead());
+        assertEquals(1, report.getLinesMatched());
+        assertEquals(1, report.getLinesSkippedByLevel());
+        assertEquals(1, report.getLinesUnparseable());
+        assertEquals(1, report.getRowsPersisted());
+        assertEquals("garbage line", report.getUnparseableSample());
+        assertNull(report.getErrors());
+        assertEquals(3, report.getParseMillis());
+        assertEquals(5, report.getPersistBlockedMillis());
+        assertEquals(0, report.getEnrichMillis());
+        assertNotNull(report.getStartedAt());
+        assertNotNull(report.getFinishedAt());
+    }
+
+    @Test
+    void record_LongErrors_AreCutToTheColumnLength() {
+        IngestionJob job = new IngestionJob("job-2", "app.log", 10);
+        job.start();
+        for (int i = 0; i < 20; i++) {
+            job.recordError("x".repeat(1000));
+        }
+        job.fail(new IllegalStateException("boom"));
+
+        ingestionReportService.record(job);
+
+        verify(ingestionReportRepository).save(argThat(report -> report.getStatus() == IngestionStatus.FAILED
+                && report.getErrors().length() == IngestionReport.TEXT_LENGTH));
+    }
+
+    @Test
+    void record_RepositoryFails_DoesNotThrow() {
+        when(ingestionReportRepository.save(any())).thenThrow(new RuntimeException("DB down"));
+
+        assertDoesNotThrow(() -> ingestionReportService.record(new IngestionJob("job-3", "app.log", 0)));
+    }
+
+    @Test
+    void findReports_NoDatesBlankFileName_LastSevenDaysCappedLimit() {
+        when(ingestionReportRepository.search(isNull(), isNull(), any(), any(), any())).thenReturn(List.of());
+
+        ingestionReportService.findReports(" ", null, null, null, 10_000);
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(ingestionReportRepository).search(isNull(), isNull(), from.capture(), to.capture(), page.capture());
+        assertEquals(to.getValue().minusDays(7), from.getValue());
+        assertEquals(500, page.getValue().getPageSize());
+    }
+
+    @Test
+    void findReports_PassesFilters() {
+        LocalDateTime from = LocalDateTime.of(2025, 12, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 12, 2, 0, 0);
+        IngestionReport stored = new IngestionReport();
+        when(ingestionReportRepository.search(eq("app.log"), eq(IngestionStatus.FAILED), eq(from), eq(to), any()))
+                .thenReturn(List.of(stored));
+
+        List<IngestionReport> result = ingestionReportService.findReports("app.log", IngestionStatus.FAILED, from, to, 20);
+
+        assertEquals(List.of(stored), result);
+    }
+}
@@ -0,0 +1,141 @@
+package com.yash.log.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yash.log.constants.ExportFormat;
+import com.yash.log.entity.Log;
+import com.yash.log.repository.LogExportRepository;
+import com.yash.log.service.impl.LogExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class LogExportServiceImplTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 12, 11, 10, 0);
+
+    @Mock
+    private LogExportRepository logExportRepository;
+
+    private ObjectMapper objectMapper;
+    private LogExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new LogExportServiceImpl(logExportRepository, objectMapper);
+    }
+
+    @Test
+    void ndjson_OneRowPerLineInTheOrderRead() throws IOException {
+        tableHolds(row(2L, "Connection refused"), row(1L, "Read timed out"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export("timed", DAY, DAY.plusDays(1), ExportFormat.NDJSON, false, out);
+
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(2L, objectMapper.readValue(lines[0], Log.class).getErrorId());
+        assertEquals("Read timed out", objectMapper.readValue(lines[1], Log.class).getErrorMessage());
+    }
+
+    @Test
+    void csv_HeaderThenQuotedWhereNeeded() throws IOException {
+        Log multiLine = row(7L, "Failed: \"orders\", retrying");
+        multiLine.setStackTrace("java.io.IOException\n\tat A.b(A.java:1)");
+        tableHolds(multiLine);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(null, null, null, ExportFormat.CSV, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("errorId,timeStamp,errorLevel,errorType,source,errorMessage,stackTrace,userId,ticketId,fingerprint,createdAt",
+                lines[0]);
+        assertEquals("7,2025-12-11T10:00,ERROR,Network Timeout Error,orders,\"Failed: \"\"orders\"\", retrying\","
+                + "\"java.io.IOException\n\tat A.b(A.java:1)\",,,,2025-12-11T10:00", lines[1]);
+        assertEquals(2, lines.length);
+    }
+
+    @Test
+    void gzip_WholeOutputIsOneGzipStream() throws IOException {
+        tableHolds(row(1L, "boom"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(null, null, null, ExportFormat.NDJSON, true, out);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals("boom", objectMapper.readValue(text.trim(), Log.class).getErrorMessage());
+        }
+    }
+
+    @Test
+    void emptyResult_CsvIsJustTheHeader() throws IOException {
+        tableHolds();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, service.export(null, null, null, ExportFormat.CSV, false, out));
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("errorId,"));
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).split("\r\n").length);
+    }
+
+    @Test
+    void clientGone_WriteFailureEndsTheExport() {
+        Log[] rows = new Log[20_000];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = row(i, "x".repeat(100));
+        }
+        tableHolds(rows);
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        IOException thrown = assertThrows(IOException.class,
+                () -> service.export(null, null, null, ExportFormat.NDJSON, false, closed));
+        assertEquals("Broken pipe", thrown.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void tableHolds(Log... rows) {
+        doAnswer(invocation -> {
+            Consumer<Log> consumer = invocation.getArgument(3);
+            for (Log row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(logExportRepository).forEachMatching(any(), any(), any(), any(Consumer.class));
+    }
+
+    private static Log row(long id, String message) {
+        Log log = new Log();
+        log.setErrorId(id);
+        log.setErrorLevel("ERROR");
+        log.setErrorMessage(message);
+        log.setErrorType("Network Timeout Error");
+        log.setSource("orders");
+        log.setTimeStamp(DAY);
+        log.setCreatedAt(DAY);
+        return log;
+    }
+}
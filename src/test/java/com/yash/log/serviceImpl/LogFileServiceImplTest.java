@@ -1,7 +1,6 @@
 package com.yash.log.serviceImpl;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
@@ -9,23 +8,49 @@ import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.sql.Date;
 
+import com.yash.log.config.ClassifierProperties;
+import com.yash.log.config.JsonFormatProperties;
+import com.yash.log.constants.IngestionStatus;
 import com.yash.log.constants.LogConstant;
+import com.yash.log.dto.ErrorLevel;
 import com.yash.log.dto.ErrorTypes;
 import com.yash.log.dto.LogDTO;
+import com.yash.log.dto.PipelineStageStatsDto;
+import com.yash.log.entity.IngestedFile;
 import com.yash.log.entity.Log;
+import com.yash.log.ingestion.ErrorTypeClassifier;
+import com.yash.log.ingestion.EventDeduplicator;
+import com.yash.log.ingestion.EventFingerprint;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.ingestion.ParallelLogParser;
+import com.yash.log.ingestion.StageMetrics;
+import com.yash.log.ingestion.format.JsonLogFormat;
+import com.yash.log.ingestion.format.Log4j2LogFormat;
+import com.yash.log.ingestion.format.LogFormatRegistry;
+import com.yash.log.ingestion.format.NginxAccessLogFormat;
+import com.yash.log.ingestion.format.NginxErrorLogFormat;
+import com.yash.log.ingestion.format.SpringBootLogFormat;
 import com.yash.log.mapper.LogMapper;
 import com.yash.log.repository.ErrorLogRepository;
+import com.yash.log.repository.IngestedFileRepository;
+import com.yash.log.service.services.IngestionReportService;
+import com.yash.log.service.services.LogSearchIndexService;
 import com.yash.log.service.impl.LogFileServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,6 +66,26 @@ class LogFileServiceImplTest {
     @Mock
     private LogMapper logMapper;
 
+    @Spy
+    private ErrorTypeClassifier errorTypeClassifier = new ErrorTypeClassifier(new ClassifierProperties());
+
+    @Spy
+    private EventDeduplicator eventDeduplicator = new EventDeduplicator(1000, 0.01);
+
+    @Mock
+    private IngestedFileRepository ingestedFileRepository;
+
+    @Spy
+    private LogFormatRegistry logFormatRegistry = new LogFormatRegistry(List.of(new SpringBootLogFormat(),
+            new Log4j2LogFormat(), new JsonLogFormat(new JsonFormatProperties()), new NginxErrorLogFormat(),
+            new NginxAccessLogFormat()), new JsonFormatProperties(), 50);
+
+    @Mock
+    private IngestionReportService ingestionReportService;
+
+    @Mock
+    private LogSearchIndexService logSearchIndexService;
+
     @InjectMocks
     private LogFileServiceImpl logService;
 
@@ -216,7 +261,7 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
 //    }
 
     private void testLineMatches(String line, boolean shouldMatch) throws Exception {
-        var field = LogFileServiceImpl.class.getDeclaredField("LOG_PATTERN");
+        var field = SpringBootLogFormat.class.getDeclaredField("LOG_PATTERN");
         field.setAccessible(true);
         Pattern pattern = (Pattern) field.get(null);
 
@@ -310,41 +355,6 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
 
     // ---------------------- EXISTING METHODS TESTS ----------------------
 
-    @Test
-    void testGetAllLogs_ReturnsAllLogs() {
-        Log log1 = buildLog("DB", LocalDateTime.now());
-        Log log2 = buildLog("NETWORK", LocalDateTime.now());
-
-        when(errorLogRepository.findAll()).thenReturn(List.of(log1, log2));
-
-        var result = logService.getAllLogs();
-
-        assertEquals(2, result.size());
-        verify(errorLogRepository).findAll();
-    }
-
-    @Test
-    void testGetLogsLastNDays_ReturnsCorrectLogs() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime from = now.minusDays(7);
-
-        Log log1 = buildLog("ERROR", now.minusDays(1));
-        Log log2 = buildLog("INFO", now.minusDays(2));
-
-        when(errorLogRepository.findByTimeStampBetweenOrderByTimeStampDesc(
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        )).thenReturn(List.of(log1, log2));
-
-        var result = logService.getLogsLastNDays(7);
-
-        assertEquals(2, result.size());
-        verify(errorLogRepository).findByTimeStampBetweenOrderByTimeStampDesc(
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        );
-    }
-
     @Test
     void testGetDailyErrorCounts_ReturnsCorrectDtos() {
         LocalDate today = LocalDate.now();
@@ -465,6 +475,7 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
         verify(errorLogRepository, times(1)).save(argThat(log ->
                 "MANUAL".equals(log.getErrorLevel())
         ));
+        verify(logSearchIndexService).index(argThat(rows -> rows.size() == 1));
     }
 
 //    @Test
@@ -487,25 +498,6 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
         return (List<Object[]>) (List<?>) List.of(data);
     }
 
-    @Test
-    void getAllLogs_ShouldThrowException_WhenRepoFails() {
-        when(errorLogRepository.findAll()).thenThrow(new RuntimeException("DB error"));
-        assertThrows(RuntimeException.class, () -> logService.getAllLogs());
-    }
-
-    @Test
-    void getAllLogs_ShouldReturnEmptyList_WhenRepoReturnsEmpty() {
-        when(errorLogRepository.findAll()).thenReturn(List.of());
-        assertTrue(logService.getAllLogs().isEmpty());
-    }
-
-    @Test
-    void getLogsLastNDays_ShouldThrowException_WhenRepoFails() {
-        when(errorLogRepository.findByTimeStampBetweenOrderByTimeStampDesc(any(), any()))
-                .thenThrow(new RuntimeException("DB error"));
-        assertThrows(RuntimeException.class, () -> logService.getLogsLastNDays(7));
-    }
-
     @Test
     void getDailyErrorCounts_ShouldThrow_WhenCountIsNull() {
         Object[] bad = new Object[]{Date.valueOf(LocalDate.now()), null};
@@ -646,11 +638,10 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
 
 
 
-    // Test for the private mapMatcherToLogDto method
+    // Test for SpringBootLogFormat.parse, which took over the private mapMatcherToLogDto
     @Test
     void testMapMatcherToLogDto_CompleteCoverage() throws Exception {
-        // Get the pattern
-        Pattern pattern = getLogPattern();
+        SpringBootLogFormat format = new SpringBootLogFormat();
 
         // Test different timestamp formats
         String[] testLines = {
@@ -660,14 +651,9 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
                 "2024/01/15 10:33:54 [pool-1] ERROR com.yash.app.Controller - NullPointer"
         };
 
-        Method method = LogFileServiceImpl.class.getDeclaredMethod("mapMatcherToLogDto", Matcher.class);
-        method.setAccessible(true);
-
         for (String line : testLines) {
-            Matcher matcher = pattern.matcher(line);
-            if (matcher.find()) {
-                LogDTO result = (LogDTO) method.invoke(logService, matcher);
-                assertNotNull(result);
+            LogDTO result = format.parse(line);
+            if (result != null) {
                 assertEquals("ERROR", result.getErrorLevel());
                 assertTrue(result.getErrorMessage().contains("error") ||
                         result.getErrorMessage().contains("NullPointer"));
@@ -688,7 +674,7 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
 // ==================== HELPER METHODS TO ADD ====================
 
     private Pattern getLogPattern() throws Exception {
-        var field = LogFileServiceImpl.class.getDeclaredField("LOG_PATTERN");
+        var field = SpringBootLogFormat.class.getDeclaredField("LOG_PATTERN");
         field.setAccessible(true);
         return (Pattern) field.get(null);
     }
@@ -700,9 +686,9 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
     }
 
     private String invokeDetectErrorType(String message) throws Exception {
-        var method = LogFileServiceImpl.class.getDeclaredMethod("detectErrorType", String.class);
+        var method = LogFileServiceImpl.class.getDeclaredMethod("detectErrorType", String.class, String.class);
         method.setAccessible(true);
-        return (String) method.invoke(logService, message);
+        return (String) method.invoke(logService, message, null);
     }
 
     // First, let's debug what pattern you're actually using
@@ -815,13 +801,17 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
 
         // Mock the mapper to return our expected log
         when(logMapper.toEntity(any(LogDTO.class))).thenReturn(expectedLog);
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         logService.parseAndSaveLogs(multipartFile);
 
         // Assert
-        verify(errorLogRepository, times(1)).save(expectedLog);
+        verify(errorLogRepository, times(1)).batchInsert(List.of(expectedLog));
+        verify(errorLogRepository, never()).save(any(Log.class));
         verify(logMapper, times(1)).toEntity(any(LogDTO.class));
+        // stored rows go to the search index too
+        verify(logSearchIndexService).index(List.of(expectedLog));
     }
 
     @Test
@@ -852,11 +842,506 @@ void testParseAndSaveLogs_InfoLineIsIgnored() throws Exception {
         // Act
         logService.parseAndSaveLogs(multipartFile);
 
-        // Assert - should save 3 ERROR lines (skip the INFO line)
-        verify(errorLogRepository, times(3)).save(any(Log.class));
+        // Assert - should save 3 ERROR lines (skip the INFO line) in a single batch
+        verify(errorLogRepository, times(1)).batchInsert(argThat(batch -> batch.size() == 3));
+        verify(errorLogRepository, never()).save(any(Log.class));
         verify(logMapper, times(3)).toEntity(any(LogDTO.class));
     }
 
+    @Test
+    void testParseAndSaveLogs_FlushesEveryBatchSizeRows() throws Exception {
+        ReflectionTestUtils.setField(logService, "batchSize", 2);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            content.append("2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Database Transaction Error: Failed to connect ")
+                    .append(i).append('\n');
+        }
+
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "log.txt", "text/plain", content.toString().getBytes(StandardCharsets.UTF_8)
+        );
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+
+        logService.parseAndSaveLogs(multipartFile);
+
+        // 5 rows with batch size 2 -> 2 + 2 + 1
+        ArgumentCaptor<List<Log>> captor = ArgumentCaptor.forClass(List.class);
+        verify(errorLogRepository, times(3)).batchInsert(captor.capture());
+        assertEquals(List.of(2, 2, 1), captor.getAllValues().stream().map(List::size).toList());
+    }
+
+    @Test
+    void testParseAndSaveLogs_CountsEventsPerPipelineStage() throws Exception {
+        ReflectionTestUtils.setField(logService, "batchSize", 2);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            content.append("2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Failure ")
+                    .append(i).append('\n');
+        }
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "log.txt", "text/plain", content.toString().getBytes(StandardCharsets.UTF_8)
+        );
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+
+        logService.parseAndSaveLogs(multipartFile);
+
+        List<PipelineStageStatsDto> stats = logService.getPipelineStats();
+        assertEquals(List.of("parse", "enrich", "persist"), stats.stream().map(PipelineStageStatsDto::getStage).toList());
+        for (PipelineStageStatsDto stage : stats) {
+            assertEquals(5, stage.getEvents(), stage.getStage());
+            assertEquals(3, stage.getBatches(), stage.getStage());
+            assertEquals(0, stage.getQueueDepth(), stage.getStage());
+            assertEquals(0, stage.getActiveWorkers(), stage.getStage());
+        }
+    }
+
+    @Test
+    void testParseAndSaveLogs_InsertFails_ThrowsDatabaseError() {
+        String content = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Failure\n";
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "log.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8)
+        );
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenThrow(new RuntimeException("DB error"));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> logService.parseAndSaveLogs(multipartFile));
+
+        assertEquals("DB error", e.getMessage());
+        verify(ingestedFileRepository, never()).save(any());
+    }
+
+    @Test
+    void testParseAndSaveLogs_RecordsReportOfTheUpload() throws Exception {
+        String content = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Failure\n"
+                + "2025-12-11T10:33:55.946+05:30 INFO 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Started\n";
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "log.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8)
+        );
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        logService.parseAndSaveLogs(multipartFile);
+
+        ArgumentCaptor<IngestionJob> captor = ArgumentCaptor.forClass(IngestionJob.class);
+        verify(ingestionReportService).record(captor.capture());
+        IngestionJob job = captor.getValue();
+        assertNotNull(job.getJobId());
+        assertEquals(IngestionStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getLinesRead().get());
+        assertEquals(1, job.getLinesSkippedByLevel().get());
+        assertEquals(1, job.getRowsPersisted().get());
+        assertEquals(List.of("parse", "enrich", "persist"), job.getStages().stream().map(StageMetrics::getName).toList());
+    }
+
+    @Test
+    void testParseAndSaveLogs_InsertFails_StillRecordsFailedReport() {
+        String content = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Failure\n";
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "log.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8)
+        );
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenThrow(new RuntimeException("DB error"));
+
+        assertThrows(RuntimeException.class, () -> logService.parseAndSaveLogs(multipartFile));
+
+        verify(ingestionReportService).record(argThat(job -> job.getStatus() == IngestionStatus.FAILED));
+    }
+
+    @Test
+    void testIngest_LinesInAnotherLayout_AreCountedAsUnparseable() throws Exception {
+        String content = "[2025-12-11 10:33:54] something in another layout\n"
+                + "\n"
+                + "[2025-12-11 10:33:55] and another\n"
+                + "2025-12-11T10:33:56.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Failure\n"
+                + "\tat com.yash.app.Service.run(Service.java:10)\n";
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        IngestionJob job = new IngestionJob(null, "log.txt", content.length(), null, "spring-boot");
+        logService.ingest(new java.io.ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), job);
+
+        // the blank line and the stack frame are not rejections
+        assertEquals(2, job.getLinesUnparseable().get());
+        assertEquals(List.of("[2025-12-11 10:33:54] something in another layout", "[2025-12-11 10:33:55] and another"),
+                job.getUnparseableSample());
+        assertEquals(1, job.getRowsPersisted().get());
+    }
+
+    @Test
+    void testIngestPath_LargeFile_ParsesInParallelAndKeepsOrder(@TempDir Path tempDir) throws Exception {
+        ParallelLogParser parallelLogParser = new ParallelLogParser(4, 256);
+        LogFileServiceImpl parallelService = new LogFileServiceImpl(errorLogRepository, logMapper, parallelLogParser,
+                errorTypeClassifier, eventDeduplicator, ingestedFileRepository, logFormatRegistry, ingestionReportService,
+                logSearchIndexService);
+        ReflectionTestUtils.setField(parallelService, "parallelThresholdBytes", 0L);
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            String level = i % 2 == 0 ? "ERROR" : "INFO";
+            content.append("2025-12-11T10:33:54.946+05:30 ").append(level)
+                    .append(" 12345 --- [main] [com.yash.app.Service] com.yash.app.Service : Failure ").append(i).append('\n');
+        }
+        Path file = tempDir.resolve("large.log");
+        Files.writeString(file, content.toString());
+
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> {
+            Log log = new Log();
+            log.setErrorMessage(((LogDTO) invocation.getArgument(0)).getErrorMessage());
+            return log;
+        });
+        List<String> persisted = new java.util.ArrayList<>();
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            List<Log> batch = invocation.getArgument(0);
+            batch.forEach(log -> persisted.add(log.getErrorMessage()));
+            return batch;
+        });
+
+        IngestionJob job = new IngestionJob("job", "large.log", Files.size(file));
+        try {
+            parallelService.ingest(file, job);
+        } finally {
+            parallelLogParser.shutdown();
+        }
+
+        List<String> expected = java.util.stream.IntStream.range(0, 200).filter(i -> i % 2 == 0)
+                .mapToObj(i -> "Failure " + i).toList();
+        assertEquals(expected, persisted);
+        assertEquals(200, job.getLinesRead().get());
+        assertEquals(100, job.getLinesSkippedByLevel().get());
+        assertEquals(100, job.getLinesMatched().get());
+        assertEquals(100, job.getRowsPersisted().get());
+    }
+
+    @Test
+    void testParseAndSaveLogs_StackTraceAttachedToErrorEvent() throws Exception {
+        String content = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Order failed\n"
+                + "java.lang.IllegalStateException: could not save\n"
+                + "\tat com.yash.app.Service.save(Service.java:42)\n"
+                + "Caused by: java.sql.SQLException: Lock wait timeout\n"
+                + "\t... 3 more\n"
+                + "2025-12-11T10:33:55.946+05:30 INFO 12345 --- [main] [x] com.yash.app.Service : Retrying\n"
+                + "\tat com.yash.app.Service.retry(Service.java:50)\n";
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "log.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8)
+        );
+        ArgumentCaptor<LogDTO> dtoCaptor = ArgumentCaptor.forClass(LogDTO.class);
+        when(logMapper.toEntity(dtoCaptor.capture())).thenAnswer(invocation -> new Log());
+
+        logService.parseAndSaveLogs(multipartFile);
+
+        LogDTO event = dtoCaptor.getValue();
+        assertEquals(1, dtoCaptor.getAllValues().size());
+        assertEquals("Order failed", event.getErrorMessage());
+        assertEquals("SQLException", event.getRootCause());
+        // classified from the message, the root cause only feeds the user rules
+        verify(errorTypeClassifier).classify("Order failed", "SQLException");
+        assertEquals(LogConstant.UNKNOWN_ERROR, event.getErrorType());
+        assertEquals("java.lang.IllegalStateException: could not save\n"
+                + "\tat com.yash.app.Service.save(Service.java:42)\n"
+                + "Caused by: java.sql.SQLException: Lock wait timeout\n"
+                + "\t... 3 more", event.getStackTrace());
+    }
+
+    @Test
+    void testIngestPath_LargeFileWithStackTraces_MatchesSequentialParse(@TempDir Path tempDir) throws Exception {
+        ParallelLogParser parallelLogParser = new ParallelLogParser(4, 128);
+        LogFileServiceImpl parallelService = new LogFileServiceImpl(errorLogRepository, logMapper, parallelLogParser,
+                errorTypeClassifier, eventDeduplicator, ingestedFileRepository, logFormatRegistry, ingestionReportService,
+                logSearchIndexService);
+        ReflectionTestUtils.setField(parallelService, "parallelThresholdBytes", 0L);
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            String level = i % 3 == 0 ? "INFO" : "ERROR";
+            content.append("2025-12-11T10:33:54.946+05:30 ").append(level)
+                    .append(" 12345 --- [main] [x] com.yash.app.Service : Failure ").append(i).append('\n');
+            for (int frame = 0; frame < i % 4; frame++) {
+                content.append("\tat com.yash.app.Service.step").append(frame).append("(Service.java:").append(i).append(")\n");
+            }
+            if (i % 5 == 0) {
+                content.append("Caused by: java.io.IOException").append('\n');
+            }
+        }
+        Path file = tempDir.resolve("traces.log");
+        Files.writeString(file, content.toString());
+
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> {
+            LogDTO dto = invocation.getArgument(0);
+            Log log = new Log();
+            log.setErrorMessage(dto.getErrorMessage());
+            log.setErrorType(dto.getErrorType());
+            log.setStackTrace(dto.getStackTrace());
+            return log;
+        });
+        List<Log> persisted = new java.util.ArrayList<>();
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            List<Log> batch = invocation.getArgument(0);
+            persisted.addAll(batch);
+            return batch;
+        });
+
+        try {
+            parallelService.ingest(file, new IngestionJob("job", "traces.log", Files.size(file)));
+        } finally {
+            parallelLogParser.shutdown();
+        }
+        List<Log> parallel = List.copyOf(persisted);
+        persisted.clear();
+        logService.ingest(Files.newInputStream(file), new IngestionJob(null, "traces.log", Files.size(file)));
+
+        assertEquals(66, parallel.size());
+        assertEquals(persisted, parallel);
+    }
+
+    @Test
+    void testIngest_OtherLevelsDroppedByPrefilterBeforeParsing() throws Exception {
+        String content = "2025-12-11T10:33:54.946+05:30 INFO 12345 --- [main] [x] com.yash.app.Service : Started\n"
+                + "2025-12-11T10:33:54.946+05:30 DEBUG 12345 --- [main] [x] com.yash.app.Service : Details\n"
+                + "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Failure\r\n"
+                + "2025-12-11T10:33:54.946+05:30   WARN 12345 --- [main] [x] com.yash.app.Service : Slow";
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        IngestionJob job = new IngestionJob(null, "log.txt", content.length());
+        logService.ingest(new java.io.ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), job);
+
+        assertEquals(4, job.getLinesRead().get());
+        assertEquals(3, job.getLinesSkippedByLevel().get());
+        // only the ERROR line reached the tokenizer
+        assertEquals(1, job.getLinesMatched().get());
+        assertEquals(1, job.getRowsPersisted().get());
+    }
+
+    @Test
+    void testParseAndSaveLogs_WarnRequested_PersistsWarnAndError() throws Exception {
+        String content = "2025-12-11T10:33:54.946+05:30 WARN 12345 --- [main] [x] com.yash.app.Service : Pool almost exhausted\n"
+                + "2025-12-11T10:33:55.946+05:30 INFO 12345 --- [main] [x] com.yash.app.Service : Started\n"
+                + "2025-12-11T10:33:56.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : java.lang.NullPointerException: boom\n";
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "log.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8)
+        );
+        ArgumentCaptor<LogDTO> dtoCaptor = ArgumentCaptor.forClass(LogDTO.class);
+        when(logMapper.toEntity(dtoCaptor.capture())).thenAnswer(invocation -> new Log());
+
+        logService.parseAndSaveLogs(multipartFile, java.util.EnumSet.of(ErrorLevel.ERROR, ErrorLevel.WARN));
+
+        assertEquals(List.of("WARN", "ERROR"), dtoCaptor.getAllValues().stream().map(LogDTO::getErrorLevel).toList());
+        verify(errorLogRepository, times(1)).batchInsert(anyList());
+    }
+
+    @Test
+    void testIngest_JsonLines_AreDetectedAndKeepTheirStackTrace() throws Exception {
+        String content = "{\"@timestamp\":\"2025-12-11T10:33:54.946+05:30\",\"level\":\"INFO\",\"logger_name\":\"c.y.App\",\"message\":\"Started\"}\n"
+                + "{\"@timestamp\":\"2025-12-11T10:33:55.946+05:30\",\"level\":\"ERROR\",\"logger_name\":\"c.y.OrderService\","
+                + "\"message\":\"Order failed\",\"stack_trace\":\"java.lang.IllegalStateException: boom\\n\\tat c.y.OrderService.place(OrderService.java:42)"
+                + "\\nCaused by: java.sql.SQLException: deadlock\"}\n";
+        ArgumentCaptor<LogDTO> dtoCaptor = ArgumentCaptor.forClass(LogDTO.class);
+        when(logMapper.toEntity(dtoCaptor.capture())).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        IngestionJob job = new IngestionJob(null, "app.json", content.length());
+        logService.ingest(new java.io.ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), job);
+
+        LogDTO event = dtoCaptor.getValue();
+        assertEquals("json", job.toDto().getFormat());
+        assertEquals("Order failed", event.getErrorMessage());
+        assertEquals("c.y.OrderService", event.getSource());
+        assertEquals("SQLException", event.getRootCause());
+        verify(errorTypeClassifier).classify("Order failed", "SQLException");
+        assertEquals(LogConstant.UNKNOWN_ERROR, event.getErrorType());
+        assertTrue(event.getStackTrace().startsWith("java.lang.IllegalStateException: boom\n\tat"));
+        assertEquals(1, job.getLinesSkippedByLevel().get());
+    }
+
+    @Test
+    void testIngest_RequestedFormat_IsNotDetected() throws Exception {
+        String content = "10.0.0.7 - - [11/Dec/2025:10:33:54 +0530] \"GET /api/orders HTTP/1.1\" 502 157 \"-\" \"curl/8.4\"\n"
+                + "10.0.0.8 - - [11/Dec/2025:10:33:55 +0530] \"GET /api/orders HTTP/1.1\" 200 512 \"-\" \"curl/8.4\"\n";
+        ArgumentCaptor<LogDTO> dtoCaptor = ArgumentCaptor.forClass(LogDTO.class);
+        when(logMapper.toEntity(dtoCaptor.capture())).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        IngestionJob job = new IngestionJob(null, "access.log", content.length(), null, "nginx-access");
+        logService.ingest(new java.io.ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), job);
+
+        verify(logFormatRegistry, never()).detect(any(), anyInt());
+        LogDTO event = dtoCaptor.getValue();
+        assertEquals("HTTP 502", event.getErrorType());
+        assertEquals("10.0.0.7", event.getSource());
+        assertEquals(LocalDateTime.of(2025, 12, 11, 10, 33, 54), event.getTimeStamp());
+        assertEquals(1, job.getRowsPersisted().get());
+    }
+
+    @Test
+    void testParseAndSaveLogs_UnknownFormat_IsRejected() {
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "app.log", "text/plain", (VALID_ERROR_LOG_LINE + "\n").getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> logService.parseAndSaveLogs(multipartFile, null, "syslog"));
+        verifyNoInteractions(errorLogRepository);
+    }
+
+    @Test
+    void testParseAndSaveLogs_GzipUpload_IsDecompressedWhileParsing() throws Exception {
+        String content = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Failure 1\n"
+                + "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Failure 2\n"
+                + "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Failure 3\n";
+        java.io.ByteArrayOutputStream gz = new java.io.ByteArrayOutputStream();
+        try (java.util.zip.GZIPOutputStream out = new java.util.zip.GZIPOutputStream(gz)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        MultipartFile multipartFile = new MockMultipartFile(
+                "file", "app.log.1.gz", "application/gzip", gz.toByteArray()
+        );
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+
+        logService.parseAndSaveLogs(multipartFile);
+
+        verify(errorLogRepository, times(1)).batchInsert(argThat(batch -> batch.size() == 3));
+    }
+
+    @Test
+    void testIngest_ZipEntries_AreSeparateSources() throws Exception {
+        // the first entry ends inside a stack trace, the second starts with an orphan frame
+        java.io.ByteArrayOutputStream zip = new java.io.ByteArrayOutputStream();
+        try (java.util.zip.ZipOutputStream out = new java.util.zip.ZipOutputStream(zip)) {
+            out.putNextEntry(new java.util.zip.ZipEntry("app.log"));
+            out.write(("2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : First\n"
+                    + "\tat com.yash.app.Service.first(Service.java:1)").getBytes(StandardCharsets.UTF_8));
+            out.putNextEntry(new java.util.zip.ZipEntry("worker.log"));
+            out.write(("\tat com.yash.app.Worker.orphan(Worker.java:2)\n"
+                    + "2025-12-11T10:33:55.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Worker : Second\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        ArgumentCaptor<LogDTO> dtoCaptor = ArgumentCaptor.forClass(LogDTO.class);
+        when(logMapper.toEntity(dtoCaptor.capture())).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        IngestionJob job = new IngestionJob(null, "bundle.zip", zip.size());
+        logService.ingest(new java.io.ByteArrayInputStream(zip.toByteArray()), job);
+
+        List<LogDTO> events = dtoCaptor.getAllValues();
+        assertEquals(List.of("First", "Second"), events.stream().map(LogDTO::getErrorMessage).toList());
+        assertEquals("\tat com.yash.app.Service.first(Service.java:1)", events.get(0).getStackTrace());
+        assertNull(events.get(1).getStackTrace());
+        assertEquals(2, job.getSourcesRead().get());
+        assertEquals(4, job.getLinesRead().get());
+        // both entries end up in one batch
+        verify(errorLogRepository, times(1)).batchInsert(anyList());
+    }
+
+    @Test
+    void testIngestPath_GzipAndZipFiles_FlushLastBatchAndRecordTheHash(@TempDir Path tempDir) throws Exception {
+        // Files.newInputStream throws on reads after close, as the spooled uploads do
+        byte[] line = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Failure\n"
+                .getBytes(StandardCharsets.UTF_8);
+        Path gz = tempDir.resolve("app.log.gz");
+        try (java.util.zip.GZIPOutputStream out = new java.util.zip.GZIPOutputStream(Files.newOutputStream(gz))) {
+            out.write(line);
+        }
+        Path zip = tempDir.resolve("bundle.zip");
+        try (java.util.zip.ZipOutputStream out = new java.util.zip.ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new java.util.zip.ZipEntry("app.log"));
+            out.write(line);
+        }
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        for (Path file : List.of(gz, zip)) {
+            IngestionJob job = new IngestionJob(null, file.getFileName().toString(), Files.size(file));
+            logService.ingest(file, job);
+
+            assertEquals(1, job.getRowsPersisted().get());
+            String sha256 = java.util.HexFormat.of().formatHex(
+                    java.security.MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+            assertEquals(sha256, job.toDto().getContentSha256());
+        }
+        verify(errorLogRepository, times(2)).batchInsert(anyList());
+        verify(ingestedFileRepository, times(2)).save(any(IngestedFile.class));
+    }
+
+    @Test
+    void testOpenText_BlocksFillOneBatchAndReuseTheDetectedFormat() throws Exception {
+        String line = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Failure ";
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        IngestionJob job = new IngestionJob(null, "push", 0);
+
+        try (com.yash.log.service.services.LogFileService.TextIngestion text = logService.openText(job)) {
+            com.yash.log.ingestion.format.LogFormat format = text.ingest(
+                    new java.io.ByteArrayInputStream((line + "1\n").getBytes(StandardCharsets.UTF_8)), null);
+            assertSame(format, text.ingest(
+                    new java.io.ByteArrayInputStream((line + "2\n").getBytes(StandardCharsets.UTF_8)), format));
+            assertEquals(SpringBootLogFormat.NAME, format.getName());
+        }
+
+        // with a pipeline per block each block was an insert of its own, detected again
+        verify(errorLogRepository, times(1)).batchInsert(argThat(batch -> batch.size() == 2));
+        verify(logFormatRegistry, times(1)).detect(any(), anyInt());
+        assertEquals(2, job.getRowsPersisted().get());
+    }
+
+    @Test
+    void testParseAndSaveLogs_SameFileAgain_IsSkipped() throws Exception {
+        byte[] content = (VALID_ERROR_LOG_LINE + "\n").getBytes(StandardCharsets.UTF_8);
+        MultipartFile multipartFile = new MockMultipartFile("file", "again.log", "text/plain", content);
+        IngestedFile earlier = new IngestedFile();
+        earlier.setFileName("first.log");
+        String sha256 = java.util.HexFormat.of().formatHex(
+                java.security.MessageDigest.getInstance("SHA-256").digest(content));
+        when(ingestedFileRepository.findBySha256(sha256)).thenReturn(java.util.Optional.of(earlier));
+
+        logService.parseAndSaveLogs(multipartFile);
+
+        verifyNoInteractions(logMapper, errorLogRepository);
+        verify(ingestedFileRepository, never()).save(any());
+    }
+
+    @Test
+    void testIngest_RecordsFileHashAfterwards() throws Exception {
+        byte[] content = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Failure\n"
+                .getBytes(StandardCharsets.UTF_8);
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> new Log());
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        IngestionJob job = new IngestionJob(null, "app.log", content.length);
+        logService.ingest(new java.io.ByteArrayInputStream(content), job);
+
+        ArgumentCaptor<IngestedFile> captor = ArgumentCaptor.forClass(IngestedFile.class);
+        verify(ingestedFileRepository).save(captor.capture());
+        String sha256 = java.util.HexFormat.of().formatHex(
+                java.security.MessageDigest.getInstance("SHA-256").digest(content));
+        assertEquals(sha256, captor.getValue().getSha256());
+        assertEquals("app.log", captor.getValue().getFileName());
+        assertEquals(1, captor.getValue().getRowsPersisted());
+        assertEquals(sha256, job.toDto().getContentSha256());
+    }
+
+    @Test
+    void testIngest_StoredAndRepeatedEvents_AreNotInsertedAgain() throws Exception {
+        String content = "2025-12-11T10:33:54.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : Already stored\n"
+                + "2025-12-11T10:33:55.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : New\n"
+                + "2025-12-11T10:33:55.946+05:30 ERROR 12345 --- [main] [x] com.yash.app.Service : New\n";
+        long stored = EventFingerprint.of(
+                LocalDateTime.parse("2025-12-11T10:33:54.946+05:30", DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                "com.yash.app.Service", "Already stored");
+        when(logMapper.toEntity(any(LogDTO.class))).thenAnswer(invocation -> {
+            Log log = new Log();
+            log.setErrorMessage(((LogDTO) invocation.getArgument(0)).getErrorMessage());
+            return log;
+        });
+        when(errorLogRepository.findExistingFingerprints(anyCollection())).thenReturn(java.util.Set.of(stored));
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        IngestionJob job = new IngestionJob(null, "app.log", content.length());
+        logService.ingest(new java.io.ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), job);
+
+        verify(errorLogRepository).batchInsert(argThat(batch -> batch.size() == 1
+                && batch.get(0).getErrorMessage().equals("New") && batch.get(0).getFingerprint() != null));
+        assertEquals(1, job.getRowsPersisted().get());
+        assertEquals(2, job.toDto().getEventsDeduplicated());
+    }
+
 //    @Test
 //    void testParseAndSaveLogs_ValidErrorLine_SavesToDatabase() throws Exception {
 //        // Arrange - Use ISO format timestamp
@@ -0,0 +1,214 @@
+package com.yash.log.serviceImpl;
+
+import com.yash.log.config.PartitionProperties;
+import com.yash.log.dto.LogPartitionDto;
+import com.yash.log.repository.LogPartitionRepository;
+import com.yash.log.service.impl.LogPartitionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LogPartitionServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 12, 11);
+
+    @Mock
+    private LogPartitionRepository logPartitionRepository;
+
+    private PartitionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PartitionProperties();
+        properties.setEnabled(true);
+        properties.setAhead(2);
+    }
+
+    @Test
+    void defaults_PartitioningIsOff() {
+        assertFalse(new PartitionProperties().isEnabled());
+    }
+
+    @Test
+    void maintain_NotPartitioned_LeavesTheTable() {
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of());
+
+        service().maintain(TODAY);
+
+        verify(logPartitionRepository, never()).partitionTable(anyList());
+        verify(logPartitionRepository, never()).addPartitions(anyList());
+    }
+
+    @Test
+    void partitionTable_NotPartitioned_PartitionsWithHistoryAndDaysAhead() {
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of());
+
+        service().partitionTable(TODAY);
+
+        List<LogPartitionDto> partitions = captureCreated();
+        assertEquals(List.of("p_history", "p20251211", "p20251212", "p20251213"),
+                partitions.stream().map(LogPartitionDto::getName).toList());
+        assertEquals(List.of(at(2025, 12, 11), at(2025, 12, 12), at(2025, 12, 13), at(2025, 12, 14)),
+                partitions.stream().map(LogPartitionDto::getLessThan).toList());
+        verify(logPartitionRepository, never()).addPartitions(anyList());
+    }
+
+    @Test
+    void partitionTable_Months_NamesAndBoundsByMonth() {
+        properties.setUnit(ChronoUnit.MONTHS);
+        properties.setAhead(1);
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of());
+
+        service().partitionTable(TODAY);
+
+        List<LogPartitionDto> partitions = captureCreated();
+        assertEquals(List.of("p_history", "p202512", "p202601"), partitions.stream().map(LogPartitionDto::getName).toList());
+        assertEquals(at(2025, 12, 1), partitions.get(0).getLessThan());
+        assertEquals(at(2026, 2, 1), partitions.get(2).getLessThan());
+    }
+
+    @Test
+    void partitionTable_Disabled_Throws() {
+        properties.setEnabled(false);
+
+        assertThrows(IllegalStateException.class, () -> service().partitionTable(TODAY));
+        verifyNoInteractions(logPartitionRepository);
+    }
+
+    @Test
+    void partitionTable_AlreadyPartitioned_Throws() {
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of(partition("p_future", null)));
+
+        assertThrows(IllegalStateException.class, () -> service().partitionTable(TODAY));
+        verify(logPartitionRepository, never()).partitionTable(anyList());
+    }
+
+    @Test
+    void maintain_NextDay_AddsOnlyTheMissingPartition() {
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p_history", at(2025, 12, 11)),
+                partition("p20251211", at(2025, 12, 12)),
+                partition("p20251212", at(2025, 12, 13)),
+                partition("p20251213", at(2025, 12, 14)),
+                partition("p_future", null)));
+
+        service().maintain(TODAY.plusDays(1));
+
+        ArgumentCaptor<List<LogPartitionDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logPartitionRepository).addPartitions(captor.capture());
+        assertEquals(List.of(new LogPartitionDto("p20251214", at(2025, 12, 15), 0)), captor.getValue());
+        verify(logPartitionRepository, never()).dropPartitions(anyList());
+    }
+
+    @Test
+    void maintain_MissedRuns_CountsTheRowsTheSplitMovesAndStillAdds() {
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p20251211", at(2025, 12, 12)),
+                partition("p_future", null)));
+        when(logPartitionRepository.countFutureRowsBefore(at(2025, 12, 17))).thenReturn(1200L);
+
+        service().maintain(TODAY.plusDays(3));
+
+        ArgumentCaptor<List<LogPartitionDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logPartitionRepository).addPartitions(captor.capture());
+        assertEquals(List.of("p20251212", "p20251213", "p20251214", "p20251215", "p20251216"),
+                captor.getValue().stream().map(LogPartitionDto::getName).toList());
+    }
+
+    @Test
+    void maintain_UpToDate_DoesNotCountTheOpenEndedPartition() {
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p20251213", at(2025, 12, 14)),
+                partition("p_future", null)));
+
+        service().maintain(TODAY);
+
+        verify(logPartitionRepository, never()).countFutureRowsBefore(any());
+    }
+
+    @Test
+    void maintain_UpToDate_ChangesNothing() {
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p20251213", at(2025, 12, 14)),
+                partition("p_future", null)));
+
+        service().maintain(TODAY);
+
+        verify(logPartitionRepository, never()).partitionTable(anyList());
+        verify(logPartitionRepository, never()).addPartitions(anyList());
+        verify(logPartitionRepository, never()).dropPartitions(anyList());
+    }
+
+    @Test
+    void maintain_Retain_DropsWholePartitionsPastIt() {
+        properties.setRetain(2);
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of(
+                partition("p_history", at(2025, 12, 1)),
+                partition("p20251208", at(2025, 12, 9)),
+                partition("p20251209", at(2025, 12, 10)),
+                partition("p20251210", at(2025, 12, 11)),
+                partition("p20251211", at(2025, 12, 12)),
+                partition("p20251213", at(2025, 12, 14)),
+                partition("p_future", null)));
+
+        service().maintain(TODAY);
+
+        // today and two days back stay
+        verify(logPartitionRepository).dropPartitions(List.of("p_history", "p20251208"));
+    }
+
+    @Test
+    void scheduledMaintain_RepositoryFails_DoesNotThrow() {
+        when(logPartitionRepository.findPartitions()).thenThrow(new RuntimeException("DB down"));
+
+        assertDoesNotThrow(() -> service().scheduledMaintain());
+    }
+
+    @Test
+    void scheduledMaintain_Disabled_DoesNothing() {
+        properties.setEnabled(false);
+
+        service().scheduledMaintain();
+
+        verifyNoInteractions(logPartitionRepository);
+    }
+
+    @Test
+    void constructor_WeeksUnit_Throws() {
+        properties.setUnit(ChronoUnit.WEEKS);
+
+        assertThrows(IllegalArgumentException.class, this::service);
+    }
+
+    private LogPartitionServiceImpl service() {
+        return new LogPartitionServiceImpl(logPartitionRepository, properties);
+    }
+
+    private List<LogPartitionDto> captureCreated() {
+        ArgumentCaptor<List<LogPartitionDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logPartitionRepository).partitionTable(captor.capture());
+        return captor.getValue();
+    }
+
+    private static LogPartitionDto partition(String name, LocalDateTime lessThan) {
+        return new LogPartitionDto(name, lessThan, 0);
+    }
+
+    private static LocalDateTime at(int year, int month, int day) {
+        return LocalDate.of(year, month, day).atStartOfDay();
+    }
+}
@@ -0,0 +1,205 @@
+package com.yash.log.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yash.log.config.RetentionProperties;
+import com.yash.log.dto.LogPartitionDto;
+import com.yash.log.dto.RetentionRunDto;
+import com.yash.log.entity.Log;
+import com.yash.log.repository.ErrorLogRepository;
+import com.yash.log.repository.LogCursor;
+import com.yash.log.repository.LogPartitionRepository;
+import com.yash.log.repository.LogRetentionRepository;
+import com.yash.log.service.impl.LogRetentionServiceImpl;
+import com.yash.log.service.services.LogSearchIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LogRetentionServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 12, 11, 10, 0);
+
+    @Mock
+    private LogRetentionRepository logRetentionRepository;
+
+    @Mock
+    private LogPartitionRepository logPartitionRepository;
+
+    @Mock
+    private ErrorLogRepository errorLogRepository;
+
+    @Mock
+    private LogSearchIndexService logSearchIndexService;
+
+    @TempDir
+    Path archiveDir;
+
+    private RetentionProperties properties;
+    private LogRetentionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RetentionProperties();
+        properties.getArchive().setDir(archiveDir.toString());
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new LogRetentionServiceImpl(logRetentionRepository, logPartitionRepository, errorLogRepository,
+                properties, objectMapper, logSearchIndexService);
+    }
+
+    @Test
+    void purge_RulesAndDefault_DeleteEachWithItsOwnCutoff() throws Exception {
+        properties.getArchive().setEnabled(false);
+        RetentionProperties.Rule info = rule("INFO", null, 14);
+        properties.setRules(List.of(info));
+        properties.setDefaultDays(30);
+        when(logRetentionRepository.findExpired(any(), any(), anyList(), any(), anyInt())).thenReturn(List.of());
+
+        service.purge(NOW);
+
+        verify(logRetentionRepository).findExpired(eq(NOW.minusDays(14)), eq(info), eq(List.of()), isNull(), anyInt());
+        // the default rule leaves INFO rows to the INFO rule
+        verify(logRetentionRepository).findExpired(eq(NOW.minusDays(30)), argThat(r -> r.getLevel() == null),
+                eq(List.of(info)), isNull(), anyInt());
+    }
+
+    @Test
+    void purge_FullBatch_AsksForTheNextOne() throws Exception {
+        properties.getArchive().setEnabled(false);
+        properties.setDefaultDays(30);
+        properties.setBatchSize(2);
+        when(logRetentionRepository.findExpired(any(), any(), anyList(), any(), eq(2)))
+                .thenReturn(List.of(row(1L), row(2L)), List.of(row(3L)));
+        when(logRetentionRepository.deleteExpired(anyList(), any())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+
+        RetentionRunDto run = service.purge(NOW);
+
+        assertEquals(3, run.getRowsDeleted());
+        verify(logRetentionRepository).deleteExpired(List.of(1L, 2L), NOW.minusDays(30));
+        verify(logRetentionRepository).deleteExpired(List.of(3L), NOW.minusDays(30));
+        // the next batch goes on after the last row of the one before
+        verify(logRetentionRepository).findExpired(any(), any(), anyList(), isNull(), eq(2));
+        verify(logRetentionRepository).findExpired(any(), any(), anyList(), eq(LogCursor.of(row(2L))), eq(2));
+    }
+
+    @Test
+    void purge_KeepForeverRule_NeverDropsPartitions() throws Exception {
+        properties.setRules(List.of(rule("ERROR", null, 0)));
+        properties.setDefaultDays(30);
+        when(logRetentionRepository.findExpired(any(), any(), anyList(), any(), anyInt())).thenReturn(List.of());
+
+        service.purge(NOW);
+
+        verify(logPartitionRepository, never()).findPartitions();
+        verify(logPartitionRepository, never()).dropPartitions(anyList());
+    }
+
+    @Test
+    void purge_CatchAllRule_LaterRulesAreNeverReached() throws Exception {
+        properties.setRules(List.of(rule(null, null, 0), rule("INFO", null, 1)));
+        properties.setDefaultDays(30);
+
+        RetentionRunDto run = service.purge(NOW);
+
+        assertEquals(0, run.getRowsDeleted());
+        verifyNoInteractions(logRetentionRepository);
+    }
+
+    @Test
+    void purge_PartitionPastEveryRule_IsArchivedThenDroppedAndRestorable() throws Exception {
+        properties.setRules(List.of(rule("INFO", null, 14)));
+        properties.setDefaultDays(30);
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of(
+                new LogPartitionDto("p_history", NOW.minusDays(40), 2),
+                new LogPartitionDto("p20251201", NOW.minusDays(9), 5),
+                new LogPartitionDto("p_future", null, 0)));
+        doAnswer(invocation -> {
+            Consumer<Log> consumer = invocation.getArgument(1);
+            consumer.accept(row(1L));
+            consumer.accept(row(2L));
+            return null;
+        }).when(logRetentionRepository).forEachInPartition(eq("p_history"), any());
+        when(logRetentionRepository.findExpired(any(), any(), anyList(), any(), anyInt())).thenReturn(List.of());
+
+        RetentionRunDto run = service.purge(NOW);
+
+        assertEquals(List.of("p_history"), run.getPartitionsDropped());
+        assertEquals(2, run.getRowsArchived());
+        verify(logPartitionRepository).dropPartitions(List.of("p_history"));
+        assertEquals(List.of(run.getArchiveFile()), service.listArchives());
+
+        List<Log> restored = new ArrayList<>();
+        when(errorLogRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            List<Log> rows = invocation.getArgument(0);
+            restored.addAll(rows);
+            return rows;
+        });
+        assertEquals(2, service.restore(run.getArchiveFile()));
+        assertEquals(List.of(1L, 2L), restored.stream().map(Log::getErrorId).toList());
+        assertEquals(row(1L).getTimeStamp(), restored.get(0).getTimeStamp());
+        assertEquals("boom 1", restored.get(0).getErrorMessage());
+        verify(logSearchIndexService).index(restored);
+    }
+
+    @Test
+    void purge_NothingExpired_WritesNoArchive() throws Exception {
+        properties.setDefaultDays(30);
+        when(logPartitionRepository.findPartitions()).thenReturn(List.of());
+        when(logRetentionRepository.findExpired(any(), any(), anyList(), any(), anyInt())).thenReturn(List.of());
+
+        RetentionRunDto run = service.purge(NOW);
+
+        assertNull(run.getArchiveFile());
+        assertEquals(List.of(), service.listArchives());
+    }
+
+    @Test
+    void restore_NameOutsideTheArchiveDir_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> service.restore("../secrets.ndjson.gz"));
+        assertThrows(IllegalArgumentException.class, () -> service.restore("missing.ndjson.gz"));
+        verifyNoInteractions(errorLogRepository);
+    }
+
+    @Test
+    void scheduledPurge_Disabled_DoesNothing() {
+        service.scheduledPurge();
+
+        verifyNoInteractions(logRetentionRepository, logPartitionRepository);
+    }
+
+    private static RetentionProperties.Rule rule(String level, String errorType, int days) {
+        RetentionProperties.Rule rule = new RetentionProperties.Rule();
+        rule.setLevel(level);
+        rule.setErrorType(errorType);
+        rule.setDays(days);
+        return rule;
+    }
+
+    private static Log row(long id) {
+        Log log = new Log();
+        log.setErrorId(id);
+        log.setErrorLevel("ERROR");
+        log.setErrorMessage("boom " + id);
+        log.setTimeStamp(NOW.minusDays(60).plusSeconds(id));
+        log.setFingerprint(100 + id);
+        return log;
+    }
+}
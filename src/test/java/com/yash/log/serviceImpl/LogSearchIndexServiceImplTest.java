@@ -0,0 +1,209 @@
+package com.yash.log.serviceImpl;
+
+import com.yash.log.config.SearchIndexProperties;
+import com.yash.log.dto.LogPageDto;
+import com.yash.log.entity.Log;
+import com.yash.log.repository.ErrorLogRepository;
+import com.yash.log.repository.LogCursor;
+import com.yash.log.repository.LogRepository;
+import com.yash.log.service.impl.LogSearchIndexServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LogSearchIndexServiceImplTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 12, 11, 10, 0);
+
+    @Mock
+    private ErrorLogRepository errorLogRepository;
+
+    @Mock
+    private LogRepository logRepository;
+
+    @TempDir
+    Path indexDir;
+
+    private SearchIndexProperties properties;
+    private LogSearchIndexServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SearchIndexProperties();
+        properties.setDir(indexDir.toString());
+        service = new LogSearchIndexServiceImpl(errorLogRepository, logRepository, properties);
+    }
+
+    @Test
+    void load_CatchesUpWithTheTableThenAnswersFromTheIndex() throws Exception {
+        Log first = row(1L, "Read timed out", DAY);
+        Log second = row(2L, "Connection refused", DAY.plusHours(1));
+        Log third = row(3L, "Read timed out again", DAY.plusHours(2));
+        tableHolds(0L, first, second, third);
+        assertFalse(service.canSearch("timed"));
+
+        service.load();
+        awaitReady();
+
+        assertTrue(service.canSearch("timed"));
+        assertFalse(service.canSearch(" -- "));
+        when(logRepository.findAll(any(Specification.class))).thenReturn(List.of(first, third));
+
+        LogPageDto page = service.search("\"read timed\"", null, null, null, 1);
+
+        assertEquals(List.of(third), page.getLogs());
+        assertEquals(LogCursor.afterErrorId(3L), LogCursor.decode(page.getNextCursor()));
+        assertEquals(3, service.getStats().getDocuments());
+    }
+
+    @Test
+    void search_DatesBoundTimeStampAndDeletedRowsDropOut() throws Exception {
+        tableHolds(0L, row(1L, "boom", DAY), row(2L, "boom", DAY.plusDays(1)), row(3L, "boom", DAY.plusDays(2)));
+        service.load();
+        awaitReady();
+        // row 1 was deleted since it was indexed
+        when(logRepository.findAll(any(Specification.class))).thenReturn(List.of(row(2L, "boom", DAY.plusDays(1))));
+
+        LogPageDto page = service.search("boom", DAY.minusHours(1), DAY.plusDays(1), null, 10);
+
+        assertEquals(List.of(2L), page.getLogs().stream().map(Log::getErrorId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void search_PastTheLastMatch_IsEmptyWithoutATableRead() throws Exception {
+        tableHolds(0L, row(1L, "boom", DAY));
+        service.load();
+        awaitReady();
+
+        LogPageDto page = service.search("boom", null, null, LogCursor.afterErrorId(1L), 10);
+
+        assertTrue(page.getLogs().isEmpty());
+        assertNull(page.getNextCursor());
+        verifyNoInteractions(logRepository);
+    }
+
+    @Test
+    void search_CursorGoesOnBelowItsIdEvenWhenThatRowIsGone() throws Exception {
+        tableHolds(0L, row(1L, "boom", DAY), row(2L, "boom", DAY), row(3L, "boom", DAY), row(4L, "boom", DAY));
+        service.load();
+        awaitReady();
+        // row 3 was deleted since it was indexed
+        when(logRepository.findAll(any(Specification.class))).thenReturn(List.of(), List.of(row(2L, "boom", DAY)));
+
+        LogPageDto first = service.search("boom", null, null, LogCursor.afterErrorId(4L), 1);
+        LogPageDto second = service.search("boom", null, null, LogCursor.decode(first.getNextCursor()), 1);
+
+        assertTrue(first.getLogs().isEmpty());
+        assertEquals(3L, LogCursor.decode(first.getNextCursor()).errorId());
+        assertEquals(List.of(2L), second.getLogs().stream().map(Log::getErrorId).toList());
+        assertEquals(2L, LogCursor.decode(second.getNextCursor()).errorId());
+    }
+
+    @Test
+    void index_RowsAreFoundAfterTheNextFlush() throws Exception {
+        tableHolds(0L);
+        service.load();
+        awaitReady();
+        Log ingested = row(5L, "Deadlock found", DAY);
+
+        service.index(List.of(ingested));
+        assertEquals(1, service.getStats().getBufferedDocuments());
+        assertTrue(service.search("deadlock", null, null, null, 10).getLogs().isEmpty());
+
+        service.scheduledFlush();
+        when(logRepository.findAll(any(Specification.class))).thenReturn(List.of(ingested));
+
+        assertEquals(List.of(ingested), service.search("deadlock", null, null, null, 10).getLogs());
+    }
+
+    @Test
+    void load_AfterRestart_ReadsOnlyRowsPastTheIndexedOnes() throws Exception {
+        tableHolds(0L, row(1L, "boom", DAY), row(2L, "boom", DAY));
+        service.load();
+        awaitReady();
+        service.close();
+
+        LogSearchIndexServiceImpl restarted = new LogSearchIndexServiceImpl(errorLogRepository, logRepository, properties);
+        tableHolds(2L, row(3L, "boom", DAY));
+        restarted.load();
+        for (int i = 0; i < 500 && !restarted.getStats().isReady(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(3, restarted.getStats().getDocuments());
+        verify(errorLogRepository).forEachSearchable(eq(2L), any());
+    }
+
+    @Test
+    void rebuild_ReadsTheWholeTableAgainOnce() throws Exception {
+        assertFalse(service.rebuild());
+        tableHolds(0L, row(1L, "boom", DAY), row(2L, "boom", DAY));
+        service.load();
+        awaitReady();
+
+        assertTrue(service.rebuild());
+        for (int i = 0; i < 500 && (service.getStats().isRebuilding() || !service.getStats().isReady()); i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(2, service.getStats().getDocuments());
+        verify(errorLogRepository, times(2)).forEachSearchable(eq(0L), any());
+    }
+
+    @Test
+    void load_Disabled_NeverTouchesTheTable() {
+        properties.setEnabled(false);
+
+        service.load();
+
+        assertFalse(service.canSearch("boom"));
+        assertFalse(service.getStats().isReady());
+        verifyNoInteractions(errorLogRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void tableHolds(long afterErrorId, Log... rows) {
+        doAnswer(invocation -> {
+            Consumer<Log> consumer = invocation.getArgument(1);
+            for (Log row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(errorLogRepository).forEachSearchable(eq(afterErrorId), any(Consumer.class));
+    }
+
+    private void awaitReady() throws InterruptedException {
+        for (int i = 0; i < 500 && !service.getStats().isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(service.getStats().isReady());
+    }
+
+    private static Log row(long id, String message, LocalDateTime createdAt) {
+        Log log = new Log();
+        log.setErrorId(id);
+        log.setErrorLevel("ERROR");
+        log.setErrorMessage(message);
+        log.setErrorType("Network Timeout Error");
+        log.setSource("orders");
+        log.setTimeStamp(createdAt);
+        log.setCreatedAt(createdAt);
+        return log;
+    }
+}
@@ -1,18 +1,37 @@
 package com.yash.log.serviceImpl;
 
+import com.yash.log.dto.LogPageDto;
 import com.yash.log.entity.Log;
+import com.yash.log.repository.LogCursor;
 import com.yash.log.repository.LogRepository;
 import com.yash.log.service.impl.LogServiceImpl;
+import com.yash.log.service.services.LogSearchIndexService;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyChar;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,14 +40,30 @@ class LogServiceImplTest {
     @Mock
     private LogRepository repo;
 
+    @Mock
+    private LogSearchIndexService logSearchIndexService;
+
     @InjectMocks
     private LogServiceImpl service;
 
+    @Mock
+    private Root<Log> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder cb;
+
+    @Mock
+    private Path<String> path;
+
     // helper method
     private Log buildLog(String type, LocalDateTime createdAt) {
         Log log = new Log();
         log.setErrorType(type);
         log.setCreatedAt(createdAt);
+        log.setTimeStamp(createdAt);
         return log;
     }
 
@@ -37,38 +72,176 @@ class LogServiceImplTest {
         Log log1 = buildLog("DB", LocalDateTime.now());
         Log log2 = buildLog("NETWORK", LocalDateTime.now());
 
-        when(repo.findAll()).thenReturn(List.of(log1, log2));
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of(log1, log2)));
 
-        List<Log> result = service.filterLogs(null, null, null);
+        LogPageDto result = service.filterLogs(null, null, null, null, null);
 
-        assertEquals(2, result.size());
+        assertEquals(2, result.getLogs().size());
+        assertNull(result.getNextCursor());
+        // no WHERE clause at all
+        assertNull(captureSpec().toPredicate(root, query, cb));
     }
 
     @Test
     void testFilterBySearch() {
-        Log log1 = buildLog("DATABASE", LocalDateTime.now());
-        Log log2 = buildLog("NETWORK", LocalDateTime.now());
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+        doReturn(path).when(root).get(anyString());
+
+        service.filterLogs("data", null, null, null, null);
+        captureSpec().toPredicate(root, query, cb);
+
+        // the whole term, as the index matches it
+        verify(root).get("errorType");
+        verify(root).get("source");
+        verify(root).get("errorMessage");
+        verify(cb, times(3)).function(eq("regexp_like"), eq(Boolean.class), eq(path), any(), any());
+        verify(cb, times(3)).literal("(^|[^\\p{L}\\p{N}])data([^\\p{L}\\p{N}]|$)");
+        verify(cb).or(any(), any(), any());
+        verify(cb, never()).like(any(), anyString(), anyChar());
+    }
 
-        when(repo.findAll()).thenReturn(List.of(log1, log2));
+    @Test
+    void testFilterBySearch_WildcardsAreLiteral() {
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+        doReturn(path).when(root).get(anyString());
 
-        List<Log> result = service.filterLogs("data", null, null);
+        // no word the index could look up, so the text is looked for anywhere
+        service.filterLogs("%_", null, null, null, null);
+        captureSpec().toPredicate(root, query, cb);
 
-        assertEquals(1, result.size());
-        assertEquals("DATABASE", result.get(0).getErrorType());
+        verify(cb, times(3)).like(path, "%\\%\\_%", '\\');
     }
 
     @Test
     void testFilterByStartDate() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        Predicate afterStart = mock(Predicate.class);
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+        doReturn(path).when(root).get("timeStamp");
+        when(cb.greaterThanOrEqualTo(any(), eq(start))).thenReturn(afterStart);
+
+        service.filterLogs(null, start, null, null, null);
+
+        assertSame(afterStart, captureSpec().toPredicate(root, query, cb));
+        verify(cb, never()).lessThanOrEqualTo(any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testPaging_NewestFirstAndSizeCappedByTheServer() {
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+
+        service.filterLogs(null, null, null, null, 1_000_000);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(repo).findSlice(any(), captor.capture());
+        assertEquals(PageRequest.of(0, 1000, Sort.by(Sort.Order.desc("timeStamp"), Sort.Order.desc("errorId"))),
+                captor.getValue());
+    }
+
+    @Test
+    void testPaging_DefaultSize() {
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+
+        service.filterLogs(null, null, null, null, null);
+
+        verify(repo).findSlice(any(), argThat(pageable -> pageable.getPageSize() == 100));
+    }
+
+    @Test
+    void testPaging_NextCursorIsTheLastRowOfAFullPage() {
+        Log newer = buildLog("DB", LocalDateTime.of(2025, 12, 11, 10, 0, 5));
+        newer.setErrorId(9L);
+        Log older = buildLog("DB", LocalDateTime.of(2025, 12, 11, 10, 0, 1, 250_000_000));
+        older.setErrorId(4L);
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of(newer, older), PageRequest.of(0, 2), true));
 
-        Log oldLog = buildLog("OLD", now.minusDays(5));
-        Log newLog = buildLog("NEW", now.minusHours(1));
+        LogPageDto page = service.listLogs(null, null, 2);
 
-        when(repo.findAll()).thenReturn(List.of(oldLog, newLog));
+        assertEquals(List.of(newer, older), page.getLogs());
+        assertEquals(new LogCursor(older.getTimeStamp(), 4L), LogCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testPaging_CursorBecomesAConditionOnTheKey() {
+        LogCursor cursor = new LogCursor(LocalDateTime.of(2025, 12, 11, 10, 0), 42L);
+        Path<LocalDateTime> timeStamp = mock(Path.class);
+        Path<Long> errorId = mock(Path.class);
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+        doReturn(timeStamp).when(root).get("timeStamp");
+        doReturn(errorId).when(root).get("errorId");
+
+        LogPageDto page = service.listLogs(null, cursor.encode(), null);
+        captureSpec().toPredicate(root, query, cb);
+
+        assertNull(page.getNextCursor());
+        // the bare bound keeps partition pruning, the OR breaks ties on errorId
+        verify(cb).lessThanOrEqualTo(timeStamp, cursor.timeStamp());
+        verify(cb).lessThan(timeStamp, cursor.timeStamp());
+        verify(cb).equal(timeStamp, cursor.timeStamp());
+        verify(cb).lessThan(errorId, 42L);
+        verify(repo).findSlice(any(), argThat(pageable -> pageable.getOffset() == 0));
+    }
 
-        List<Log> result = service.filterLogs(null, now.minusDays(1), null);
+    @Test
+    void testPaging_LastDaysBoundsTimeStamp() {
+        LocalDateTime since = LocalDateTime.now().minusDays(7);
+        Predicate fromSince = mock(Predicate.class);
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+        doReturn(path).when(root).get("timeStamp");
+        when(cb.greaterThanOrEqualTo(any(), eq(since))).thenReturn(fromSince);
+
+        service.listLogs(since, null, null);
+
+        assertSame(fromSince, captureSpec().toPredicate(root, query, cb));
+    }
+
+    @Test
+    void testPaging_UnreadableCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.listLogs(null, "not-a-cursor", null));
+        assertThrows(IllegalArgumentException.class, () -> service.filterLogs(null, null, null, "%%%", null));
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void testSearchText_GoesToTheIndexWhenItCanAnswer() {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        LogCursor cursor = LogCursor.afterErrorId(77L);
+        LogPageDto hits = new LogPageDto(List.of(buildLog("DB", start)), null);
+        when(logSearchIndexService.canSearch("\"read timed out\"")).thenReturn(true);
+        when(logSearchIndexService.search("\"read timed out\"", start, null, cursor, 50)).thenReturn(hits);
+
+        assertSame(hits, service.filterLogs("\"read timed out\"", start, null, cursor.encode(), 50));
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void testSearchText_CursorOfTheOtherOrderIsRejected() {
+        String byTime = new LogCursor(LocalDateTime.of(2025, 12, 11, 10, 0), 42L).encode();
+        String byId = LogCursor.afterErrorId(42L).encode();
+        when(logSearchIndexService.canSearch("data")).thenReturn(true, false);
+
+        // the index became ready after a page read from the table, then stopped answering
+        assertThrows(IllegalArgumentException.class, () -> service.filterLogs("data", null, null, byTime, null));
+        assertThrows(IllegalArgumentException.class, () -> service.filterLogs("data", null, null, byId, null));
+        assertThrows(IllegalArgumentException.class, () -> service.listLogs(null, byId, null));
+        verify(logSearchIndexService, never()).search(any(), any(), any(), any(), anyInt());
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void testSearchText_TableWhileTheIndexIsNotReady() {
+        when(logSearchIndexService.canSearch("data")).thenReturn(false);
+        when(repo.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+
+        service.filterLogs("data", null, null, null, null);
+
+        verify(logSearchIndexService, never()).search(any(), any(), any(), any(), anyInt());
+        verify(repo).findSlice(any(), any());
+    }
 
-        assertEquals(1, result.size());
-        assertEquals("NEW", result.get(0).getErrorType());
+    private Specification<Log> captureSpec() {
+        ArgumentCaptor<Specification<Log>> captor = ArgumentCaptor.forClass(Specification.class);
+        verify(repo).findSlice(captor.capture(), any());
+        return captor.getValue();
     }
 }
@@ -0,0 +1,135 @@
+package com.yash.log.serviceImpl;
+
+import com.yash.log.config.TailProperties;
+import com.yash.log.dto.IngestionJobDto;
+import com.yash.log.entity.TailOffset;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.repository.TailOffsetRepository;
+import com.yash.log.service.impl.LogTailServiceImpl;
+import com.yash.log.service.services.LogFileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LogTailServiceImplTest {
+
+    private static final String FIRST = "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : first\n";
+    private static final String SECOND = "2025-12-11T10:33:55.946+05:30 ERROR 1 --- [main] [x] x : second\n";
+
+    @Mock
+    private LogFileService logFileService;
+
+    @Mock
+    private TailOffsetRepository tailOffsetRepository;
+
+    @TempDir
+    Path dir;
+
+    private final List<String> ingested = new ArrayList<>();
+    private LogTailServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TailProperties properties = new TailProperties();
+        properties.setDirectories(List.of(dir.toString()));
+        properties.setPollIntervalMs(0);   // every scan writes the last event right away
+        service = new LogTailServiceImpl(logFileService, tailOffsetRepository, properties);
+        lenient().when(tailOffsetRepository.save(any(TailOffset.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void scan_IngestsAppendedLinesAndSavesOffset() throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, FIRST);
+        Files.writeString(dir.resolve("notes.txt"), "not a log");
+        doAnswer(this::record).when(logFileService).ingestText(any(InputStream.class), any(IngestionJob.class));
+
+        service.scan();
+        Files.writeString(file, SECOND, StandardOpenOption.APPEND);
+        service.scan();
+        service.scan();
+
+        assertEquals(List.of(FIRST, SECOND), ingested);
+        TailOffset saved = lastSaved();
+        assertEquals(file.toString(), saved.getPath());
+        assertEquals((FIRST + SECOND).length(), saved.getByteOffset());
+        assertNotNull(saved.getFileKey());
+
+        IngestionJobDto job = service.getTailedFiles().get(0);
+        assertEquals(file.toString(), job.getFileName());
+    }
+
+    @Test
+    void scan_ResumesFromStoredOffset() throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.writeString(file, FIRST);
+        doAnswer(this::record).when(logFileService).ingestText(any(InputStream.class), any(IngestionJob.class));
+        // a first run that stopped after FIRST
+        service.scan();
+        TailOffset stored = lastSaved();
+        service.shutdown();
+        ingested.clear();
+
+        Files.writeString(file, SECOND, StandardOpenOption.APPEND);
+        when(tailOffsetRepository.findByPath(file.toString())).thenReturn(Optional.of(stored));
+        TailProperties properties = new TailProperties();
+        properties.setDirectories(List.of(dir.toString()));
+        properties.setPollIntervalMs(0);
+        service = new LogTailServiceImpl(logFileService, tailOffsetRepository, properties);
+
+        service.scan();
+
+        assertEquals(List.of(SECOND), ingested);
+    }
+
+    @Test
+    void scan_IngestFails_ChunkIsReadAgain() throws Exception {
+        Files.writeString(dir.resolve("app.log"), FIRST);
+        doThrow(new IOException("database down")).doAnswer(this::record).when(logFileService).ingestText(any(InputStream.class), any(IngestionJob.class));
+
+        service.scan();
+        assertEquals(1, service.getTailedFiles().get(0).getErrorCount());
+        verify(tailOffsetRepository, never()).save(any(TailOffset.class));
+
+        service.scan();
+        assertEquals(List.of(FIRST), ingested);
+    }
+
+    private Object record(InvocationOnMock invocation) throws IOException {
+        InputStream in = invocation.getArgument(0);
+        ingested.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        return null;
+    }
+
+    private TailOffset lastSaved() {
+        ArgumentCaptor<TailOffset> captor = ArgumentCaptor.forClass(TailOffset.class);
+        verify(tailOffsetRepository, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,182 @@
+package com.yash.log.serviceImpl;
+
+import com.yash.log.config.ListenerProperties;
+import com.yash.log.dto.PushListenerStatsDto;
+import com.yash.log.ingestion.IngestionJob;
+import com.yash.log.ingestion.format.LogFormat;
+import com.yash.log.service.impl.PushListenerServiceImpl;
+import com.yash.log.service.services.LogFileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PushListenerServiceImplTest {
+
+    private static final String ERROR = "2025-12-11T10:33:54.946+05:30 ERROR 1 --- [main] [x] x : boom\n";
+    private static final String INFO = "2025-12-11T10:33:54.946+05:30 INFO 1 --- [main] [x] x : started\n";
+    private static final LogFormat NOT_GIVEN = mock(LogFormat.class);
+
+    @Mock
+    private LogFileService logFileService;
+
+    @Mock
+    private LogFormat detected;
+
+    private final List<String> ingested = new CopyOnWriteArrayList<>();
+    // the format each block was handed in with, null when it was to be detected
+    private final List<LogFormat> formats = new CopyOnWriteArrayList<>();
+    private PushListenerServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(logFileService.openText(any(IngestionJob.class))).thenReturn(new LogFileService.TextIngestion() {
+            @Override
+            public LogFormat ingest(InputStream block, LogFormat format) throws IOException {
+                formats.add(format != null ? format : NOT_GIVEN);
+                ingested.add(new String(block.readAllBytes(), StandardCharsets.UTF_8));
+                return format != null ? format : detected;
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void tcp_LinesAreIngestedWhenTheSenderGoesQuiet() throws Exception {
+        start(properties());
+        int port = service.getStats().getTcpPort();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write((ERROR + "\tat x.y(Z.java:1)\n" + ERROR).getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            awaitIngested(ERROR + "\tat x.y(Z.java:1)\n" + ERROR);
+        }
+
+        PushListenerStatsDto stats = service.getStats();
+        assertEquals(3, stats.getLinesReceived());
+        assertEquals(0, stats.getLinesShed());
+        assertNotNull(stats.getIngestion());
+    }
+
+    @Test
+    void tcp_BlocksOfAConnectionShareOnePipelineAndTheDetectedFormat() throws Exception {
+        ListenerProperties properties = properties();
+        properties.setUdpPort(-1);
+        start(properties);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), service.getStats().getTcpPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(ERROR.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            awaitIngested(ERROR);
+            out.write(ERROR.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            awaitIngested(ERROR + ERROR);
+        }
+
+        assertEquals(List.of(NOT_GIVEN, detected), formats);
+        verify(logFileService, times(1)).openText(any(IngestionJob.class));
+        verify(logFileService, never()).ingestText(any(InputStream.class), any(IngestionJob.class));
+    }
+
+    @Test
+    void udp_DatagramsAreIngested() throws Exception {
+        start(properties());
+        int port = service.getStats().getUdpPort();
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            byte[] data = ("<11>Dec 11 10:33:54 web-1 orders: " + ERROR).getBytes(StandardCharsets.UTF_8);
+            socket.send(new DatagramPacket(data, data.length, InetAddress.getLoopbackAddress(), port));
+        }
+
+        awaitIngested(ERROR);
+    }
+
+    @Test
+    void queueFilling_NonErrorEventsAreShed() throws Exception {
+        ListenerProperties properties = properties();
+        properties.setQueueCapacity(1);
+        properties.setShedAt(0);      // shed from the start
+        properties.setUdpPort(-1);
+        start(properties);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), service.getStats().getTcpPort())) {
+            socket.getOutputStream().write((INFO + ERROR + INFO).getBytes(StandardCharsets.UTF_8));
+            awaitIngested(ERROR);
+        }
+
+        assertEquals(2, service.getStats().getLinesShed());
+        assertEquals(-1, service.getStats().getUdpPort());
+    }
+
+    @Test
+    void disabled_NothingIsBound() throws Exception {
+        ListenerProperties properties = properties();
+        properties.setEnabled(false);
+        start(properties);
+
+        PushListenerStatsDto stats = service.getStats();
+        assertEquals(-1, stats.getTcpPort());
+        assertEquals(-1, stats.getUdpPort());
+        verifyNoInteractions(logFileService);
+    }
+
+    private ListenerProperties properties() {
+        ListenerProperties properties = new ListenerProperties();
+        properties.setEnabled(true);
+        properties.setBindAddress(InetAddress.getLoopbackAddress().getHostAddress());
+        properties.setTcpPort(0);
+        properties.setUdpPort(0);
+        properties.setWorkers(1);
+        properties.setFlushIntervalMs(50);
+        return properties;
+    }
+
+    private void start(ListenerProperties properties) throws Exception {
+        service = new PushListenerServiceImpl(logFileService, properties);
+        service.start();
+    }
+
+    private void awaitIngested(String expected) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (String.join("", ingested).equals(expected)) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        assertEquals(expected, String.join("", ingested));
+    }
+}